@@ -20,7 +20,10 @@ import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
 import static picocli.CommandLine.ScopeType.INHERIT;
 
 import com.google.errorprone.annotations.concurrent.LazyInit;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -33,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 import javax.annotation.Nullable;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
@@ -41,12 +45,14 @@ import vadl.ast.AstDumper;
 import vadl.ast.ModelRemover;
 import vadl.ast.TypeChecker;
 import vadl.ast.Ungrouper;
+import vadl.ast.UnusedDefinitionRemover;
 import vadl.ast.VadlParser;
 import vadl.ast.ViamLowering;
 import vadl.configuration.GeneralConfiguration;
 import vadl.dump.ArtifactTracker;
 import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.error.DiagnosticList;
 import vadl.error.DiagnosticPrinter;
 import vadl.pass.PassManager;
@@ -78,6 +84,11 @@ public abstract class BaseCommand implements Callable<Integer> {
       description = "Generate all dumps of intermediate representations.")
   boolean dump;
 
+  @Option(names = "--compress-dumps",
+      scope = INHERIT,
+      description = "Compress the AST dumps and the expanded macros with gzip.")
+  boolean compressDumps;
+
   @Option(names = "--timings", scope = INHERIT,
       description = "Print timings of the phases of the compiler")
   boolean showTimings;
@@ -87,12 +98,41 @@ public abstract class BaseCommand implements Callable<Integer> {
       description = "Expand all macros and write them to disk.")
   boolean expandMacros;
 
+  @Option(names = "--decode-profile",
+      scope = INHERIT,
+      description = "Instruction frequency profile (text or binary histogram) used to optimize "
+          + "the decode tree for the profiled workload.")
+  @Nullable
+  Path decodeProfile;
+
   @Option(names = "--with-stacktrace",
       scope = INHERIT,
       description = "Debug option to show the OpenVADL stacktrace of an emitted error."
   )
   boolean showStacktrace;
 
+  @Option(names = "--concurrent-typecheck",
+      scope = INHERIT,
+      description = "Type check the definitions of an instruction set architecture in parallel.")
+  boolean concurrentTypecheck;
+
+  @Option(names = "--remove-unused",
+      scope = INHERIT,
+      description = "Remove the functions, formats, constants and instruction set architectures "
+          + "that aren't reachable from the processor, micro architecture or ABI before "
+          + "type checking.")
+  boolean removeUnused;
+
+  /**
+   * The definitions removed by {@code --remove-unused}.
+   */
+  private List<UnusedDefinitionRemover.RemovedDefinition> removedDefinitions = List.of();
+
+  /**
+   * The diagnostics of this compilation which don't abort it.
+   */
+  private final DiagnosticCollector diagnostics = new DiagnosticCollector();
+
   /**
    * A list of timings. Will only be filled when the timings should be recorded.
    */
@@ -112,21 +152,29 @@ public abstract class BaseCommand implements Callable<Integer> {
     return now.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
   }
 
+  /**
+   * Writes the content of a dump.
+   */
+  private interface DumpWriter {
+    void write(Writer writer) throws IOException;
+  }
+
   /**
    * Dump a file.
+   * The content is streamed to the file, which is compressed if {@code --compress-dumps} is set.
    *
    * @param fileName of the dump.
-   * @param content  of the dump.
+   * @param content  writes the content of the dump.
    */
-  private void dumpFile(String fileName, CharSequence content) {
+  private void dumpFile(String fileName, DumpWriter content) {
     var folderPath = Paths.get(output.toString(), "dump");
     if (!folderPath.toFile().exists()) {
       folderPath.toFile().mkdirs();
     }
 
-    var filePath = Paths.get(folderPath.toString(), fileName);
-    try (var writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-      writer.append(content);
+    var filePath = Paths.get(folderPath.toString(), compressDumps ? fileName + ".gz" : fileName);
+    try (var writer = newDumpWriter(filePath)) {
+      content.write(writer);
     } catch (IOException e) {
       e.printStackTrace();
       throw Diagnostic.error("Unable to write file %s".formatted(filePath.toString()),
@@ -137,6 +185,14 @@ public abstract class BaseCommand implements Callable<Integer> {
     ArtifactTracker.addDump(filePath);
   }
 
+  private Writer newDumpWriter(Path filePath) throws IOException {
+    if (!compressDumps) {
+      return Files.newBufferedWriter(filePath, StandardCharsets.UTF_8);
+    }
+    var compressed = new GZIPOutputStream(Files.newOutputStream(filePath));
+    return new BufferedWriter(new OutputStreamWriter(compressed, StandardCharsets.UTF_8));
+  }
+
   /**
    * Parses the input to an AST.
    *
@@ -166,11 +222,10 @@ public abstract class BaseCommand implements Callable<Integer> {
     }
 
     var startTime = System.currentTimeMillis();
-    var content =
-        new StringBuilder(
-            "// Sourcecode with expanded macros on %s\n\n".formatted(getTimeString()));
-    content.append(ast.prettyPrint());
-    dumpFile("expanded-macros.vadl", content);
+    dumpFile("expanded-macros.vadl", writer -> {
+      writer.append("// Sourcecode with expanded macros on %s\n\n".formatted(getTimeString()));
+      ast.prettyPrint(writer);
+    });
     timings.add(new Timing("Expanded Macros Dump", System.currentTimeMillis() - startTime));
   }
 
@@ -185,13 +240,12 @@ public abstract class BaseCommand implements Callable<Integer> {
     }
 
     final var startTime = System.currentTimeMillis();
-    var content =
-        new StringBuilder(
-            "// AST Dump without types generated on %s\n".formatted(getTimeString()));
-    content.append("// The file contains a dump of the AST with all macros expanded but, before "
-        + "the type-checker has run.\n\n");
-    content.append(new AstDumper().dump(ast));
-    dumpFile("ast-dump-untyped.txt", content);
+    dumpFile("ast-dump-untyped.txt", writer -> {
+      writer.append("// AST Dump without types generated on %s\n".formatted(getTimeString()));
+      writer.append("// The file contains a dump of the AST with all macros expanded but, before "
+          + "the type-checker has run.\n\n");
+      new AstDumper().dump(ast, writer);
+    });
     timings.add(new Timing("Untyped AST Dump", System.currentTimeMillis() - startTime));
   }
 
@@ -206,13 +260,12 @@ public abstract class BaseCommand implements Callable<Integer> {
     }
 
     final var startTime = System.currentTimeMillis();
-    var content =
-        new StringBuilder(
-            "// AST Dump with types generated on %s\n".formatted(getTimeString()));
-    content.append("// The file contains a dump of the AST with all macros expanded and "
-        + "validated by the typechecker.\n\n");
-    content.append(new AstDumper().dump(ast));
-    dumpFile("ast-dump-typed.txt", content);
+    dumpFile("ast-dump-typed.txt", writer -> {
+      writer.append("// AST Dump with types generated on %s\n".formatted(getTimeString()));
+      writer.append("// The file contains a dump of the AST with all macros expanded and "
+          + "validated by the typechecker.\n\n");
+      new AstDumper().dump(ast, writer);
+    });
     timings.add(new Timing("Typed AST Dump", System.currentTimeMillis() - startTime));
   }
 
@@ -231,13 +284,18 @@ public abstract class BaseCommand implements Callable<Integer> {
     dumpExpaned(ast);
     dumpUntyped(ast);
 
-    var typeChecker = new TypeChecker();
+    if (removeUnused) {
+      removedDefinitions = new UnusedDefinitionRemover().removeUnused(ast);
+    }
+
+    var typeChecker = new TypeChecker(diagnostics);
+    typeChecker.setConcurrent(concurrentTypecheck);
     typeChecker.verify(ast);
     ast.passTimings.forEach(t -> timings.add(new Timing(t.description(), t.durationMS())));
     ast.passTimings.clear();
     dumpTyped(ast);
 
-    var viamGenerator = new ViamLowering();
+    var viamGenerator = new ViamLowering(diagnostics);
     var spec = viamGenerator.generate(ast);
     ast.passTimings.forEach(t -> timings.add(new Timing(t.description(), t.durationMS())));
 
@@ -260,6 +318,17 @@ public abstract class BaseCommand implements Callable<Integer> {
     }
   }
 
+  protected void printRemovedDefinitions() {
+    if (removedDefinitions.isEmpty()) {
+      return;
+    }
+
+    System.out.println("\nThe following unused definitions were removed:");
+    removedDefinitions.forEach(d -> {
+      System.out.printf("\t- %s %s (%s)\n", d.kind(), d.name(), d.location().toConciseString());
+    });
+  }
+
   protected void printTimings() {
     if (!showTimings) {
       return;
@@ -284,6 +353,8 @@ public abstract class BaseCommand implements Callable<Integer> {
   protected GeneralConfiguration getConfig() {
     if (config == null) {
       config = new GeneralConfiguration(output, dump);
+      config.setDecodeProfile(decodeProfile);
+      config.setDiagnostics(diagnostics);
     }
     return config;
   }
@@ -353,12 +424,12 @@ public abstract class BaseCommand implements Callable<Integer> {
       return 1;
     }
 
-    if (!DeferredDiagnosticStore.isEmpty()) {
-      System.out.println(new DiagnosticPrinter().toString(DeferredDiagnosticStore.getAll()));
+    diagnostics.addAll(DeferredDiagnosticStore.getAll());
+    if (!diagnostics.isEmpty()) {
+      System.out.println(new DiagnosticPrinter().toString(diagnostics.getAll()));
 
       // Only exit abnormally if any diagnostic message is an error.
-      if (DeferredDiagnosticStore.getAll().stream()
-          .anyMatch(diagnostic -> diagnostic.level == Diagnostic.Level.ERROR)) {
+      if (diagnostics.hasErrors()) {
         returnVal = 1;
       }
     }
@@ -374,6 +445,7 @@ public abstract class BaseCommand implements Callable<Integer> {
         ArtifactTracker.getDumpPaths()
     );
 
+    printRemovedDefinitions();
     printTimings();
 
     return returnVal;
@@ -101,4 +101,29 @@ class IssOptsConverter implements CommandLine.ITypeConverter<IssConfiguration.Is
       System.out.printf(format, "", lines[i]);
     }
   }
-}
\ No newline at end of file
+}
+
+class IssModeConverter implements CommandLine.ITypeConverter<IssConfiguration.IssMode>,
+    Iterable<String> {
+
+  @Override
+  public IssConfiguration.IssMode convert(String value) {
+    try {
+      return IssConfiguration.IssMode.valueOf(value.toUpperCase().replace('-', '_'));
+    } catch (IllegalArgumentException e) {
+      throw new CommandLine.TypeConversionException(
+          "\nAvailable modes are %s".formatted(
+              Streams.of(iterator()).collect(Collectors.joining(", "))
+          )
+      );
+    }
+  }
+
+  @Nonnull
+  @Override
+  public Iterator<String> iterator() {
+    return Arrays.stream(IssConfiguration.IssMode.values())
+        .map(mode -> mode.name().toLowerCase().replace('_', '-'))
+        .iterator();
+  }
+}
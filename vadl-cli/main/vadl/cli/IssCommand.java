@@ -65,6 +65,22 @@ public class IssCommand extends BaseCommand {
   private EnumSet<IssConfiguration.IssOptsToSkip> skipOpts = EnumSet.noneOf(
       IssConfiguration.IssOptsToSkip.class);
 
+  @CommandLine.Option(names = "--mode",
+      description = "The emulation mode to generate. The user mode additionally generates "
+          + "the Linux user mode emulator. Valid values: ${COMPLETION-CANDIDATES} "
+          + "(default: ${DEFAULT-VALUE})",
+      defaultValue = "system",
+      converter = IssModeConverter.class, completionCandidates = IssModeConverter.class
+  )
+  private IssConfiguration.IssMode mode = IssConfiguration.IssMode.SYSTEM;
+
+  @CommandLine.Option(names = "--helper-threshold",
+      description = "The estimated number of TCG operations from which a runtime expression "
+          + "is outlined into a C helper function (default: ${DEFAULT-VALUE}).",
+      defaultValue = "24"
+  )
+  private int helperThreshold = 24;
+
   private static final String QEMU_VERSION = "9.2.2";
   private static final String QEMU_DOWNLOAD_URL =
       "https://github.com/qemu/qemu/archive/refs/tags/v" + QEMU_VERSION + ".tar.gz";
@@ -77,6 +93,8 @@ public class IssCommand extends BaseCommand {
     var issConfig = new IssConfiguration(configuration);
     issConfig.setDryRun(dryRun);
     issConfig.setOptsToSkip(skipOpts);
+    issConfig.setMode(mode);
+    issConfig.setHelperOutliningThreshold(helperThreshold);
     return PassOrders.iss(issConfig);
   }
 
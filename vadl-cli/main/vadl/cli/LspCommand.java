@@ -0,0 +1,43 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+import picocli.CommandLine.Command;
+import vadl.lsp.LanguageServer;
+
+/**
+ * The Command does provide the lsp subcommand.
+ */
+@Command(
+    name = "lsp",
+    description = "Start a language server, which communicates with the editor over the "
+        + "standard input and output.",
+    mixinStandardHelpOptions = true
+)
+public class LspCommand implements Callable<Integer> {
+
+  @Override
+  public Integer call() throws IOException {
+    PrintStream protocol = System.out;
+    // The protocol owns the standard output, so everything else is printed to standard error.
+    System.setOut(System.err);
+    return new LanguageServer(System.in, protocol).run();
+  }
+}
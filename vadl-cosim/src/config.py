@@ -35,7 +35,7 @@ class Out:
 
 @dataclass
 class Protocol:
-    mode: Literal["lockstep"]
+    mode: Literal["lockstep", "batched"]
     layer: Literal["tb", "insn"]
     execute_all_remaining_instructions: bool
     stop_after_n_instructions: int
@@ -20,10 +20,12 @@ It is responsible for starting QEMU-clients with the cosimulation plugin, compar
 The broker communicates with each QEMU-client using IPC.
 """
 
-from ctypes import c_char, c_int, c_uint, c_uint64, c_uint8, sizeof, Structure, c_size_t, Union
+from ctypes import c_char, c_int, c_uint, c_uint32, c_uint64, c_uint8, sizeof, Structure, c_size_t, Union
 from dataclasses import dataclass, asdict, field
 import os
 import mmap
+import struct
+import time
 import subprocess
 import multiprocessing
 import posix_ipc as ipc
@@ -231,6 +233,84 @@ class BrokerSHM(Union):
         self.shm_tb: Annotated[BrokerSHM_TB, BrokerSHM_TB]
         self.shm_exec: Annotated[BrokerSHM_Exec, BrokerSHM_Exec]
 
+"""
+The following classes represent the shared memory of the ring protocol (`protocol=ring` in the QEMU plugin).
+Instead of synchronizing after each execution-step, a QEMU-client streams one record per executed instruction
+into a single-producer/single-consumer ring buffer. The register table is published once at startup,
+so the records only contain the (index, chunk, value) deltas of registers that changed.
+See `RingSHM(Structure)` as the "entrypoint" of this class-hierarchy.
+"""
+
+RING_STATE_INIT = 0
+RING_STATE_REGISTERS = 1
+RING_STATE_RUNNING = 2
+RING_STATE_DONE = 3
+
+RING_CONTROL_WAIT = 0
+RING_CONTROL_RUN = 1
+RING_CONTROL_PAUSE = 2
+
+RING_RECORD_CONT = 1 << 0
+RING_RECORD_END = 1 << 1
+
+# RingRecord: pc, insn, cpu, flags, deltas_size followed by RingDelta[RING_RECORD_DELTAS]
+RING_RECORD_HEADER = struct.Struct("<QIBBH")
+# RingDelta: reg, chunk, reserved, value
+RING_DELTA = struct.Struct("<HHIQ")
+RING_RECORD_DELTAS = 15
+RING_RECORD_SIZE = RING_RECORD_HEADER.size + RING_RECORD_DELTAS * RING_DELTA.size
+RING_CHUNK_SIZE = 8
+
+# seconds to sleep while waiting for a client
+RING_WAIT = 0.0001
+
+class RingRegister(Structure):
+    MAX_REGISTER_NAME_SIZE = 64
+    _fields_ = [("name", c_char * MAX_REGISTER_NAME_SIZE), ("size", c_uint32), ("ignored", c_uint32)]
+
+    def __init__(self, *args: Any, **kw: Any) -> None:
+        super().__init__(*args, **kw)
+        self.name: Annotated[bytes, c_char * self.MAX_REGISTER_NAME_SIZE]
+        self.size: Annotated[int, c_uint32]
+        self.ignored: Annotated[int, c_uint32]
+
+    def fname(self, gdb_map: dict[str, str]) -> str:
+        n = self.name.decode() # assume that the name is "printable"
+        return gdb_map.get(n, n)
+
+class RingCounter(Structure):
+    _fields_ = [("value", c_uint64), ("reserved", c_uint8 * 56)]
+
+    def __init__(self, *args: Any, **kw: Any) -> None:
+        super().__init__(*args, **kw)
+        self.value: Annotated[int, c_uint64]
+
+class RingSHM(Structure):
+    MAGIC = 0x474e4952
+    VERSION = 1
+    CAPACITY = 4096
+    MAX_CPU_REGISTERS = 256
+    _fields_ = [
+        ("magic", c_uint32), ("version", c_uint32), ("capacity", c_uint32), ("registers_size", c_uint32),
+        ("state", c_uint64), ("control", c_uint64), ("reserved", c_uint8 * 32),
+        ("head", RingCounter), ("tail", RingCounter),
+        ("registers", RingRegister * MAX_CPU_REGISTERS),
+        # RingRecord[CAPACITY], parsed using RING_RECORD_HEADER and RING_DELTA
+        ("records", c_uint8 * (RING_RECORD_SIZE * CAPACITY)),
+    ]
+
+    def __init__(self, *args: Any, **kw: Any) -> None:
+        super().__init__(*args, **kw)
+        self.magic: Annotated[int, c_uint32]
+        self.version: Annotated[int, c_uint32]
+        self.capacity: Annotated[int, c_uint32]
+        self.registers_size: Annotated[int, c_uint32]
+        self.state: Annotated[int, c_uint64]
+        self.control: Annotated[int, c_uint64]
+        self.head: Annotated[RingCounter, RingCounter]
+        self.tail: Annotated[RingCounter, RingCounter]
+        self.registers: Annotated[list[RingRegister], RingRegister * self.MAX_CPU_REGISTERS]
+
 @dataclass
 class Client:
     id: int 
@@ -241,6 +321,8 @@ class Client:
     is_open: bool
     process: Optional[multiprocessing.Process]
     name: Optional[str]
+    ring: Optional[RingSHM] = None
+    mm: Optional[mmap.mmap] = None
 
 clients: list[Client] = []
 
@@ -443,6 +525,253 @@ def run_lockstep(config: Config, traces: deque[Trace]) -> Report:
     # if the loop has exited and no diffs were found then the test passed
     return report_from_diffs(diffs)
 
+@dataclass
+class RingStep:
+    """
+    A single execution-step (executed instruction) of a client in the ring protocol.
+    """
+    pc: int
+    insn: int
+    cpu: int
+
+    raw: bytes
+    """The used part of the step's records, used to compare steps in bulk"""
+
+    deltas: list[tuple[tuple[int, int, int], int]]
+    """The changed register chunks as ((cpu, register index, chunk), value)"""
+
+class RingReader:
+    """
+    Consumes the execution-steps that a QEMU-client streams into its ring buffer.
+    The register state is tracked per register chunk and indexed by the client's register table,
+    the mapping to the (gdb mapped) register names is resolved once at startup.
+    """
+
+    # maximum number of parsed but not yet compared steps, the ring is not drained any further
+    # if a client is ahead of the other clients by this amount of steps
+    MAX_PENDING = 4 * RingSHM.CAPACITY
+
+    def __init__(self, client: Client):
+        assert client.ring is not None and client.mm is not None
+        self.client = client
+        self.ring = client.ring
+        self.mm = client.mm
+        self.records_offset = RingSHM.records.offset
+        self.tail = self.ring.tail.value
+        self.pending: deque[RingStep] = deque()
+        self.partial: Optional[RingStep] = None
+        self.state: dict[tuple[int, int, int], int] = {}
+        self.names: list[str] = []
+        self.sizes: list[int] = []
+        self.index_of: dict[str, int] = {}
+
+    def alive(self) -> bool:
+        return self.client.process is None or self.client.process.is_alive()
+
+    def wait_for_registers(self) -> bool:
+        """Waits until the client published its register table, returns False if the client terminated before."""
+        while self.ring.state == RING_STATE_INIT:
+            if not self.alive():
+                return False
+            time.sleep(RING_WAIT)
+        return True
+
+    def init_registers(self, config: Config):
+        """Resolves the register names and marks the ignored registers, so the client never sends them."""
+        ring = self.ring
+        if ring.magic != RingSHM.MAGIC or ring.version != RingSHM.VERSION or ring.capacity != RingSHM.CAPACITY:
+            raise RuntimeError(f"client #{self.client.id} uses an incompatible ring protocol: "
+                               f"magic={ring.magic:x}, version={ring.version}, capacity={ring.capacity}")
+
+        gdb_reg_map_values = config.qemu.gdb_reg_map.values()
+        for index in range(ring.registers_size):
+            reg = ring.registers[index]
+            name = reg.fname(config.qemu.gdb_reg_map)
+            ignored = name in config.qemu.ignore_registers or \
+                (config.qemu.ignore_unset_registers and not name in gdb_reg_map_values)
+            reg.ignored = 1 if ignored else 0
+            self.names.append(name)
+            self.sizes.append(reg.size)
+            if not ignored:
+                self.index_of[name] = index
+
+    def poll(self):
+        """Parses all published records into complete execution-steps and releases them to the client."""
+        head = self.ring.head.value
+        while self.tail < head and len(self.pending) < self.MAX_PENDING:
+            offset = self.records_offset + (self.tail % RingSHM.CAPACITY) * RING_RECORD_SIZE
+            pc, insn, cpu, flags, deltas_size = RING_RECORD_HEADER.unpack_from(self.mm, offset)
+            end = offset + RING_RECORD_HEADER.size + deltas_size * RING_DELTA.size
+            raw = self.mm[offset:end]
+            deltas = [((cpu, reg, chunk), value)
+                      for reg, chunk, _, value in RING_DELTA.iter_unpack(raw[RING_RECORD_HEADER.size:])]
+
+            if flags & RING_RECORD_CONT and self.partial is not None:
+                self.partial.raw += raw
+                self.partial.deltas += deltas
+            else:
+                self.partial = RingStep(pc, insn, cpu, raw, deltas)
+
+            self.tail += 1
+            if flags & RING_RECORD_END:
+                self.pending.append(self.partial)
+                self.partial = None
+
+        self.ring.tail.value = self.tail
+
+    def finished(self) -> bool:
+        """Checks if the client will not produce any further steps."""
+        return (self.ring.state == RING_STATE_DONE or not self.alive()) and self.tail == self.ring.head.value
+
+    def apply(self, step: RingStep):
+        self.state.update(step.deltas)
+
+    def value(self, cpu: int, name: str) -> Optional[str]:
+        """Returns the formatted value of the named register (see `SHMRegister.fdata`)."""
+        index = self.index_of.get(name)
+        if index is None:
+            return None
+        size = self.sizes[index]
+        chunks = (size + RING_CHUNK_SIZE - 1) // RING_CHUNK_SIZE
+        data = b''.join(self.state.get((cpu, index, chunk), 0).to_bytes(RING_CHUNK_SIZE, "little")
+                        for chunk in range(chunks))
+        return bytes(reversed(data[:size])).hex(' ')
+
+    def touched(self, step: RingStep) -> set[str]:
+        return {self.names[reg] for (_, reg, _), _ in step.deltas if self.names[reg] in self.index_of}
+
+    def trace(self, step: RingStep) -> dict[str, Any]:
+        return {
+            "pc": step.pc,
+            "insn": f"{step.insn:08x}",
+            "cpu": step.cpu,
+            "registers": {name: self.value(step.cpu, name) for name in self.touched(step)}
+        }
+
+def run_batched(config: Config, traces: deque[Trace]) -> Report:
+    """
+    Runs the configured QEMU-clients freely using the ring protocol and compares their execution-steps in batches.
+    An execution-step is the execution of a single instruction, so only `layer = "insn"` is supported.
+
+    Each client streams its register deltas into a ring buffer without waiting for the broker.
+    The broker drains all published steps and compares them step by step: steps with byte-identical records
+    are accepted without decoding them, otherwise the changed registers are compared by name.
+    On the first divergence all clients are paused and the divergences of this step are reported.
+
+    Unlike in `run_lockstep`, a trace entry only contains the registers that changed in the traced step.
+
+    Parameters:
+        config (Config)
+        traces: deque[list[dict[str, Any]]]: Collects the changes of each client for each execution-step.
+    """
+
+    readers = [RingReader(client) for client in clients]
+
+    def pause_all():
+        for reader in readers:
+            reader.ring.control = RING_CONTROL_PAUSE
+
+    # Handshake: resolve the register tables once and configure the ignored registers
+    for reader in readers:
+        if not reader.wait_for_registers():
+            return report_from_diffs([ClientDiff(f"client.{reader.client.id}.state", "running", "terminated",
+                                                 "client terminated before publishing its registers")])
+        reader.init_registers(config)
+
+    diffs = []
+    expected = readers[0]
+    for actual in readers[1:]:
+        for name in sorted(expected.index_of.keys() | actual.index_of.keys()):
+            i1 = expected.index_of.get(name)
+            i2 = actual.index_of.get(name)
+            if i1 is None or i2 is None:
+                if not config.qemu.ignore_unset_registers:
+                    diffs.append(ClientDiff(f"cpu.registers.{name}", f"{i1 is not None}", f"{i2 is not None}",
+                                            "register is not available in all clients"))
+            elif expected.sizes[i1] != actual.sizes[i2]:
+                diffs.append(ClientDiff(f"cpu.registers.{name}.size", f"{expected.sizes[i1]}",
+                                        f"{actual.sizes[i2]}", "reg sizes differ"))
+
+    if len(diffs) > 0:
+        pause_all()
+        return report_from_diffs(diffs)
+
+    # Records can only be compared byte-wise if all clients use the same register table
+    same_tables = all(reader.names == expected.names for reader in readers)
+
+    for reader in readers:
+        reader.ring.control = RING_CONTROL_RUN
+
+    def compare_steps(steps: list[RingStep]) -> list[ClientDiff]:
+        diffs = []
+        s1 = steps[0]
+        for actual, s2 in zip(readers[1:], steps[1:]):
+            if same_tables and s1.raw == s2.raw:
+                continue
+
+            if s1.cpu != s2.cpu:
+                diffs.append(ClientDiff("cpu.index", f"{s1.cpu}", f"{s2.cpu}", "executing CPUs differ"))
+                continue
+
+            for name in sorted(expected.touched(s1) | actual.touched(s2)):
+                r1data = expected.value(s1.cpu, name)
+                r2data = actual.value(s2.cpu, name)
+                if r1data is not None and r2data is not None and r1data != r2data:
+                    diffs.append(ClientDiff(f"cpu.{s1.cpu}.registers.{name}.data", r1data, r2data, "reg data differ",
+                                            ref_expected=expected.trace(s1), ref_actual=actual.trace(s2)))
+        return diffs
+
+    skip_per_client = [client.skip_n_instructions for client in config.qemu.clients]
+    execute_remaining = config.testing.protocol.execute_all_remaining_instructions
+    stop_after = config.testing.protocol.stop_after_n_instructions
+    tracing = traces.maxlen != 0
+
+    while True:
+        for reader in readers:
+            reader.poll()
+
+        # Skip first n instructions per client
+        for i, reader in enumerate(readers):
+            while skip_per_client[i] > 0 and reader.pending:
+                reader.apply(reader.pending.popleft())
+                skip_per_client[i] -= 1
+
+        batch = min(len(reader.pending) for reader in readers)
+        if batch == 0 or any(skip > 0 for skip in skip_per_client):
+            exhausted = [reader.finished() and not reader.pending for reader in readers]
+            if all(exhausted):
+                return report_from_diffs([])
+            if any(exhausted):
+                # a finished client cannot catch up with the others anymore
+                pause_all()
+                steps = [str(len(reader.pending)) for reader in readers]
+                return report_from_diffs([ClientDiff("steps.remaining", steps[0], ", ".join(steps[1:]),
+                                                     "clients executed a different number of instructions")])
+            time.sleep(RING_WAIT)
+            continue
+
+        if not execute_remaining:
+            batch = min(batch, stop_after)
+
+        for _ in range(batch):
+            steps = [reader.pending.popleft() for reader in readers]
+            for reader, step in zip(readers, steps):
+                reader.apply(step)
+
+            if tracing:
+                traces.append([reader.trace(step) for reader, step in zip(readers, steps)])
+
+            diffs = compare_steps(steps)
+            if len(diffs) > 0:
+                pause_all()
+                return report_from_diffs(diffs)
+
+        if not execute_remaining:
+            stop_after -= batch
+            if stop_after <= 0:
+                pause_all()
+                return report_from_diffs([])
+
 """
 Cleanup functions for the created IPCs
 TODO: Maybe put IPC related logic in a separate file
@@ -484,11 +813,18 @@ def start(config: Config):
     logger.debug(f"starting broker: config={config}")
     atexit.register(cleanup, config)
 
+    batched = config.testing.protocol.mode == 'batched'
+    if batched and config.testing.protocol.layer != 'insn':
+        logger.error(f"the batched protocol mode only supports layer = \"insn\", got: {config.testing.protocol.layer}")
+        exit(1)
+
     # create shared memory and semaphores per client
     for i, client_cfg in enumerate(config.qemu.clients):
-        shm = ipc.SharedMemory(f"/cosimulation-shm-{i}", ipc.O_CREX, size=sizeof(BrokerSHM))
-        mm = mmap.mmap(shm.fd, sizeof(BrokerSHM))
-        shm_struct = BrokerSHM.from_buffer(mm) 
+        shm_size = sizeof(RingSHM) if batched else sizeof(BrokerSHM)
+        shm = ipc.SharedMemory(f"/cosimulation-shm-{i}", ipc.O_CREX, size=shm_size)
+        mm = mmap.mmap(shm.fd, shm_size)
+        shm_struct = BrokerSHM.from_buffer(mm) if not batched else BrokerSHM()
+        ring = RingSHM.from_buffer(mm) if batched else None
 
         sem_server = ipc.Semaphore(f"/cosimulation-sem-server-{i}", ipc.O_CREX)
         sem_client = ipc.Semaphore(f"/cosimulation-sem-client-{i}", ipc.O_CREX)
@@ -503,6 +839,8 @@ def start(config: Config):
         ]
         if client_cfg.name is not None:
             plugin_args += [f"client-name={client_cfg.name}"]
+        if batched:
+            plugin_args += ["protocol=ring"]
 
         plugin = ",".join([plugin_path] + plugin_args)
 
@@ -510,14 +848,17 @@ def start(config: Config):
         default_args = [f"-{client_cfg.pass_test_exec_to}", config.testing.test_exec, "-plugin", plugin]
         args = default_args + client_cfg.additional_args
         logger.info(f"starting client: {" ".join([executable_path, *args])}")
-        client = Client(i, shm, shm_struct, sem_server=sem_server, sem_client=sem_client, is_open=True, process=None, name=client_cfg.name)
+        client = Client(i, shm, shm_struct, sem_server=sem_server, sem_client=sem_client, is_open=True, process=None, name=client_cfg.name, ring=ring, mm=mm)
         clients.append(client)
         client.process = run_with_callback([executable_path, *args], on_client_complete, config, client)
 
-    if config.testing.protocol.mode == 'lockstep':
+    if config.testing.protocol.mode in ('lockstep', 'batched'):
         max_trace_len = config.testing.max_trace_length
         traces: deque[Trace] = deque(maxlen=max_trace_len if max_trace_len >= 0 else None)
-        report = run_lockstep(config, traces)
+        if batched:
+            report = run_batched(config, traces)
+        else:
+            report = run_lockstep(config, traces)
         named_traces = {
             "names": [client.name if client.name is not None else str(client.id) for client in clients],
             "traces": list(traces)
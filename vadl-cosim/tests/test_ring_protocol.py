@@ -0,0 +1,212 @@
+# SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+# SPDX-License-Identifier: GPL-3.0-or-later
+#
+# This program is free software: you can redistribute it and/or modify
+# it under the terms of the GNU General Public License as published by
+# the Free Software Foundation, either version 3 of the License, or
+# (at your option) any later version.
+#
+# This program is distributed in the hope that it will be useful,
+# but WITHOUT ANY WARRANTY; without even the implied warranty of
+# MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+# GNU General Public License for more details.
+#
+# You should have received a copy of the GNU General Public License
+# along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+"""
+Tests the broker side of the ring protocol (`protocol=ring` in the QEMU plugin) against a synthetic shared buffer.
+The records are written the same way as `ring_write_state` in the plugin does.
+
+Run from the `vadl-cosim` directory with `python -m unittest discover tests`.
+"""
+
+from ctypes import sizeof
+import mmap
+import unittest
+
+from src.config import Qemu
+from src.cosimulation_broker import (Client, RingReader, RingSHM, RING_DELTA, RING_RECORD_CONT,
+                                     RING_RECORD_DELTAS, RING_RECORD_END, RING_RECORD_HEADER, RING_RECORD_SIZE,
+                                     RING_STATE_DONE, RING_STATE_RUNNING)
+
+class Config:
+    def __init__(self, qemu: Qemu):
+        self.qemu = qemu
+
+class SyntheticRing:
+    """A ring buffer in anonymous memory that is filled like a QEMU-client fills its shared memory."""
+
+    def __init__(self, registers: list[tuple[str, int]], start: int = 0):
+        self.mm = mmap.mmap(-1, sizeof(RingSHM))
+        self.ring = RingSHM.from_buffer(self.mm)
+        self.ring.magic = RingSHM.MAGIC
+        self.ring.version = RingSHM.VERSION
+        self.ring.capacity = RingSHM.CAPACITY
+        self.ring.registers_size = len(registers)
+        for index, (name, size) in enumerate(registers):
+            self.ring.registers[index].name = name.encode()
+            self.ring.registers[index].size = size
+        self.ring.head.value = start
+        self.ring.tail.value = start
+        self.ring.state = RING_STATE_RUNNING
+        self.head = start
+
+    def client(self) -> Client:
+        return Client(0, None, None, None, None, is_open=True, process=None, name=None, ring=self.ring, mm=self.mm)
+
+    def write_record(self, pc: int, insn: int, cpu: int, flags: int, deltas: list[tuple[int, int, int]]):
+        assert len(deltas) <= RING_RECORD_DELTAS
+        assert self.head - self.ring.tail.value < RingSHM.CAPACITY, "ring is full"
+        offset = RingSHM.records.offset + (self.head % RingSHM.CAPACITY) * RING_RECORD_SIZE
+        RING_RECORD_HEADER.pack_into(self.mm, offset, pc, insn, cpu, flags, len(deltas))
+        offset += RING_RECORD_HEADER.size
+        for reg, chunk, value in deltas:
+            RING_DELTA.pack_into(self.mm, offset, reg, chunk, 0, value)
+            offset += RING_DELTA.size
+        self.head += 1
+
+    def write_step(self, pc: int, insn: int, cpu: int, deltas: list[tuple[int, int, int]]):
+        """Writes a step, continued in as many records as its deltas need."""
+        chunks = [deltas[i:i + RING_RECORD_DELTAS] for i in range(0, len(deltas), RING_RECORD_DELTAS)] or [[]]
+        for i, chunk in enumerate(chunks):
+            flags = (RING_RECORD_CONT if i > 0 else 0) | (RING_RECORD_END if i == len(chunks) - 1 else 0)
+            self.write_record(pc, insn, cpu, flags, chunk)
+
+    def publish(self):
+        self.ring.head.value = self.head
+
+class RingReaderTest(unittest.TestCase):
+
+    def setUp(self):
+        self.config = Config(Qemu(plugin="", clients=[], gdb_reg_map={}, ignore_registers=["ignored"],
+                                  ignore_unset_registers=False))
+
+    def reader(self, shm: SyntheticRing) -> RingReader:
+        reader = RingReader(shm.client())
+        self.assertTrue(reader.wait_for_registers())
+        reader.init_registers(self.config)
+        return reader
+
+    def test_ignored_registers_are_configured_for_the_client(self):
+        shm = SyntheticRing([("pc", 8), ("ignored", 8), ("x1", 8)])
+        reader = self.reader(shm)
+
+        self.assertEqual([0, 1, 0], [shm.ring.registers[i].ignored for i in range(3)])
+        self.assertEqual({"pc": 0, "x1": 2}, reader.index_of)
+
+    def test_incompatible_ring_is_rejected(self):
+        shm = SyntheticRing([("pc", 8)])
+        shm.ring.version = RingSHM.VERSION + 1
+        reader = RingReader(shm.client())
+        with self.assertRaises(RuntimeError):
+            reader.init_registers(self.config)
+
+    def test_only_published_records_are_consumed(self):
+        shm = SyntheticRing([("pc", 8)])
+        reader = self.reader(shm)
+        shm.write_step(0x1000, 0x13, 0, [(0, 0, 0x1000)])
+
+        reader.poll()
+        self.assertEqual(0, len(reader.pending))
+
+        shm.publish()
+        reader.poll()
+        self.assertEqual(1, len(reader.pending))
+        self.assertEqual(1, shm.ring.tail.value)
+
+    def test_continued_records_form_a_single_step(self):
+        registers = [(f"x{i}", 8) for i in range(RING_RECORD_DELTAS * 2 + 3)]
+        shm = SyntheticRing(registers)
+        reader = self.reader(shm)
+        deltas = [(i, 0, i * 3) for i in range(len(registers))]
+        shm.write_step(0x1000, 0x13, 0, deltas)
+        shm.write_step(0x1004, 0x93, 0, [(1, 0, 7)])
+        shm.publish()
+
+        reader.poll()
+        self.assertEqual(2, len(reader.pending))
+        self.assertIsNone(reader.partial)
+
+        step = reader.pending.popleft()
+        self.assertEqual((0x1000, 0x13, 0), (step.pc, step.insn, step.cpu))
+        self.assertEqual([((0, reg, chunk), value) for reg, chunk, value in deltas], step.deltas)
+        self.assertEqual(3 * RING_RECORD_HEADER.size + len(deltas) * RING_DELTA.size, len(step.raw))
+
+        reader.apply(step)
+        self.assertEqual("00 00 00 00 00 00 00 06", reader.value(0, "x2"))
+        reader.apply(reader.pending.popleft())
+        self.assertEqual("00 00 00 00 00 00 00 07", reader.value(0, "x1"))
+
+    def test_partially_published_step_is_completed_by_the_next_poll(self):
+        shm = SyntheticRing([(f"x{i}", 8) for i in range(RING_RECORD_DELTAS + 1)])
+        reader = self.reader(shm)
+        shm.write_step(0x1000, 0x13, 0, [(i, 0, i) for i in range(RING_RECORD_DELTAS + 1)])
+        shm.ring.head.value = shm.head - 1
+
+        reader.poll()
+        self.assertEqual(0, len(reader.pending))
+        self.assertIsNotNone(reader.partial)
+
+        shm.publish()
+        reader.poll()
+        self.assertEqual(1, len(reader.pending))
+        self.assertEqual(RING_RECORD_DELTAS + 1, len(reader.pending[0].deltas))
+
+    def test_records_wrap_around_the_end_of_the_ring(self):
+        shm = SyntheticRing([(f"x{i}", 8) for i in range(RING_RECORD_DELTAS + 1)], start=RingSHM.CAPACITY - 2)
+        reader = self.reader(shm)
+        shm.write_step(0x1000, 0x13, 0, [(0, 0, 1)])
+        # spans the last slot and the first slot of the ring
+        shm.write_step(0x1004, 0x93, 0, [(i, 0, 2) for i in range(RING_RECORD_DELTAS + 1)])
+        shm.write_step(0x1008, 0x113, 0, [(0, 0, 3)])
+        shm.publish()
+
+        reader.poll()
+        self.assertEqual([0x1000, 0x1004, 0x1008], [step.pc for step in reader.pending])
+        self.assertEqual(RING_RECORD_DELTAS + 1, len(reader.pending[1].deltas))
+        self.assertEqual(RingSHM.CAPACITY + 2, shm.ring.tail.value)
+
+        for step in list(reader.pending):
+            reader.apply(step)
+        self.assertEqual("00 00 00 00 00 00 00 03", reader.value(0, "x0"))
+        self.assertEqual("00 00 00 00 00 00 00 02", reader.value(0, "x5"))
+
+    def test_full_ring_is_drained_across_several_rounds(self):
+        shm = SyntheticRing([("x0", 8)], start=RingSHM.CAPACITY // 2)
+        reader = self.reader(shm)
+        pcs = []
+        for batch in range(3):
+            for i in range(RingSHM.CAPACITY):
+                pc = (batch * RingSHM.CAPACITY + i) * 4
+                shm.write_step(pc, 0x13, 0, [(0, 0, pc)])
+                pcs.append(pc)
+            shm.publish()
+            reader.poll()
+
+        self.assertEqual(pcs, [step.pc for step in reader.pending])
+
+    def test_finished_after_the_last_record_is_consumed(self):
+        shm = SyntheticRing([("x0", 8)])
+        reader = self.reader(shm)
+        shm.write_step(0x1000, 0x13, 0, [(0, 0, 1)])
+        shm.publish()
+        shm.ring.state = RING_STATE_DONE
+        self.assertFalse(reader.finished())
+
+        reader.poll()
+        self.assertTrue(reader.finished())
+
+    def test_registers_wider_than_a_chunk(self):
+        shm = SyntheticRing([("v0", 12)])
+        reader = self.reader(shm)
+        shm.write_step(0x1000, 0x13, 0, [(0, 0, 0x0807060504030201), (0, 1, 0x0c0b0a09)])
+        shm.publish()
+
+        reader.poll()
+        reader.apply(reader.pending.popleft())
+        self.assertEqual("0c 0b 0a 09 08 07 06 05 04 03 02 01", reader.value(0, "v0"))
+
+if __name__ == '__main__':
+    unittest.main()
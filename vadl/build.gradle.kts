@@ -77,6 +77,8 @@ tasks.register<CocoR_gradle.GenerateCocoParserTask>("generateCocoParser") {
     group = "build"
     inputFiles.from("main/vadl/ast/vadl.ATG")
     parserFrame.set(project.file("main/vadl/ast/Parser.frame"))
+    // the scanner frame is picked up next to the grammar
+    inputs.file("main/vadl/ast/Scanner.frame")
     outputDir.set(outputDir.get().dir("vadl/ast"))
     cocoJar.set(project.file("libs/Coco.jar"))
 }
@@ -0,0 +1,2 @@
+TARGET_ARCH=[(${gen_arch})]
+TARGET_XML_FILES= gdb-xml/[(${gen_arch_lower})]-cpu.xml
\ No newline at end of file
@@ -17,6 +17,18 @@
 // References:
 // other plugins:
 // https://gitlab.com/qemu-project/qemu/-/blob/master/contrib/plugins
+//
+// Protocols (option protocol=<Protocol>):
+// - lockstep (default): The broker and the plugin synchronize after every
+//   execution-step using a pair of semaphores. The complete CPU state is
+//   copied into the shared memory (see BrokerSHM).
+// - ring: The plugin runs freely and streams one record per executed
+//   instruction into a single-producer/single-consumer ring buffer in the
+//   shared memory (see RingSHM). The register table is published once at
+//   startup, so records only carry the indices and values of the registers
+//   that changed since the previous record. The broker consumes and compares
+//   the records in batches and only pauses the plugin on a mismatch.
+//   Only supported with mode=insn.
 
 #include <assert.h>
 #include <fcntl.h>
@@ -24,6 +36,7 @@
 #include <glib.h>
 #include <qemu-plugin.h>
 #include <semaphore.h>
+#include <stdint.h>
 #include <stdio.h>
 #include <string.h>
 #include <sys/mman.h>
@@ -44,6 +57,26 @@ QEMU_PLUGIN_EXPORT int qemu_plugin_version = QEMU_PLUGIN_VERSION;
 #define MAX_CPU_COUNT 8
 #define MAX_INSN_DATA_SIZE 4
 
+// number of records in the ring, must be a power of two
+#define RING_CAPACITY 4096
+// number of register deltas per ring record, chosen so that a record is 256
+// bytes large
+#define RING_RECORD_DELTAS 15
+// the head is published to the broker after at least this many records
+#define RING_PUBLISH_BATCH 32
+// sleep time while waiting for the broker
+#define RING_WAIT_US 50
+// size of a register chunk in a ring delta
+#define RING_CHUNK_SIZE 8
+
+#define RING_MAGIC 0x474e4952 // "RING"
+#define RING_VERSION 1
+
+// the record continues the deltas of the previous record
+#define RING_RECORD_CONT (1 << 0)
+// the record is the last record of an execution-step
+#define RING_RECORD_END (1 << 1)
+
 static qemu_plugin_id_t plugin_id;
 
 #define PLUGIN_PRINT(format, ...)                                              \
@@ -88,10 +121,17 @@ typedef struct {
   struct qemu_plugin_register *handle;
   const char *name;
   const char *feature;
+  // only used by the ring protocol
+  int size;
+  size_t shadow_offset;
 } Register;
 
 typedef struct {
   GPtrArray *registers;
+  // register values of the last ring record, only used by the ring protocol
+  GByteArray *shadow;
+  gboolean shadow_valid;
+  GByteArray *read_buf;
 } CPU;
 
 typedef struct {
@@ -133,9 +173,16 @@ typedef enum {
   INSN_MODE = 2,
 } ExecMode;
 
+typedef enum {
+  INVALID_PROTOCOL = 0,
+  LOCKSTEP_PROTOCOL = 1,
+  RING_PROTOCOL = 2,
+} Protocol;
+
 typedef struct {
   const gchar *client_id;
   ExecMode mode;
+  Protocol protocol;
   const gchar *client_name;
   gboolean client_name_set;
 } Arguments;
@@ -157,6 +204,80 @@ typedef union {
   BrokerSHM_Exec shm_exec;
 } BrokerSHM;
 
+typedef enum {
+  RING_STATE_INIT = 0,
+  // the register table was published, waiting for RING_CONTROL_RUN
+  RING_STATE_REGISTERS = 1,
+  RING_STATE_RUNNING = 2,
+  RING_STATE_DONE = 3,
+} RingState;
+
+typedef enum {
+  RING_CONTROL_WAIT = 0,
+  RING_CONTROL_RUN = 1,
+  RING_CONTROL_PAUSE = 2,
+} RingControl;
+
+// Fixed-layout change of a register chunk
+typedef struct {
+  // index into RingSHM.registers
+  uint16_t reg;
+  // chunk of RING_CHUNK_SIZE bytes within the register value
+  uint16_t chunk;
+  uint32_t reserved;
+  // little endian chunk value, zero-extended
+  uint64_t value;
+} RingDelta;
+
+typedef struct {
+  uint64_t pc;
+  // the first (up to) four bytes of the instruction data
+  uint32_t insn;
+  uint8_t cpu;
+  // RING_RECORD_*
+  uint8_t flags;
+  uint16_t deltas_size;
+  RingDelta deltas[RING_RECORD_DELTAS];
+} RingRecord;
+
+typedef struct {
+  char name[MAX_REGISTER_NAME_SIZE];
+  uint32_t size;
+  // set by the broker before RING_CONTROL_RUN, ignored registers are never
+  // part of the deltas
+  uint32_t ignored;
+} RingRegister;
+
+// Counter on its own cache line to avoid false sharing between the producer
+// and the consumer
+typedef struct {
+  uint64_t value;
+  uint8_t reserved[56];
+} RingCounter;
+
+typedef struct {
+  uint32_t magic;
+  uint32_t version;
+  uint32_t capacity;
+  uint32_t registers_size;
+  // RingState, written by the plugin
+  uint64_t state;
+  // RingControl, written by the broker
+  uint64_t control;
+  uint8_t reserved[32];
+  // written by the plugin (producer)
+  RingCounter head;
+  // written by the broker (consumer)
+  RingCounter tail;
+  RingRegister registers[MAX_CPU_REGISTERS];
+  RingRecord records[RING_CAPACITY];
+} RingSHM;
+
+typedef struct {
+  uint64_t pc;
+  uint32_t insn;
+} RingInsnInfo;
+
 static GArray *cpus;
 static GRWLock cpus_lock;
 
@@ -164,6 +285,12 @@ static Arguments args;
 static BrokerSHM *shm;
 static sem_t *sem_client, *sem_server;
 
+static RingSHM *ring;
+// producer-local head, published in batches
+static uint64_t ring_head;
+static uint64_t ring_published;
+static GMutex ring_lock;
+
 static CPU *get_cpu(int vcpu_index) {
   CPU *c;
   g_rw_lock_reader_lock(&cpus_lock);
@@ -248,13 +375,9 @@ static void open_sems(void) {
   }
 }
 
-static void plugin_exit(qemu_plugin_id_t id, void *p) {
-  PLUGIN_PRINTLN("plugin_exit");
-}
-
 // Connects to the broker by accessing the assigned shared memory
 // The shared memory is located under /cosimulation/shm-{client_id}
-static BrokerSHM *connect_to_broker(void) {
+static void *connect_to_broker(size_t size) {
   gchar *shm_name = g_strdup_printf("/cosimulation-shm-%s", args.client_id);
   int shm_fd = shm_open(shm_name, O_RDWR, 0600);
   if (shm_fd == -1) {
@@ -262,13 +385,13 @@ static BrokerSHM *connect_to_broker(void) {
     return NULL;
   }
 
-  if (ftruncate(shm_fd, sizeof(BrokerSHM)) == -1) {
+  if (ftruncate(shm_fd, size) == -1) {
     g_error("failed to truncate shared memory for client: %s", args.client_id);
     return NULL;
   }
 
-  BrokerSHM *shm = mmap(NULL, sizeof(BrokerSHM), PROT_READ | PROT_WRITE,
-                        MAP_SHARED, shm_fd, 0);
+  void *shm =
+      mmap(NULL, size, PROT_READ | PROT_WRITE, MAP_SHARED, shm_fd, 0);
   if (shm == MAP_FAILED) {
     g_error("failed to mmap shared memory for client: %s", args.client_id);
     return NULL;
@@ -277,6 +400,156 @@ static BrokerSHM *connect_to_broker(void) {
   return shm;
 }
 
+static uint64_t ring_load(uint64_t *ptr) {
+  return __atomic_load_n(ptr, __ATOMIC_ACQUIRE);
+}
+
+static void ring_store(uint64_t *ptr, uint64_t value) {
+  __atomic_store_n(ptr, value, __ATOMIC_RELEASE);
+}
+
+// Blocks as long as the broker paused the plugin, e.g. after a mismatch
+static void ring_wait_while_paused(void) {
+  while (ring_load(&ring->control) == RING_CONTROL_PAUSE) {
+    g_usleep(RING_WAIT_US);
+  }
+}
+
+static void ring_publish(void) {
+  ring_store(&ring->head.value, ring_head);
+  ring_published = ring_head;
+  ring_wait_while_paused();
+}
+
+// Returns the next free record, waits for the broker if the ring is full
+static RingRecord *ring_next_record(void) {
+  while (ring_head - ring_load(&ring->tail.value) >= RING_CAPACITY) {
+    if (ring_published != ring_head) {
+      ring_publish();
+    }
+    g_usleep(RING_WAIT_US);
+  }
+
+  RingRecord *record = &ring->records[ring_head & (RING_CAPACITY - 1)];
+  record->flags = 0;
+  record->deltas_size = 0;
+  return record;
+}
+
+// Publishes the register table of the given CPU and waits until the broker
+// configured the ignored registers. The table is equal for all CPUs.
+static void ring_publish_registers(CPU *c) {
+  size_t shadow_size = 0;
+  for (int reg_idx = 0; reg_idx < c->registers->len; reg_idx++) {
+    Register *reg = c->registers->pdata[reg_idx];
+    g_byte_array_set_size(c->read_buf, 0);
+    reg->size = qemu_plugin_read_register(reg->handle, c->read_buf);
+    reg->shadow_offset = shadow_size;
+    // round up to whole chunks
+    shadow_size += (reg->size + RING_CHUNK_SIZE - 1) / RING_CHUNK_SIZE *
+                   RING_CHUNK_SIZE;
+  }
+
+  c->shadow = g_byte_array_sized_new(shadow_size);
+  g_byte_array_set_size(c->shadow, shadow_size);
+  c->shadow_valid = false;
+
+  if (ring_load(&ring->state) != RING_STATE_INIT) {
+    PLUGIN_ASSERT(ring->registers_size == c->registers->len,
+                  "CPUs with different register counts: %d != %d",
+                  ring->registers_size, c->registers->len);
+    return;
+  }
+
+  for (int reg_idx = 0; reg_idx < c->registers->len; reg_idx++) {
+    Register *reg = c->registers->pdata[reg_idx];
+    RingRegister *shm_reg = &ring->registers[reg_idx];
+    if (reg->name != NULL) {
+      g_strlcpy(shm_reg->name, reg->name, MAX_REGISTER_NAME_SIZE);
+    }
+    shm_reg->size = reg->size;
+    shm_reg->ignored = 0;
+  }
+  ring->registers_size = c->registers->len;
+  ring_store(&ring->state, RING_STATE_REGISTERS);
+
+  while (ring_load(&ring->control) == RING_CONTROL_WAIT) {
+    g_usleep(RING_WAIT_US);
+  }
+  ring_store(&ring->state, RING_STATE_RUNNING);
+}
+
+// Writes one record (and continuation records if necessary) with all register
+// chunks that changed since the previous record of the CPU
+static void ring_write_state(unsigned int cpu_index, RingInsnInfo *insn_info) {
+  CPU *c = get_cpu(cpu_index);
+
+  g_mutex_lock(&ring_lock);
+
+  RingRecord *record = ring_next_record();
+  record->pc = insn_info->pc;
+  record->insn = insn_info->insn;
+  record->cpu = cpu_index;
+
+  for (int reg_idx = 0; reg_idx < c->registers->len; reg_idx++) {
+    if (ring->registers[reg_idx].ignored) {
+      continue;
+    }
+
+    Register *reg = c->registers->pdata[reg_idx];
+    g_byte_array_set_size(c->read_buf, 0);
+    int size = qemu_plugin_read_register(reg->handle, c->read_buf);
+
+    for (int offset = 0; offset < size; offset += RING_CHUNK_SIZE) {
+      int chunk_size = MIN(RING_CHUNK_SIZE, size - offset);
+      uint8_t *old = c->shadow->data + reg->shadow_offset + offset;
+      uint8_t *new = c->read_buf->data + offset;
+      if (c->shadow_valid && memcmp(old, new, chunk_size) == 0) {
+        continue;
+      }
+      memcpy(old, new, chunk_size);
+
+      if (record->deltas_size == RING_RECORD_DELTAS) {
+        ring_head++;
+        RingRecord *cont = ring_next_record();
+        cont->pc = record->pc;
+        cont->insn = record->insn;
+        cont->cpu = record->cpu;
+        cont->flags = RING_RECORD_CONT;
+        record = cont;
+      }
+
+      RingDelta *delta = &record->deltas[record->deltas_size++];
+      delta->reg = reg_idx;
+      delta->chunk = offset / RING_CHUNK_SIZE;
+      delta->reserved = 0;
+      delta->value = 0;
+      for (int i = 0; i < chunk_size; i++) {
+        delta->value |= (uint64_t)new[i] << (8 * i);
+      }
+    }
+  }
+
+  c->shadow_valid = true;
+  record->flags |= RING_RECORD_END;
+  ring_head++;
+  if (ring_head - ring_published >= RING_PUBLISH_BATCH) {
+    ring_publish();
+  }
+
+  g_mutex_unlock(&ring_lock);
+}
+
+static void plugin_exit(qemu_plugin_id_t id, void *p) {
+  PLUGIN_PRINTLN("plugin_exit");
+  if (args.protocol == RING_PROTOCOL) {
+    g_mutex_lock(&ring_lock);
+    ring_store(&ring->head.value, ring_head);
+    ring_store(&ring->state, RING_STATE_DONE);
+    g_mutex_unlock(&ring_lock);
+  }
+}
+
 static TBInsnInfo get_tbinsn_info(struct qemu_plugin_insn *insn) {
   TBInsnInfo insn_info = {0};
   insn_info.pc = qemu_plugin_insn_vaddr(insn);
@@ -333,6 +606,10 @@ static TBInfo get_tb_info(struct qemu_plugin_tb *tb) {
   return tbinfo;
 }
 
+static void vcpu_insn_exec_ring(unsigned int cpu_index, void *udata) {
+  ring_write_state(cpu_index, udata);
+}
+
 static void vcpu_insn_exec(unsigned int cpu_index, void *udata) {
   if (args.mode == INSN_MODE) {
     sem_wait(sem_client);
@@ -363,6 +640,16 @@ static void vcpu_tb_trans(qemu_plugin_id_t id, struct qemu_plugin_tb *tb) {
     //                                      QEMU_PLUGIN_CB_R_REGS, tbinfo);
 
     sem_post(sem_server);
+  } else if (args.mode == INSN_MODE && args.protocol == RING_PROTOCOL) {
+    size_t insns = qemu_plugin_tb_n_insns(tb);
+    for (int i = 0; i < insns; i++) {
+      struct qemu_plugin_insn *insn = qemu_plugin_tb_get_insn(tb, i);
+      RingInsnInfo *insn_info = g_new0(RingInsnInfo, 1);
+      insn_info->pc = qemu_plugin_insn_vaddr(insn);
+      qemu_plugin_insn_data(insn, &insn_info->insn, sizeof(insn_info->insn));
+      qemu_plugin_register_vcpu_insn_exec_cb(
+          insn, vcpu_insn_exec_ring, QEMU_PLUGIN_CB_R_REGS, insn_info);
+    }
   } else if (args.mode == INSN_MODE) {
     TBInfo *tbinfo = g_new0(TBInfo, 1);
     *tbinfo = get_tb_info(tb);
@@ -391,6 +678,13 @@ static void vcpu_init(qemu_plugin_id_t id, unsigned int vcpu_index) {
       c->registers->len <= MAX_CPU_REGISTERS,
       "Running on a CPU with more than %d registers: register-count: %d",
       MAX_CPU_REGISTERS, c->registers->len);
+
+  if (args.protocol == RING_PROTOCOL) {
+    c->read_buf = g_byte_array_new();
+    g_mutex_lock(&ring_lock);
+    ring_publish_registers(c);
+    g_mutex_unlock(&ring_lock);
+  }
 }
 
 static void vcpu_exit(qemu_plugin_id_t id, unsigned int vcpu_index) {
@@ -408,6 +702,16 @@ static ExecMode parse_mode(const char *mode_str) {
   }
 }
 
+static Protocol parse_protocol(const char *protocol_str) {
+  if (g_strcmp0(protocol_str, "lockstep") == 0) {
+    return LOCKSTEP_PROTOCOL;
+  } else if (g_strcmp0(protocol_str, "ring") == 0) {
+    return RING_PROTOCOL;
+  } else {
+    return INVALID_PROTOCOL;
+  }
+}
+
 QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
                                            const qemu_info_t *info, int argc,
                                            char **argv) {
@@ -415,6 +719,7 @@ QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
                            info->system_emulation ? info->system.max_vcpus : 1);
 
   args.client_name_set = false;
+  args.protocol = LOCKSTEP_PROTOCOL;
 
   // parse options
   for (int i = 0; i < argc; i++) {
@@ -427,6 +732,9 @@ QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
     } else if (g_strcmp0(argname, "mode") == 0) {
       args.mode = parse_mode(argvalue);
       PLUGIN_PRINTLN("running in mode: %d", args.mode);
+    } else if (g_strcmp0(argname, "protocol") == 0) {
+      args.protocol = parse_protocol(argvalue);
+      PLUGIN_PRINTLN("using protocol: %d", args.protocol);
     } else if (g_strcmp0(argname, "client-name") == 0) {
       PLUGIN_ASSERT(!args.client_name_set,
                     "illegally set client-name multiple times");
@@ -451,20 +759,43 @@ QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
     return EXIT_FAILURE;
   }
 
-  PLUGIN_PRINTLN("::qemu_plugin_install");
-
-  shm = connect_to_broker();
-  if (shm == NULL) {
+  if (args.protocol == INVALID_PROTOCOL) {
+    PLUGIN_PRINTLN("invalid protocol, option protocol=<Protocol> must be "
+                   "lockstep or ring");
     return EXIT_FAILURE;
   }
 
-  open_sems();
-  if (sem_client == NULL || sem_server == NULL) {
+  if (args.protocol == RING_PROTOCOL && args.mode != INSN_MODE) {
+    PLUGIN_PRINTLN("the ring protocol only supports mode=insn");
     return EXIT_FAILURE;
   }
 
-  if (args.mode == INSN_MODE) {
-    shm->shm_exec.init_mask = 0;
+  PLUGIN_PRINTLN("::qemu_plugin_install");
+
+  if (args.protocol == RING_PROTOCOL) {
+    ring = connect_to_broker(sizeof(RingSHM));
+    if (ring == NULL) {
+      return EXIT_FAILURE;
+    }
+
+    ring->magic = RING_MAGIC;
+    ring->version = RING_VERSION;
+    ring->capacity = RING_CAPACITY;
+    ring_head = ring_published = ring_load(&ring->head.value);
+  } else {
+    shm = connect_to_broker(sizeof(BrokerSHM));
+    if (shm == NULL) {
+      return EXIT_FAILURE;
+    }
+
+    open_sems();
+    if (sem_client == NULL || sem_server == NULL) {
+      return EXIT_FAILURE;
+    }
+
+    if (args.mode == INSN_MODE) {
+      shm->shm_exec.init_mask = 0;
+    }
   }
 
   plugin_id = id;
@@ -0,0 +1,193 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+// Counts the executed instructions per VADL instruction definition.
+//
+// Instructions are classified once at translation time using the decode tree
+// generated from the VADL specification. At execution time, only an inline
+// per-vCPU counter is incremented, so no callback is involved.
+//
+// Options:
+//   file=<path>        output file (default: insn-histogram.csv)
+//   format=csv|bin     output format (default: csv)
+//
+// The csv format contains one `<instruction>,<count>` line per instruction.
+// The bin format starts with the magic `VDTH`, a u32 version (1) and a u32
+// number of entries, followed by the entries as u16 name length, name and u64
+// count (all little endian).
+// Both formats can be passed to `openvadl --decode-profile` to optimize the
+// decode tree for the profiled workload.
+
+#include <glib.h>
+#include <inttypes.h>
+#include <qemu-plugin.h>
+#include <stddef.h>
+#include <stdint.h>
+#include <stdio.h>
+#include <string.h>
+
+QEMU_PLUGIN_EXPORT int qemu_plugin_version = QEMU_PLUGIN_VERSION;
+
+#define INSN_COUNT [(${insn_count})]
+#define INSN_WORD_BYTES [(${insn_word_bytes})]
+// counter index of instructions that could not be classified
+#define UNKNOWN_INSN INSN_COUNT
+
+static const char *const insn_names[INSN_COUNT] = {
+[# th:each="name : ${insn_names}"]    "[(${name})]",
+[/]};
+
+typedef struct {
+  uint64_t counts[INSN_COUNT + 1];
+} InsnCounters;
+
+typedef enum {
+  FORMAT_CSV,
+  FORMAT_BIN,
+} OutputFormat;
+
+static struct qemu_plugin_scoreboard *counters;
+static const char *out_file = "insn-histogram.csv";
+static OutputFormat out_format = FORMAT_CSV;
+
+// Generated from the VADL decode tree.
+[(${classifier_code})]
+
+static qemu_plugin_u64 counter_of(int idx) {
+  qemu_plugin_u64 entry = {
+      .score = counters,
+      .offset = offsetof(InsnCounters, counts) + idx * sizeof(uint64_t),
+  };
+  return entry;
+}
+
+static int classify(struct qemu_plugin_insn *insn) {
+  uint8_t data[INSN_WORD_BYTES] = {0};
+  size_t size = qemu_plugin_insn_data(insn, data, sizeof(data));
+
+  // instruction words are little endian
+  uint64_t word = 0;
+  for (size_t i = 0; i < size; i++) {
+    word |= (uint64_t)data[i] << (8 * i);
+  }
+
+  int idx = classify_insn(word);
+  return idx < 0 ? UNKNOWN_INSN : idx;
+}
+
+static void vcpu_tb_trans(qemu_plugin_id_t id, struct qemu_plugin_tb *tb) {
+  size_t n = qemu_plugin_tb_n_insns(tb);
+  for (size_t i = 0; i < n; i++) {
+    struct qemu_plugin_insn *insn = qemu_plugin_tb_get_insn(tb, i);
+    qemu_plugin_register_vcpu_insn_exec_inline_per_vcpu(
+        insn, QEMU_PLUGIN_INLINE_ADD_U64, counter_of(classify(insn)), 1);
+  }
+}
+
+static void write_u16(FILE *f, uint16_t v) {
+  uint8_t b[2] = {v & 0xff, v >> 8};
+  fwrite(b, 1, sizeof(b), f);
+}
+
+static void write_u32(FILE *f, uint32_t v) {
+  for (int i = 0; i < 4; i++) {
+    fputc((v >> (8 * i)) & 0xff, f);
+  }
+}
+
+static void write_u64(FILE *f, uint64_t v) {
+  for (int i = 0; i < 8; i++) {
+    fputc((v >> (8 * i)) & 0xff, f);
+  }
+}
+
+static void plugin_exit(qemu_plugin_id_t id, void *p) {
+  uint64_t totals[INSN_COUNT + 1];
+  uint32_t entries = 0;
+  for (int i = 0; i <= INSN_COUNT; i++) {
+    totals[i] = qemu_plugin_u64_sum(counter_of(i));
+    if (i < INSN_COUNT && totals[i] > 0) {
+      entries++;
+    }
+  }
+
+  FILE *f = fopen(out_file, out_format == FORMAT_BIN ? "wb" : "w");
+  if (f == NULL) {
+    g_autofree gchar *msg =
+        g_strdup_printf("insn-histogram: cannot open %s\n", out_file);
+    qemu_plugin_outs(msg);
+    qemu_plugin_scoreboard_free(counters);
+    return;
+  }
+
+  if (out_format == FORMAT_BIN) {
+    fwrite("VDTH", 1, 4, f);
+    write_u32(f, 1);
+    write_u32(f, entries);
+  } else {
+    fprintf(f, "instruction,count\n");
+  }
+
+  // only executed instructions are written to keep the histogram compact
+  for (int i = 0; i < INSN_COUNT; i++) {
+    if (totals[i] == 0) {
+      continue;
+    }
+    if (out_format == FORMAT_BIN) {
+      write_u16(f, strlen(insn_names[i]));
+      fwrite(insn_names[i], 1, strlen(insn_names[i]), f);
+      write_u64(f, totals[i]);
+    } else {
+      fprintf(f, "%s,%" PRIu64 "\n", insn_names[i], totals[i]);
+    }
+  }
+  fclose(f);
+
+  if (totals[UNKNOWN_INSN] > 0) {
+    g_autofree gchar *msg = g_strdup_printf(
+        "insn-histogram: %" PRIu64 " executed instructions were not classified\n",
+        totals[UNKNOWN_INSN]);
+    qemu_plugin_outs(msg);
+  }
+
+  qemu_plugin_scoreboard_free(counters);
+}
+
+QEMU_PLUGIN_EXPORT int qemu_plugin_install(qemu_plugin_id_t id,
+                                           const qemu_info_t *info, int argc,
+                                           char **argv) {
+  for (int i = 0; i < argc; i++) {
+    g_auto(GStrv) tokens = g_strsplit(argv[i], "=", 2);
+    if (g_strcmp0(tokens[0], "file") == 0 && tokens[1] != NULL) {
+      out_file = g_strdup(tokens[1]);
+    } else if (g_strcmp0(tokens[0], "format") == 0 &&
+               g_strcmp0(tokens[1], "csv") == 0) {
+      out_format = FORMAT_CSV;
+    } else if (g_strcmp0(tokens[0], "format") == 0 &&
+               g_strcmp0(tokens[1], "bin") == 0) {
+      out_format = FORMAT_BIN;
+    } else {
+      fprintf(stderr, "insn-histogram: option parsing failed: %s\n", argv[i]);
+      return -1;
+    }
+  }
+
+  counters = qemu_plugin_scoreboard_new(sizeof(InsnCounters));
+
+  qemu_plugin_register_vcpu_tb_trans_cb(id, vcpu_tb_trans);
+  qemu_plugin_register_atexit_cb(id, plugin_exit, NULL);
+  return 0;
+}
@@ -0,0 +1,131 @@
+#include "qemu/osdep.h"
+#include "qemu.h"
+#include "user-internals.h"
+#include "exec/cpu_ldst.h"
+#include "cpu_loop-common.h"
+#include "signal-common.h"
+
+// number of bytes read to classify an instruction
+#define INSN_WORD_BYTES [(${insn_word_bytes})]
+
+// size in bytes of each classified instruction
+static const uint8_t insn_sizes[] = {
+[# th:each="size : ${insn_sizes}"]    [(${size})],
+[/]};
+
+// Generated from the VADL decode tree.
+[(${classifier_code})]
+
+// Classifies the instruction at the current PC, which is the instruction that
+// raised the exception.
+static int current_insn(CPUArchState *env)
+{
+    // instruction words are little endian
+    uint64_t word = 0;
+    for (int i = 0; i < INSN_WORD_BYTES; i++) {
+        word |= (uint64_t)cpu_ldub_code(env, env->[(${gen_arch_upper})]_PC + i) << (8 * i);
+    }
+    return classify_insn(word);
+}
+
+static bool is_syscall_insn(int insn)
+{
+    switch (insn) {
+[# th:each="insn : ${syscall_insns}"]    case [(${insn.index})]: // [(${insn.name})]
+[/]        return true;
+    default:
+        return false;
+    }
+}
+
+static bool is_breakpoint_insn(int insn)
+{
+    switch (insn) {
+[# th:each="insn : ${breakpoint_insns}"]    case [(${insn.index})]: // [(${insn.name})]
+[/]        return true;
+    default:
+        return false;
+    }
+}
+
+static void handle_syscall(CPUArchState *env, int insn)
+{
+    abi_long ret;
+
+    // continue after the system call instruction
+    env->[(${gen_arch_upper})]_PC += insn_sizes[insn];
+    ret = do_syscall(env,
+                     env->[(${syscall.nr})],
+                     [(${#strings.arrayJoin(syscall.args, ', ')})],
+                     0, 0);
+    if (ret == -QEMU_ERESTARTSYS) {
+        env->[(${gen_arch_upper})]_PC -= insn_sizes[insn];
+    } else if (ret != -QEMU_ESIGRETURN) {
+        env->[(${syscall.ret})] = ret;
+    }
+}
+
+// There is no guest kernel, so exceptions are not handled by the exception
+// handlers of the specification. System calls are forwarded to the host,
+// all other exceptions are delivered as signal.
+static void handle_exception(CPUArchState *env)
+{
+    target_ulong pc = env->[(${gen_arch_upper})]_PC;
+    int insn = current_insn(env);
+
+    if (insn >= 0 && is_syscall_insn(insn)) {
+        handle_syscall(env, insn);
+    } else if (insn >= 0 && is_breakpoint_insn(insn)) {
+        force_sig_fault(TARGET_SIGTRAP, TARGET_TRAP_BRKPT, pc);
+    } else {
+        force_sig_fault(TARGET_SIGILL, TARGET_ILL_ILLOPC, pc);
+    }
+}
+
+void cpu_loop(CPUArchState *env)
+{
+    CPUState *cs = env_cpu(env);
+    int trapnr;
+
+    for (;;) {
+        cpu_exec_start(cs);
+        trapnr = cpu_exec(cs);
+        cpu_exec_end(cs);
+        process_queued_cpu_work(cs);
+
+        switch (trapnr) {
+        case EXCP_INTERRUPT:
+            // just indicate that signals should be handled asap
+            break;
+        case EXCP_ATOMIC:
+            cpu_exec_step_atomic(cs);
+            break;
+        case EXCP_DEBUG:
+            force_sig_fault(TARGET_SIGTRAP, TARGET_TRAP_BRKPT,
+                            env->[(${gen_arch_upper})]_PC);
+            break;
+        case EXCP_HLT:
+            // raised by instructions that are not supported by the ISS
+            force_sig_fault(TARGET_SIGILL, TARGET_ILL_ILLOPC,
+                            env->[(${gen_arch_upper})]_PC);
+            break;
+        default:
+            if (trapnr >= 0 && trapnr < EXCP_INTERRUPT) {
+                // an exception defined by the specification
+                handle_exception(env);
+                break;
+            }
+            EXCP_DUMP(env, "\nqemu: unhandled CPU exception %#x - aborting\n",
+                      trapnr);
+            exit(EXIT_FAILURE);
+        }
+
+        process_pending_signals(env);
+    }
+}
+
+void target_cpu_copy_regs(CPUArchState *env, struct target_pt_regs *regs)
+{
+    env->[(${gen_arch_upper})]_PC = regs->pc;
+    env->[(${syscall.sp})] = regs->sp;
+}
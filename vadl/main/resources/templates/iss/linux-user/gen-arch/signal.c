@@ -0,0 +1,24 @@
+#include "qemu/osdep.h"
+#include "qemu.h"
+#include "user-internals.h"
+#include "signal-common.h"
+#include "linux-user/trace.h"
+
+// The signal frame layout is not part of the VADL specification.
+// Delivering a signal to a guest signal handler therefore terminates the guest
+// with SIGSEGV, while default signal actions (e.g. terminate or ignore) work as usual.
+
+void setup_rt_frame(int sig, struct target_sigaction *ka,
+                    target_siginfo_t *info,
+                    target_sigset_t *set, CPUArchState *env)
+{
+    qemu_log_mask(LOG_UNIMP, "setup_rt_frame: guest signal handlers are not supported\n");
+    force_sigsegv(sig);
+}
+
+long do_rt_sigreturn(CPUArchState *env)
+{
+    qemu_log_mask(LOG_UNIMP, "do_rt_sigreturn: guest signal handlers are not supported\n");
+    force_sig(TARGET_SIGSEGV);
+    return -QEMU_ESIGRETURN;
+}
@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_SOCKBITS_H
+#define [(${gen_arch_upper})]_SOCKBITS_H
+
+#include "../generic/sockbits.h"
+
+#endif
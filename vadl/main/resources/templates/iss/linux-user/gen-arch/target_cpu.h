@@ -0,0 +1,29 @@
+#ifndef [(${gen_arch_upper})]_TARGET_CPU_H
+#define [(${gen_arch_upper})]_TARGET_CPU_H
+
+static inline void cpu_clone_regs_child(CPUArchState *env, target_ulong newsp,
+                                        unsigned flags)
+{
+    if (newsp) {
+        env->[(${syscall.sp})] = newsp;
+    }
+    env->[(${syscall.ret})] = 0;
+}
+
+static inline void cpu_clone_regs_parent(CPUArchState *env, unsigned flags)
+{
+}
+
+static inline void cpu_set_tls(CPUArchState *env, target_ulong newtls)
+{
+[# th:if="${!#strings.isEmpty(syscall.tp)}"]    env->[(${syscall.tp})] = newtls;
+[/][# th:if="${#strings.isEmpty(syscall.tp)}"]    // the ABI does not define a thread pointer
+    qemu_log_mask(LOG_UNIMP, "cpu_set_tls: no thread pointer register\n");
+[/]}
+
+static inline abi_ulong get_sp_from_cpustate(CPUArchState *state)
+{
+    return state->[(${syscall.sp})];
+}
+
+#endif
@@ -0,0 +1,9 @@
+#ifndef [(${gen_arch_upper})]_TARGET_ELF_H
+#define [(${gen_arch_upper})]_TARGET_ELF_H
+
+static inline const char *cpu_get_model(uint32_t eflags)
+{
+    return TYPE_[(${gen_arch_upper})]_CPU;
+}
+
+#endif
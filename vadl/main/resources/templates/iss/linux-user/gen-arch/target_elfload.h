@@ -0,0 +1,19 @@
+#ifndef [(${gen_arch_upper})]_TARGET_ELFLOAD_H
+#define [(${gen_arch_upper})]_TARGET_ELFLOAD_H
+
+// Included by linux-user/elfload.c to define the ELF loader parameters.
+
+#define ELF_CLASS ELFCLASS[(${target_size})]
+// the machine the LCB emits into the ELF files of the target
+#define ELF_ARCH [(${elf_machine})]
+#define elf_check_arch(x) ((x) == ELF_ARCH)
+
+#define ELF_EXEC_PAGESIZE TARGET_PAGE_SIZE
+
+#define init_thread(regs, infop)           \
+    do {                                   \
+        (regs)->pc = (infop)->entry;       \
+        (regs)->sp = (infop)->start_stack; \
+    } while (0)
+
+#endif
@@ -0,0 +1,7 @@
+#ifndef [(${gen_arch_upper})]_TARGET_ERRNO_DEFS_H
+#define [(${gen_arch_upper})]_TARGET_ERRNO_DEFS_H
+
+// uses the generic Linux errno values
+#include "../generic/target_errno_defs.h"
+
+#endif
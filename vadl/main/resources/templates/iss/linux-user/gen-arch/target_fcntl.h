@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TARGET_FCNTL_H
+#define [(${gen_arch_upper})]_TARGET_FCNTL_H
+
+#include "../generic/fcntl.h"
+
+#endif
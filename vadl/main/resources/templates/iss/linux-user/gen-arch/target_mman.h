@@ -0,0 +1,11 @@
+#ifndef [(${gen_arch_upper})]_TARGET_MMAN_H
+#define [(${gen_arch_upper})]_TARGET_MMAN_H
+
+#define TASK_UNMAPPED_BASE \
+    TARGET_PAGE_ALIGN((abi_ulong)(TARGET_TASK_SIZE / 3))
+
+#define ELF_ET_DYN_BASE (TASK_UNMAPPED_BASE * 2)
+
+#include "../generic/target_mman.h"
+
+#endif
@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TARGET_PRCTL_H
+#define [(${gen_arch_upper})]_TARGET_PRCTL_H
+
+// no target specific prctl options
+
+#endif
@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TARGET_PROC_H
+#define [(${gen_arch_upper})]_TARGET_PROC_H
+
+// no target specific /proc entries
+
+#endif
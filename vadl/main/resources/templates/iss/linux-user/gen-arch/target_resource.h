@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TARGET_RESOURCE_H
+#define [(${gen_arch_upper})]_TARGET_RESOURCE_H
+
+#include "../generic/target_resource.h"
+
+#endif
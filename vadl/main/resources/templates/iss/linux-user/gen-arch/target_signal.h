@@ -0,0 +1,8 @@
+#ifndef [(${gen_arch_upper})]_TARGET_SIGNAL_H
+#define [(${gen_arch_upper})]_TARGET_SIGNAL_H
+
+#include "../generic/signal.h"
+
+#define TARGET_ARCH_HAS_SIGTRAMP_PAGE 0
+
+#endif
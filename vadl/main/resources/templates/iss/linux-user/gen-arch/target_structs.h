@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TARGET_STRUCTS_H
+#define [(${gen_arch_upper})]_TARGET_STRUCTS_H
+
+#include "../generic/target_structs.h"
+
+#endif
@@ -0,0 +1,17 @@
+#ifndef [(${gen_arch_upper})]_TARGET_SYSCALL_H
+#define [(${gen_arch_upper})]_TARGET_SYSCALL_H
+
+// registers passed from the ELF loader to target_cpu_copy_regs()
+struct target_pt_regs {
+    abi_ulong pc;
+    abi_ulong sp;
+};
+
+#define UNAME_MACHINE "[(${gen_arch_lower})]"
+#define UNAME_MINIMUM_RELEASE "5.4.0"
+
+#define TARGET_MCL_CURRENT 1
+#define TARGET_MCL_FUTURE  2
+#define TARGET_MCL_ONFAULT 4
+
+#endif
@@ -0,0 +1,6 @@
+#ifndef [(${gen_arch_upper})]_TERMBITS_H
+#define [(${gen_arch_upper})]_TERMBITS_H
+
+#include "../generic/termbits.h"
+
+#endif
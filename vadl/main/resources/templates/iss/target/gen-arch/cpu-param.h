@@ -7,6 +7,15 @@
 #define TARGET_PAGE_BITS 12
 
 #define TARGET_PHYS_ADDR_SPACE_BITS 64
+#ifdef CONFIG_USER_ONLY
+// the guest address space must fit into the host's user address space
+#if TARGET_LONG_BITS == 64
+#define TARGET_VIRT_ADDR_SPACE_BITS 47
+#else
+#define TARGET_VIRT_ADDR_SPACE_BITS 32
+#endif
+#else
 #define TARGET_VIRT_ADDR_SPACE_BITS 64
+#endif
 
 #endif
\ No newline at end of file
@@ -6,6 +6,7 @@
 #include "qemu/log-for-trace.h"
 #include "qemu/qemu-print.h"
 #include "cpu-bits.h"
+#include "vadl-builtins.h"
 
 G_NORETURN void [(${gen_arch_lower})]_raise_exception(CPU[(${gen_arch_upper})]State *env, int32_t exception) {
     CPUState *cs = env_cpu(env);
@@ -27,3 +28,7 @@ void helper_unsupported(CPU[(${gen_arch_upper})]State *env) {
 [/]
 
 
+
+[# th:each="helper : ${helper_info.helpers}"]
+[(${helper.helper_impl})]
+[/]
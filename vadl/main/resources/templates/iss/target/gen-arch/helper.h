@@ -6,3 +6,8 @@ DEF_HELPER_1(unsupported, noreturn, env)
 [# th:each="exc : ${exc_info.exceptions}"]
 [(${exc.helper_def})]
 [/]
+
+// pure helpers of outlined instruction behavior expressions
+[# th:each="helper : ${helper_info.helpers}"]
+[(${helper.helper_def})]
+[/]
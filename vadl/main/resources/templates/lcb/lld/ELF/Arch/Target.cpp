@@ -13,6 +13,10 @@
 #include "[(${namespace})]ManualEncoding.hpp"
 #include "[(${namespace})]Relocations.hpp"
 #include "ImmediateUtils.h"
+#include "vadl-builtins.h"
+#include "OutputSections.h"
+#include "lld/Common/CommonLinkerContext.h"
+#include <array>
 
 using namespace llvm;
 using namespace llvm::object;
@@ -33,9 +37,37 @@ namespace lld
                 RelExpr getRelExpr(RelType type, const Symbol &s,
                                    const uint8_t *loc) const override;
                 void relocate(uint8_t * loc, const Relocation &rel, uint64_t val) const override;
+                bool relaxOnce(int pass) const override;
+            };
+
+            // A pseudo instruction which the linker can replace by a shorter pseudo instruction.
+            // The index in the table is the addend of the R_[(${namespace})]_RELAX relocation.
+            struct Relaxation
+            {
+                uint64_t sequenceSize;
+                uint64_t relaxedSize;
+                uint64_t encoding;
+                RelType type;
+                RelExpr expr;
+            };
+
+            const std::array<Relaxation, [(${relaxations.size()})]> relaxations = {{
+            [#th:block th:each="relaxation : ${relaxations}" ]
+                { [(${relaxation.sequenceSize})], [(${relaxation.relaxedSize})], [(${relaxation.encoding})]ULL, [(${relaxation.relocation})], [(${relaxation.expr})] },
+            [/th:block]
+            }};
+
+            // A relaxation which replaces the bytes at the offset.
+            struct Rewrite
+            {
+                uint64_t offset;
+                const Relaxation *relaxation;
             };
 
         } // end anonymous namespace
+[# th:each="function : ${relaxationFunctions}" ]
+        static [(${function})]
+[/]
 
         RelExpr [(${namespace})]::getRelExpr(const RelType type, const Symbol &s,
                                             const uint8_t *loc) const
@@ -44,6 +76,8 @@ namespace lld
             {
             case R_[(${namespace})]_NONE:
                 return R_NONE;
+            case R_[(${namespace})]_RELAX:
+                return R_RELAX_HINT;
             case R_[(${namespace})]_32:
             case R_[(${namespace})]_64:
             [#th:block th:each="relocation: ${relocations}" ]
@@ -57,6 +91,16 @@ namespace lld
             }
         }
 
+        uint16_t read16(uint8_t *loc)
+        {
+            return read16[#th:block th:text="${isBigEndian}? 'be' : 'le'" \][/th:block](loc);
+        }
+
+        void write16(uint8_t *loc, uint16_t val)
+        {
+            write16[#th:block th:text="${isBigEndian}? 'be' : 'le'" \][/th:block](loc, val);
+        }
+
         uint32_t read32(uint8_t *loc)
         {
             return read32[#th:block th:text="${isBigEndian}? 'be' : 'le'" \][/th:block](loc);
@@ -94,10 +138,180 @@ namespace lld
                 write64(loc, val);
                 return;
             }
+
+            case R_[(${namespace})]_RELAX:
+                return; // Only a marker for relaxOnce.
+            [#th:block th:each="relocation : ${relaxedRelocations}" ]
+            case [(${relocation.relocation})]:
+            {
+                write[(${relocation.bits})](loc, [(${relocation.update})](read[(${relocation.bits})](loc), [(${relocation.encode})](val)));
+                return;
+            }
+            [/th:block]
             default : llvm_unreachable("unknown relocation");
             }
         }
 
+        static bool isInRange(uint64_t index, int64_t value)
+        {
+            switch (index)
+            {
+            [#th:block th:each="relaxation : ${relaxations}" ]
+            case [(${relaxation.index})]:
+                return [(${relaxation.predicate})](value) && [(${relaxation.decode})]([(${relaxation.encode})](value)) == value;
+            [/th:block]
+            default:
+                return false;
+            }
+        }
+
+        static void writeInstruction(uint8_t *loc, uint64_t size, uint64_t encoding)
+        {
+            switch (size)
+            {
+            case 2:
+                write16(loc, encoding);
+                return;
+            case 4:
+                write32(loc, encoding);
+                return;
+            case 8:
+                write64(loc, encoding);
+                return;
+            default:
+                llvm_unreachable("unsupported instruction size");
+            }
+        }
+
+        // Returns the number of bytes which are removed before the offset.
+        static uint64_t removedBefore(ArrayRef<Rewrite> rewrites, uint64_t offset)
+        {
+            uint64_t removed = 0;
+            for (const Rewrite &rewrite : rewrites)
+            {
+                if (rewrite.offset >= offset)
+                    break;
+                removed += rewrite.relaxation->sequenceSize - rewrite.relaxation->relaxedSize;
+            }
+            return removed;
+        }
+
+        // Replaces the pseudo instructions which are marked with R_[(${namespace})]_RELAX by
+        // their shorter pseudo instruction when the target is in range. The section is
+        // shrunk immediately, so the next pass sees the updated addresses.
+        // Alignment requirements beyond the instruction size are not preserved.
+        static bool relaxSection(InputSection &sec)
+        {
+            MutableArrayRef<Relocation> relocs = sec.relocs();
+            SmallVector<Rewrite, 0> rewrites;
+
+            for (Relocation &marker : relocs)
+            {
+                if (marker.type != R_[(${namespace})]_RELAX || marker.expr == R_NONE ||
+                    marker.addend < 0 || uint64_t(marker.addend) >= relaxations.size())
+                    continue;
+
+                // The symbol is taken from the relocation of the first instruction.
+                Relocation *first = nullptr;
+                for (Relocation &r : relocs)
+                {
+                    if (r.offset == marker.offset && &r != &marker && r.expr != R_NONE)
+                    {
+                        first = &r;
+                        break;
+                    }
+                }
+                if (!first)
+                    continue;
+
+                const Relaxation &relaxation = relaxations[marker.addend];
+                uint64_t target = first->sym->getVA(first->addend);
+                int64_t value = relaxation.expr == R_PC ? target - sec.getVA(marker.offset) : target;
+                if (!isInRange(marker.addend, value))
+                    continue;
+
+                first->type = relaxation.type;
+                first->expr = relaxation.expr;
+                marker.expr = R_NONE;
+                rewrites.push_back({marker.offset, &relaxation});
+            }
+
+            if (rewrites.empty())
+                return false;
+
+            llvm::sort(rewrites, [](const Rewrite &a, const Rewrite &b) { return a.offset < b.offset; });
+
+            // Copy the content without the removed bytes.
+            ArrayRef<uint8_t> old = sec.content();
+            uint64_t newSize = old.size() - removedBefore(rewrites, old.size());
+            uint8_t *p = context().bAlloc.Allocate<uint8_t>(newSize);
+            uint64_t from = 0;
+            uint8_t *to = p;
+            for (const Rewrite &rewrite : rewrites)
+            {
+                memcpy(to, old.data() + from, rewrite.offset - from);
+                to += rewrite.offset - from;
+                writeInstruction(to, rewrite.relaxation->relaxedSize, rewrite.relaxation->encoding);
+                to += rewrite.relaxation->relaxedSize;
+                from = rewrite.offset + rewrite.relaxation->sequenceSize;
+            }
+            memcpy(to, old.data() + from, old.size() - from);
+            sec.content_ = p;
+            sec.size = newSize;
+
+            // Drop the relocations of the removed instructions and move the others.
+            for (Relocation &r : relocs)
+            {
+                auto it = llvm::upper_bound(rewrites, r.offset,
+                    [](uint64_t offset, const Rewrite &rewrite) { return offset < rewrite.offset; });
+                if (it != rewrites.begin())
+                {
+                    const Rewrite &previous = *std::prev(it);
+                    if (r.offset > previous.offset &&
+                        r.offset < previous.offset + previous.relaxation->sequenceSize)
+                    {
+                        r.type = R_[(${namespace})]_NONE;
+                        r.expr = R_NONE;
+                        continue;
+                    }
+                }
+                r.offset -= removedBefore(rewrites, r.offset);
+            }
+
+            // Move the symbols which are defined in this section.
+            for (InputFile *file : ctx.objectFiles)
+            {
+                for (Symbol *sym : file->getSymbols())
+                {
+                    auto *d = dyn_cast<Defined>(sym);
+                    if (!d || d->file != file || d->section != &sec)
+                        continue;
+                    uint64_t end = d->value + d->size;
+                    d->value -= removedBefore(rewrites, d->value);
+                    d->size = end - removedBefore(rewrites, end) - d->value;
+                }
+            }
+
+            return true;
+        }
+
+        bool [(${namespace})]::relaxOnce(int pass) const
+        {
+            if (config->relocatable || !config->relax || relaxations.empty())
+                return false;
+
+            bool changed = false;
+            SmallVector<InputSection *, 0> storage;
+            for (OutputSection *osec : outputSections)
+            {
+                if (!(osec->flags & SHF_EXECINSTR))
+                    continue;
+                for (InputSection *sec : getInputSections(*osec, storage))
+                    changed |= relaxSection(*sec);
+            }
+            return changed;
+        }
+
         TargetInfo *get[(${namespace})]TargetInfo()
         {
             static [(${namespace})] target;
@@ -321,7 +321,7 @@ enum {
   EM_VE = 251,            // NEC SX-Aurora VE
   EM_CSKY = 252,          // C-SKY 32-bit processor
   EM_LOONGARCH = 258,     // LoongArch
-  EM_[(${namespace})] = 259, // [(${namespace})] processor
+  EM_[(${namespace})] = [(${elfMachine})], // [(${namespace})] processor
 };
 
 // Object file classes.
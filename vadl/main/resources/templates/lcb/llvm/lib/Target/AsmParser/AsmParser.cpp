@@ -115,7 +115,9 @@ bool [(${namespace})]AsmParser::MatchAndEmitInstruction(SMLoc IDLoc, unsigned &O
         }
     }
 
-    Out.emitInstruction(Inst, getSTI());
+    MCInst CInst;
+    bool Compressed = AsmUtils::compressInst(CInst, Inst);
+    Out.emitInstruction(Compressed ? CInst : Inst, getSTI());
 
     return false;
 }
@@ -3,6 +3,7 @@
 #include "MCTargetDesc/[(${namespace})]TargetStreamer.h"
 #include "MCTargetDesc/AsmUtils.h"
 #include "TargetInfo/[(${namespace})]TargetInfo.h"
+#include "llvm/ADT/StringExtras.h"
 #include "llvm/MC/MCContext.h"
 #include "llvm/MC/MCParser/MCAsmLexer.h"
 #include "llvm/MC/MCParser/MCAsmParser.h"
@@ -18,7 +18,9 @@ using namespace llvm;
 
 void [(${namespace})]AsmPrinter::emitToStreamer(MCStreamer &S, const MCInst &Inst)
 {
-    AsmPrinter::EmitToStreamer(*OutStreamer, Inst);
+    MCInst CInst;
+    bool Compressed = AsmUtils::compressInst(CInst, Inst);
+    AsmPrinter::EmitToStreamer(*OutStreamer, Compressed ? CInst : Inst);
 }
 
 StringRef [(${namespace})]AsmPrinter::getPassName() const
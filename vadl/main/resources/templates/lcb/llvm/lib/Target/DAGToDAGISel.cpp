@@ -72,10 +72,15 @@ static SDNode *selectImm(SelectionDAG *CurDAG, const SDLoc &DL, int64_t Imm,
                          MVT XLenVT, const [(${namespace})]Subtarget &Subtarget) {
   auto Seq = [(${namespace})]MatInt::generateInstSeq(Imm);
 
-  SDNode *Result;
+  SDNode *Result = nullptr;
   for ([(${namespace})]MatInt::Inst &Inst : Seq) {
     SDValue SDImm = CurDAG->getTargetConstant(Inst.getImm(), DL, XLenVT);
-    Result = CurDAG->getMachineNode(Inst.getOpcode(), DL, XLenVT, SDImm);
+    if (Inst.getOpndKind() == [(${namespace})]MatInt::RegImm) {
+      // the instruction takes the result of the previous instruction
+      Result = CurDAG->getMachineNode(Inst.getOpcode(), DL, XLenVT, SDValue(Result, 0), SDImm);
+    } else {
+      Result = CurDAG->getMachineNode(Inst.getOpcode(), DL, XLenVT, SDImm);
+    }
   }
 
   return Result;
@@ -13,14 +13,17 @@
 #include "llvm/CodeGen/LiveVariables.h"
 #include "llvm/CodeGen/MachineCombinerPattern.h"
 #include "llvm/CodeGen/MachineFunctionPass.h"
+#include "llvm/CodeGen/MachineOutliner.h"
 #include "llvm/CodeGen/MachineInstrBuilder.h"
 #include "llvm/CodeGen/MachineRegisterInfo.h"
 #include "llvm/CodeGen/MachineTraceMetrics.h"
 #include "llvm/CodeGen/RegisterScavenging.h"
 #include "llvm/IR/DebugInfoMetadata.h"
+#include "llvm/IR/Module.h"
 #include "llvm/MC/TargetRegistry.h"
 #include "Utils/ImmediateUtils.h"
 #include "MCTargetDesc/[(${namespace})]ConstMatInt.h"
+#include "Utils/[(${namespace})]BaseInfo.h"
 #include <math.h>
 #include <iostream>
 
@@ -233,14 +236,23 @@ bool [(${namespace})]InstrInfo::adjustReg(MachineBasicBlock &MBB, MachineBasicBl
 
     Register ScratchReg = MRI.createVirtualRegister(&[(${namespace})]::[(${additionRegisterFile})]RegClass);
 
-    [# th:each="cons,iterStat : ${constantSequences}" ]
-    [#th:block th:if="${!iterStat.first}"]else[/th:block] if(Val >= [(${cons.lowestValue})] && Val <= [(${cons.highestValue})]) {
-     BuildMI(MBB, MBBI, DL, get([(${namespace})]::[(${cons.instruction})]))
-          .addReg(ScratchReg, RegState::Define)
-          .addImm(Val)
-          .setMIFlag(Flag);
+    for (auto &Inst : [(${namespace})]MatInt::generateInstSeq(Val)) {
+      if (Inst.getOpndKind() == [(${namespace})]MatInt::RegImm) {
+        // the instruction takes the result of the previous instruction
+        Register NextReg = MRI.createVirtualRegister(&[(${namespace})]::[(${additionRegisterFile})]RegClass);
+        BuildMI(MBB, MBBI, DL, get(Inst.getOpcode()))
+            .addReg(NextReg, RegState::Define)
+            .addReg(ScratchReg, RegState::Kill)
+            .addImm(Inst.getImm())
+            .setMIFlag(Flag);
+        ScratchReg = NextReg;
+      } else {
+        BuildMI(MBB, MBBI, DL, get(Inst.getOpcode()))
+            .addReg(ScratchReg, RegState::Define)
+            .addImm(Inst.getImm())
+            .setMIFlag(Flag);
+      }
     }
-    [/]
 
     BuildMI(MBB, MBBI, DL, get([(${namespace})]::[(${addition})]), DestReg)
       .addReg(SrcReg, RegState::Kill)
@@ -446,4 +458,108 @@ bool [(${namespace})]InstrInfo::isAsCheapAsAMove(const MachineInstr &MI) const {
   [/]
   }
   return MI.isAsCheapAsAMove();
-}
\ No newline at end of file
+}
+
+// Outlined functions are called with the call sequence of the ABI and return with
+// the return sequence. Both use the return address register, so it must not be live
+// around a candidate nor be used inside of it.
+enum MachineOutlinerConstructionType {
+  MachineOutlinerDefault
+};
+
+bool [(${namespace})]InstrInfo::isFunctionSafeToOutlineFrom(MachineFunction &MF,
+                                                     bool OutlineFromLinkOnceODRs) const {
+  const Function &F = MF.getFunction();
+
+  // The linker could deduplicate the function.
+  if (!OutlineFromLinkOnceODRs && F.hasLinkOnceODRLinkage())
+    return false;
+
+  // The code is expected to be in the named section.
+  if (F.hasSection())
+    return false;
+
+  return true;
+}
+
+bool [(${namespace})]InstrInfo::shouldOutlineFromFunctionByDefault(MachineFunction &MF) const {
+  // Only outline by default when optimizing for size (-Oz).
+  return MF.getFunction().hasMinSize();
+}
+
+std::optional<outliner::OutlinedFunction> [(${namespace})]InstrInfo::getOutliningCandidateInfo(
+    const MachineModuleInfo &MMI,
+    std::vector<outliner::Candidate> &RepeatedSequenceLocs) const {
+  auto CannotInsertCall = [](outliner::Candidate &C) {
+    const TargetRegisterInfo *TRI = C.getMF()->getSubtarget().getRegisterInfo();
+    return !C.isAvailableAcrossAndOutOfSeq([(${namespace})]::[(${returnAddress})], *TRI);
+  };
+
+  llvm::erase_if(RepeatedSequenceLocs, CannotInsertCall);
+
+  if (RepeatedSequenceLocs.size() < 2)
+    return std::nullopt;
+
+  unsigned SequenceSize = 0;
+  for (auto &MI : RepeatedSequenceLocs[0])
+    SequenceSize += getInstSizeInBytes(MI);
+
+  // [(${callInstruction})] expands to [(${callSize})] bytes.
+  unsigned CallOverhead = [(${callSize})];
+  for (auto &C : RepeatedSequenceLocs)
+    C.setCallInfo(MachineOutlinerDefault, CallOverhead);
+
+  // [(${returnInstruction})] expands to [(${returnSize})] bytes.
+  unsigned FrameOverhead = [(${returnSize})];
+
+  return outliner::OutlinedFunction(RepeatedSequenceLocs, SequenceSize, FrameOverhead,
+                                    MachineOutlinerDefault);
+}
+
+outliner::InstrType [(${namespace})]InstrInfo::getOutliningTypeImpl(const MachineModuleInfo &MMI,
+                                                             MachineBasicBlock::iterator &MBBI,
+                                                             unsigned Flags) const {
+  MachineInstr &MI = *MBBI;
+  const TargetRegisterInfo *TRI = MI.getMF()->getSubtarget().getRegisterInfo();
+  const Function &F = MI.getMF()->getFunction();
+
+  // CFI instructions are stripped from the outlined function unless they are
+  // required for unwinding.
+  if (MI.isCFIInstruction())
+    return F.needsUnwindTableEntry() ? outliner::InstrType::Illegal
+                                     : outliner::InstrType::Invisible;
+
+  // Tail calls to outlined functions are not supported.
+  if (MI.isReturn())
+    return outliner::InstrType::Illegal;
+
+  // The return address register holds the return address of the outlined function.
+  if (MI.modifiesRegister([(${namespace})]::[(${returnAddress})], TRI) ||
+      MI.readsRegister([(${namespace})]::[(${returnAddress})], TRI) ||
+      MI.getDesc().hasImplicitDefOfPhysReg([(${namespace})]::[(${returnAddress})]))
+    return outliner::InstrType::Illegal;
+
+  return outliner::InstrType::Legal;
+}
+
+void [(${namespace})]InstrInfo::buildOutlinedFrame(MachineBasicBlock &MBB, MachineFunction &MF,
+                                            const outliner::OutlinedFunction &OF) const {
+  // Strip out the CFI instructions.
+  for (MachineInstr &MI : llvm::make_early_inc_range(MBB))
+    if (MI.isCFIInstruction())
+      MI.eraseFromParent();
+
+  MBB.addLiveIn([(${namespace})]::[(${returnAddress})]);
+
+  MBB.insert(MBB.end(), BuildMI(MF, DebugLoc(), get([(${namespace})]::[(${returnInstruction})])));
+}
+
+MachineBasicBlock::iterator [(${namespace})]InstrInfo::insertOutlinedCall(Module &M, MachineBasicBlock &MBB,
+                                                                   MachineBasicBlock::iterator &It,
+                                                                   MachineFunction &MF,
+                                                                   outliner::Candidate &C) const {
+  It = MBB.insert(It, BuildMI(MF, DebugLoc(), get([(${namespace})]::[(${callInstruction})]))
+                          .addGlobalAddress(M.getNamedValue(MF.getName()), 0,
+                                            [(${namespace})]BaseInfo::MO_None));
+  return It;
+}
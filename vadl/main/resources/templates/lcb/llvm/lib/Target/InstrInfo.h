@@ -1,6 +1,7 @@
 #ifndef LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]INSTRINFO_H
 #define LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]INSTRINFO_H
 
+#include "llvm/CodeGen/MachineOutliner.h"
 #include "llvm/CodeGen/TargetInstrInfo.h"
 
 #define GET_INSTRINFO_HEADER
@@ -95,6 +96,27 @@ namespace llvm
 
             bool isAsCheapAsAMove(const MachineInstr &MI) const override;
 
+            bool isFunctionSafeToOutlineFrom(MachineFunction &MF,
+                                               bool OutlineFromLinkOnceODRs) const override;
+
+            bool shouldOutlineFromFunctionByDefault(MachineFunction &MF) const override;
+
+            std::optional<outliner::OutlinedFunction> getOutliningCandidateInfo(
+                const MachineModuleInfo &MMI,
+                std::vector<outliner::Candidate> &RepeatedSequenceLocs) const override;
+
+            outliner::InstrType getOutliningTypeImpl(const MachineModuleInfo &MMI,
+                                                       MachineBasicBlock::iterator &MBBI,
+                                                       unsigned Flags) const override;
+
+            void buildOutlinedFrame(MachineBasicBlock &MBB, MachineFunction &MF,
+                                      const outliner::OutlinedFunction &OF) const override;
+
+            MachineBasicBlock::iterator insertOutlinedCall(Module &M, MachineBasicBlock &MBB,
+                                                             MachineBasicBlock::iterator &It,
+                                                             MachineFunction &MF,
+                                                             outliner::Candidate &C) const override;
+
         private:
             const [(${namespace})]Subtarget &STI;
     };
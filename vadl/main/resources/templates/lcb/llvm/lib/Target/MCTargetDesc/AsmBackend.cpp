@@ -30,15 +30,16 @@ const MCFixupKindInfo &[(${namespace})]AsmBackend::getFixupKindInfo
     ( MCFixupKind Kind
     ) const
 {
-    const static std::array<MCFixupKindInfo, [(${fixups.size()})]> Infos =
+    const static std::array<MCFixupKindInfo, [(${fixups.size() + 1})]> Infos =
     {
         // This table *must* be in the order that the fixup_* kinds are defined in
         // [(${namespace})]FixupKinds.h.
         //
         // name                 offset     bits     flags
         [#th:block th:each="fixup, iterStat : ${fixups}" ]
-            (MCFixupKindInfo) { .Name="[(${fixup.name})]", .TargetOffset=0, .TargetSize=0, .Flags=[#th:block th:text="${fixup.kind.isRelative} ? 'MCFixupKindInfo::FKF_IsPCRel' : '0'" /]}[#th:block th:if="${!iterStat.last}"],[/th:block]
+            (MCFixupKindInfo) { .Name="[(${fixup.name})]", .TargetOffset=0, .TargetSize=0, .Flags=[#th:block th:text="${fixup.kind.isRelative} ? 'MCFixupKindInfo::FKF_IsPCRel' : '0'" /]},
         [/th:block]
+            (MCFixupKindInfo) { .Name="fixup_[(${namespace})]_relax", .TargetOffset=0, .TargetSize=0, .Flags=0 }
     };
 
     // sanity check if all fixups are defined
@@ -72,6 +73,7 @@ bool [(${namespace})]AsmBackend::shouldForceRelocation
         [#th:block th:each="fixup : ${fixups}" ]
             case [(${namespace})]::[(${fixup.name})]:
         [/th:block]
+            case [(${namespace})]::fixup_[(${namespace})]_relax:
             return true;
     }
 }
@@ -149,6 +151,9 @@ static uint64_t adjustFixupValue
         case MCFixupKind::FK_Data_4:
         case MCFixupKind::FK_Data_8:
             return Value;
+        // The relaxation marker does not change the encoding.
+        case [(${namespace})]::fixup_[(${namespace})]_relax:
+            return 0;
         [#th:block th:each="fixup, iterStat : ${fixups}" ]
          case [(${namespace})]::[(${fixup.name})]:
                     return [(${namespace})]BaseInfo::[(${fixup.valueRelocationName})]( Value );
@@ -1,12 +1,17 @@
 #include "AsmUtils.h"
 #include "MCTargetDesc/[(${namespace})]MCTargetDesc.h"
 #include "llvm/MC/MCInst.h"
+#include "llvm/MC/MCInstBuilder.h"
 #include "llvm/MC/MCExpr.h"
 #include "llvm/MC/MCSymbol.h"
 #include "llvm/Support/raw_ostream.h"
 #include "llvm/Support/Debug.h"
+#include "llvm/Support/Format.h"
+#include "llvm/ADT/bit.h"
+#include "llvm/Support/MathExtras.h"
 #include "llvm/MC/MCSymbol.h"
 #include "[(${namespace})]MCExpr.h"
+#include "Utils/ImmediateUtils.h"
 #include <string>
 #include <iostream>
 #include <sstream>
@@ -89,30 +94,56 @@ std::string AsmUtils::formatImm(MCOperand Op, uint8_t Radix, const MCAsmInfo *MA
 
 std::string AsmUtils::formatImm(int64_t Value, uint8_t Radix, const MCAsmInfo *MAI)
 {
-    std::stringstream stream;
+    std::string s = "";
+    raw_string_ostream O(s);
+    printImm(O, Value, Radix, MAI);
+    return O.str();
+}
+
+void AsmUtils::printImm(raw_ostream &O, MCOperandWrapper Op, uint8_t Radix, const MCAsmInfo *MAI)
+{
+    MCOperand MCOp = Op.getMCOp();
+    if(MCOp.isExpr())
+    {
+        O << formatExpr(MCOp.getExpr(), Radix, MAI);
+        return;
+    }
+
+    printImm(O, MCOp.getImm(), Radix, MAI);
+}
+
+void AsmUtils::printImm(raw_ostream &O, int64_t Value, uint8_t Radix, const MCAsmInfo *MAI)
+{
     switch(Radix)
     {
         case(2):
         {
-            std::string bits = std::bitset<64>(Value).to_string();
-            bits.erase(0, bits.find_first_not_of('0'));
-            if(bits.empty())
+            O << "0b";
+            uint64_t bits = static_cast<uint64_t>(Value);
+            if(bits == 0)
+            {
+                O << '0';
+                return;
+            }
+            for(int i = 63 - (int) llvm::countl_zero(bits); i >= 0; i--)
             {
-                bits += "0";
+                O << ((bits >> i) & 1 ? '1' : '0');
             }
-            return "0b" + bits;
+            return;
         }
         case(8):
-            stream << "o" << std::oct << Value;
-            return stream.str();
+            O << "o" << format("%llo", static_cast<unsigned long long>(Value));
+            return;
         case(10):
-            stream << Value;
-            return stream.str();
+            O << Value;
+            return;
         case(16):
-            stream << "0x" << std::hex << Value;
-            return stream.str();
+            O << "0x";
+            O.write_hex(static_cast<uint64_t>(Value));
+            return;
         default:
-            return std::string("Usupported radix ") + std::to_string(Radix);
+            O << "Usupported radix " << static_cast<unsigned>(Radix);
+            return;
     }
 }
 
@@ -233,7 +264,7 @@ std::string AsmUtils::FormatModifier(const [(${namespace})]MCExpr::VariantKind V
     return "unknown";
 }
 
-std::string AsmUtils::getRegisterName( unsigned RegNo )
+StringRef AsmUtils::getRegisterName( unsigned RegNo )
 {
   switch(RegNo)
   {
@@ -242,6 +273,7 @@ std::string AsmUtils::getRegisterName( unsigned RegNo )
       return "[(${rg.getAsmName})]";
   [/]
   }
+  llvm_unreachable("Unknown register");
 }
 
 bool AsmUtils::MatchRegNo(StringRef Reg, unsigned &RegNo)
@@ -319,7 +351,7 @@ bool AsmUtils::evaluateConstantImm(const MCOperand *MCOp, int64_t &Imm)
 
 
 [# th:each="rg : ${registerClasses}" ]
-std::string AsmUtils::getRegisterNameFrom[(${rg.registerFile.name})]ByIndex( unsigned RegIndex ) {
+StringRef AsmUtils::getRegisterNameFrom[(${rg.registerFile.name})]ByIndex( unsigned RegIndex ) {
     const int registers[] =
     {
         [# th:each="reg, iterStat : ${rg.registers}" ]
@@ -333,4 +365,37 @@ std::string AsmUtils::getRegisterNameFrom[(${rg.registerFile.name})]ByIndex( uns
     unsigned regNo = registers[ RegIndex ];
     return AsmUtils::getRegisterName( regNo );
 }
-[/]
\ No newline at end of file
+[/]
+bool AsmUtils::compressInst(MCInst &OutInst, const MCInst &MI)
+{
+    switch (MI.getOpcode()) {
+    [# th:each="compression : ${compressions}" ]
+    case [(${namespace})]::[(${compression.opcode})]:
+    {
+        [(${compression.code})]
+        break;
+    }
+    [/]
+    default:
+        break;
+    }
+
+    return false;
+}
+
+bool AsmUtils::uncompressInst(MCInst &OutInst, const MCInst &MI)
+{
+    switch (MI.getOpcode()) {
+    [# th:each="compression : ${uncompressions}" ]
+    case [(${namespace})]::[(${compression.opcode})]:
+    {
+        [(${compression.code})]
+        break;
+    }
+    [/]
+    default:
+        break;
+    }
+
+    return false;
+}
@@ -6,6 +6,7 @@
 #include "llvm/MC/MCInst.h"
 #include "llvm/MC/MCExpr.h"
 #include "llvm/Support/Casting.h"
+#include "llvm/Support/raw_ostream.h"
 #include "llvm/MC/MCParser/MCAsmLexer.h"
 #include "MCTargetDesc/[(${namespace})]MCExpr.h"
 #include "MCTargetDesc/[(${namespace})]MCTargetDesc.h"
@@ -22,6 +23,8 @@ namespace llvm
             static std::string formatImm(MCOperandWrapper Op, uint8_t Radix, const MCAsmInfo *MAI);
             static std::string formatImm(MCOperand Op, uint8_t Radix, const MCAsmInfo *MAI);
             static std::string formatImm(int64_t value, uint8_t Radix, const MCAsmInfo *MAI);
+            static void printImm(raw_ostream &O, MCOperandWrapper Op, uint8_t Radix, const MCAsmInfo *MAI);
+            static void printImm(raw_ostream &O, int64_t Value, uint8_t Radix, const MCAsmInfo *MAI);
             static std::string formatExpr(const MCExpr *Expr, uint8_t Radix, const MCAsmInfo *MAI);
             static std::string FormatModifier(const [(${namespace})]MCExpr::VariantKind VariantKind);
             static std::string FormatModifier(const MCSymbolRefExpr::VariantKind VariantKind);
@@ -32,11 +35,15 @@ namespace llvm
             static bool evaluateConstantImm(const MCExpr *Expr, int64_t &Imm);
             static bool evaluateConstantImm(const MCOperand *MCOp, int64_t &Imm);
 
+            // replaces an instruction by its compressed instruction and the other way round
+            static bool compressInst(MCInst &OutInst, const MCInst &MI);
+            static bool uncompressInst(MCInst &OutInst, const MCInst &MI);
+
             // register helper function
-            static std::string getRegisterName( unsigned RegNo );
+            static StringRef getRegisterName( unsigned RegNo );
 
             [# th:each="rg : ${registerClasses}" ]
-            static std::string getRegisterNameFrom[(${rg.simpleName})]ByIndex( unsigned RegIndex );
+            static StringRef getRegisterNameFrom[(${rg.simpleName})]ByIndex( unsigned RegIndex );
             [/]
     };
 
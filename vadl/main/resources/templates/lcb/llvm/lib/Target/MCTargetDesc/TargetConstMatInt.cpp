@@ -1,8 +1,14 @@
 #include "llvm/ADT/SmallVector.h"
 #include "llvm/MC/MCRegister.h"
 #include "llvm/MC/MCSubtargetInfo.h"
+#include "llvm/Support/MathExtras.h"
+#include <algorithm>
 #include <cstdint>
 #include <bitset>
+#include <limits>
+#include <map>
+#include <optional>
+#include <utility>
 #include "[(${namespace})]ConstMatInt.h"
 #include "[(${namespace})]DAGToDAGISel.h"
 #include "[(${namespace})]RegisterInfo.h"
@@ -11,25 +17,157 @@
 using namespace llvm;
 
 namespace llvm::[(${namespace})]MatInt {
-  InstSeq generateInstSeqImpl(int64_t Val, [(${namespace})]MatInt::InstSeq &Res ) {
+  // Materialises the value with a single constant sequence.
+  static bool generateDirect(int64_t Val, InstSeq &Res) {
     uint64_t uVal = Val;
 
     [# th:each="cons : ${constantSequences}" ]
     [# th:if="${cons.isSigned == false}" ]
     if(uVal >= [(${cons.lowestValue})] && uVal <= [(${cons.highestValue})]) {
-      Res.emplace_back([(${namespace})]::[(${cons.instruction})], uVal);
-      return Res;
+      Res.emplace_back([(${namespace})]::[(${cons.instruction})], uVal, OpndKind::Imm, [(${cons.instructionCount})]);
+      return true;
     }
     [/]
     [# th:if="${cons.isSigned == true}" ]
     if(Val >= [(${cons.lowestValue})] && Val <= [(${cons.highestValue})]) {
-      Res.emplace_back([(${namespace})]::[(${cons.instruction})], Val);
-      return Res;
+      Res.emplace_back([(${namespace})]::[(${cons.instruction})], Val, OpndKind::Imm, [(${cons.instructionCount})]);
+      return true;
     }
     [/]
     [/]
 
-    llvm_unreachable("not supported immediate");
+    return false;
+  }
+
+  // Replaces the sequence in Res by the candidate when the candidate is cheaper.
+  static void keepCheaper(InstSeq &Res, bool &Found, const InstSeq &Candidate) {
+    if (!Found || getInstSeqCost(Candidate) < getInstSeqCost(Res)) {
+      Res = Candidate;
+      Found = true;
+    }
+  }
+
+  using Key = std::pair<int64_t, bool>;
+
+  struct Memo {
+    // The cheapest sequence for a value and whether inverting is allowed,
+    // or std::nullopt when the value cannot be materialised.
+    std::map<Key, std::optional<InstSeq>> Done;
+    // The values whose search has not finished yet, with their depth on the stack.
+    std::map<Key, unsigned> InProgress;
+  };
+
+  // A search reports the depth of the shallowest in-progress value it reached,
+  // or Independent when it reached none.
+  static constexpr unsigned Independent = std::numeric_limits<unsigned>::max();
+
+  static bool generate(int64_t Val, InstSeq &Res, bool AllowInvert, Memo &Seen,
+                       unsigned &DependsOn);
+
+  // Searches the cheapest sequence for the value without consulting the memo.
+  static bool search(int64_t Val, InstSeq &Best, bool AllowInvert, Memo &Seen,
+                     unsigned &DependsOn) {
+    bool Found = generateDirect(Val, Best);
+    [# th:if="${canSplit}" ]
+
+    // Upper/lower split: Val = (Hi << ShiftAmount) + Lo, where Lo fits into
+    // the immediate of [(${lower.instruction})] and Hi is materialised recursively.
+    // An unsigned Lo is masked, so the low bits of Hi are zero and adding Lo
+    // is the same as or-ing it.
+    {
+      [# th:if="${lower.isSigned}" ]
+      int64_t Lo = SignExtend64<[(${lower.bitWidth})]>(Val);
+      [/]
+      [# th:if="${!lower.isSigned}" ]
+      int64_t Lo = Val & maskTrailingOnes<uint64_t>([(${lower.bitWidth})]);
+      [/]
+      uint64_t Hi = (uint64_t) Val - (uint64_t) Lo;
+      unsigned ShiftAmount = llvm::countr_zero(Hi);
+      if (Hi != 0 && ShiftAmount <= [(${shift.highestValue})]) {
+        InstSeq Candidate;
+        if (generate(SignExtend64(Hi >> ShiftAmount, 64 - ShiftAmount), Candidate, true, Seen, DependsOn)) {
+          Candidate.emplace_back([(${namespace})]::[(${shift.instruction})], ShiftAmount, OpndKind::RegImm);
+          if (Lo != 0) {
+            Candidate.emplace_back([(${namespace})]::[(${lower.instruction})], Lo, OpndKind::RegImm);
+          }
+          keepCheaper(Best, Found, Candidate);
+        }
+      }
+    }
+
+    // Shift trick: materialise the value without its trailing zeros and
+    // shift it back afterward.
+    unsigned TrailingZeros = llvm::countr_zero((uint64_t) Val);
+    if (Val != 0 && TrailingZeros > 0 && TrailingZeros <= [(${shift.highestValue})]) {
+      InstSeq Candidate;
+      if (generate(Val >> TrailingZeros, Candidate, true, Seen, DependsOn)) {
+        Candidate.emplace_back([(${namespace})]::[(${shift.instruction})], TrailingZeros, OpndKind::RegImm);
+        keepCheaper(Best, Found, Candidate);
+      }
+    }
+    [/]
+    [# th:if="${invert != null}" ]
+
+    // Sign trick: values with many leading ones are cheaper to materialise
+    // inverted and flipped afterward.
+    if (AllowInvert) {
+      InstSeq Candidate;
+      if (generate(~Val, Candidate, false, Seen, DependsOn)) {
+        Candidate.emplace_back([(${namespace})]::[(${invert.instruction})], -1, OpndKind::RegImm);
+        keepCheaper(Best, Found, Candidate);
+      }
+    }
+    [/]
+
+    return Found;
+  }
+
+  // Searches the cheapest sequence for the value and appends it to Res.
+  // Returns false when the value cannot be materialised.
+  // The split, the shift trick and the inversion reach the same values over
+  // different paths, so every value is only searched once per Seen.
+  // A value that is still in progress (e.g. the split of -1 with an unsigned
+  // lower part) is not materialisable on that path. Results that depend on
+  // such a value of a caller are not memoised, as the value may be
+  // materialisable once the caller has finished.
+  static bool generate(int64_t Val, InstSeq &Res, bool AllowInvert, Memo &Seen,
+                       unsigned &DependsOn) {
+    auto K = std::make_pair(Val, AllowInvert);
+    if (auto Pending = Seen.InProgress.find(K); Pending != Seen.InProgress.end()) {
+      DependsOn = std::min(DependsOn, Pending->second);
+      return false;
+    }
+    auto It = Seen.Done.find(K);
+    if (It == Seen.Done.end()) {
+      unsigned Depth = Seen.InProgress.size();
+      Seen.InProgress.emplace(K, Depth);
+      InstSeq Best;
+      unsigned BestDependsOn = Independent;
+      bool Found = search(Val, Best, AllowInvert, Seen, BestDependsOn);
+      Seen.InProgress.erase(K);
+      if (BestDependsOn < Depth) {
+        DependsOn = std::min(DependsOn, BestDependsOn);
+        if (Found) {
+          Res.append(Best.begin(), Best.end());
+        }
+        return Found;
+      }
+      It = Seen.Done.emplace(K, Found ? std::optional<InstSeq>(Best) : std::nullopt).first;
+    }
+    if (!It->second) {
+      return false;
+    }
+    Res.append(It->second->begin(), It->second->end());
+    return true;
+  }
+
+  InstSeq generateInstSeqImpl(int64_t Val, [(${namespace})]MatInt::InstSeq &Res ) {
+    Memo Seen;
+    unsigned DependsOn = Independent;
+    if (!generate(Val, Res, true, Seen, DependsOn)) {
+      llvm_unreachable("not supported immediate");
+    }
+    return Res;
   }
 
   InstSeq generateInstSeq(int64_t Val) {
@@ -37,4 +175,22 @@ namespace llvm::[(${namespace})]MatInt {
     generateInstSeqImpl(Val, Res);
     return Res;
   }
-}
\ No newline at end of file
+
+  unsigned getInstSeqCost(const InstSeq &Seq) {
+    unsigned Cost = 0;
+    for (const Inst &I : Seq) {
+      Cost += I.getCost();
+    }
+    return Cost;
+  }
+
+  unsigned getIntMatCost(int64_t Val) {
+    InstSeq Res;
+    Memo Seen;
+    unsigned DependsOn = Independent;
+    if (!generate(Val, Res, true, Seen, DependsOn)) {
+      return 0;
+    }
+    return getInstSeqCost(Res);
+  }
+}
@@ -19,17 +19,27 @@ namespace llvm {
 class APInt;
 
 namespace [(${namespace})]MatInt {
+  enum OpndKind {
+    Imm,    // the instruction only takes the immediate (a constant sequence)
+    RegImm, // the instruction takes the previous result and the immediate
+  };
+
   class Inst {
     unsigned Opc;
     int64_t Imm; // The largest value we need to store is 20 bits.
+    OpndKind Kind;
+    unsigned Cost; // the number of machine instructions
 
   public:
-    Inst(unsigned Opc, int64_t I) : Opc(Opc), Imm(I) {
+    Inst(unsigned Opc, int64_t I, OpndKind Kind = OpndKind::Imm, unsigned Cost = 1)
+      : Opc(Opc), Imm(I), Kind(Kind), Cost(Cost) {
       assert(I == Imm && "truncated");
     }
 
     unsigned getOpcode() const { return Opc; }
     int64_t getImm() const { return Imm; }
+    OpndKind getOpndKind() const { return Kind; }
+    unsigned getCost() const { return Cost; }
   };
 
   using InstSeq = SmallVector<Inst, 8>;
@@ -41,6 +51,13 @@ namespace [(${namespace})]MatInt {
   // instruction selection.
   InstSeq generateInstSeq(int64_t Val);
   InstSeq generateInstSeqImpl(int64_t Val, InstSeq &Res);
+
+  // Returns the number of machine instructions of the given sequence.
+  unsigned getInstSeqCost(const InstSeq &Seq);
+
+  // Returns the number of machine instructions which are required to
+  // materialise the given immediate or 0 when it cannot be materialised.
+  unsigned getIntMatCost(int64_t Val);
 }
 }
 
@@ -37,6 +37,8 @@ unsigned [(${namespace})]ELFObjectWriter::getRelocType(MCContext &Ctx, const MCV
         return ELF::R_[(${namespace})]_32;
     case FK_Data_8:
         return ELF::R_[(${namespace})]_64;
+    case [(${namespace})]::fixup_[(${namespace})]_relax:
+        return ELF::R_[(${namespace})]_RELAX;
     [# th:each="fx : ${fixups}" ]
     case [(${namespace})]::[(${fx.name})]:
         return ELF::[(${fx.elfRelocationName})];
@@ -9,21 +9,16 @@ namespace llvm
     {
         enum Fixups
         {
+            [#th:block th:each="fixup, iterStat : ${fixups}" ]
+            [(${fixup.name})] [#th:block th:if="${iterStat.first}"] = FirstTargetFixupKind[/th:block],
+            [/th:block]
 
-                    [#th:block th:if="${fixups.size > 0}" ]
-                        [#th:block th:each="fixup, iterStat : ${fixups}" ]
-                            [(${fixup.name})] [#th:block th:if="${iterStat.first}"] = FirstTargetFixupKind[/th:block],
-                        [/th:block]
+            // Used to mark a pseudo instruction which the linker may relax.
+            fixup_[(${namespace})]_relax [#th:block th:if="${fixups.size == 0}"] = FirstTargetFixupKind[/th:block],
 
-                         // Marker
-                         LastTargetFixupKind,
-                     NumTargetFixupKinds = LastTargetFixupKind - FirstTargetFixupKind
-                    [/th:block]
-                    [#th:block th:if="${fixups.size == 0}" ]
-                        // Marker
-                        LastTargetFixupKind = FirstTargetFixupKind,
-                        NumTargetFixupKinds = LastTargetFixupKind - FirstTargetFixupKind
-                    [/th:block]
+            // Marker
+            LastTargetFixupKind,
+            NumTargetFixupKinds = LastTargetFixupKind - FirstTargetFixupKind
         };
     }
 }
@@ -59,7 +59,8 @@ void [(${namespace})]InstPrinter::printInst
     )
 {
     if(!printAliasInstr(MI, Address, O)) {
-      O << "\t" << instToString(MI, Address);
+      O << "\t";
+      printAsm(MI, Address, O);
     }
     printAnnotation(O, Annot);
 }
@@ -88,7 +89,7 @@ void [(${namespace})]InstPrinter::print[(${register.name})]SystemRegister
 }
 [/th:block]
 
-std::string [(${namespace})]InstPrinter::instToString(const MCInst *MI, uint64_t Address) const
+void [(${namespace})]InstPrinter::printAsm(const MCInst *MI, uint64_t Address, raw_ostream &O) const
 {
     switch ( MI->getOpcode() )
     {
@@ -100,6 +101,6 @@ std::string [(${namespace})]InstPrinter::instToString(const MCInst *MI, uint64_t
             }
         [/th:block]
     default:
-        return std::string("unknown instruction");
+        O << "unknown instruction";
     }
 }
\ No newline at end of file
@@ -52,10 +52,10 @@ namespace llvm
         static const char *getRegisterName(MCRegister Reg);
 
     private:
-        std::string instToString(const MCInst *MI, uint64_t Address) const;
+        void printAsm(const MCInst *MI, uint64_t Address, raw_ostream &O) const;
 
         [#th:block th:each="registerClass, iterStat : ${registerClasses}" ]
-        std::string getRegisterNameFrom[(${registerClass})]ByIndex(unsigned RegIndex) const
+        StringRef getRegisterNameFrom[(${registerClass})]ByIndex(unsigned RegIndex) const
         {
             return AsmUtils::getRegisterNameFrom[(${registerClass})]ByIndex(RegIndex);
         }
@@ -143,6 +143,17 @@ void [(${namespace})]MCCodeEmitter::encodeInstruction(const MCInst &MCI, SmallVe
 
     if (MCInstExpander.isExpandable(MCI))
     {
+        // Mark the pseudo instructions which the linker may replace with a shorter one.
+        // The addend is the index of the relaxation in the linker.
+        switch (MCI.getOpcode())
+        {[# th:each="relaxation : ${relaxations}" ]
+        case [(${namespace})]::[(${relaxation.sequence})]:
+            Fixups.push_back(MCFixup::create(0, MCConstantExpr::create([(${relaxation.index})], Ctx), MCFixupKind([(${namespace})]::fixup_[(${namespace})]_relax), MCI.getLoc()));
+            break;[/]
+        default:
+            break;
+        }
+
         MCInstExpander.expand(MCI, [&](const MCInst &MI) {
           encodeNonPseudoInstruction(MI, CB, Fixups, STI);
           const MCInstrDesc &Desc = MCII.get(MI.getOpcode());
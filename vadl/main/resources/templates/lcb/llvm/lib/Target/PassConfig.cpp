@@ -6,6 +6,17 @@
 
 using namespace llvm;
 
+ScheduleDAGInstrs *[(${namespace})]PassConfig::createMachineScheduler(MachineSchedContext *C) const
+{
+    // schedules with the latencies of the generated scheduling model
+    return createGenericSchedLive(C);
+}
+
+ScheduleDAGInstrs *[(${namespace})]PassConfig::createPostMachineScheduler(MachineSchedContext *C) const
+{
+    return createGenericSchedPostRA(C);
+}
+
 bool [(${namespace})]PassConfig::addInstSelector()
 {
     auto iSelDagPass = create[(${namespace})]ISelDag(get[(${namespace})]TargetMachine(), getOptLevel());
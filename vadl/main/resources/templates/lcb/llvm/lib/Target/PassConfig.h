@@ -2,6 +2,7 @@
 #define LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]PASSCONFIG_H
 
 #include "[(${namespace})]TargetMachine.h"
+#include "llvm/CodeGen/MachineScheduler.h"
 #include "llvm/CodeGen/Passes.h"
 #include "llvm/CodeGen/TargetPassConfig.h"
 
@@ -13,6 +14,9 @@ namespace llvm
         [(${namespace})]PassConfig( [(${namespace})]TargetMachine& TM, PassManagerBase* PassManager)
             : TargetPassConfig(TM, *PassManager)
         {
+            // use the machine scheduler after register allocation as well
+            if (TM.getOptLevel() != CodeGenOptLevel::None)
+                substitutePass(&PostRASchedulerID, &PostMachineSchedulerID);
         }
 
         [(${namespace})]TargetMachine &get[(${namespace})]TargetMachine() const
@@ -20,6 +24,8 @@ namespace llvm
             return getTM<[(${namespace})]TargetMachine>();
         }
 
+        ScheduleDAGInstrs *createMachineScheduler(MachineSchedContext *C) const override;
+        ScheduleDAGInstrs *createPostMachineScheduler(MachineSchedContext *C) const override;
         bool addInstSelector() override;
         void addPreRegAlloc() override;
         void addPreEmitPass() override;
@@ -53,6 +53,17 @@ namespace llvm
             return &TSInfo;
         }
 
+        // The scheduling model is generated from the micro architecture.
+        bool enableMachineScheduler() const override
+        {
+            return true;
+        }
+
+        bool enablePostRAScheduler() const override
+        {
+            return true;
+        }
+
     private:
         [(${namespace})]InstrInfo InstrInfo;
         [(${namespace})]FrameLowering FrameLowering;
@@ -2,6 +2,7 @@
 #include "[(${namespace})]TargetMachine.h"
 #include "TargetInfo/[(${namespace})]TargetInfo.h"
 #include "[(${namespace})]PassConfig.h"
+#include "[(${namespace})]TargetTransformInfo.h"
 #include "llvm/MC/TargetRegistry.h"
 #include "llvm/Support/Debug.h"
 #include <string>
@@ -60,6 +61,10 @@ void [(${namespace})]TargetMachine::anchor() {}
       Subtarget(TT, CPU, "", FS, *this, Options, getCodeModel(), OL), TLOF(std::make_unique<[(${namespace})]TargetObjectFile>())
 {
     initAsmInfo();
+
+    // The machine outliner runs on functions which are optimized for size (-Oz).
+    setMachineOutliner(true);
+    setSupportsDefaultOutlining(true);
 }
 
 [(${namespace})]TargetMachine::~[(${namespace})]TargetMachine() {}
@@ -69,6 +74,11 @@ TargetPassConfig *[(${namespace})]TargetMachine::createPassConfig(PassManagerBas
     return new [(${namespace})]PassConfig(*this, &PassManager);
 }
 
+TargetTransformInfo [(${namespace})]TargetMachine::getTargetTransformInfo(const Function &F) const
+{
+    return TargetTransformInfo([(${namespace})]TTIImpl(this, F));
+}
+
 MachineFunctionInfo *[(${namespace})]TargetMachine::createMachineFunctionInfo(
     BumpPtrAllocator &Allocator, const Function &F,
     const TargetSubtargetInfo *STI) const
@@ -3,6 +3,7 @@
 
 #include "[(${namespace})]SubTarget.h"
 
+#include "llvm/Analysis/TargetTransformInfo.h"
 #include "llvm/CodeGen/Passes.h"
 #include "llvm/CodeGen/TargetPassConfig.h"
 #include "llvm/Target/TargetMachine.h"
@@ -26,6 +27,8 @@ namespace llvm
 
         TargetPassConfig *createPassConfig(PassManagerBase & PassManager);
 
+        TargetTransformInfo getTargetTransformInfo(const Function &F) const override;
+
         TargetLoweringObjectFile *getObjFileLowering() const override
         {
             // TODO: @chochrainer this needs to be init for asm printer
@@ -0,0 +1,143 @@
+#include "[(${namespace})]TargetTransformInfo.h"
+#include "MCTargetDesc/[(${namespace})]ConstMatInt.h"
+#include "llvm/CodeGen/TargetLowering.h"
+#include "llvm/IR/Instructions.h"
+#include "llvm/Support/Debug.h"
+
+#define DEBUG_TYPE "[(${namespace})]TTI"
+
+using namespace llvm;
+
+InstructionCost [(${namespace})]TTIImpl::getIntImmCost(const APInt &Imm, Type *Ty, TTI::TargetCostKind CostKind)
+{
+    assert(Ty->isIntegerTy() && "There must be an integer type");
+
+    if (Imm.getSignificantBits() > 64)
+    {
+        return TTI::TCC_Expensive;
+    }
+
+    // The costs are the number of instructions which materialize the immediate.
+    unsigned Cost = [(${namespace})]MatInt::getIntMatCost(Imm.getSExtValue());
+    if (Cost == 0)
+    {
+        return TTI::TCC_Expensive;
+    }
+    return Cost * TTI::TCC_Basic;
+}
+
+InstructionCost [(${namespace})]TTIImpl::getIntImmCostInst(unsigned Opcode, unsigned Idx, const APInt &Imm, Type *Ty,
+                                                  TTI::TargetCostKind CostKind, Instruction *Inst)
+{
+    assert(Ty->isIntegerTy() && "There must be an integer type");
+
+    if (Imm.getSignificantBits() > 64)
+    {
+        return getIntImmCost(Imm, Ty, CostKind);
+    }
+
+    // An immediate is free when it can be folded into the instruction's immediate operand.
+    int64_t Val = Imm.getSExtValue();
+    switch (Opcode)
+    {
+    case Instruction::GetElementPtr:
+        // Never hoist any arguments to a GetElementPtr.
+        return TTI::TCC_Free;
+    case Instruction::Sub:
+        if (Idx == 1 && Val != INT64_MIN && isLegalAddImmediate(-Val))
+        {
+            return TTI::TCC_Free;
+        }
+        break;
+    case Instruction::ICmp:
+        if (Idx == 1 && isLegalICmpImmediate(Val))
+        {
+            return TTI::TCC_Free;
+        }
+        break;
+    [# th:each="op : ${immediateOperations}" ]
+    case Instruction::[(${op.opcode})]:
+        // selected to [(${op.instructionName})]
+        if (Idx == 1 && Val >= [(${op.minValue})] && Val <= [(${op.maxValue})])
+        {
+            return TTI::TCC_Free;
+        }
+        break;
+    [/]
+    default:
+        break;
+    }
+
+    return getIntImmCost(Imm, Ty, CostKind);
+}
+
+InstructionCost [(${namespace})]TTIImpl::getIntImmCostIntrin(Intrinsic::ID IID, unsigned Idx, const APInt &Imm, Type *Ty,
+                                                    TTI::TargetCostKind CostKind)
+{
+    // Prevent hoisting in unknown cases.
+    return TTI::TCC_Free;
+}
+
+InstructionCost [(${namespace})]TTIImpl::getArithmeticInstrCost(
+    unsigned Opcode, Type *Ty, TTI::TargetCostKind CostKind,
+    TTI::OperandValueInfo Op1Info, TTI::OperandValueInfo Op2Info,
+    ArrayRef<const Value *> Args, const Instruction *CxtI)
+{
+    auto LT = getTypeLegalizationCost(Ty);
+
+    // Vectors and illegal types are handled by the generic implementation.
+    if (Ty->isVectorTy() || !TLI->isTypeLegal(TLI->getValueType(DL, Ty)))
+    {
+        return BaseT::getArithmeticInstrCost(Opcode, Ty, CostKind, Op1Info, Op2Info, Args, CxtI);
+    }
+
+    // The operations with a dedicated machine instruction cost their latency
+    // from the scheduling model.
+    switch (TLI->InstructionOpcodeToISD(Opcode))
+    {
+    [# th:each="op : ${arithmeticOperations}" ]
+    case ISD::[(${op.isdOpcode})]:
+        // selected to [(${op.instructionName})]
+        if (CostKind == TTI::TCK_Latency || CostKind == TTI::TCK_SizeAndLatency)
+        {
+            return LT.first * [(${op.latency})];
+        }
+        return LT.first * TTI::TCC_Basic;
+    [/]
+    default:
+        return BaseT::getArithmeticInstrCost(Opcode, Ty, CostKind, Op1Info, Op2Info, Args, CxtI);
+    }
+}
+
+InstructionCost [(${namespace})]TTIImpl::getMemoryOpCost(unsigned Opcode, Type *Src, MaybeAlign Alignment,
+                                                unsigned AddressSpace, TTI::TargetCostKind CostKind,
+                                                TTI::OperandValueInfo OpInfo, const Instruction *I)
+{
+    auto Cost = BaseT::getMemoryOpCost(Opcode, Src, Alignment, AddressSpace, CostKind, OpInfo, I);
+
+    // A load result is available after the load latency of the scheduling model.
+    if (Opcode == Instruction::Load && !Src->isVectorTy() && CostKind == TTI::TCK_Latency)
+    {
+        return Cost * [(${loadLatency})];
+    }
+
+    return Cost;
+}
+
+InstructionCost [(${namespace})]TTIImpl::getCFInstrCost(unsigned Opcode, TTI::TargetCostKind CostKind,
+                                               const Instruction *I)
+{
+    if (Opcode == Instruction::PHI)
+    {
+        return TTI::TCC_Free;
+    }
+
+    // A conditional branch might be mispredicted, which flushes the pipeline.
+    if (CostKind == TTI::TCK_Latency && Opcode == Instruction::Br && I != nullptr
+        && cast<BranchInst>(I)->isConditional())
+    {
+        return [(${mispredictPenalty})];
+    }
+
+    return CostKind == TTI::TCK_RecipThroughput ? TTI::TCC_Free : TTI::TCC_Basic;
+}
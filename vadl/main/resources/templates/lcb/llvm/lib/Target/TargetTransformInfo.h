@@ -0,0 +1,60 @@
+#ifndef LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]TARGETTRANSFORMINFO_H
+#define LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]TARGETTRANSFORMINFO_H
+
+#include "[(${namespace})]SubTarget.h"
+#include "[(${namespace})]TargetMachine.h"
+#include "llvm/Analysis/TargetTransformInfo.h"
+#include "llvm/CodeGen/BasicTTIImpl.h"
+#include "llvm/IR/Function.h"
+
+namespace llvm
+{
+    class [(${namespace})]TTIImpl : public BasicTTIImplBase<[(${namespace})]TTIImpl>
+    {
+        using BaseT = BasicTTIImplBase<[(${namespace})]TTIImpl>;
+        using TTI = TargetTransformInfo;
+
+        friend BaseT;
+
+        const [(${namespace})]Subtarget *ST;
+        const [(${namespace})]TargetLowering *TLI;
+
+        const [(${namespace})]Subtarget *getST() const { return ST; }
+        const [(${namespace})]TargetLowering *getTLI() const { return TLI; }
+
+    public:
+        explicit [(${namespace})]TTIImpl(const [(${namespace})]TargetMachine *TM, const Function &F)
+            : BaseT(TM, F.getParent()->getDataLayout()), ST(TM->getSubtargetImpl(F)),
+              TLI(ST->getTargetLowering())
+        {
+        }
+
+        // isLegalAddImmediate and isLegalICmpImmediate are forwarded to the
+        // target lowering by the BasicTTIImplBase.
+
+        InstructionCost getIntImmCost(const APInt &Imm, Type *Ty, TTI::TargetCostKind CostKind);
+
+        InstructionCost getIntImmCostInst(unsigned Opcode, unsigned Idx, const APInt &Imm, Type *Ty,
+                                          TTI::TargetCostKind CostKind, Instruction *Inst = nullptr);
+
+        InstructionCost getIntImmCostIntrin(Intrinsic::ID IID, unsigned Idx, const APInt &Imm, Type *Ty,
+                                            TTI::TargetCostKind CostKind);
+
+        InstructionCost getArithmeticInstrCost(
+            unsigned Opcode, Type *Ty, TTI::TargetCostKind CostKind,
+            TTI::OperandValueInfo Op1Info = {TTI::OK_AnyValue, TTI::OP_None},
+            TTI::OperandValueInfo Op2Info = {TTI::OK_AnyValue, TTI::OP_None},
+            ArrayRef<const Value *> Args = ArrayRef<const Value *>(),
+            const Instruction *CxtI = nullptr);
+
+        InstructionCost getMemoryOpCost(unsigned Opcode, Type *Src, MaybeAlign Alignment,
+                                        unsigned AddressSpace, TTI::TargetCostKind CostKind,
+                                        TTI::OperandValueInfo OpInfo = {TTI::OK_AnyValue, TTI::OP_None},
+                                        const Instruction *I = nullptr);
+
+        InstructionCost getCFInstrCost(unsigned Opcode, TTI::TargetCostKind CostKind,
+                                       const Instruction *I = nullptr);
+    };
+}
+
+#endif // LLVM_LIB_TARGET_[(${namespace})]_[(${namespace})]TARGETTRANSFORMINFO_H
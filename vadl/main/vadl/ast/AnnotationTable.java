@@ -45,12 +45,16 @@ import vadl.viam.Constant;
 import vadl.viam.Encoding;
 import vadl.viam.Instruction;
 import vadl.viam.MemoryRegion;
+import vadl.viam.PseudoInstruction;
 import vadl.viam.RegisterTensor;
 import vadl.viam.Relocation;
 import vadl.viam.annotations.AsmParserCaseSensitive;
 import vadl.viam.annotations.AsmParserCommentString;
 import vadl.viam.annotations.EnableHtifAnno;
+import vadl.viam.annotations.InstructionLatencyAnno;
 import vadl.viam.annotations.InstructionUndefinedAnno;
+import vadl.viam.annotations.PseudoInstructionCompressAnno;
+import vadl.viam.annotations.PseudoInstructionRelaxAnno;
 
 @SuppressWarnings({"UnusedMethod", "UnusedVariable"})
 class AnnotationTable {
@@ -99,6 +103,22 @@ class AnnotationTable {
         // this handled in the VIAM lowering when constructing the ArtificialResource
         .build();
 
+    annotationOn(AliasDefinition.class, "syscall number", EnableAnnotation::new)
+        .check((def, annotation, lowering) -> {
+          ensure(def.kind == AliasDefinition.AliasKind.REGISTER,
+              () -> error("Invalid annotation target", annotation)
+                  .locationDescription(annotation,
+                      "The syscall number annotation can only be applied on register aliases"));
+        })
+        // the aliases of an ABI are handled when lowering the ABI and never lowered on their own
+        .applyViam((def, annotation, lowering) -> {
+          throw error("Invalid annotation target", annotation)
+              .locationDescription(annotation,
+                  "The syscall number annotation can only be applied in an ABI")
+              .build();
+        })
+        .build();
+
     groupOn(RelocationDefinition.class)
         .add("global offset", EnableAnnotation::new)
         .add("relative", EnableAnnotation::new)
@@ -142,6 +162,33 @@ class AnnotationTable {
         })
         .build();
 
+    annotationOn(InstructionDefinition.class, "latency", ConstantAnnotation::new)
+        .check((def, annotation, lowering) -> annotation.verifyGreaterThan(BigInteger.ZERO))
+        .applyViam((def, annotation, lowering) -> {
+          var instr = (Instruction) def;
+          instr.addAnnotation(new InstructionLatencyAnno(annotation.constant.value().intValue()));
+        })
+        .build();
+
+    annotationOn(PseudoInstructionDefinition.class, "relax", RelaxAnnotation::new)
+        .check((def, annotation, lowering) -> annotation.verifyRelaxable(def))
+        .applyViam((def, annotation, lowering) -> {
+          var pseudo = (PseudoInstruction) def;
+          var relaxed = (PseudoInstruction) lowering.fetch(annotation.relaxed).orElseThrow();
+          pseudo.addAnnotation(new PseudoInstructionRelaxAnno(relaxed));
+        })
+        .build();
+
+    annotationOn(PseudoInstructionDefinition.class, "compress", CompressAnnotation::new)
+        .check((def, annotation, lowering) -> annotation.verifyCompressible(def))
+        .applyViam((def, annotation, lowering) -> {
+          // The equivalence is checked by the InstructionCompressionVerificationPass.
+          var pseudo = (PseudoInstruction) def;
+          var compressed = (Instruction) lowering.fetch(annotation.compressed).orElseThrow();
+          pseudo.addAnnotation(new PseudoInstructionCompressAnno(compressed));
+        })
+        .build();
+
     /// PROCESSOR RELATED ///
 
     annotationOn(ProcessorDefinition.class, "htif", EnableAnnotation::new)
@@ -1180,6 +1227,140 @@ class ZeroConstraintAnnotation extends ExprAnnotation {
   }
 }
 
+/**
+ * The {@code [ relax : <pseudo instruction> ]} annotation.
+ * It references the shorter pseudo instruction the linker may replace the annotated
+ * pseudo instruction with.
+ * <pre>{@code
+ * [ relax : CALL_NEAR ]
+ * pseudo instruction CALL( symbol : Bits<32> ) = { ... }
+ * }</pre>
+ */
+class RelaxAnnotation extends Annotation {
+  @LazyInit
+  PseudoInstructionDefinition relaxed;
+
+  @Override
+  void resolveName(AnnotationDefinition definition, SymbolTable.SymbolResolver resolver) {
+    verifyValuesCnt(definition, 1);
+    var value = definition.values.getFirst();
+    if (!(value instanceof Identifier identifier)) {
+      throw error("Invalid Annotation Argument", value)
+          .locationDescription(value, "Expected an identifier but got %s",
+              value.getClass().getSimpleName())
+          .build();
+    }
+
+    var pseudo = definition.symbolTable().findAs(identifier, PseudoInstructionDefinition.class);
+    if (pseudo == null) {
+      throw error("Invalid Annotation Argument", value)
+          .locationDescription(value, "Expected a pseudo instruction but got %s",
+              identifier.name)
+          .build();
+    }
+    relaxed = pseudo;
+  }
+
+  @Override
+  void typeCheck(AnnotationDefinition definition, TypeChecker typeChecker) {
+    // Do nothing on purpose as the identifier only references a pseudo instruction.
+  }
+
+  /**
+   * Verify that the referenced pseudo instruction can replace the annotated one.
+   * It must be a different pseudo instruction with the same number of parameters
+   * that calls exactly one instruction.
+   */
+  void verifyRelaxable(PseudoInstructionDefinition def) {
+    var value = definition.values.getFirst();
+    ensure(!relaxed.equals(def), () -> error("Invalid relax annotation", value)
+        .locationDescription(value, "A pseudo instruction cannot be relaxed to itself."));
+    ensure(relaxed.params.size() == def.params.size(),
+        () -> error("Invalid relax annotation", value)
+            .locationDescription(value, "Expected a pseudo instruction with %d parameters.",
+                def.params.size())
+            .locationNote(relaxed, "This pseudo instruction has %d parameters.",
+                relaxed.params.size()));
+    ensure(relaxed.statements.size() == 1,
+        () -> error("Invalid relax annotation", value)
+            .locationDescription(value,
+                "Expected a pseudo instruction that calls exactly one instruction.")
+            .locationNote(relaxed, "This pseudo instruction calls %d instructions.",
+                relaxed.statements.size()));
+  }
+
+  @Override
+  public String usageString() {
+    return "[ " + name + " : <pseudo instruction> ]";
+  }
+}
+
+/**
+ * The {@code [ compress : <instruction> ]} annotation.
+ * It references the shorter instruction which is equivalent to the only instruction call
+ * of the annotated pseudo instruction. The parameters of the pseudo instruction are the
+ * fields of the shorter instruction.
+ * <pre>{@code
+ * [ compress : ADD_S ]
+ * pseudo instruction ADD_RD( rd : Index, rs1 : Index ) = { ADD{ rd = rd, rs1 = rd, rs2 = rs1 } }
+ * }</pre>
+ */
+class CompressAnnotation extends Annotation {
+  @LazyInit
+  InstructionDefinition compressed;
+
+  @Override
+  void resolveName(AnnotationDefinition definition, SymbolTable.SymbolResolver resolver) {
+    verifyValuesCnt(definition, 1);
+    var value = definition.values.getFirst();
+    if (!(value instanceof Identifier identifier)) {
+      throw error("Invalid Annotation Argument", value)
+          .locationDescription(value, "Expected an identifier but got %s",
+              value.getClass().getSimpleName())
+          .build();
+    }
+
+    var instruction = definition.symbolTable().findAs(identifier, InstructionDefinition.class);
+    if (instruction == null) {
+      throw error("Invalid Annotation Argument", value)
+          .locationDescription(value, "Expected an instruction but got %s", identifier.name)
+          .build();
+    }
+    compressed = instruction;
+  }
+
+  @Override
+  void typeCheck(AnnotationDefinition definition, TypeChecker typeChecker) {
+    // Do nothing on purpose as the identifier only references an instruction.
+  }
+
+  /**
+   * Verify that the annotated pseudo instruction calls exactly one instruction
+   * which is not the compressed instruction itself.
+   */
+  void verifyCompressible(PseudoInstructionDefinition def) {
+    var value = definition.values.getFirst();
+    ensure(def.statements.size() == 1,
+        () -> error("Invalid compress annotation", value)
+            .locationDescription(value,
+                "Expected a pseudo instruction that calls exactly one instruction.")
+            .locationNote(def, "This pseudo instruction calls %d instructions.",
+                def.statements.size()));
+    var call = def.statements.getFirst();
+    ensure(call.instrDef instanceof InstructionDefinition,
+        () -> error("Invalid compress annotation", call)
+            .locationDescription(call, "Expected a call of an instruction."));
+    ensure(!compressed.equals(call.instrDef),
+        () -> error("Invalid compress annotation", value)
+            .locationDescription(value, "An instruction cannot be compressed to itself."));
+  }
+
+  @Override
+  public String usageString() {
+    return "[ " + name + " : <instruction> ]";
+  }
+}
+
 class EncodingConstraintAnnotation extends ExprAnnotation {
 
   @Override
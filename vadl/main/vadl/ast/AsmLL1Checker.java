@@ -18,11 +18,14 @@ package vadl.ast;
 
 import static vadl.error.Diagnostic.error;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Stream;
@@ -36,7 +39,8 @@ import vadl.viam.asm.AsmToken;
  * If there are LL(1) conflicts in the grammar, they need to be resolved by semantic predicates.
  */
 public class AsmLL1Checker {
-  FirstSetComputer firstSetComputer = new FirstSetComputer();
+  AsmTokenIds tokenIds = new AsmTokenIds();
+  FirstSetComputer firstSetComputer = new FirstSetComputer(tokenIds);
   FollowSetSetComputer followSetSetComputer = new FollowSetSetComputer(firstSetComputer);
   EntityDeletableComputer deletableComputer = new EntityDeletableComputer();
 
@@ -63,44 +67,47 @@ public class AsmLL1Checker {
 
   private void verifyAlternatives(AsmGrammarAlternativesDefinition entity,
                                   boolean isInOptionOrRepetition) {
-    HashSet<AsmToken> previousAlternativesTokens = new HashSet<>();
-    Set<AsmToken> allAlternativesTokens = new HashSet<>();
+    var previousAlternativesTokens = new BitSet();
+    var allAlternativesTokens = new BitSet();
+    var alternativesTokens = new ArrayList<BitSet>(entity.alternatives.size());
     entity.alternativesFirstTokens = new ArrayList<>(entity.alternatives.size());
 
     for (var alternative : entity.alternatives) {
-      allAlternativesTokens.addAll(expectedTokensForConflict(alternative));
+      var expected = expectedTokens(alternative);
+      alternativesTokens.add(expected);
+      allAlternativesTokens.or(expectedTokensForConflict(alternative, expected));
     }
 
-    for (var alternative : entity.alternatives) {
-
-      var expected = expectedTokens(alternative);
-      entity.alternativesFirstTokens.add(expected);
+    for (int i = 0; i < entity.alternatives.size(); i++) {
+      var alternative = entity.alternatives.get(i);
+      var expected = alternativesTokens.get(i);
+      entity.alternativesFirstTokens.add(tokenIds.toSet(expected));
 
       var firstElement = alternative.get(0);
       if (!(entity.alternatives.size() == 1 && isInOptionOrRepetition)
           && firstElement.semanticPredicate != null) {
 
-        if (!getOverlappingTokens(previousAlternativesTokens, expected).isEmpty()) {
+        if (tokenIds.overlap(previousAlternativesTokens, expected)) {
           throw error("Misplaced semantic predicate.", firstElement)
               .note("This semantic predicate will never be evaluated."
                   + "Place it at previous conflicting alternative.").build();
         }
-        if (getOverlappingTokens(allAlternativesTokens, expected).isEmpty()) {
+        if (!tokenIds.overlap(allAlternativesTokens, expected)) {
           throw error("Misplaced semantic predicate.", firstElement)
               .note("There is no LL(1) conflict here.").build();
         }
       }
 
-      var expectedForConflict = expectedTokensForConflict(alternative);
+      var expectedForConflict = expectedTokensForConflict(alternative, expected);
       checkAlternativeLL1Conflict(previousAlternativesTokens, expectedForConflict);
 
-      previousAlternativesTokens.addAll(expectedForConflict);
+      previousAlternativesTokens.or(expectedForConflict);
       verifyElementsOfAlternative(alternative);
     }
   }
 
-  private void checkAlternativeLL1Conflict(Set<AsmToken> previousAlternativesTokens,
-                                           Set<AsmToken> expectedForConflict) {
+  private void checkAlternativeLL1Conflict(BitSet previousAlternativesTokens,
+                                           BitSet expectedForConflict) {
     var overlappingTokens = getOverlappingTokens(previousAlternativesTokens, expectedForConflict);
     if (!overlappingTokens.isEmpty()) {
       Objects.requireNonNull(currentRule);
@@ -149,13 +156,13 @@ public class AsmLL1Checker {
                                                List<AsmGrammarElementDefinition> successors) {
     var expected = firstSetComputer.visit(alternatives);
     var expectedTokensAfter = expectedTokens(successors);
-    alternatives.enclosingBlockFirstTokens = expected;
+    alternatives.enclosingBlockFirstTokens = tokenIds.toSet(expected);
 
     if (alternatives.alternatives.size() == 1) {
       var firstElement = alternatives.alternatives.get(0).get(0);
       if (firstElement.semanticPredicate != null) {
 
-        if (getOverlappingTokens(expected, expectedTokensAfter).isEmpty()) {
+        if (!tokenIds.overlap(expected, expectedTokensAfter)) {
           throw error("Misplaced semantic predicate.", firstElement)
               .note("There is no LL(1) conflict here.").build();
         }
@@ -179,11 +186,12 @@ public class AsmLL1Checker {
     }
   }
 
-  private Set<AsmToken> expectedTokensForConflict(List<AsmGrammarElementDefinition> elements) {
+  private BitSet expectedTokensForConflict(List<AsmGrammarElementDefinition> elements,
+                                           BitSet expectedTokens) {
     if (!elements.isEmpty() && elements.get(0).semanticPredicate != null) {
-      return new HashSet<>();
+      return new BitSet();
     }
-    return expectedTokens(elements);
+    return expectedTokens;
   }
 
   /**
@@ -205,16 +213,16 @@ public class AsmLL1Checker {
    * @param alternatives the alternatives of an option/repetition block
    * @return the expected tokens for the block
    */
-  private Set<AsmToken> expectedTokensForConflict(AsmGrammarAlternativesDefinition alternatives) {
+  private BitSet expectedTokensForConflict(AsmGrammarAlternativesDefinition alternatives) {
     if (alternatives.alternatives.size() == 1) {
       if (alternatives.alternatives.get(0).get(0).semanticPredicate != null) {
-        return new HashSet<>();
+        return new BitSet();
       }
     }
     return expectedTokens(alternatives);
   }
 
-  private Set<AsmToken> expectedTokens(List<AsmGrammarElementDefinition> elements) {
+  private BitSet expectedTokens(List<AsmGrammarElementDefinition> elements) {
     var expectedTokens = firstSetComputer.computeFirstSetOfGroup(elements);
     if (deletableComputer.areAllElementsDeletable(elements)) {
       addFollowSetOfCurrentRule(expectedTokens);
@@ -222,7 +230,7 @@ public class AsmLL1Checker {
     return expectedTokens;
   }
 
-  private Set<AsmToken> expectedTokens(AsmGrammarAlternativesDefinition alternatives) {
+  private BitSet expectedTokens(AsmGrammarAlternativesDefinition alternatives) {
     var expectedTokens = firstSetComputer.visit(alternatives);
     if (deletableComputer.visit(alternatives)) {
       addFollowSetOfCurrentRule(expectedTokens);
@@ -230,16 +238,13 @@ public class AsmLL1Checker {
     return expectedTokens;
   }
 
-  private void addFollowSetOfCurrentRule(Set<AsmToken> tokens) {
+  private void addFollowSetOfCurrentRule(BitSet tokens) {
     Objects.requireNonNull(currentRule);
-    var followSet = followSetSetComputer.getFollowSets().get(currentRule.identifier().name);
-    if (followSet != null) {
-      tokens.addAll(followSet);
-    }
+    tokens.or(followSetSetComputer.getFollowSet(currentRule));
   }
 
-  private List<AsmToken> getOverlappingTokens(Set<AsmToken> outerSet, Set<AsmToken> innerSet) {
-    return outerSet.stream().filter(innerSet::contains).toList();
+  private List<AsmToken> getOverlappingTokens(BitSet outerSet, BitSet innerSet) {
+    return tokenIds.toList(tokenIds.overlapping(outerSet, innerSet));
   }
 
   private void checkDeletableWithinOptionOrRepetition(
@@ -255,26 +260,38 @@ public class AsmLL1Checker {
   }
 }
 
-class FirstSetComputer implements AsmGrammarEntityVisitor<Set<AsmToken>> {
+class FirstSetComputer implements AsmGrammarEntityVisitor<BitSet> {
+
+  private final AsmTokenIds tokenIds;
+  private final IdentityHashMap<AsmGrammarRuleDefinition, BitSet> firstSetCache =
+      new IdentityHashMap<>();
+  private final HashMap<String, BitSet> stringLiteralCache = new HashMap<>();
 
-  private final HashMap<String, Set<AsmToken>> firstSetCache = new HashMap<>();
+  FirstSetComputer(AsmTokenIds tokenIds) {
+    this.tokenIds = tokenIds;
+  }
 
+  /**
+   * Returns the first set of the rule.
+   * The returned set is shared and must not be modified.
+   */
   @Override
-  public Set<AsmToken> visit(AsmGrammarRuleDefinition entity) {
-    var ruleName = entity.identifier().name;
-    if (firstSetCache.containsKey(ruleName)) {
-      return firstSetCache.get(ruleName);
+  public BitSet visit(AsmGrammarRuleDefinition entity) {
+    var cached = firstSetCache.get(entity);
+    if (cached != null) {
+      return cached;
     }
 
-    Set<AsmToken> firstSet;
+    var ruleName = entity.identifier().name;
+    BitSet firstSet;
     if (entity.isTerminalRule) {
-      firstSet = new HashSet<>(List.of(new AsmToken(ruleName, null)));
+      firstSet = tokenIds.set(ruleName, null);
     } else if (entity.isBuiltinRule) {
       if (entity.identifier().name.equals("Expression")) {
-        firstSet = new HashSet<>(
-            Stream.of("LPAREN", "DOT", "MINUS", "PLUS", "EXCLAIM", "TILDE", "INTEGER", "STRING",
-                "IDENTIFIER").map(s -> new AsmToken(s, null)).toList()
-        );
+        var expressionTokens = new BitSet();
+        Stream.of("LPAREN", "DOT", "MINUS", "PLUS", "EXCLAIM", "TILDE", "INTEGER", "STRING",
+            "IDENTIFIER").forEach(s -> expressionTokens.set(tokenIds.id(s, null)));
+        firstSet = expressionTokens;
       } else {
         throw error("Unknown builtin: " + entity.identifier().name, entity).build();
       }
@@ -282,25 +299,25 @@ class FirstSetComputer implements AsmGrammarEntityVisitor<Set<AsmToken>> {
       firstSet = entity.alternatives.accept(this);
     }
 
-    firstSetCache.put(ruleName, firstSet);
+    firstSetCache.put(entity, firstSet);
     return firstSet;
   }
 
   @Override
-  public Set<AsmToken> visit(AsmGrammarAlternativesDefinition entity) {
+  public BitSet visit(AsmGrammarAlternativesDefinition entity) {
 
-    var alternativesTokens = new HashSet<AsmToken>();
+    var alternativesTokens = new BitSet();
 
     for (var alternative : entity.alternatives) {
       var firstEntityTokens = computeFirstSetOfGroup(alternative);
-      alternativesTokens.addAll(firstEntityTokens);
+      alternativesTokens.or(firstEntityTokens);
     }
 
     return alternativesTokens;
   }
 
   @Override
-  public Set<AsmToken> visit(AsmGrammarElementDefinition entity) {
+  public BitSet visit(AsmGrammarElementDefinition entity) {
     // only ever one of these fields is non-null
     // so the order of the statements has no effect
     if (entity.groupAlternatives != null) {
@@ -318,44 +335,41 @@ class FirstSetComputer implements AsmGrammarEntityVisitor<Set<AsmToken>> {
     if (entity.localVar != null) {
       return entity.localVar.accept(this);
     }
-    return new HashSet<>();
+    return new BitSet();
   }
 
   @Override
-  public Set<AsmToken> visit(AsmGrammarLocalVarDefinition entity) {
+  public BitSet visit(AsmGrammarLocalVarDefinition entity) {
     if (entity.asmLiteral.id != null && entity.asmLiteral.id.name.equals("null")) {
-      return new HashSet<>();
+      return new BitSet();
     }
     return entity.asmLiteral.accept(this);
   }
 
   @Override
-  public Set<AsmToken> visit(AsmGrammarLiteralDefinition entity) {
+  public BitSet visit(AsmGrammarLiteralDefinition entity) {
 
     if (entity.stringLiteral != null) {
       var stringValue = ((StringLiteral) entity.stringLiteral).value;
-      var inferredRule = inferTerminalRule(stringValue);
-      return new HashSet<>(List.of(new AsmToken(inferredRule.identifier().name, stringValue)));
+      return stringLiteralCache.computeIfAbsent(stringValue,
+          value -> tokenIds.set(inferTerminalRule(value).identifier().name, value));
     }
 
     Objects.requireNonNull(entity.id);
     var invocationSymbolOrigin = entity.symbolTable().findAs(entity.id, Node.class);
 
     if (invocationSymbolOrigin instanceof AsmGrammarRuleDefinition rule) {
-      if (firstSetCache.containsKey(rule.identifier().name)) {
-        return firstSetCache.get(rule.identifier().name);
-      }
       return rule.accept(this);
     }
 
     if (invocationSymbolOrigin instanceof AsmGrammarLocalVarDefinition) {
       // on usage of local variable, there is nothing to be parsed
-      return new HashSet<>();
+      return new BitSet();
     }
 
     if (invocationSymbolOrigin instanceof FunctionDefinition) {
 
-      Set<AsmToken> tokens = new HashSet<>();
+      var tokens = new BitSet();
 
       // get the tokens of the first parameter that needs to be parsed
       // it can be the case that no parameter needs to be parsed
@@ -366,13 +380,18 @@ class FirstSetComputer implements AsmGrammarEntityVisitor<Set<AsmToken>> {
       return tokens;
     }
 
-    return new HashSet<>();
+    return new BitSet();
   }
 
-  public Set<AsmToken> computeFirstSetOfGroup(
+  /**
+   * Computes the first set of a sequence of elements.
+   * The returned set can be modified by the caller.
+   */
+  public BitSet computeFirstSetOfGroup(
       @Nullable List<AsmGrammarElementDefinition> elements) {
+    var firstSet = new BitSet();
     if (elements == null || elements.isEmpty()) {
-      return new HashSet<>();
+      return firstSet;
     }
 
     AsmGrammarElementDefinition firstEntity = elements.get(0);
@@ -383,24 +402,25 @@ class FirstSetComputer implements AsmGrammarEntityVisitor<Set<AsmToken>> {
     while (firstEntityTokens.isEmpty()) {
       if (i == elements.size()) {
         // no parsable element in elements
-        return new HashSet<>();
+        return firstSet;
       }
       firstEntity = elements.get(i);
       firstEntityTokens = firstEntity.accept(this);
       i++;
     }
+    firstSet.or(firstEntityTokens);
 
     if (firstEntity.optionAlternatives != null || firstEntity.repetitionAlternatives != null) {
-      Set<AsmToken> successorTokens = null;
+      BitSet successorTokens = null;
       while ((successorTokens == null || successorTokens.isEmpty()) && i < elements.size()) {
         successorTokens = elements.get(i).accept(this);
         i++;
       }
       if (successorTokens != null) {
-        firstEntityTokens.addAll(successorTokens);
+        firstSet.or(successorTokens);
       }
     }
-    return firstEntityTokens;
+    return firstSet;
   }
 
   private AsmGrammarRuleDefinition inferTerminalRule(String value) {
@@ -423,14 +443,16 @@ class FollowSetSetComputer implements AsmGrammarEntityVisitor<Void> {
   private final FirstSetComputer firstSetComputer;
   private final EntityDeletableComputer deletableComputer = new EntityDeletableComputer();
 
-  private final HashMap<String, Set<AsmToken>> followSetCache = new HashMap<>();
+  private final IdentityHashMap<AsmGrammarRuleDefinition, BitSet> followSets =
+      new IdentityHashMap<>();
 
-  // a mapping of "RuleA" -> ["RuleB","RuleC",...]
-  // the follow sets of ["RuleB","RuleC",...] need to be merged into the follow set of "RuleA"
-  private final HashMap<String, HashSet<String>> followSetsToBeMergedFrom = new HashMap<>();
+  // a mapping of RuleB -> [RuleA, ...] for A : B;
+  // the follow set of RuleB needs to be merged into the follow sets of [RuleA, ...]
+  private final IdentityHashMap<AsmGrammarRuleDefinition, Set<AsmGrammarRuleDefinition>>
+      followSetsToBeMergedInto = new IdentityHashMap<>();
 
   @Nullable
-  private String currentRuleName;
+  private AsmGrammarRuleDefinition currentRule;
   @Nullable
   private List<AsmGrammarElementDefinition> successors;
 
@@ -438,41 +460,34 @@ class FollowSetSetComputer implements AsmGrammarEntityVisitor<Void> {
     this.firstSetComputer = firstSetComputer;
   }
 
-  public Map<String, Set<AsmToken>> getFollowSets() {
-    return followSetCache;
+  public BitSet getFollowSet(AsmGrammarRuleDefinition rule) {
+    return followSets.getOrDefault(rule, new BitSet());
   }
 
   public void computeFollowSets(List<AsmGrammarRuleDefinition> rules) {
     // compute follow from first e.g. add first(C) to follow(B) for A : B C;
     for (var rule : rules) {
-      currentRuleName = rule.identifier().name;
+      currentRule = rule;
       rule.accept(this);
     }
 
     // complete follow sets e.g. add follow(A) to follow(B) for A : B;
-    for (var rule : rules) {
-      if (!rule.isBuiltinRule) {
-        currentRuleName = rule.identifier().name;
-        complete(rule.identifier().name);
+    // until no follow set changes anymore
+    var worklist = new ArrayDeque<>(followSetsToBeMergedInto.keySet());
+    while (!worklist.isEmpty()) {
+      var rule = worklist.poll();
+      var followSet = followSets.get(rule);
+      if (followSet == null || followSet.isEmpty()) {
+        continue;
       }
-    }
-  }
-
-  private void complete(String ruleName) {
-    var rulesToGetFollowFrom = followSetsToBeMergedFrom.get(ruleName);
-    if (rulesToGetFollowFrom == null) {
-      return;
-    }
-    for (var otherRule : rulesToGetFollowFrom) {
-      complete(otherRule);
-
-      if (followSetCache.get(otherRule) != null) {
-        followSetCache.computeIfAbsent(ruleName, key -> new HashSet<>())
-            .addAll(followSetCache.get(otherRule));
-      }
-
-      if (otherRule.equals(currentRuleName)) {
-        followSetsToBeMergedFrom.put(currentRuleName, new HashSet<>());
+      for (var invokedRule : followSetsToBeMergedInto.getOrDefault(rule, Set.of())) {
+        var invokedRuleFollowSet =
+            followSets.computeIfAbsent(invokedRule, key -> new BitSet());
+        var size = invokedRuleFollowSet.cardinality();
+        invokedRuleFollowSet.or(followSet);
+        if (invokedRuleFollowSet.cardinality() != size) {
+          worklist.add(invokedRule);
+        }
       }
     }
   }
@@ -543,15 +558,12 @@ class FollowSetSetComputer implements AsmGrammarEntityVisitor<Void> {
         return null;
       }
 
-      var invokedRule = rule.identifier().name;
-      var invokedRuleFollowSet =
-          followSetCache.computeIfAbsent(invokedRule, key -> new HashSet<>());
-
-      invokedRuleFollowSet.addAll(firstSetComputer.computeFirstSetOfGroup(successors));
+      followSets.computeIfAbsent(rule, key -> new BitSet())
+          .or(firstSetComputer.computeFirstSetOfGroup(successors));
 
       if (successors == null || deletableComputer.areAllElementsDeletable(successors)) {
-        followSetsToBeMergedFrom.computeIfAbsent(invokedRule, key -> new HashSet<>())
-            .add(currentRuleName);
+        followSetsToBeMergedInto.computeIfAbsent(Objects.requireNonNull(currentRule),
+            key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(rule);
       }
     }
 
@@ -636,3 +648,112 @@ class EntityDeletableComputer implements AsmGrammarEntityVisitor<Boolean> {
     return deletable;
   }
 }
+
+/**
+ * Assigns consecutive ids to the tokens of the assembly grammar, so that sets of tokens can be
+ * represented as bit sets.
+ *
+ * <p>A token without a string literal, e.g. {@code IDENTIFIER}, is matched by its kind and
+ * therefore overlaps with every token of the same rule, e.g. {@code "x"}.
+ * See {@link AsmToken#equals(Object)}.</p>
+ */
+class AsmTokenIds {
+
+  private record Key(String ruleName, @Nullable String stringLiteral) {
+  }
+
+  private final HashMap<Key, Integer> ids = new HashMap<>();
+  private final List<AsmToken> tokens = new ArrayList<>();
+  private final HashMap<String, BitSet> tokensOfRule = new HashMap<>();
+  private final BitSet kindTokens = new BitSet();
+
+  int id(String ruleName, @Nullable String stringLiteral) {
+    var key = new Key(ruleName, stringLiteral);
+    var id = ids.get(key);
+    if (id != null) {
+      return id;
+    }
+
+    id = tokens.size();
+    ids.put(key, id);
+    tokens.add(new AsmToken(ruleName, stringLiteral));
+    tokensOfRule.computeIfAbsent(ruleName, k -> new BitSet()).set(id);
+    if (stringLiteral == null) {
+      kindTokens.set(id);
+    }
+    return id;
+  }
+
+  BitSet set(String ruleName, @Nullable String stringLiteral) {
+    var set = new BitSet();
+    set.set(id(ruleName, stringLiteral));
+    return set;
+  }
+
+  /**
+   * Returns the tokens of the first set that the parser cannot distinguish
+   * from a token of the second set.
+   */
+  BitSet overlapping(BitSet first, BitSet second) {
+    var overlapping = (BitSet) first.clone();
+    overlapping.and(withMatchingTokens(second));
+
+    var firstKindTokens = (BitSet) first.clone();
+    firstKindTokens.and(kindTokens);
+    for (int id = firstKindTokens.nextSetBit(0); id >= 0;
+         id = firstKindTokens.nextSetBit(id + 1)) {
+      if (ofSameRule(id).intersects(second)) {
+        overlapping.set(id);
+      }
+    }
+    return overlapping;
+  }
+
+  boolean overlap(BitSet first, BitSet second) {
+    return first.intersects(withMatchingTokens(second));
+  }
+
+  /**
+   * Converts the bit set to the set of tokens, where a token without a string literal replaces
+   * all tokens of the same rule.
+   */
+  Set<AsmToken> toSet(BitSet set) {
+    var result = new LinkedHashSet<AsmToken>();
+    var subsumed = new BitSet();
+    for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+      if (kindTokens.get(id)) {
+        subsumed.or(ofSameRule(id));
+        subsumed.clear(id);
+      }
+    }
+    for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+      if (!subsumed.get(id)) {
+        result.add(tokens.get(id));
+      }
+    }
+    return result;
+  }
+
+  List<AsmToken> toList(BitSet set) {
+    return set.stream().mapToObj(tokens::get).toList();
+  }
+
+  private BitSet withMatchingTokens(BitSet set) {
+    var kindTokensOfSet = (BitSet) set.clone();
+    kindTokensOfSet.and(kindTokens);
+    if (kindTokensOfSet.isEmpty()) {
+      return set;
+    }
+
+    var result = (BitSet) set.clone();
+    for (int id = kindTokensOfSet.nextSetBit(0); id >= 0;
+         id = kindTokensOfSet.nextSetBit(id + 1)) {
+      result.or(ofSameRule(id));
+    }
+    return result;
+  }
+
+  private BitSet ofSameRule(int id) {
+    return Objects.requireNonNull(tokensOfRule.get(tokens.get(id).getRuleName()));
+  }
+}
@@ -16,6 +16,8 @@
 
 package vadl.ast;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -65,6 +67,31 @@ public class Ast {
     return builder;
   }
 
+  /**
+   * Convert the tree back into sourcecode and write it to the output.
+   * Unlike {@link #prettyPrint()}, the source is written after every definition, so it never has
+   * to be held in memory as a whole.
+   *
+   * @param output to write the source code to.
+   * @throws IOException if the output cannot be written.
+   */
+  public void prettyPrint(Appendable output) throws IOException {
+    var builder = new StringBuilder();
+    try {
+      Definition.prettyPrintDefinitions(0, builder, definitions, () -> {
+        try {
+          output.append(builder);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        builder.setLength(0);
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    output.append(builder);
+  }
+
   /**
    * Convert the tree back into sourcecode.
    * The generated sourcecode might look quite different but is semantically equal. Some notable
@@ -16,15 +16,25 @@
 
 package vadl.ast;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * A pass over the AST that produces a textual representation of the AST.
  */
 public class AstDumper extends RecursiveAstVisitor {
+  /**
+   * The size at which the dumped text is written to the output.
+   */
+  private static final int FLUSH_THRESHOLD = 1 << 16;
+
   private StringBuilder builder = new StringBuilder();
   private int indent;
+  @Nullable
+  private Appendable output;
 
   /**
    * Dumps the AST into a textual representation.
@@ -42,6 +52,45 @@ public class AstDumper extends RecursiveAstVisitor {
     return builder.toString();
   }
 
+  /**
+   * Dumps the AST into a textual representation and writes it to the output.
+   * Unlike {@link #dump(Ast)}, the representation is written in parts, so it never has to be held
+   * in memory as a whole.
+   *
+   * @param ast    to dump.
+   * @param output to write the textual representation of the tree to.
+   * @throws IOException if the output cannot be written.
+   */
+  public void dump(Ast ast, Appendable output) throws IOException {
+    builder = new StringBuilder();
+    indent = 0;
+    this.output = output;
+
+    try {
+      for (var definition : ast.definitions) {
+        definition.accept(this);
+      }
+      output.append(builder);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      builder = new StringBuilder();
+      this.output = null;
+    }
+  }
+
+  private void flushIfFull() {
+    if (output == null || builder.length() < FLUSH_THRESHOLD) {
+      return;
+    }
+    try {
+      output.append(builder);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    builder.setLength(0);
+  }
+
   private String indentString() {
     var indentBy = 2;
     var indentCharacters = ". : ' | ";
@@ -63,6 +112,7 @@ public class AstDumper extends RecursiveAstVisitor {
       builder.append(" type: %s".formatted(expr.type));
     }
     builder.append('\n');
+    flushIfFull();
   }
 
   private void dumpChildren(List<? extends Node> children) {
@@ -98,7 +98,8 @@ import vadl.viam.graph.dependency.ZeroExtendNode;
  * Lowers statements and expressions into viam behaivor graph.
  *
  * <p>Because the caches this class holds are delicate, create a new instance for every graph you
- * generate.
+ * generate. An instance is confined to the thread which creates it, as the {@link ViamLowering}
+ * lowers the behaviors of independent definitions in parallel.
  */
 @SuppressWarnings("OverloadMethodsDeclarationOrder")
 class BehaviorLowering implements StatementVisitor<SubgraphContext>, ExprVisitor<ExpressionNode> {
@@ -20,6 +20,7 @@ import static java.util.Objects.requireNonNull;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.List;
@@ -45,7 +46,9 @@ import vadl.viam.Constant;
  */
 class ConstantEvaluator implements ExprVisitor<ConstantValue> {
 
-  private final IdentityHashMap<Expr, ConstantValue> cache = new IdentityHashMap<>();
+  // The evaluator of the VIAM lowering is shared by the threads which lower the behaviors.
+  private final Map<Expr, ConstantValue> cache =
+      Collections.synchronizedMap(new IdentityHashMap<>());
 
   public ConstantValue eval(Expr expr) {
     // A simple optimization that avoids unneeded traversing the tree.
@@ -53,8 +56,9 @@ class ConstantEvaluator implements ExprVisitor<ConstantValue> {
       return new ConstantValue(((ConstantType) expr.type).getValue(), expr.type);
     }
 
-    if (cache.containsKey(expr)) {
-      return (ConstantValue) cache.get(expr);
+    var cached = cache.get(expr);
+    if (cached != null) {
+      return cached;
     }
 
     var result = expr.accept(this);
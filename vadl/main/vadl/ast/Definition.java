@@ -42,6 +42,9 @@ import vadl.viam.asm.AsmToken;
  * anything.
  */
 abstract class Definition extends Node {
+  static final Runnable NO_FLUSH = () -> {
+  };
+
   @Child
   List<AnnotationDefinition> annotations = new ArrayList<>();
 
@@ -70,8 +73,27 @@ abstract class Definition extends Node {
         .map(annotationClass::cast).findFirst().orElse(null);
   }
 
+  /**
+   * Pretty prints the definition like {@link #prettyPrint(int, StringBuilder)}, but calls
+   * {@code flush} whenever the builder ends with a complete definition.
+   * This allows to write large trees in parts instead of building the whole source in memory.
+   *
+   * @param indent  of the definition.
+   * @param builder to print into, which may be emptied by {@code flush}.
+   * @param flush   called after every printed definition.
+   */
+  void prettyPrint(int indent, StringBuilder builder, Runnable flush) {
+    prettyPrint(indent, builder);
+    flush.run();
+  }
+
   static void prettyPrintDefinitions(int indent, StringBuilder builder,
                                      List<Definition> definitions) {
+    prettyPrintDefinitions(indent, builder, definitions, NO_FLUSH);
+  }
+
+  static void prettyPrintDefinitions(int indent, StringBuilder builder,
+                                     List<Definition> definitions, Runnable flush) {
     Definition previousDefinition = null;
     for (Definition definition : definitions) {
       if (previousDefinition != null
@@ -79,7 +101,7 @@ abstract class Definition extends Node {
           || !definition.annotations.isEmpty())) {
         builder.append("\n");
       }
-      definition.prettyPrint(indent, builder);
+      definition.prettyPrint(indent, builder, flush);
       previousDefinition = definition;
     }
   }
@@ -916,6 +938,11 @@ class InstructionSetDefinition extends Definition implements IdentifiableNode {
 
   @Override
   void prettyPrint(int indent, StringBuilder builder) {
+    prettyPrint(indent, builder, NO_FLUSH);
+  }
+
+  @Override
+  void prettyPrint(int indent, StringBuilder builder, Runnable flush) {
     prettyPrintAnnotations(indent, builder);
     builder.append(prettyIndentString(indent));
     builder.append("instruction set architecture ").append(identifier().name);
@@ -924,7 +951,7 @@ class InstructionSetDefinition extends Definition implements IdentifiableNode {
       builder.append(" extending ").append(extStr);
     }
     builder.append(" = {\n");
-    prettyPrintDefinitions(indent + 1, builder, definitions);
+    prettyPrintDefinitions(indent + 1, builder, definitions, flush);
     builder.append("}\n");
   }
 
@@ -3350,13 +3377,18 @@ class ApplicationBinaryInterfaceDefinition extends Definition implements Identif
 
   @Override
   void prettyPrint(int indent, StringBuilder builder) {
+    prettyPrint(indent, builder, NO_FLUSH);
+  }
+
+  @Override
+  void prettyPrint(int indent, StringBuilder builder, Runnable flush) {
     prettyPrintAnnotations(indent, builder);
     builder.append(prettyIndentString(indent)).append("application binary interface ");
     id.prettyPrint(indent, builder);
     builder.append(" for ");
     isa.prettyPrint(indent, builder);
     builder.append(" = {\n");
-    prettyPrintDefinitions(indent + 1, builder, definitions);
+    prettyPrintDefinitions(indent + 1, builder, definitions, flush);
     builder.append(prettyIndentString(indent)).append("}\n");
   }
 
@@ -3382,12 +3414,27 @@ class ApplicationBinaryInterfaceDefinition extends Definition implements Identif
   public Identifier identifier() {
     return id;
   }
+
+  /**
+   * Returns the register aliases that are annotated with {@code [ syscall number ]}.
+   */
+  List<AliasDefinition> syscallNumberAliases() {
+    return definitions.stream()
+        .filter(def -> def instanceof AliasDefinition)
+        .map(def -> (AliasDefinition) def)
+        .filter(alias -> alias.annotations.stream()
+            .anyMatch(annotation -> annotation.name().equals("syscall number")
+                && annotation.annotation instanceof EnableAnnotation enable
+                && enable.isEnabled))
+        .toList();
+  }
 }
 
 /**
  * The compiler generator requires a few special instructions. Those need to be defined
  * in the ABI. They are distinguished with the {@link AbiSpecialPurposeInstructionDefinition#kind}
- * property.
+ * property. The optional system call and breakpoint instructions are used by the Linux user
+ * mode of the ISS.
  */
 class AbiSpecialPurposeInstructionDefinition extends Definition {
 
@@ -3450,7 +3497,9 @@ class AbiSpecialPurposeInstructionDefinition extends Definition {
     CALL("call"),
     LOCAL_ADDRESS_LOAD("local address load"),
     GLOBAL_ADDRESS_LOAD("global address load"),
-    ABSOLUTE_ADDRESS_LOAD("absolute address load");
+    ABSOLUTE_ADDRESS_LOAD("absolute address load"),
+    SYSTEM_CALL("system call"),
+    BREAKPOINT("breakpoint");
 
     private final String keyword;
 
@@ -3468,7 +3517,9 @@ class AbiSpecialPurposeInstructionDefinition extends Definition {
           Kind.CALL, Occurrence.ONE,
           Kind.ABSOLUTE_ADDRESS_LOAD, Occurrence.ONE,
           Kind.LOCAL_ADDRESS_LOAD, Occurrence.OPTIONAL,
-          Kind.GLOBAL_ADDRESS_LOAD, Occurrence.OPTIONAL);
+          Kind.GLOBAL_ADDRESS_LOAD, Occurrence.OPTIONAL,
+          Kind.SYSTEM_CALL, Occurrence.OPTIONAL,
+          Kind.BREAKPOINT, Occurrence.OPTIONAL);
     }
   }
 }
@@ -3911,6 +3962,11 @@ class ProcessorDefinition extends Definition implements IdentifiableNode {
 
   @Override
   void prettyPrint(int indent, StringBuilder builder) {
+    prettyPrint(indent, builder, NO_FLUSH);
+  }
+
+  @Override
+  void prettyPrint(int indent, StringBuilder builder, Runnable flush) {
     prettyPrintAnnotations(indent, builder);
     builder.append(prettyIndentString(indent)).append("processor ");
     id.prettyPrint(0, builder);
@@ -3921,7 +3977,7 @@ class ProcessorDefinition extends Definition implements IdentifiableNode {
       abi.prettyPrint(0, builder);
     }
     builder.append(" = {\n");
-    prettyPrintDefinitions(indent + 1, builder, definitions);
+    prettyPrintDefinitions(indent + 1, builder, definitions, flush);
     builder.append(prettyIndentString(indent)).append("}\n");
   }
 
@@ -4383,13 +4439,18 @@ class MicroArchitectureDefinition extends Definition implements IdentifiableNode
 
   @Override
   void prettyPrint(int indent, StringBuilder builder) {
+    prettyPrint(indent, builder, NO_FLUSH);
+  }
+
+  @Override
+  void prettyPrint(int indent, StringBuilder builder, Runnable flush) {
     builder.append(prettyIndentString(indent));
     builder.append("micro architecture ");
     id.prettyPrint(0, builder);
     builder.append(" implements ");
     processor.prettyPrint(0, builder);
     builder.append(" = {\n");
-    prettyPrintDefinitions(indent + 1, builder, definitions);
+    prettyPrintDefinitions(indent + 1, builder, definitions, flush);
     builder.append(prettyIndentString(indent)).append("}\n");
   }
 
@@ -159,6 +159,12 @@ final class Identifier extends Expr implements IsId, IdentifierOrPlaceholder {
   @Nullable
   Node target;
 
+  /**
+   * The interned name, cached by the {@link SymbolTable} that resolves this identifier.
+   */
+  @Nullable
+  SymbolNames.InternedName internedName;
+
   public Identifier(String name, SourceLocation location) {
     this.loc = location;
     this.name = name;
@@ -0,0 +1,598 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.ast;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
+import vadl.error.DiagnosticList;
+import vadl.utils.SourceLocation;
+
+/**
+ * Checks a document again and again while it is edited, e.g. for the language server.
+ *
+ * <p>Every update parses the whole document, as the macros and the symbol resolution span the
+ * whole file. The type-checker however only checks the definitions whose source or resolved
+ * dependencies changed, and the definitions that depend on them. The diagnostics of all other
+ * definitions are taken over from the previous update and moved to their new lines.
+ * The definitions of an instruction set architecture are checked on their own, all other
+ * definitions together with their top level definition.
+ *
+ * <p>If the document can't be parsed, the previously parsed version stays available for the
+ * navigation. The checker isn't thread-safe.
+ */
+public class IncrementalChecker {
+
+  private final URI uri;
+
+  @Nullable
+  private State state;
+
+  private int checkedDefinitions;
+
+  /**
+   * Creates a checker for the document at the uri. Imports are resolved relative to it.
+   *
+   * @param uri of the document.
+   */
+  public IncrementalChecker(URI uri) {
+    this.uri = uri;
+  }
+
+  /**
+   * A definition that is checked on its own.
+   */
+  private static final class Unit {
+    final Definition definition;
+    final String key;
+    final String source;
+    final SourceLocation location;
+    final Set<Unit> dependencies = Collections.newSetFromMap(new IdentityHashMap<>());
+    final List<Diagnostic> diagnostics = new ArrayList<>();
+    @Nullable
+    Unit previous;
+    boolean checked;
+
+    Unit(Definition definition, String key, String source) {
+      this.definition = definition;
+      this.key = key;
+      this.source = source;
+      this.location = definition.location();
+    }
+  }
+
+  /**
+   * A parsed version of the document.
+   */
+  private static final class State {
+    final Ast ast;
+    final List<Unit> units = new ArrayList<>();
+    final Map<String, Unit> unitsByKey = new HashMap<>();
+    final IdentityHashMap<Definition, Unit> unitOf = new IdentityHashMap<>();
+    final DiagnosticCollector warnings = new DiagnosticCollector();
+    final TypeChecker typeChecker = new TypeChecker(warnings);
+
+    State(Ast ast) {
+      this.ast = ast;
+    }
+  }
+
+  /**
+   * Parses and checks a new version of the document.
+   *
+   * @param program the new content of the document.
+   * @return all diagnostics of the document.
+   */
+  public List<Diagnostic> update(String program) {
+    Ast ast;
+    try {
+      ast = VadlParser.parse(program, Map.of(), null, uri);
+      new Ungrouper().ungroup(ast);
+      new ModelRemover().removeModels(ast);
+    } catch (DiagnosticList e) {
+      return e.items;
+    } catch (Diagnostic e) {
+      return List.of(e);
+    }
+
+    var previous = state;
+    var next = new State(ast);
+    collectUnits(next, new SourceText(program));
+    for (var unit : next.units) {
+      unit.previous = previous == null ? null : previous.unitsByKey.get(unit.key);
+    }
+
+    var outdated = outdated(next);
+    var lineShifts = lineShifts(next);
+    for (var unit : next.units) {
+      if (!outdated.contains(unit)) {
+        requireNonNull(unit.previous).diagnostics
+            .forEach(d -> unit.diagnostics.add(shift(d, lineShifts)));
+      }
+    }
+
+    checkedDefinitions = 0;
+    for (var unit : next.units) {
+      if (outdated.contains(unit)) {
+        check(next, unit);
+        checkedDefinitions++;
+      }
+    }
+    state = next;
+
+    var diagnostics = new DiagnosticCollector();
+    next.units.forEach(unit -> diagnostics.addAll(unit.diagnostics));
+    return diagnostics.getAll();
+  }
+
+  /**
+   * Returns the number of definitions that were checked by the last update.
+   */
+  public int checkedDefinitions() {
+    return checkedDefinitions;
+  }
+
+  /**
+   * Returns the number of definitions that are checked on their own.
+   */
+  public int definitions() {
+    return state == null ? 0 : state.units.size();
+  }
+
+  /**
+   * Finds the definition the symbol at the position refers to.
+   *
+   * @param line   of the symbol, starting at 1.
+   * @param column of the symbol, starting at 1.
+   * @return the location of the name of the definition or null if there is no symbol.
+   */
+  @Nullable
+  public SourceLocation definitionAt(int line, int column) {
+    var found = findAt(line, column);
+    var target = found == null ? null : found.target();
+    if (target == null) {
+      return null;
+    }
+
+    if (target instanceof IdentifiableNode identifiable) {
+      return identifiable.identifier().location();
+    }
+    return target.location();
+  }
+
+  /**
+   * Describes the symbol at the position. The definition which contains the symbol is checked
+   * first if it wasn't checked by the last update, so the type of the symbol is known.
+   *
+   * @param line   of the symbol, starting at 1.
+   * @param column of the symbol, starting at 1.
+   * @return the kind, name and type of the symbol or null if there is no symbol.
+   */
+  @Nullable
+  public String describeAt(int line, int column) {
+    var found = findAt(line, column);
+    var current = state;
+    if (found == null || current == null) {
+      return null;
+    }
+
+    if (!found.unit().checked) {
+      check(current, found.unit());
+    }
+
+    @Nullable Node described = found.target();
+    if (described == null) {
+      described = found.definition();
+    }
+    if (described == null) {
+      return null;
+    }
+
+    var description = new StringBuilder(kind(described));
+    if (described instanceof IdentifiableNode identifiable) {
+      description.append(" ").append(identifiable.identifier().name);
+    }
+    if (found.node() instanceof Expr expr && expr.type != null) {
+      description.append(": ").append(expr.type);
+    }
+    return description.toString();
+  }
+
+  /**
+   * Splits the AST into the definitions that are checked on their own. The definitions of an
+   * instruction set architecture come before the architecture itself, so the architecture
+   * only checks its own nodes.
+   */
+  private void collectUnits(State state, SourceText text) {
+    var counts = new HashMap<String, Integer>();
+    for (var definition : state.ast.definitions) {
+      if (definition instanceof InstructionSetDefinition isa) {
+        isa.definitions.forEach(member -> addUnit(state, member, text.of(member), counts));
+
+        var inner = isa.definitions.stream().map(Node::location).toList();
+        addUnit(state, isa, text.of(isa.location(), inner), counts);
+      } else {
+        addUnit(state, definition, text.of(definition), counts);
+      }
+    }
+
+    IdentityHashMap<Node, Unit> owners = new IdentityHashMap<>();
+    IdentityHashMap<Unit, List<Node>> targets = new IdentityHashMap<>();
+    for (var unit : state.units) {
+      var unitTargets = new ArrayList<Node>();
+      walk(state, unit, node -> {
+        // Only definitions and named nodes are referred to
+        if (node instanceof Definition || node instanceof IdentifiableNode) {
+          owners.putIfAbsent(node, unit);
+        }
+        var target = target(node);
+        if (target != null) {
+          unitTargets.add(target);
+        }
+        if (node instanceof AssemblyDefinition assembly) {
+          unitTargets.addAll(assembly.instructionNodes);
+        } else if (node instanceof EncodingDefinition encoding && encoding.formatNode != null) {
+          unitTargets.add(encoding.formatNode);
+        }
+      });
+      targets.put(unit, unitTargets);
+    }
+
+    targets.forEach((unit, unitTargets) -> {
+      for (var target : unitTargets) {
+        var owner = owners.get(target);
+        if (owner != null && owner != unit) {
+          unit.dependencies.add(owner);
+        }
+      }
+    });
+  }
+
+  private static void addUnit(State state, Definition definition, String source,
+                              Map<String, Integer> counts) {
+    var name = definition instanceof IdentifiableNode identifiable
+        ? identifiable.identifier().name : source;
+    var key = definition.getClass().getSimpleName() + ":" + name;
+    var count = counts.merge(key, 1, Integer::sum);
+    if (count > 1) {
+      key += "#" + count;
+    }
+
+    var unit = new Unit(definition, key, source);
+    state.units.add(unit);
+    state.unitsByKey.put(key, unit);
+    state.unitOf.put(definition, unit);
+  }
+
+  /**
+   * Finds the definitions that must be checked again: new definitions, definitions whose source
+   * or dependencies changed and all definitions that depend on one of them.
+   */
+  private static Set<Unit> outdated(State state) {
+    IdentityHashMap<Unit, List<Unit>> dependents = new IdentityHashMap<>();
+    var worklist = new ArrayDeque<Unit>();
+    for (var unit : state.units) {
+      unit.dependencies.forEach(
+          dependency -> dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(unit));
+
+      var previous = unit.previous;
+      if (previous == null || !previous.source.equals(unit.source)
+          || !keys(previous.dependencies).equals(keys(unit.dependencies))) {
+        worklist.add(unit);
+      }
+    }
+
+    Set<Unit> outdated = Collections.newSetFromMap(new IdentityHashMap<>());
+    while (!worklist.isEmpty()) {
+      var unit = worklist.poll();
+      if (outdated.add(unit)) {
+        worklist.addAll(dependents.getOrDefault(unit, List.of()));
+      }
+    }
+    return outdated;
+  }
+
+  private static Set<String> keys(Set<Unit> units) {
+    return units.stream().map(unit -> unit.key).collect(Collectors.toSet());
+  }
+
+  /**
+   * Checks the definition and assigns the errors and warnings to the definitions they are
+   * located in.
+   */
+  private void check(State state, Unit unit) {
+    var reported = Set.copyOf(state.warnings.getAll());
+    try {
+      state.typeChecker.verify(unit.definition);
+    } catch (Diagnostic e) {
+      assign(state, e, unit);
+    } catch (DiagnosticList e) {
+      e.items.forEach(d -> assign(state, d, unit));
+    }
+    state.warnings.getAll().stream()
+        .filter(d -> !reported.contains(d))
+        .forEach(d -> assign(state, d, unit));
+    unit.checked = true;
+  }
+
+  /**
+   * Assigns the diagnostic to the innermost definition that contains its location. If it is
+   * located outside of all definitions, it's assigned to the checked definition.
+   */
+  private void assign(State state, Diagnostic diagnostic, Unit checked) {
+    var location = diagnostic.multiLocation.primaryLocation().location();
+    var owner = contains(checked.location, location) ? checked : null;
+    for (var unit : state.units) {
+      if (contains(unit.location, location)
+          && (owner == null || compareSize(unit.location, owner.location) < 0)) {
+        owner = unit;
+      }
+    }
+    owner = owner == null ? checked : owner;
+    if (!owner.diagnostics.contains(diagnostic)) {
+      owner.diagnostics.add(diagnostic);
+    }
+  }
+
+  private boolean contains(SourceLocation outer, SourceLocation inner) {
+    return outer.isValid() && inner.isValid() && outer.uri().equals(uri)
+        && inner.uri().equals(uri)
+        && outer.begin().compareTo(inner.begin()) <= 0
+        && outer.end().compareTo(inner.begin()) >= 0;
+  }
+
+  /**
+   * A definition of the previous version and how many lines it moved.
+   */
+  private record LineShift(int begin, int end, int delta) {
+  }
+
+  private List<LineShift> lineShifts(State state) {
+    var shifts = new ArrayList<LineShift>();
+    for (var unit : state.units) {
+      var previous = unit.previous;
+      if (previous != null && previous.location.isValid() && unit.location.isValid()) {
+        shifts.add(new LineShift(previous.location.begin().line(),
+            previous.location.end().line(),
+            unit.location.begin().line() - previous.location.begin().line()));
+      }
+    }
+    return shifts;
+  }
+
+  private Diagnostic shift(Diagnostic diagnostic, List<LineShift> shifts) {
+    var multiLocation = diagnostic.multiLocation;
+    var secondaryLocations = new ArrayList<Diagnostic.LabeledLocation>();
+    multiLocation.secondaryLocations()
+        .forEach(l -> secondaryLocations.add(shift(l, shifts)));
+    return new Diagnostic(diagnostic.level, diagnostic.reason,
+        new Diagnostic.MultiLocation(shift(multiLocation.primaryLocation(), shifts),
+            secondaryLocations),
+        diagnostic.messages);
+  }
+
+  private Diagnostic.LabeledLocation shift(Diagnostic.LabeledLocation labeledLocation,
+                                           List<LineShift> shifts) {
+    return new Diagnostic.LabeledLocation(shift(labeledLocation.location(), shifts),
+        labeledLocation.labels());
+  }
+
+  private SourceLocation shift(SourceLocation location, List<LineShift> shifts) {
+    if (!location.isValid() || !location.uri().equals(uri)) {
+      return location;
+    }
+
+    var line = location.begin().line();
+    var delta = shifts.stream()
+        .filter(s -> s.begin() <= line && line <= s.end())
+        .min((a, b) -> Integer.compare(a.end() - a.begin(), b.end() - b.begin()))
+        .map(LineShift::delta)
+        .orElse(0);
+    var expandedFrom = location.expandedFrom();
+    return location.shiftLines(delta, expandedFrom == null ? null : shift(expandedFrom, shifts));
+  }
+
+  /**
+   * The innermost node with a symbol at a position.
+   *
+   * @param unit       the definition that contains the node.
+   * @param node       at the position.
+   * @param target     the node the symbol refers to, if it is a reference.
+   * @param definition the definition the symbol names, if it is the name of a definition.
+   */
+  private record Found(Unit unit, Node node, @Nullable Node target,
+                       @Nullable Definition definition) {
+  }
+
+  @Nullable
+  private Found findAt(int line, int column) {
+    var current = state;
+    if (current == null) {
+      return null;
+    }
+
+    var position = new SourceLocation.Position(line, column);
+    var found = new ArrayList<Found>();
+    for (var unit : current.units) {
+      if (!containsPosition(unit.location, position)) {
+        continue;
+      }
+
+      walk(current, unit, node -> {
+        if (node instanceof Definition definition
+            && node instanceof IdentifiableNode identifiable
+            && containsPosition(identifiable.identifier().location(), position)) {
+          found.add(new Found(unit, identifiable.identifier(), null, definition));
+        }
+
+        var target = target(node);
+        var symbol = node instanceof TypeLiteral typeLiteral ? (Node) typeLiteral.baseType : node;
+        if (target != null && containsPosition(symbol.location(), position)) {
+          found.add(new Found(unit, symbol, target, null));
+        }
+      });
+    }
+
+    return found.stream()
+        .min((a, b) -> compareSize(a.node().location(), b.node().location()))
+        .orElse(null);
+  }
+
+  /**
+   * Whether the location or the macro instance it was expanded from contains the position.
+   */
+  private boolean containsPosition(SourceLocation location, SourceLocation.Position position) {
+    for (@Nullable var current = location; current != null; current = current.expandedFrom()) {
+      if (current.isValid() && current.uri().equals(uri)
+          && current.begin().compareTo(position) <= 0
+          && current.end().compareTo(position) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int compareSize(SourceLocation a, SourceLocation b) {
+    var lines = Integer.compare(a.end().line() - a.begin().line(),
+        b.end().line() - b.begin().line());
+    if (lines != 0) {
+      return lines;
+    }
+    return Integer.compare(a.end().column() - a.begin().column(),
+        b.end().column() - b.begin().column());
+  }
+
+  /**
+   * Visits all nodes of the definition, except the ones of the definitions that are checked on
+   * their own.
+   */
+  private static void walk(State state, Unit unit, Consumer<Node> consumer) {
+    var worklist = new ArrayDeque<Node>();
+    worklist.push(unit.definition);
+    while (!worklist.isEmpty()) {
+      var node = worklist.pop();
+      consumer.accept(node);
+      for (var child : node.children()) {
+        if (child != null && !state.unitOf.containsKey(child)) {
+          worklist.push(child);
+        }
+      }
+    }
+  }
+
+  /**
+   * The node a symbol refers to.
+   */
+  @Nullable
+  private static Node target(Node node) {
+    if (node instanceof IsId id && id.target() != null) {
+      return id.target();
+    }
+
+    // The symbol resolver leaves the base types to the type-checker.
+    if (node instanceof TypeLiteral typeLiteral && node.symbolTable != null
+        && (typeLiteral.baseType instanceof Identifier
+        || typeLiteral.baseType instanceof IdentifierPath)) {
+      return node.symbolTable().findAs(typeLiteral.baseType, Node.class);
+    }
+    return null;
+  }
+
+  private static String kind(Node node) {
+    return node.getClass().getSimpleName()
+        .replace("InstructionSetDefinition", "InstructionSetArchitecture")
+        .replace("Definition", "")
+        .replaceAll("([a-z])([A-Z])", "$1 $2")
+        .toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * The source code of the definitions in the document.
+   */
+  private final class SourceText {
+    private final String program;
+    private final int[] lineOffsets;
+
+    SourceText(String program) {
+      this.program = program;
+      var offsets = new ArrayList<Integer>();
+      offsets.add(0);
+      for (int i = 0; i < program.length(); i++) {
+        if (program.charAt(i) == '\n') {
+          offsets.add(i + 1);
+        }
+      }
+      this.lineOffsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * The source of a definition, including the macro instances it was expanded from.
+     */
+    String of(Definition definition) {
+      return of(definition.location(), List.of());
+    }
+
+    /**
+     * The source at the location without the parts at the excluded locations. Locations in
+     * other files can't be compared by their content, so only the location itself is used.
+     */
+    String of(SourceLocation location, List<SourceLocation> excluded) {
+      var source = new StringBuilder();
+      for (@Nullable var current = location; current != null;
+           current = current.expandedFrom()) {
+        if (!current.isValid() || !current.uri().equals(uri)) {
+          source.append(current).append('\0');
+          continue;
+        }
+
+        var begin = offset(current.begin());
+        var end = offset(current.end()) + 1;
+        for (var exclude : excluded) {
+          if (contains(current, exclude) && exclude.expandedFrom() == null) {
+            var excludeBegin = offset(exclude.begin());
+            if (excludeBegin >= begin) {
+              source.append(program, begin, excludeBegin);
+              begin = Math.max(begin, offset(exclude.end()) + 1);
+            }
+          }
+        }
+        source.append(program, begin, Math.max(begin, end)).append('\0');
+      }
+      return source.toString();
+    }
+
+    private int offset(SourceLocation.Position position) {
+      var line = Math.clamp(position.line() - 1, 0, lineOffsets.length - 1);
+      return Math.clamp((long) lineOffsets[line] + Math.max(position.column() - 1, 0), 0,
+          program.length());
+    }
+  }
+}
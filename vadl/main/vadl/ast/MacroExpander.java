@@ -23,6 +23,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import vadl.error.Diagnostic;
@@ -47,12 +49,28 @@ class MacroExpander
   final List<Diagnostic> errors = new ArrayList<>();
   @Nullable
   final SourceLocation expandingFrom;
+  final MacroExpansionCache cache;
+  @Nullable
+  private final UnaryOperator<SourceLocation> relocation;
 
   MacroExpander(Map<String, Node> args, Map<String, Identifier> macroOverrides,
                 @Nullable SourceLocation expandingFrom) {
+    this(args, macroOverrides, expandingFrom, new MacroExpansionCache());
+  }
+
+  MacroExpander(Map<String, Node> args, Map<String, Identifier> macroOverrides,
+                @Nullable SourceLocation expandingFrom, MacroExpansionCache cache) {
+    this(args, macroOverrides, expandingFrom, cache, null);
+  }
+
+  private MacroExpander(Map<String, Node> args, Map<String, Identifier> macroOverrides,
+                        @Nullable SourceLocation expandingFrom, MacroExpansionCache cache,
+                        @Nullable UnaryOperator<SourceLocation> relocation) {
     this.args = args;
     this.macroOverrides = macroOverrides;
     this.expandingFrom = expandingFrom;
+    this.cache = cache;
+    this.relocation = relocation;
   }
 
   /**
@@ -290,8 +308,8 @@ class MacroExpander
       assertValidMacro(macro, expr.location());
       var arguments = collectMacroParameters(macro, expr.arguments, expr.location());
       var body = (Expr) macro.body();
-      var subpass = new MacroExpander(arguments, macroOverrides, copyLoc(expr.loc));
-      var expanded = subpass.expandExpr(body);
+      var expanded = (Expr) expandInstance(macro, arguments, copyLoc(expr.loc),
+          subpass -> subpass.expandExpr(body));
       if (macro.returnType().equals(BasicSyntaxType.EX)) {
         var group = new GroupedExpr(new ArrayList<>(), expanded.location());
         group.expressions.add(expanded);
@@ -738,8 +756,8 @@ class MacroExpander
       var arguments =
           collectMacroParameters(macro, definition.arguments, definition.location());
       var body = (Definition) macro.body();
-      var subpass = new MacroExpander(arguments, macroOverrides, copyLoc(definition.location()));
-      return body.accept(subpass);
+      return (Definition) expandInstance(macro, arguments, copyLoc(definition.location()),
+          body::accept);
     } catch (MacroExpansionException e) {
       reportError(e.message, e.sourceLocation);
       return definition;
@@ -1072,8 +1090,8 @@ class MacroExpander
       assertValidMacro(macro, copyLoc(stmt.location()));
       var arguments = collectMacroParameters(macro, stmt.arguments, copyLoc(stmt.location()));
       var body = (Statement) macro.body();
-      var subpass = new MacroExpander(arguments, macroOverrides, copyLoc(stmt.location()));
-      return body.accept(subpass);
+      return (Statement) expandInstance(macro, arguments, copyLoc(stmt.location()),
+          body::accept);
     } catch (MacroExpansionException e) {
       reportError(e.message, e.sourceLocation);
       return stmt;
@@ -1297,8 +1315,8 @@ class MacroExpander
     try {
       assertValidMacro(macro, node.location());
       var arguments = collectMacroParameters(macro, node.arguments, node.location());
-      var subpass = new MacroExpander(arguments, macroOverrides, copyLoc(node.loc));
-      return subpass.expandNode(macro.body());
+      return expandInstance(macro, arguments, copyLoc(node.loc),
+          subpass -> subpass.expandNode(macro.body()));
     } catch (MacroExpansionException e) {
       reportError(e.message, e.sourceLocation);
       return node;
@@ -1333,12 +1351,56 @@ class MacroExpander
 
   }
 
+  /**
+   * Expands the body of a macro instance, or copies the expansion of an earlier instance of the
+   * same macro with equal arguments.
+   *
+   * @param macro       to be instantiated.
+   * @param arguments   of the instance, including the bound arguments of the macro.
+   * @param instanceLoc the location the expanded nodes are expanded from.
+   * @param expansion   expands the body with the given subpass.
+   * @return the expanded body.
+   */
+  private Node expandInstance(Macro macro, Map<String, Node> arguments,
+                              SourceLocation instanceLoc,
+                              Function<MacroExpander, Node> expansion) {
+    // Inside of model definitions the arguments can still contain placeholders of the enclosing
+    // model. They are kept as they are in the expansion, so it can't be moved to another instance.
+    var cacheable = arguments.values().stream().noneMatch(this::containsReplacementNode);
+    var hit = cacheable ? cache.lookup(macro, arguments, macroOverrides, instanceLoc) : null;
+    if (hit != null) {
+      var copier = new MacroExpander(Map.of(), macroOverrides, null, cache, hit.relocation());
+      return copier.expandNode(hit.expansion());
+    }
+    var subpass = new MacroExpander(arguments, macroOverrides, instanceLoc, cache);
+    var expanded = expansion.apply(subpass);
+    if (cacheable && subpass.errors.isEmpty()) {
+      cache.put(macro, arguments, macroOverrides, instanceLoc, expanded);
+    }
+    return expanded;
+  }
+
+  private boolean containsReplacementNode(Node node) {
+    if (isReplacementNode(node)) {
+      return true;
+    }
+    for (var child : node.children()) {
+      if (child != null && containsReplacementNode(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Copies the location and annotates with the location of the macro we are currently expanding.
    *
    * @param loc to be copied
    */
   private SourceLocation copyLoc(SourceLocation loc) {
+    if (relocation != null) {
+      return relocation.apply(loc);
+    }
     // FIXME: At the time of writing we sometimes issued the pass twice resulting in double
     // reporting of expandedFrom
     if (expandingFrom == null || Objects.equals(loc, expandingFrom)) {
@@ -1346,10 +1408,10 @@ class MacroExpander
     }
 
     if (loc.expandedFrom() == null) {
-      return new SourceLocation(loc.uri(), loc.begin(), loc.end(), expandingFrom);
+      return loc.withExpandedFrom(expandingFrom);
     }
 
-    return new SourceLocation(loc.uri(), loc.begin(), loc.end(), copyLoc(loc.expandedFrom()));
+    return loc.withExpandedFrom(copyLoc(loc.expandedFrom()));
   }
 
   static class MacroExpansionException extends Exception {
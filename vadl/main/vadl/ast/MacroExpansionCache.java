@@ -0,0 +1,216 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.ast;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import javax.annotation.Nullable;
+import vadl.utils.SourceLocation;
+
+/**
+ * Caches the expansions of macro instances during the parsing of a specification.
+ *
+ * <p>Specifications often instantiate the same macro with the same arguments many times, e.g.
+ * a helper macro in every instruction of a generated family. Instead of expanding the macro body
+ * again, the cached expansion is copied and its locations are moved to the new instance.
+ * Instances are equal if they refer to the same model, have structurally equal arguments and
+ * are expanded with the same overrides.
+ */
+final class MacroExpansionCache {
+
+  // Every reference to a model creates a new macro, but they share the body of the model.
+  // The bodies are compared by identity, as comparing them structurally is expensive.
+  private final IdentityHashMap<Node, Map<Key, Entry>> expansions = new IdentityHashMap<>();
+  private int hits = 0;
+
+  private record Key(Map<String, Node> arguments, Map<String, Identifier> overrides) {
+  }
+
+  /**
+   * The expansion of the first instance.
+   *
+   * @param arguments   of the instance.
+   * @param instanceLoc the location the nodes of the expansion were expanded from.
+   * @param expansion   the expanded body.
+   */
+  private record Entry(Map<String, Node> arguments, SourceLocation instanceLoc, Node expansion) {
+  }
+
+  /**
+   * A cached expansion and how to move its locations to the instance.
+   */
+  record Hit(Node expansion, UnaryOperator<SourceLocation> relocation) {
+  }
+
+  /**
+   * Returns the number of instances that weren't expanded but copied from the cache.
+   */
+  int hits() {
+    return hits;
+  }
+
+  @Nullable
+  Hit lookup(Macro macro, Map<String, Node> arguments, Map<String, Identifier> overrides,
+             SourceLocation instanceLoc) {
+    var instances = expansions.get(macro.body());
+    var entry = instances == null ? null : instances.get(new Key(arguments, overrides));
+    if (entry == null) {
+      return null;
+    }
+
+    var relocation = Relocation.of(entry, arguments, instanceLoc);
+    if (relocation == null) {
+      return null;
+    }
+    hits++;
+    return new Hit(entry.expansion(), relocation);
+  }
+
+  void put(Macro macro, Map<String, Node> arguments, Map<String, Identifier> overrides,
+           SourceLocation instanceLoc, Node expansion) {
+    var copy = Map.copyOf(arguments);
+    expansions.computeIfAbsent(macro.body(), k -> new HashMap<>())
+        .putIfAbsent(new Key(copy, Map.copyOf(overrides)), new Entry(copy, instanceLoc, expansion));
+  }
+
+  /**
+   * Moves the locations of a cached expansion to another instance.
+   *
+   * <p>Nodes of the macro body were expanded from the cached instance, so the cached instance in
+   * their expansion chain is replaced. Nodes of the arguments get the location of the
+   * corresponding node in the arguments of the other instance. If an argument was passed on to
+   * a nested macro, its expansion chain was extended, which is kept.
+   */
+  private static final class Relocation implements UnaryOperator<SourceLocation> {
+    private final SourceLocation from;
+    private final SourceLocation to;
+    private final Map<SourceLocation, SourceLocation> argumentLocations = new HashMap<>();
+    private final Map<Base, List<SourceLocation>> argumentsByBase = new HashMap<>();
+    private final Map<SourceLocation, SourceLocation> relocated = new HashMap<>();
+
+    private record Base(java.net.URI uri, SourceLocation.Position begin,
+                        SourceLocation.Position end) {
+      static Base of(SourceLocation location) {
+        return new Base(location.uri(), location.begin(), location.end());
+      }
+    }
+
+    private Relocation(SourceLocation from, SourceLocation to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    /**
+     * Creates the relocation or returns null if the arguments don't have the same shape.
+     */
+    @Nullable
+    static Relocation of(Entry entry, Map<String, Node> arguments, SourceLocation instanceLoc) {
+      var relocation = new Relocation(entry.instanceLoc(), instanceLoc);
+      for (var argument : entry.arguments().entrySet()) {
+        var cachedLocations = locations(argument.getValue());
+        var locations = locations(Objects.requireNonNull(arguments.get(argument.getKey())));
+        if (cachedLocations.size() != locations.size()) {
+          return null;
+        }
+        for (int i = 0; i < locations.size(); i++) {
+          var cached = cachedLocations.get(i);
+          relocation.argumentLocations.putIfAbsent(cached, locations.get(i));
+          relocation.argumentsByBase.computeIfAbsent(Base.of(cached), k -> new ArrayList<>())
+              .add(cached);
+        }
+      }
+      return relocation;
+    }
+
+    private static List<SourceLocation> locations(Node node) {
+      var locations = new ArrayList<SourceLocation>();
+      var worklist = new ArrayDeque<Node>();
+      worklist.push(node);
+      while (!worklist.isEmpty()) {
+        var current = worklist.pop();
+        locations.add(current.location());
+        for (var child : current.children()) {
+          if (child != null) {
+            worklist.push(child);
+          }
+        }
+      }
+      return locations;
+    }
+
+    @Override
+    public SourceLocation apply(SourceLocation location) {
+      var result = relocated.get(location);
+      if (result == null) {
+        result = relocate(location);
+        relocated.put(location, result);
+      }
+      return result;
+    }
+
+    private SourceLocation relocate(SourceLocation location) {
+      var argumentLocation = argumentLocations.get(location);
+      if (argumentLocation != null) {
+        return argumentLocation;
+      }
+      if (location.equals(from)) {
+        return to;
+      }
+
+      // An argument that was passed on to a nested macro
+      for (var argument : argumentsByBase.getOrDefault(Base.of(location), List.of())) {
+        var tail = tailAfter(location, argument);
+        if (tail != null) {
+          return append(Objects.requireNonNull(argumentLocations.get(argument)), apply(tail));
+        }
+      }
+
+      var expandedFrom = location.expandedFrom();
+      if (expandedFrom == null) {
+        return location;
+      }
+      return location.withExpandedFrom(apply(expandedFrom));
+    }
+
+    /**
+     * Returns the part of the expansion chain of the location that follows the chain of the
+     * prefix, or null if the location doesn't start with the prefix.
+     */
+    @Nullable
+    private static SourceLocation tailAfter(SourceLocation location, SourceLocation prefix) {
+      @Nullable SourceLocation current = location;
+      @Nullable SourceLocation currentPrefix = prefix;
+      while (current != null && currentPrefix != null
+          && Base.of(current).equals(Base.of(currentPrefix))) {
+        current = current.expandedFrom();
+        currentPrefix = currentPrefix.expandedFrom();
+      }
+      return currentPrefix == null ? current : null;
+    }
+
+    private static SourceLocation append(SourceLocation location, SourceLocation tail) {
+      var expandedFrom = location.expandedFrom();
+      return location.withExpandedFrom(expandedFrom == null ? tail : append(expandedFrom, tail));
+    }
+  }
+}
@@ -115,6 +115,7 @@ class ParserUtils {
     ID_TOKENS[Parser._ALIGN] = true;
     ID_TOKENS[Parser._APPEND] = true;
     ID_TOKENS[Parser._BINARY] = true;
+    ID_TOKENS[Parser._BREAKPOINT] = true;
     ID_TOKENS[Parser._CALL] = true;
     ID_TOKENS[Parser._CONSTANT] = true;
     ID_TOKENS[Parser._EXCEPTION] = true;
@@ -141,6 +142,7 @@ class ParserUtils {
     ID_TOKENS[Parser._RESET] = true;
     ID_TOKENS[Parser._STOP] = true;
     ID_TOKENS[Parser._SYM_IN] = true;
+    ID_TOKENS[Parser._SYSTEM] = true;
     ID_TOKENS[Parser._TYPE] = true;
     ID_TOKENS[Parser._T_BIN] = true;
     ID_TOKENS[Parser._T_BIN_OP] = true;
@@ -272,10 +274,8 @@ class ParserUtils {
    * Converts the parser's current token position to a vadl location.
    */
   static SourceLocation locationFromToken(Parser parser, Token token) {
-    return new SourceLocation(
-        parser.sourceFile,
-        new SourceLocation.Position(token.line, token.col),
-        new SourceLocation.Position(token.line, token.col + token.val.length() - 1));
+    return SourceLocation.inLine(parser.sourceFile, token.line, token.col,
+        token.col + token.val.length() - 1);
   }
 
   static boolean isExprType(SyntaxType type) {
@@ -594,7 +594,8 @@ class ParserUtils {
   }
 
   static Node expandNode(Parser parser, Node node) {
-    var macroExpander = new MacroExpander(Map.of(), parser.macroOverrides, node.location());
+    var macroExpander = new MacroExpander(Map.of(), parser.macroOverrides, node.location(),
+        parser.macroExpansionCache);
     var expanded = macroExpander.expandNode(node);
     if (parser.macroContext.isEmpty()) {
       // TODO This is necessary to completely copy all nodes to not cause issues
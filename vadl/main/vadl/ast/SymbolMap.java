@@ -0,0 +1,133 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.ast;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * A flat map from the interned id of a name to a symbol, used as the scope of a
+ * {@link SymbolTable}.
+ *
+ * <p>The ids are stored in an open-addressing table with linear probing, so a lookup doesn't
+ * hash or compare any strings. Most scopes (e.g. of let expressions) only contain a few symbols,
+ * so the table is only allocated with the first symbol.
+ *
+ * @param <V> the type of the symbols.
+ */
+final class SymbolMap<V> {
+  private static final int EMPTY = -1;
+  private static final int INITIAL_CAPACITY = 8;
+
+  private int[] keys = new int[0];
+  private Object[] values = new Object[0];
+  private int size = 0;
+
+  /**
+   * A consumer of the entries of the map.
+   */
+  @FunctionalInterface
+  interface EntryConsumer<V> {
+    void accept(int id, V value);
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V get(int id) {
+    if (id < 0 || size == 0) {
+      return null;
+    }
+
+    var mask = keys.length - 1;
+    for (var slot = slot(id, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+      if (keys[slot] == id) {
+        return (V) values[slot];
+      }
+    }
+    return null;
+  }
+
+  boolean containsKey(int id) {
+    return get(id) != null;
+  }
+
+  /**
+   * Associates the value with the id and replaces the previous value.
+   */
+  void put(int id, V value) {
+    if (keys.length == 0) {
+      keys = new int[INITIAL_CAPACITY];
+      Arrays.fill(keys, EMPTY);
+      values = new Object[INITIAL_CAPACITY];
+    } else if ((size + 1) * 4 > keys.length * 3) {
+      resize(keys.length * 2);
+    }
+
+    var mask = keys.length - 1;
+    var slot = slot(id, mask);
+    while (keys[slot] != EMPTY) {
+      if (keys[slot] == id) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = id;
+    values[slot] = value;
+    size++;
+  }
+
+  @SuppressWarnings("unchecked")
+  void forEach(EntryConsumer<V> consumer) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != EMPTY) {
+        consumer.accept(keys[slot], (V) values[slot]);
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void resize(int capacity) {
+    final var oldKeys = keys;
+    final var oldValues = values;
+    keys = new int[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new Object[capacity];
+
+    var mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        var slot = slot(oldKeys[i], mask);
+        while (keys[slot] != EMPTY) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  private static int slot(int id, int mask) {
+    // The ids are dense, so spread them over the table.
+    var hash = id * 0x9E37_79B9;
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+}
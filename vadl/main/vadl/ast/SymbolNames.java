@@ -0,0 +1,136 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The interned names of the symbols of a compilation unit.
+ *
+ * <p>Every name gets an integer id, so the scopes of the {@link SymbolTable} can store and look up
+ * symbols by the id instead of hashing and comparing the name again in every scope.
+ * A qualified name like {@code a::b} is a name on its own, the ids of qualified names are
+ * cached, so they are only concatenated once.
+ *
+ * <p>The type-checker resolves symbols from several threads, so the table is thread-safe.
+ */
+final class SymbolNames {
+
+  /**
+   * The id of a name that was never interned.
+   */
+  static final int UNKNOWN = -1;
+
+  /**
+   * An interned name, cached on the identifier that uses it.
+   */
+  record InternedName(SymbolNames names, String name, int id) {
+  }
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+  private final List<String> names = new ArrayList<>();
+  private final Map<Long, Integer> qualifiedIds = new ConcurrentHashMap<>();
+
+  /**
+   * Incremented whenever a symbol is defined in a scope of the compilation unit,
+   * which invalidates the cached resolutions.
+   */
+  private volatile int generation = 0;
+
+  /**
+   * Returns the id of the name and interns it if necessary.
+   */
+  int intern(String name) {
+    var id = ids.get(name);
+    if (id != null) {
+      return id;
+    }
+
+    synchronized (names) {
+      return ids.computeIfAbsent(name, n -> {
+        names.add(n);
+        return names.size() - 1;
+      });
+    }
+  }
+
+  /**
+   * Returns the id of the name of the identifier, which is cached on the identifier.
+   */
+  int intern(Identifier identifier) {
+    var interned = identifier.internedName;
+    if (interned != null && interned.names() == this && interned.name().equals(identifier.name)) {
+      return interned.id();
+    }
+
+    var id = intern(identifier.name);
+    identifier.internedName = new InternedName(this, identifier.name, id);
+    return id;
+  }
+
+  /**
+   * Returns the id of the qualified name (e.g. {@code a::b::c}) of the segments.
+   */
+  int intern(List<String> segments) {
+    var id = intern(segments.getFirst());
+    for (var segment : segments.subList(1, segments.size())) {
+      id = qualify(id, intern(segment));
+    }
+    return id;
+  }
+
+  /**
+   * Returns the id of the name {@code namespace::member}.
+   */
+  int qualify(int namespace, int member) {
+    var key = ((long) namespace << 32) | (member & 0xFFFF_FFFFL);
+    var id = qualifiedIds.get(key);
+    if (id == null) {
+      id = intern(name(namespace) + "::" + name(member));
+      qualifiedIds.put(key, id);
+    }
+    return id;
+  }
+
+  /**
+   * Returns the id of the name or {@link #UNKNOWN} without interning it.
+   */
+  int find(String name) {
+    var id = ids.get(name);
+    return id == null ? UNKNOWN : id;
+  }
+
+  String name(int id) {
+    synchronized (names) {
+      return names.get(id);
+    }
+  }
+
+  int generation() {
+    return generation;
+  }
+
+  @SuppressWarnings("NonAtomicVolatileUpdate")
+  void symbolDefined() {
+    // Symbols are only defined while a single thread collects and resolves them.
+    generation++;
+  }
+}
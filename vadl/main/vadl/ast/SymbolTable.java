@@ -43,11 +43,33 @@ class SymbolTable {
   @Nullable
   SymbolTable parent = null;
   final List<SymbolTable> children = new ArrayList<>();
-  final Map<String, Symbol> symbols = new HashMap<>();
-  final Map<String, AstSymbol> macroSymbols = new HashMap<>();
+  // the interned names are shared by all tables of a compilation unit
+  final SymbolNames names;
+  final SymbolMap<Symbol> symbols = new SymbolMap<>();
+  final SymbolMap<AstSymbol> macroSymbols = new SymbolMap<>();
   // the errors list is the same obj as the parent's error list
   List<Diagnostic> errors = new ArrayList<>();
 
+  /**
+   * The resolved qualified paths (e.g. {@code ISA::X}) starting in this table.
+   * A resolution is only valid as long as no further symbol was defined.
+   */
+  private final SymbolMap<ResolvedPath> resolvedPaths = new SymbolMap<>();
+
+  private record ResolvedPath(@Nullable Symbol symbol, int generation) {
+  }
+
+  /**
+   * Creates the root table of a compilation unit.
+   */
+  SymbolTable() {
+    this(new SymbolNames());
+  }
+
+  private SymbolTable(SymbolNames names) {
+    this.names = names;
+  }
+
   sealed interface Symbol {
   }
 
@@ -65,14 +87,24 @@ class SymbolTable {
   void loadBuiltins() {
     // Load all "real" builtins
     BuiltInTable.builtIns().map(BuiltInTable.BuiltIn::name)
-        .forEach(name -> symbols.put(name, new BuiltInSymbol()));
+        .forEach(name -> putSymbol(name, new BuiltInSymbol()));
 
     // Add pseudo buildins
-    symbols.put("VADL::mod", new BuiltInSymbol());
-    symbols.put("VADL::div", new BuiltInSymbol());
-    symbols.put("start", new BuiltInSymbol());
-    symbols.put("executable", new BuiltInSymbol());
-    symbols.put("halt", new BuiltInSymbol());
+    putSymbol("VADL::mod", new BuiltInSymbol());
+    putSymbol("VADL::div", new BuiltInSymbol());
+    putSymbol("start", new BuiltInSymbol());
+    putSymbol("executable", new BuiltInSymbol());
+    putSymbol("halt", new BuiltInSymbol());
+  }
+
+  private void putSymbol(String name, Symbol symbol) {
+    symbols.put(names.intern(name), symbol);
+    names.symbolDefined();
+  }
+
+  private void putMacroSymbol(String name, AstSymbol symbol) {
+    macroSymbols.put(names.intern(name), symbol);
+    names.symbolDefined();
   }
 
   /**
@@ -82,27 +114,23 @@ class SymbolTable {
    * @param importedSymbols to be imported.
    */
   void importFrom(Ast moduleAst, List<List<Identifier>> importedSymbols) {
+    var moduleSymbols = moduleAst.rootSymbolTable();
     for (List<Identifier> importedSymbolSegments : importedSymbols) {
-      var importedSymbol = new StringBuilder();
-      for (Identifier segment : importedSymbolSegments) {
-        if (!importedSymbol.isEmpty()) {
-          importedSymbol.append("::");
-        }
-        importedSymbol.append(segment.name);
-      }
-      var name = importedSymbol.toString();
-      var symbol = moduleAst.rootSymbolTable().symbols.get(name);
-      var macroSymbol = moduleAst.rootSymbolTable().macroSymbols.get(name);
+      var moduleId = moduleSymbols.names.intern(
+          importedSymbolSegments.stream().map(segment -> segment.name).toList());
+      var name = moduleSymbols.names.name(moduleId);
+      var symbol = moduleSymbols.symbols.get(moduleId);
+      var macroSymbol = moduleSymbols.macroSymbols.get(moduleId);
       var location = importedSymbolSegments.get(0).location()
           .join(importedSymbolSegments.get(importedSymbolSegments.size() - 1).location());
       if (symbol == null && macroSymbol == null) {
         reportError("Unresolved symbol " + name, location);
       } else {
         if (symbol != null) {
-          symbols.put(name, symbol);
+          putSymbol(name, symbol);
         }
         if (macroSymbol != null) {
-          macroSymbols.put(name, macroSymbol);
+          putMacroSymbol(name, macroSymbol);
         }
       }
     }
@@ -110,7 +138,7 @@ class SymbolTable {
 
 
   SymbolTable createChild() {
-    SymbolTable child = new SymbolTable();
+    SymbolTable child = new SymbolTable(names);
     child.parent = this;
     child.errors = this.errors;
     this.children.add(child);
@@ -136,10 +164,10 @@ class SymbolTable {
     if (origin instanceof ModelDefinition || origin instanceof ModelTypeDefinition
         || origin instanceof RecordTypeDefinition) {
       verifyMacroAvailable(name, origin);
-      macroSymbols.put(name, new AstSymbol(origin));
+      putMacroSymbol(name, new AstSymbol(origin));
     } else {
       verifyAvailable(name, origin);
-      symbols.put(name, new AstSymbol(origin));
+      putSymbol(name, new AstSymbol(origin));
     }
   }
 
@@ -156,14 +184,17 @@ class SymbolTable {
 
   @Nullable
   private Symbol resolveSymbol(String name) {
-    var symbol = symbols.get(name);
-
-    if (symbol != null) {
-      return symbol;
-    }
+    return resolveSymbol(names.find(name));
+  }
 
-    if (parent != null) {
-      return parent.resolveSymbol(name);
+  @Nullable
+  private Symbol resolveSymbol(int id) {
+    // All tables of the chain share the interned names.
+    for (var table = this; table != null; table = table.parent) {
+      var symbol = table.symbols.get(id);
+      if (symbol != null) {
+        return symbol;
+      }
     }
 
     return null;
@@ -177,9 +208,10 @@ class SymbolTable {
     }
 
     // FIXME: I don't think the namespace prefix should be in here
-    var symbol = root.resolveSymbol(name);
+    var id = names.intern(name);
+    var symbol = root.resolveSymbol(id);
     if (symbol == null) {
-      symbol = root.resolveSymbol("VADL::" + name);
+      symbol = root.resolveSymbol(names.qualify(names.intern("VADL"), id));
     }
 
     if (symbol instanceof BuiltInSymbol) {
@@ -196,20 +228,30 @@ class SymbolTable {
     }
 
     if (path.size() == 1) {
-      return symbols.get(path.get(0));
+      return symbols.get(names.find(path.get(0)));
     }
 
-    var namespace = (AstSymbol) resolveSymbol(path.get(0));
-    if (namespace == null) {
-      return null;
+    var pathId = names.intern(path);
+    var generation = names.generation();
+    synchronized (resolvedPaths) {
+      var resolved = resolvedPaths.get(pathId);
+      if (resolved != null && resolved.generation() == generation) {
+        return resolved.symbol();
+      }
     }
 
-    return namespace.origin.symbolTable().resolveSymbolPath(path.subList(1, path.size()));
+    var namespace = (AstSymbol) resolveSymbol(path.get(0));
+    var symbol = namespace == null ? null
+        : namespace.origin.symbolTable().resolveSymbolPath(path.subList(1, path.size()));
+    synchronized (resolvedPaths) {
+      resolvedPaths.put(pathId, new ResolvedPath(symbol, generation));
+    }
+    return symbol;
   }
 
   @Nullable
   private Symbol resolve(Identifier ident) {
-    var symbol = resolveSymbol(ident.name);
+    var symbol = resolveSymbol(names.intern(ident));
     if (symbol instanceof AstSymbol(Node origin)) {
       ident.target = origin;
     }
@@ -236,16 +278,15 @@ class SymbolTable {
 
   @Nullable
   private Node resolveMacroSymbol(String name) {
-    var symbol = macroSymbols.get(name);
-    if (symbol == null && parent != null) {
-      return parent.resolveMacroSymbol(name);
-    }
-
-    if (symbol == null) {
-      return null;
+    var id = names.find(name);
+    for (var table = this; table != null; table = table.parent) {
+      var symbol = table.macroSymbols.get(id);
+      if (symbol != null) {
+        return symbol.origin;
+      }
     }
 
-    return symbol.origin;
+    return null;
   }
 
   @Nullable
@@ -374,11 +415,11 @@ class SymbolTable {
    * @return the set of all available names.
    */
   Set<String> allSymbolNames() {
-    var names = new HashSet<>(symbols.keySet());
-    if (parent != null) {
-      names.addAll(parent.allSymbolNames());
+    var allNames = new HashSet<String>();
+    for (var table = this; table != null; table = table.parent) {
+      table.symbols.forEach((id, symbol) -> allNames.add(names.name(id)));
     }
-    return names;
+    return allNames;
   }
 
   /**
@@ -389,17 +430,16 @@ class SymbolTable {
    */
   @SafeVarargs
   final Set<String> allSymbolNamesOf(Class<? extends Node>... classes) {
-    var matchingNames = symbols.entrySet().stream()
-        .filter(entry -> entry.getValue() instanceof AstSymbol astSymbol
-            && Arrays.stream(classes).anyMatch(klass -> klass.isInstance(astSymbol.origin)))
-        .map(Map.Entry::getKey)
-        .toList();
-
-    var names = new HashSet<>(matchingNames);
-    if (parent != null) {
-      names.addAll(parent.allSymbolNamesOf(classes));
+    var matchingNames = new HashSet<String>();
+    for (var table = this; table != null; table = table.parent) {
+      table.symbols.forEach((id, symbol) -> {
+        if (symbol instanceof AstSymbol astSymbol
+            && Arrays.stream(classes).anyMatch(klass -> klass.isInstance(astSymbol.origin))) {
+          matchingNames.add(names.name(id));
+        }
+      });
     }
-    return names;
+    return matchingNames;
   }
 
   /**
@@ -410,17 +450,17 @@ class SymbolTable {
    */
   @SafeVarargs
   final Set<String> allMacroSymbolNamesOf(Class<? extends Node>... classes) {
-    var matchingNames = macroSymbols.entrySet().stream()
-        .filter(entry -> Arrays.stream(classes)
-            .anyMatch(klass -> klass.isInstance(entry.getValue().origin)))
-        .map(Map.Entry::getKey)
-        .toList();
+    var matchingNames = new HashSet<String>();
+    macroSymbols.forEach((id, symbol) -> {
+      if (Arrays.stream(classes).anyMatch(klass -> klass.isInstance(symbol.origin))) {
+        matchingNames.add(names.name(id));
+      }
+    });
 
-    var names = new HashSet<>(matchingNames);
     if (parent != null) {
-      names.addAll(parent.allSymbolNamesOf(classes));
+      matchingNames.addAll(parent.allSymbolNamesOf(classes));
     }
-    return names;
+    return matchingNames;
   }
 
   /**
@@ -430,21 +470,17 @@ class SymbolTable {
    */
   void extendBy(SymbolTable other) {
     // we have to check for each symbol that is is not already in this symbol table
-    for (var entry : other.symbols.entrySet()) {
-      var name = entry.getKey();
-      var symbol = entry.getValue();
+    // the other table might belong to an imported module, so the symbols are defined by name
+    other.symbols.forEach((id, symbol) -> {
       switch (symbol) {
-        case AstSymbol astSymbol -> defineSymbol(name, astSymbol.origin);
+        case AstSymbol astSymbol -> defineSymbol(other.names.name(id), astSymbol.origin);
         case BuiltInSymbol ignored -> { /* do nothing, already defined */ }
       }
-    }
+    });
     // add macro symbols to this symbol table.
     // #defineSymbol will correctly assign symbol to macroSymbols
-    for (var entry : other.macroSymbols.entrySet()) {
-      var name = entry.getKey();
-      AstSymbol symbol = entry.getValue();
-      defineSymbol(name, symbol.origin);
-    }
+    other.macroSymbols.forEach(
+        (id, symbol) -> defineSymbol(other.names.name(id), symbol.origin));
   }
 
   private SourceLocation getIdentifierLocation(Node node) {
@@ -456,11 +492,11 @@ class SymbolTable {
   }
 
   private void verifyAvailable(String name, Node origin) {
-    if (!symbols.containsKey(name)) {
+    var otherSymbol = symbols.get(names.find(name));
+    if (otherSymbol == null) {
       return;
     }
 
-    var otherSymbol = symbols.get(name);
     if (otherSymbol instanceof AstSymbol astSymbol
         && astSymbol.origin == origin) {
       // if the other origin is the same node, the "redefinition" is ok.
@@ -488,11 +524,12 @@ class SymbolTable {
   }
 
   private void verifyMacroAvailable(String name, Node origin) {
-    if (!macroSymbols.containsKey(name)) {
+    var otherSymbol = macroSymbols.get(names.find(name));
+    if (otherSymbol == null) {
       return;
     }
 
-    var other = macroSymbols.get(name).origin();
+    var other = otherSymbol.origin();
     if (other == origin) {
       // if the other origin is the same node, the "redefinition" is ok.
       // this can happen when we have a diamond pattern like isa0 -> abi -> superisa
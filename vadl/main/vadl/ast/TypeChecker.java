@@ -34,12 +34,18 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.error.DiagnosticList;
 import vadl.types.BitsType;
 import vadl.types.BoolType;
@@ -67,6 +73,10 @@ import vadl.viam.Constant;
  *
  * <p>As the typesystem can depend on constants, the typechecker needs to evaluate (at least some
  * of) them.
+ *
+ * <p>In the concurrent mode, the definitions of an instruction set architecture are checked in
+ * parallel, once all definitions they depend on are checked. Every definition is still checked
+ * only once, other threads which need it wait for the result.
  */
 @SuppressWarnings("checkstyle:OverloadMethodsDeclarationOrder")
 public class TypeChecker
@@ -84,27 +94,95 @@ public class TypeChecker
     ONE,
   }
 
-  private final List<Diagnostic> errors = new ArrayList<>();
+  private final DiagnosticCollector errors;
+  private final DiagnosticCollector diagnostics;
   final ConstantEvaluator constantEvaluator;
 
+  private boolean concurrent = false;
+
+  /**
+   * Whether this type-checker is a worker of a concurrent check. Workers check their definitions
+   * sequentially, only the type-checker that started the check schedules the definitions.
+   */
+  private final boolean isWorker;
+
   /**
    * We are keeping a list of all the nodes (well, the identities of them) we are currently
    * visiting. This helps us detect cycles, which aren't allowed and so we can abort early with an
    * error instead of causing a crash due to a stack overflow.
    */
   private final Deque<Integer> currentlyVisiting = new ArrayDeque<Integer>();
+  private final Set<Definition> visitingDefinitions =
+      Collections.newSetFromMap(new IdentityHashMap<>());
 
   /**
    * There is no point in checking a statement or definition twice, so these sets record which
    * nodes we already visited. For expressions, we can simply check if the type is set.
    */
-  private final Set<Statement> checkedStatements =
-      Collections.newSetFromMap(new IdentityHashMap<>());
-  private final Set<Definition> checkedDefinitions =
-      Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Set<Statement> checkedStatements;
+  private final Map<Definition, DefinitionCheck> checkedDefinitions;
+
+  /**
+   * The definition every thread is waiting for. Guarded by itself and used to detect threads
+   * that wait for each other, which happens if definitions on different threads depend on each
+   * other.
+   */
+  private final Map<Thread, Definition> waitingFor;
+
+  /**
+   * The check of a definition by the thread that owns it.
+   */
+  private record DefinitionCheck(Thread owner, CompletableFuture<Void> done) {
+  }
 
   public TypeChecker() {
-    constantEvaluator = new ConstantEvaluator();
+    this(new DiagnosticCollector());
+  }
+
+  /**
+   * Creates a type-checker that reports its warnings to the collector of the compilation.
+   *
+   * @param diagnostics which receives the diagnostics that don't abort the check.
+   */
+  public TypeChecker(DiagnosticCollector diagnostics) {
+    this.errors = new DiagnosticCollector();
+    this.diagnostics = diagnostics;
+    this.constantEvaluator = new ConstantEvaluator();
+    this.checkedStatements = Collections.synchronizedSet(
+        Collections.newSetFromMap(new IdentityHashMap<>()));
+    this.checkedDefinitions = Collections.synchronizedMap(new IdentityHashMap<>());
+    this.waitingFor = new HashMap<>();
+    this.isWorker = false;
+  }
+
+  /**
+   * Creates a worker that shares everything but the state of the current traversal with
+   * its parent.
+   */
+  private TypeChecker(TypeChecker parent) {
+    this.errors = parent.errors;
+    this.diagnostics = parent.diagnostics;
+    this.constantEvaluator = parent.constantEvaluator;
+    this.checkedStatements = parent.checkedStatements;
+    this.checkedDefinitions = parent.checkedDefinitions;
+    this.waitingFor = parent.waitingFor;
+    this.concurrent = parent.concurrent;
+    this.isWorker = true;
+  }
+
+  /**
+   * Enables the concurrent mode, in which the definitions of an instruction set architecture are
+   * checked in parallel.
+   */
+  public void setConcurrent(boolean concurrent) {
+    this.concurrent = concurrent;
+  }
+
+  /**
+   * Returns the collector which receives the diagnostics that don't abort the check.
+   */
+  public DiagnosticCollector diagnostics() {
+    return diagnostics;
   }
 
 
@@ -186,30 +264,209 @@ public class TypeChecker
    * @param def to check.
    */
   private void check(Definition def) {
-    if (checkedDefinitions.contains(def)) {
+    var check = new DefinitionCheck(Thread.currentThread(), new CompletableFuture<>());
+    var existing = checkedDefinitions.putIfAbsent(def, check);
+    if (existing != null) {
+      if (existing.owner() == Thread.currentThread() && !existing.done().isDone()) {
+        if (visitingDefinitions.contains(def)) {
+          throw infiniteRecursion(def);
+        }
+        // Only the annotations of the definition are still verified.
+        return;
+      }
+      awaitCheck(def, existing);
       return;
     }
 
-    var nodeId = System.identityHashCode(def);
-    if (currentlyVisiting.contains(nodeId)) {
-      String message = "The node is defined by itself.";
-      if (def instanceof IdentifiableNode identifiableNode) {
-        message =
-            "Definition `%s` is defined by itself.".formatted(identifiableNode.identifier().name);
+    try {
+      // Visit the definitions
+      visitingDefinitions.add(def);
+      def.accept(this);
+      visitingDefinitions.remove(def);
+
+      verifyAnnotations(def);
+    } catch (RuntimeException | Error e) {
+      check.done().completeExceptionally(e);
+      throw e;
+    }
+    check.done().complete(null);
+  }
+
+  private static Diagnostic infiniteRecursion(Definition def) {
+    String message = "The node is defined by itself.";
+    if (def instanceof IdentifiableNode identifiableNode) {
+      message =
+          "Definition `%s` is defined by itself.".formatted(identifiableNode.identifier().name);
+    }
+
+    return error("Infinite Recursion", def)
+        .description("%s", message)
+        .build();
+  }
+
+  /**
+   * Wait until another thread checked the definition and rethrow its failure.
+   *
+   * <p>Before waiting, the threads the owner is waiting for are followed. If they lead back to
+   * this thread or into another cycle, the definitions depend on each other and the result
+   * would never arrive.
+   */
+  private void awaitCheck(Definition def, DefinitionCheck check) {
+    var current = Thread.currentThread();
+    if (!check.done().isDone()) {
+      synchronized (waitingFor) {
+        var visited = new HashSet<Thread>();
+        @Nullable DefinitionCheck next = check;
+        while (next != null && !next.done().isDone()) {
+          if (next.owner() == current || !visited.add(next.owner())) {
+            throw infiniteRecursion(def);
+          }
+          var nextDefinition = waitingFor.get(next.owner());
+          next = nextDefinition == null ? null : checkedDefinitions.get(nextDefinition);
+        }
+        waitingFor.put(current, def);
       }
+    }
 
-      throw error("Infinite Recursion", def)
-          .description("%s", message)
-          .build();
+    try {
+      check.done().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      } else if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    } finally {
+      synchronized (waitingFor) {
+        waitingFor.remove(current, def);
+      }
     }
+  }
 
-    // Visit the definitions
-    currentlyVisiting.add(nodeId);
-    def.accept(this);
-    currentlyVisiting.pop();
-    checkedDefinitions.add(def);
+  /**
+   * Typecheck the definitions of a container, which is currently checked.
+   *
+   * <p>In the concurrent mode, the definitions are checked in rounds. Each round checks all
+   * definitions in parallel, whose dependencies were checked in the previous rounds.
+   * Definitions that depend on each other are checked one by one, so the first of them
+   * reports the cycle.
+   *
+   * @param container   which owns the definitions.
+   * @param definitions to check.
+   */
+  private void checkAll(Definition container, List<Definition> definitions) {
+    if (!concurrent || isWorker) {
+      definitions.forEach(this::check);
+      return;
+    }
+
+    var dependencies = dependencies(definitions);
+    Set<Definition> checked = Collections.newSetFromMap(new IdentityHashMap<>());
+    var remaining = new ArrayList<>(definitions);
+
+    // While the definitions are scheduled, this thread waits for its container. So a worker
+    // that needs the container finds a cycle instead of waiting for it.
+    var current = Thread.currentThread();
+    @Nullable Definition previous;
+    synchronized (waitingFor) {
+      previous = waitingFor.put(current, container);
+    }
+
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      while (!remaining.isEmpty()) {
+        var round = remaining.stream()
+            .filter(d -> checked.containsAll(requireNonNull(dependencies.get(d))))
+            .toList();
+        if (round.isEmpty()) {
+          round = List.of(remaining.getFirst());
+        }
+
+        var futures = new ArrayList<Future<?>>();
+        for (var definition : round) {
+          futures.add(executor.submit(() -> new TypeChecker(this).check(definition)));
+        }
+        awaitRound(futures);
 
-    verifyAnnotations(def);
+        checked.addAll(round);
+        remaining.removeIf(checked::contains);
+      }
+    } finally {
+      synchronized (waitingFor) {
+        if (previous == null) {
+          waitingFor.remove(current);
+        } else {
+          waitingFor.put(current, previous);
+        }
+      }
+    }
+  }
+
+  /**
+   * Wait for all checks of a round and rethrow the failure of the first definition in the
+   * order of declaration, so the reported error doesn't depend on the scheduling.
+   */
+  private static void awaitRound(List<Future<?>> futures) {
+    @Nullable Throwable failure = null;
+    for (var future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while type checking", e);
+      }
+    }
+
+    if (failure instanceof RuntimeException cause) {
+      throw cause;
+    } else if (failure instanceof Error cause) {
+      throw cause;
+    } else if (failure != null) {
+      throw new IllegalStateException(failure);
+    }
+  }
+
+  /**
+   * Finds for each definition the other definitions of the list it refers to, either directly
+   * or through one of its children (e.g. the field of a format).
+   */
+  private static IdentityHashMap<Definition, Set<Definition>> dependencies(
+      List<Definition> definitions) {
+    IdentityHashMap<Node, Definition> owners = new IdentityHashMap<>();
+    IdentityHashMap<Definition, List<Node>> targets = new IdentityHashMap<>();
+    for (var definition : definitions) {
+      var definitionTargets = new ArrayList<Node>();
+      var worklist = new ArrayDeque<Node>();
+      worklist.push(definition);
+      while (!worklist.isEmpty()) {
+        var node = worklist.pop();
+        if (owners.putIfAbsent(node, definition) != null) {
+          continue;
+        }
+        if (node instanceof IsId id && id.target() != null) {
+          definitionTargets.add(requireNonNull(id.target()));
+        }
+        node.children().stream().filter(Objects::nonNull).forEach(worklist::push);
+      }
+      targets.put(definition, definitionTargets);
+    }
+
+    IdentityHashMap<Definition, Set<Definition>> dependencies = new IdentityHashMap<>();
+    targets.forEach((definition, definitionTargets) -> {
+      Set<Definition> definitionDependencies = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (var target : definitionTargets) {
+        var owner = owners.get(target);
+        if (owner != null && owner != definition) {
+          definitionDependencies.add(owner);
+        }
+      }
+      dependencies.put(definition, definitionDependencies);
+    });
+    return dependencies;
   }
 
   /**
@@ -225,7 +482,22 @@ public class TypeChecker
         new Ast.PassTimings("Type Checking", (System.nanoTime() - startTime) / 1_000_000));
 
     if (!errors.isEmpty()) {
-      throw new DiagnosticList(errors);
+      throw new DiagnosticList(errors.getAll());
+    }
+  }
+
+  /**
+   * Verify that a single definition and the definitions it refers to are well-typed.
+   * Definitions that were already checked by this type-checker aren't checked again.
+   *
+   * @param definition to verify
+   * @throws Diagnostic if the definition isn't well typed
+   */
+  void verify(Definition definition) {
+    check(definition);
+
+    if (!errors.isEmpty()) {
+      throw new DiagnosticList(errors.getAll());
     }
   }
 
@@ -675,9 +947,7 @@ public class TypeChecker
       check(extension);
     }
 
-    for (var def : definition.definitions) {
-      check(def);
-    }
+    checkAll(definition, definition.definitions);
 
     // FIXME: Verify at least one programcounter
     return null;
@@ -792,6 +1062,7 @@ public class TypeChecker
 
   @Override
   public Void visit(EncodingDefinition definition) {
+    check(requireNonNull(definition.formatNode));
     for (var item : definition.encodings.items) {
       if (!(item instanceof EncodingDefinition.EncodingField encodingField)) {
         throw new IllegalStateException("Should that be possible?");
@@ -821,6 +1092,8 @@ public class TypeChecker
           "No Assemblydefinition should have multiple identifiers in the typechecker.");
     }
 
+    // The instructions must be checked first, as the assembly refers to their parameters
+    definition.instructionNodes.forEach(this::check);
     var exprType = check(definition.expr);
 
     if (exprType.getClass() != StringType.class) {
@@ -1161,6 +1434,12 @@ public class TypeChecker
       }
     }
 
+    var syscallNumbers = definition.syscallNumberAliases();
+    if (syscallNumbers.size() > 1) {
+      throw error("Multiple syscall number registers were declared but zero or one was expected",
+          SourceLocation.join(syscallNumbers.stream().map(Node::location).toList())).build();
+    }
+
     return null;
   }
 
@@ -1816,7 +2095,7 @@ public class TypeChecker
     var start = definition.findCpuProcDef(CpuProcessDefinition.ProcessKind.RESET)
         .findFirst().orElse(null);
     if (start == null) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           warning("Missing `reset` definition.", definition.identifier())
               .description(
                   "Without `reset`, the program counter and every other "
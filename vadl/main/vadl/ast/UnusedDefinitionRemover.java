@@ -0,0 +1,213 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.ast;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.Nullable;
+import vadl.utils.SourceLocation;
+
+/**
+ * Removes all library definitions from the AST that aren't reachable from a generator entry
+ * definition (processor, micro architecture or application binary interface).
+ *
+ * <p>Specifications often import large libraries of formats, functions and optional instruction
+ * set extensions, but only use a part of them. Removing them before the type-checker runs saves
+ * the type checking, the lowering and all VIAM passes for these definitions.
+ *
+ * <p>Only functions, formats, constants, type aliases, enumerations and instruction set
+ * architectures are removed. All other definitions of a reachable instruction set architecture
+ * (e.g. instructions and registers) are part of it and are always kept. If the specification
+ * has no entry definition, all instruction set architectures are kept.
+ *
+ * <p>The pass must run after the symbol resolution, as it follows the resolved identifiers.
+ */
+public class UnusedDefinitionRemover {
+
+  /**
+   * A definition that was removed from the AST.
+   *
+   * @param kind     of the definition, e.g. {@code function}.
+   * @param name     the qualified name of the definition.
+   * @param location of the definition.
+   */
+  public record RemovedDefinition(String kind, String name, SourceLocation location) {
+  }
+
+  /**
+   * The instruction set architecture of every definition directly inside of one.
+   */
+  private final IdentityHashMap<Definition, InstructionSetDefinition> isaOf =
+      new IdentityHashMap<>();
+
+  /**
+   * The top level definition or the definition of an instruction set architecture that contains
+   * a node.
+   */
+  private final IdentityHashMap<Node, Definition> owners = new IdentityHashMap<>();
+
+  private final IdentityHashMap<Definition, List<Node>> targets = new IdentityHashMap<>();
+
+  /**
+   * Remove all unreachable definitions from the ast.
+   *
+   * @param ast to be modified.
+   * @return the removed definitions in the order of declaration. The definitions of a removed
+   *     instruction set architecture are not listed on their own.
+   */
+  public List<RemovedDefinition> removeUnused(Ast ast) {
+    final var startTime = System.nanoTime();
+
+    for (var definition : ast.definitions) {
+      if (definition instanceof InstructionSetDefinition isa) {
+        isa.definitions.forEach(member -> isaOf.put(member, isa));
+        isa.definitions.forEach(this::collect);
+      }
+      collect(definition);
+    }
+
+    var reachable = reachable(ast.definitions);
+
+    var removed = new ArrayList<RemovedDefinition>();
+    for (var definition : ast.definitions) {
+      if (!reachable.contains(definition)) {
+        removed.add(describe(definition));
+      } else if (definition instanceof InstructionSetDefinition isa) {
+        isa.definitions.stream()
+            .filter(member -> !reachable.contains(member))
+            .forEach(member -> removed.add(describe(member)));
+        isa.definitions.removeIf(member -> !reachable.contains(member));
+      }
+    }
+    ast.definitions.removeIf(definition -> !reachable.contains(definition));
+
+    ast.passTimings.add(new Ast.PassTimings("Removing unused definitions",
+        (System.nanoTime() - startTime) / 1_000_000));
+    return removed;
+  }
+
+  /**
+   * Finds the definitions reachable from the entry definitions and the definitions that are
+   * always kept.
+   */
+  private Set<Definition> reachable(List<Definition> definitions) {
+    var hasEntry = definitions.stream().anyMatch(UnusedDefinitionRemover::isEntry);
+    var worklist = new ArrayDeque<Definition>();
+    definitions.stream()
+        .filter(d -> !isRemovable(d) || (!hasEntry && d instanceof InstructionSetDefinition))
+        .forEach(worklist::add);
+
+    Set<Definition> reachable = Collections.newSetFromMap(new IdentityHashMap<>());
+    while (!worklist.isEmpty()) {
+      var definition = worklist.poll();
+      if (!reachable.add(definition)) {
+        continue;
+      }
+
+      if (definition instanceof InstructionSetDefinition isa) {
+        isa.definitions.stream().filter(d -> !isRemovable(d)).forEach(worklist::add);
+      }
+      var isa = isaOf.get(definition);
+      if (isa != null) {
+        worklist.add(isa);
+      }
+
+      for (var target : targets.getOrDefault(definition, List.of())) {
+        var owner = owners.get(target);
+        if (owner != null) {
+          worklist.add(owner);
+        }
+      }
+    }
+    return reachable;
+  }
+
+  /**
+   * Records the nodes owned by the definition and the nodes its identifiers refer to.
+   * The definitions of an instruction set architecture own their nodes themselves.
+   */
+  private void collect(Definition definition) {
+    var definitionTargets = new ArrayList<Node>();
+    var worklist = new ArrayDeque<Node>();
+    worklist.push(definition);
+    while (!worklist.isEmpty()) {
+      var node = worklist.pop();
+      if (node != definition && node instanceof Definition && isaOf.containsKey(node)) {
+        continue;
+      }
+      owners.putIfAbsent(node, definition);
+
+      var target = target(node);
+      if (target != null) {
+        definitionTargets.add(target);
+      }
+      node.children().stream().filter(Objects::nonNull).forEach(worklist::push);
+    }
+    targets.put(definition, definitionTargets);
+  }
+
+  @Nullable
+  private static Node target(Node node) {
+    if (node instanceof IsId id && id.target() != null) {
+      return id.target();
+    }
+
+    // The symbol resolver leaves the base types to the type-checker.
+    if (node instanceof TypeLiteral typeLiteral && node.symbolTable != null
+        && (typeLiteral.baseType instanceof Identifier
+        || typeLiteral.baseType instanceof IdentifierPath)) {
+      return node.symbolTable().findAs(typeLiteral.baseType, Node.class);
+    }
+    return null;
+  }
+
+  private static boolean isEntry(Definition definition) {
+    return definition instanceof ProcessorDefinition
+        || definition instanceof MicroArchitectureDefinition
+        || definition instanceof ApplicationBinaryInterfaceDefinition;
+  }
+
+  private static boolean isRemovable(Definition definition) {
+    return definition instanceof FunctionDefinition
+        || definition instanceof FormatDefinition
+        || definition instanceof ConstantDefinition
+        || definition instanceof UsingDefinition
+        || definition instanceof EnumerationDefinition
+        || definition instanceof InstructionSetDefinition;
+  }
+
+  private static RemovedDefinition describe(Definition definition) {
+    var kind = definition.getClass().getSimpleName()
+        .replace("InstructionSetDefinition", "InstructionSetArchitecture")
+        .replace("Definition", "")
+        .replaceAll("([a-z])([A-Z])", "$1 $2")
+        .toLowerCase(Locale.ROOT);
+    var name = definition instanceof IdentifiableNode identifiable
+        ? identifiable.identifier().name : "unknown";
+    if (definition.viamId != null) {
+      name = definition.viamId;
+    }
+    return new RemovedDefinition(kind, name, definition.location());
+  }
+}
@@ -18,7 +18,6 @@ package vadl.ast;
 
 import static vadl.error.Diagnostic.error;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -54,15 +53,16 @@ public class VadlParser {
    */
   public static Ast parse(Path path, Map<String, String> macroOverrides) throws IOException {
     final var startTime = System.nanoTime();
-    var scanner = new Scanner(Files.newInputStream(path));
+    var scanner = new Scanner(Files.readAllBytes(path));
     var parser = new Parser(scanner);
     parser.sourceFile = path.toUri();
     macroOverrides.forEach((key, value) -> parser.macroOverrides.put(key,
         new Identifier(value, SourceLocation.INVALID_SOURCE_LOCATION)));
     var ast = parse(parser);
     ast.fileUri = path.toUri();
-    ast.passTimings.add(
-        new Ast.PassTimings("Parsing", (System.nanoTime() - startTime) / 1_000_000));
+    ast.passTimings.add(new Ast.PassTimings(
+        "Parsing (reused macro expansions: %d)".formatted(parser.macroExpansionCache.hits()),
+        (System.nanoTime() - startTime) / 1_000_000));
 
 
     return ast;
@@ -92,10 +92,26 @@ public class VadlParser {
    */
   public static Ast parse(String program, Map<String, String> macroOverrides,
                           @Nullable URI resolutionUri) {
-    var scanner = new Scanner(new ByteArrayInputStream(program.getBytes(StandardCharsets.UTF_8)));
+    return parse(program, macroOverrides, resolutionUri, URI.create("memory://internal"));
+  }
+
+  /**
+   * Parses a source program that was read from the source file, e.g. an open document of an
+   * editor, into an AST.
+   *
+   * @param program        a source code file to parse
+   * @param macroOverrides The overrides to perform in the macro evaluation
+   * @param resolutionUri  The uri relative to which imports are resolved
+   * @param sourceFile     The uri the locations of the AST point to
+   * @return The parsed syntax tree.
+   * @throws DiagnosticList if there are any parsing errors.
+   */
+  public static Ast parse(String program, Map<String, String> macroOverrides,
+                          @Nullable URI resolutionUri, URI sourceFile) {
+    var scanner = new Scanner(program.getBytes(StandardCharsets.UTF_8));
     var parser = new Parser(scanner);
     parser.resolutionUri = resolutionUri;
-    parser.sourceFile = URI.create("memory://internal");
+    parser.sourceFile = sourceFile;
     macroOverrides.forEach((key, value) -> parser.macroOverrides.put(key,
         new Identifier(value, SourceLocation.INVALID_SOURCE_LOCATION)));
     return parse(parser);
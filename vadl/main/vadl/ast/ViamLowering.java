@@ -36,14 +36,16 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.error.DiagnosticList;
 import vadl.types.BitsType;
 import vadl.types.ConcreteRelationType;
@@ -76,6 +78,9 @@ import vadl.viam.PseudoInstruction;
 import vadl.viam.RegisterTensor;
 import vadl.viam.Relocation;
 import vadl.viam.Specification;
+import vadl.viam.annotations.AbiBreakpointInstructionAnno;
+import vadl.viam.annotations.AbiSyscallNumberAnno;
+import vadl.viam.annotations.AbiSystemCallInstructionAnno;
 import vadl.viam.asm.AsmDirectiveMapping;
 import vadl.viam.asm.AsmModifier;
 import vadl.viam.asm.AsmToken;
@@ -120,13 +125,18 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
 
   private final ConstantEvaluator constantEvaluator = new ConstantEvaluator();
 
-  private final IdentityHashMap<Definition, Optional<vadl.viam.Definition>> definitionCache =
-      new IdentityHashMap<>();
-  private final IdentityHashMap<FormatField, vadl.viam.Definition>
-      formatFieldCache = new IdentityHashMap<>();
-  private final IdentityHashMap<Parameter, vadl.viam.Parameter>
-      parameterCache = new IdentityHashMap<>();
-  private final List<Diagnostic> errors = new ArrayList<>();
+  // The caches are shared by the threads which lower the behaviors in parallel.
+  // Every definition is lowered once, other threads wait for the result.
+  private final Map<Definition, CompletableFuture<Optional<vadl.viam.Definition>>>
+      definitionCache = Collections.synchronizedMap(new IdentityHashMap<>());
+  private final Map<FormatField, vadl.viam.Definition>
+      formatFieldCache = Collections.synchronizedMap(new IdentityHashMap<>());
+  private final Map<Parameter, vadl.viam.Parameter>
+      parameterCache = Collections.synchronizedMap(new IdentityHashMap<>());
+  // The errors are reported by the threads in the order they finish, the collector sorts
+  // them by their location.
+  private final DiagnosticCollector errors = new DiagnosticCollector();
+  private final DiagnosticCollector diagnostics;
 
   // Counters for autogenerated names
   private int constantMatSequence = 0;
@@ -135,6 +145,19 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
   @LazyInit
   private Specification currentSpecification;
 
+  public ViamLowering() {
+    this(new DiagnosticCollector());
+  }
+
+  /**
+   * Creates a lowering that reports its warnings to the collector of the compilation.
+   *
+   * @param diagnostics which receives the diagnostics that don't abort the lowering.
+   */
+  public ViamLowering(DiagnosticCollector diagnostics) {
+    this.diagnostics = diagnostics;
+  }
+
   /**
    * Generates a VIAM specification from an AST.
    *
@@ -169,8 +192,8 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
     ast.passTimings.add(
         new Ast.PassTimings("Lowering to VIAM", (System.nanoTime() - startTime) / 1_000_000));
 
-    if (errors.size() > 0) {
-      throw new DiagnosticList(errors);
+    if (!errors.isEmpty()) {
+      throw new DiagnosticList(errors.getAll());
     }
 
     return spec;
@@ -214,7 +237,7 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
       for (var isa : mostSpecialized) {
         warning.locationNote(isa.identifier, "This is one of the found root ISAs");
       }
-      DeferredDiagnosticStore.add(warning);
+      diagnostics.add(warning);
     }
 
     // If multiple or none are found, return null
@@ -234,10 +257,28 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
   private <D extends Definition> Optional<vadl.viam.Definition> fetchWith(
       D definition,
       java.util.function.Function<D, Optional<vadl.viam.Definition>> visitMethod) {
-    if (definitionCache.containsKey(definition)) {
-      return definitionCache.get(definition);
+    var future = new CompletableFuture<Optional<vadl.viam.Definition>>();
+    var cached = definitionCache.putIfAbsent(definition, future);
+    if (cached != null) {
+      return awaitLowering(cached);
+    }
+
+    try {
+      var result = lower(definition, visitMethod);
+      future.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      future.completeExceptionally(e);
+      throw e;
     }
+  }
 
+  /**
+   * Evaluate the viam node without caching it and apply the annotations of the definition.
+   */
+  private <D extends Definition> Optional<vadl.viam.Definition> lower(
+      D definition,
+      java.util.function.Function<D, Optional<vadl.viam.Definition>> visitMethod) {
     var result = visitMethod.apply(definition);
     result.ifPresent(value -> {
       value.setSourceLocationIfNotSet(definition.location());
@@ -256,10 +297,26 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
             }
           });
     });
-    definitionCache.put(definition, result);
     return result;
   }
 
+  /**
+   * Wait until another thread lowered the definition and rethrow its failure.
+   */
+  private static Optional<vadl.viam.Definition> awaitLowering(
+      CompletableFuture<Optional<vadl.viam.Definition>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      } else if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   /**
    * Fetch from the cache the viam node or evaluate it. If the parameter is {@link Optional#empty()}
    * then return {@link Optional#empty()}.
@@ -516,8 +573,12 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
                       return existing;
                     }));
 
+    List<Definition> loweredDefinitions;
+    synchronized (definitionCache) {
+      loweredDefinitions = new ArrayList<>(definitionCache.keySet());
+    }
     Map<RegisterTensor, Abi.Alignment> registerFileAlignment =
-        definitionCache.keySet()
+        loweredDefinitions
             .stream().filter(x -> x instanceof RegisterDefinition)
             .map(x -> (RegisterDefinition) x)
             .map(x -> (RegisterTensor) fetch(x).orElseThrow())
@@ -547,7 +608,7 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
         .stream().filter(x -> x instanceof AbiClangNumericTypeDefinition)
         .map(x -> (Abi.AbstractClangType.NumericClangType) fetch(x).orElseThrow());
 
-    return Optional.of(new Abi(id,
+    var abi = new Abi(id,
         returnAddress,
         stackPointer,
         framePtr,
@@ -569,7 +630,22 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
         constantSequences,
         registerAdjustmentSequences,
         Stream.concat(clangTypes, numericClangTypes).toList()
-    ));
+    );
+
+    // the type checker ensures that at most one alias is annotated
+    definition.syscallNumberAliases().stream().findFirst()
+        .ifPresent(alias -> abi.addAnnotation(
+            new AbiSyscallNumberAnno(mapAliasToRegisterRef(aliasLookup, alias.identifier()))));
+    getAbiSpecialInstruction(definition.definitions,
+        AbiSpecialPurposeInstructionDefinition.Kind.SYSTEM_CALL)
+        .map(def -> machineInstruction(def, "system call"))
+        .ifPresent(insn -> abi.addAnnotation(new AbiSystemCallInstructionAnno(insn)));
+    getAbiSpecialInstruction(definition.definitions,
+        AbiSpecialPurposeInstructionDefinition.Kind.BREAKPOINT)
+        .map(def -> machineInstruction(def, "breakpoint"))
+        .ifPresent(insn -> abi.addAnnotation(new AbiBreakpointInstructionAnno(insn)));
+
+    return Optional.of(abi);
   }
 
   @Override
@@ -1300,8 +1376,8 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
     var behavior =
         new BehaviorLowering(this).getFunctionGraph(definition.expr, funcIdentifier.name());
 
-    // FIXME: Add to cache? But how, because one assemby ast node might be used for multiple
-    // assembly in the VIAM.
+    // Not cached, because one assembly ast node might be used for multiple assembly in the VIAM.
+    // Every instruction gets its own assembly, no matter which instruction is lowered first.
 
     return Optional.of(new Assembly(
         new vadl.viam.Identifier(identifierName, identifierLoc),
@@ -1339,7 +1415,7 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
     fetch(requireNonNull(definition.formatNode));
     var behavior = new BehaviorLowering(this).getInstructionGraph(definition);
 
-    var assembly = fetchWith(requireNonNull(definition.assemblyDefinition),
+    var assembly = lower(requireNonNull(definition.assemblyDefinition),
         (d) -> visitAssembly(d, definition))
         .map(Assembly.class::cast).get();
     var encoding =
@@ -1357,6 +1433,18 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
   }
 
   private InstructionSetArchitecture visitIsa(InstructionSetDefinition definition) {
+    // The formats, resources and all other definitions are lowered first and in order,
+    // because the behaviors fetch their fields and parameters from the caches.
+    // Afterward, the behaviors of the independent definitions are lowered in parallel.
+    // Encodings and assemblies are lowered as part of their instructions.
+    definition.definitions.stream()
+        .filter(d -> !hasIndependentBehavior(d))
+        .filter(d -> !(d instanceof EncodingDefinition || d instanceof AssemblyDefinition))
+        .forEach(this::fetch);
+    definition.definitions.parallelStream()
+        .filter(ViamLowering::hasIndependentBehavior)
+        .forEach(this::fetch);
+
     var identifier = generateIdentifier(definition.identifier().name, definition.identifier());
 
     // FIXME: make this togroup instead of toList
@@ -1401,6 +1489,17 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
     );
   }
 
+  /**
+   * Whether the definition only references other definitions through the caches and
+   * can therefore be lowered in parallel to the other definitions.
+   */
+  private static boolean hasIndependentBehavior(Definition definition) {
+    return definition instanceof InstructionDefinition
+        || definition instanceof PseudoInstructionDefinition
+        || definition instanceof FunctionDefinition
+        || definition instanceof RelocationDefinition;
+  }
+
   @Override
   public Optional<vadl.viam.Definition> visit(InstructionSetDefinition definition) {
     // The ISA isn't directly lowered when we visit it.
@@ -1572,7 +1671,7 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
 
     var graph =
         new BehaviorLowering(this).getInstructionSequenceGraph(definition.identifier(), definition);
-    var assembly = fetchWith(requireNonNull(definition.assemblyDefinition),
+    var assembly = lower(requireNonNull(definition.assemblyDefinition),
         (d) -> visitAssembly(d, definition))
         .map(Assembly.class::cast).get();
 
@@ -1894,6 +1993,20 @@ public class ViamLowering implements DefinitionVisitor<Optional<vadl.viam.Defini
     return instructions.stream().findFirst().map(x -> (AbiSpecialPurposeInstructionDefinition) x);
   }
 
+  /**
+   * Lowers the target of a special instruction that must be a machine instruction,
+   * e.g. the system call instruction, which is matched against the decoded instructions.
+   */
+  private Instruction machineInstruction(AbiSpecialPurposeInstructionDefinition definition,
+                                         String kind) {
+    if (fetch(definition).orElse(null) instanceof Instruction instruction) {
+      return instruction;
+    }
+    throw error("Invalid " + kind + " instruction", definition)
+        .locationDescription(definition.target, "Expected a machine instruction.")
+        .build();
+  }
+
   /**
    * Constructs an empty graph for a procedure.
    */
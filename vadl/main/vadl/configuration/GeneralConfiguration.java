@@ -16,7 +16,10 @@
 
 package vadl.configuration;
 
+import java.nio.ByteOrder;
 import java.nio.file.Path;
+import javax.annotation.Nullable;
+import vadl.error.DiagnosticCollector;
 
 /**
  * This configuration holds information for all passes.
@@ -25,6 +28,9 @@ public class GeneralConfiguration {
   private final Path outputPath;
   private final boolean doDump;
   private boolean dryRun = false;
+  @Nullable
+  private Path decodeProfile;
+  private DiagnosticCollector diagnostics = new DiagnosticCollector();
 
 
   public GeneralConfiguration(Path outputPath, boolean doDump) {
@@ -32,8 +38,13 @@ public class GeneralConfiguration {
     this.doDump = doDump;
   }
 
+  /**
+   * Copies the given configuration. The copy reports to the same diagnostics.
+   */
   public GeneralConfiguration(GeneralConfiguration generalConfig) {
     this(generalConfig.outputPath, generalConfig.doDump);
+    this.decodeProfile = generalConfig.decodeProfile;
+    this.diagnostics = generalConfig.diagnostics;
   }
 
   public Path outputPath() {
@@ -51,4 +62,37 @@ public class GeneralConfiguration {
   public void setDryRun(boolean dryRun) {
     this.dryRun = dryRun;
   }
+
+  /**
+   * Returns the path of the instruction frequency profile used to guide the decode tree
+   * generation, or {@code null} if no profile was given.
+   */
+  @Nullable
+  public Path decodeProfile() {
+    return decodeProfile;
+  }
+
+  public void setDecodeProfile(@Nullable Path decodeProfile) {
+    this.decodeProfile = decodeProfile;
+  }
+
+  /**
+   * Returns the collector of the diagnostics of the compilation which don't abort it.
+   * The configurations derived from this one share the collector.
+   */
+  public DiagnosticCollector diagnostics() {
+    return diagnostics;
+  }
+
+  public void setDiagnostics(DiagnosticCollector diagnostics) {
+    this.diagnostics = diagnostics;
+  }
+
+  /**
+   * Returns the byte order of the instructions in memory, which is used to decode them.
+   */
+  public ByteOrder byteOrder() {
+    // TODO: get the byte order from the VADL specification -> Implement memory annotations
+    return ByteOrder.LITTLE_ENDIAN;
+  }
 }
@@ -34,7 +34,8 @@ public class IssConfiguration extends GeneralConfiguration {
         + "E.g., removes truncation of VADL::add arguments."),
     OPT_VAR_ALLOC("Reduces required number of temporary TCG variables to a minimum."),
     OPT_JMP_SLOTS("Uses QEMU jump slot optimization to chain jumps between TBs."),
-    OPT_CTRL_FLOW("Optimizes control flow within an instruction.");
+    OPT_CTRL_FLOW("Optimizes control flow within an instruction."),
+    OPT_HELPER_OUTLINING("Outlines expensive runtime expressions into C helper functions.");
 
     public final String desc;
 
@@ -43,11 +44,24 @@ public class IssConfiguration extends GeneralConfiguration {
     }
   }
 
+  /**
+   * The emulation modes the ISS is generated for.
+   */
+  public enum IssMode {
+    // full system emulation (gen-arch-softmmu)
+    SYSTEM,
+    // linux user mode emulation (gen-arch-linux-user) in addition to the system emulation
+    USER
+  }
+
   // is set by the IssConfigurationPass
   private String targetName;
   private String machineName;
   private Tcg_32_64 targetSize;
   private EnumSet<IssOptsToSkip> optsToSkip;
+  private IssMode mode;
+  // estimated number of TCG operations from which an expression is outlined into a helper
+  private int helperOutliningThreshold;
 
   /**
    * Constructs a {@link IssConfiguration}.
@@ -58,6 +72,8 @@ public class IssConfiguration extends GeneralConfiguration {
     machineName = "unknown";
     targetSize = Tcg_32_64.i64;
     optsToSkip = EnumSet.noneOf(IssOptsToSkip.class);
+    mode = IssMode.SYSTEM;
+    helperOutliningThreshold = 24;
   }
 
   public static IssConfiguration from(GeneralConfiguration generalConfig) {
@@ -96,4 +112,20 @@ public class IssConfiguration extends GeneralConfiguration {
       EnumSet<IssOptsToSkip> optsToSkip) {
     this.optsToSkip = optsToSkip;
   }
+
+  public IssMode mode() {
+    return mode;
+  }
+
+  public void setMode(IssMode mode) {
+    this.mode = mode;
+  }
+
+  public int helperOutliningThreshold() {
+    return helperOutliningThreshold;
+  }
+
+  public void setHelperOutliningThreshold(int helperOutliningThreshold) {
+    this.helperOutliningThreshold = helperOutliningThreshold;
+  }
 }
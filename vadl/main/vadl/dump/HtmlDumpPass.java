@@ -117,6 +117,7 @@ public class HtmlDumpPass extends AbstractTemplateRenderingPass {
      */
     public Config(GeneralConfiguration generalConfiguration, String phase, String description) {
       super(generalConfiguration.outputPath(), true);
+      setDiagnostics(generalConfiguration.diagnostics());
       this.phase = phase;
       this.description = description;
     }
@@ -16,8 +16,10 @@
 
 package vadl.dump.entities;
 
+import javax.annotation.Nullable;
 import vadl.dump.DumpEntity;
 import vadl.vdt.model.Node;
+import vadl.vdt.utils.DecodeProfile;
 
 /**
  * A {@link DumpEntity} that represents the VADL decode tree.
@@ -26,13 +28,18 @@ public class VdtEntity extends DumpEntity {
 
   Node tree;
 
+  @Nullable
+  DecodeProfile profile;
+
   /**
    * Creates a new VDT entity.
    *
-   * @param tree The VDT tree.
+   * @param tree    The VDT tree.
+   * @param profile The instruction frequency profile the tree was optimized for, if any.
    */
-  public VdtEntity(Node tree) {
+  public VdtEntity(Node tree, @Nullable DecodeProfile profile) {
     this.tree = tree;
+    this.profile = profile;
   }
 
   /**
@@ -42,6 +49,14 @@ public class VdtEntity extends DumpEntity {
     return tree;
   }
 
+  /**
+   * Returns the instruction frequency profile, or {@code null} if no profile was given.
+   */
+  @Nullable
+  public DecodeProfile profile() {
+    return profile;
+  }
+
   @Override
   public String cssId() {
     return "vadl-decode-tree";
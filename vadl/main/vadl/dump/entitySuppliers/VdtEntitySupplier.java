@@ -21,7 +21,9 @@ import vadl.dump.DumpEntitySupplier;
 import vadl.dump.entities.VdtEntity;
 import vadl.pass.PassResults;
 import vadl.vdt.model.Node;
+import vadl.vdt.passes.VdtDecodeProfilePass;
 import vadl.vdt.passes.VdtLoweringPass;
+import vadl.vdt.utils.DecodeProfile;
 import vadl.viam.Specification;
 
 /**
@@ -38,6 +40,11 @@ public class VdtEntitySupplier implements DumpEntitySupplier<VdtEntity> {
     }
 
     var vdt = passResults.lastResultOf(VdtLoweringPass.class, Node.class);
-    return List.of(new VdtEntity(vdt));
+    DecodeProfile profile = null;
+    if (passResults.hasRunPassOnce(VdtDecodeProfilePass.class)) {
+      profile = (DecodeProfile) passResults.lastNullableResultOf(VdtDecodeProfilePass.class);
+    }
+
+    return List.of(new VdtEntity(vdt, profile));
   }
 }
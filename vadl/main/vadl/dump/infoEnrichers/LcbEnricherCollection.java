@@ -30,6 +30,8 @@ import vadl.dump.entities.DefinitionEntity;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionCtx;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
+import vadl.lcb.passes.llvmLowering.priority.GeneratePatternPrioritiesPass;
+import vadl.lcb.passes.llvmLowering.priority.PatternPriorities;
 import vadl.lcb.passes.llvmLowering.tablegen.model.tableGenOperand.TableGenInstructionOperand;
 import vadl.viam.Instruction;
 
@@ -195,11 +197,46 @@ public class LcbEnricherCollection {
         }
       });
 
+  /**
+   * Reports the patterns which compete with the patterns of the instruction for the same
+   * DAG node and their priority during instruction selection.
+   */
+  public static InfoEnricher PATTERN_PRIORITIES =
+      forType(DefinitionEntity.class, (definitionEntity, passResults) -> {
+        // This supplier also runs for the VIAM dump.
+        // But, the pass wasn't scheduled yet.
+        if (!passResults.hasRunPassOnce(GeneratePatternPrioritiesPass.class)) {
+          return;
+        }
+
+        var priorities =
+            (PatternPriorities) passResults.lastResultOf(GeneratePatternPrioritiesPass.class);
+
+        if (priorities != null && definitionEntity.origin() instanceof Instruction instruction) {
+          var name = instruction.simpleName();
+          var report = priorities.competingPatterns().entrySet().stream()
+              .filter(entry -> entry.getValue().stream()
+                  .anyMatch(candidate -> candidate.record().equals(name)))
+              .map(entry -> entry.getKey() + ":\n" + entry.getValue().stream()
+                  .map(PatternPriorities.Candidate::render)
+                  .collect(Collectors.joining("\n")))
+              .collect(Collectors.joining("\n\n"));
+
+          if (!report.isEmpty()) {
+            definitionEntity.addInfo(InfoUtils.createCodeBlockExpandable(
+                "Competing Patterns",
+                report
+            ));
+          }
+        }
+      });
+
   /**
    * A list of all info enrichers for the default lcb.
    */
   public static List<InfoEnricher> all = List.of(
       ISA_MATCHING_SUPPLIER_TAG,
-      LLVM_LOWERING_OPERANDS
+      LLVM_LOWERING_OPERANDS,
+      PATTERN_PRIORITIES
   );
 }
@@ -111,17 +111,20 @@ public class VdtEnricherCollection {
   public static InfoEnricher VDT_STATS_EXPANDABLE =
       InfoEnricher.forType(VdtEntity.class, (entity, passResults) -> {
 
-        var stats = DecisionTreeStatsCalculator.statistics(entity.tree());
+        var stats = DecisionTreeStatsCalculator.statistics(entity.tree(), entity.profile());
 
         final var statsTable = new ArrayList<List<String>>();
 
         statsTable.add(List.of("Property", "Number of Nodes", "Number of Leaves (Instructions)",
             "Minimum Depth",
-            "Maximal Depth", "Average Depth", "Longest instruction width"));
+            "Maximal Depth", "Average Depth", "Expected Depth (Profile)",
+            "Longest instruction width"));
         statsTable.add(List.of("Value", String.valueOf(stats.getNumberOfNodes()),
             String.valueOf(stats.getNumberOfLeafNodes()), String.valueOf(stats.getMinDepth()),
             String.valueOf(stats.getMaxDepth()),
             String.valueOf(Math.round(stats.getAvgDepth() * 100) / 100.0),
+            entity.profile() != null
+                ? String.valueOf(Math.round(stats.getExpectedDepth() * 100) / 100.0) : "-",
             stats.getMaxInstructionWidth() + " bit"));
 
         var info = InfoUtils.createTableExpandable("Statistics", statsTable);
@@ -131,13 +134,17 @@ public class VdtEnricherCollection {
   public static InfoEnricher VDT_STATS_TAGS =
       InfoEnricher.forType(VdtEntity.class, (entity, passResults) -> {
 
-        var stats = DecisionTreeStatsCalculator.statistics(entity.tree());
+        var stats = DecisionTreeStatsCalculator.statistics(entity.tree(), entity.profile());
 
         entity.addInfo(Info.Tag.of("Instructions", String.valueOf(stats.getNumberOfLeafNodes())));
         entity.addInfo(Info.Tag.of("Nodes", String.valueOf(stats.getNumberOfNodes())));
         entity.addInfo(Info.Tag.of("Max Depth", String.valueOf(stats.getMaxDepth())));
         entity.addInfo(Info.Tag.of("Avg Depth",
             String.valueOf(Math.round(stats.getAvgDepth() * 100) / 100.0)));
+        if (entity.profile() != null) {
+          entity.addInfo(Info.Tag.of("Expected Depth",
+              String.valueOf(Math.round(stats.getExpectedDepth() * 100) / 100.0)));
+        }
       });
 
   public static List<InfoEnricher> all = List.of(
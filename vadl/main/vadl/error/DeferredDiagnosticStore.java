@@ -16,7 +16,6 @@
 
 package vadl.error;
 
-import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -25,9 +24,14 @@ import java.util.List;
  *
  * <p>In case you want to interrupt the program flow you can simply throw a {@link Diagnostic} or
  * a {@link DiagnosticList}.
+ *
+ * <p>The store is shared by the whole process. It is only used by the constant evaluation
+ * of the VIAM, which is not bound to a compilation. The frontend and the passes report to the
+ * {@link DiagnosticCollector} of their compilation instead, which passes get from their
+ * {@link vadl.configuration.GeneralConfiguration#diagnostics()}.
  */
 public class DeferredDiagnosticStore {
-  private static final LinkedHashSet<Diagnostic> diagnosticList = new LinkedHashSet<>();
+  private static final DiagnosticCollector collector = new DiagnosticCollector();
 
   /**
    * Add another diagnostic to the store.
@@ -35,7 +39,7 @@ public class DeferredDiagnosticStore {
    * <p>If the diagnostic is already in the store it won't be inserted a second time.
    */
   public static void add(Diagnostic diagnostic) {
-    diagnosticList.add(diagnostic);
+    collector.add(diagnostic);
   }
 
   /**
@@ -44,17 +48,17 @@ public class DeferredDiagnosticStore {
    * <p>If the diagnostic is already in the store it won't be inserted a second time.
    */
   public static void add(DiagnosticBuilder diagnostic) {
-    diagnosticList.add(diagnostic.build());
+    collector.add(diagnostic);
   }
 
   /**
-   * Retrieves all diagnostics in the order they were inserted.
+   * Retrieves all diagnostics sorted by their location.
    */
   public static List<Diagnostic> getAll() {
-    return diagnosticList.stream().toList();
+    return collector.getAll();
   }
 
   public static boolean isEmpty() {
-    return diagnosticList.isEmpty();
+    return collector.isEmpty();
   }
 }
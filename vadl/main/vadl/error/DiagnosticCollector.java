@@ -0,0 +1,99 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.error;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import vadl.utils.SourceLocation;
+
+/**
+ * Collects the diagnostics of a single compilation which shouldn't interrupt the program flow
+ * but which should nonetheless be presented to the programmer at the end.
+ *
+ * <p>The collector is thread-safe, so it can be shared by the threads that check or lower
+ * definitions in parallel. As the insertion order then depends on the scheduling, the
+ * diagnostics are returned sorted by their primary location.
+ */
+public class DiagnosticCollector {
+
+  /**
+   * Sorts by file and by position in the file. Diagnostics without a valid location are last.
+   */
+  private static final Comparator<Diagnostic> ORDER =
+      Comparator.<Diagnostic, Boolean>comparing(d -> !location(d).isValid())
+          .thenComparing(d -> location(d).uri())
+          .thenComparing(d -> location(d).begin());
+
+  private final LinkedHashSet<Diagnostic> diagnostics = new LinkedHashSet<>();
+
+  /**
+   * Add another diagnostic to the collector.
+   *
+   * <p>If the diagnostic is already in the collector it won't be inserted a second time.
+   */
+  public synchronized void add(Diagnostic diagnostic) {
+    diagnostics.add(diagnostic);
+  }
+
+  /**
+   * Add another diagnostic to the collector.
+   *
+   * <p>If the diagnostic is already in the collector it won't be inserted a second time.
+   */
+  public void add(DiagnosticBuilder diagnostic) {
+    add(diagnostic.build());
+  }
+
+  /**
+   * Add all diagnostics to the collector, skipping the ones that are already in it.
+   */
+  public synchronized void addAll(Collection<Diagnostic> diagnostics) {
+    this.diagnostics.addAll(diagnostics);
+  }
+
+  /**
+   * Retrieves all diagnostics sorted by their primary location. Diagnostics at the same location
+   * keep the order in which they were inserted.
+   */
+  public List<Diagnostic> getAll() {
+    List<Diagnostic> sorted;
+    synchronized (this) {
+      sorted = new ArrayList<>(diagnostics);
+    }
+    sorted.sort(ORDER);
+    return sorted;
+  }
+
+  public synchronized boolean isEmpty() {
+    return diagnostics.isEmpty();
+  }
+
+  /**
+   * Whether any of the diagnostics is an error.
+   */
+  public synchronized boolean hasErrors() {
+    return diagnostics.stream().anyMatch(d -> d.level == Diagnostic.Level.ERROR);
+  }
+
+  private static SourceLocation location(Diagnostic diagnostic) {
+    return diagnostic.multiLocation.primaryLocation().location();
+  }
+}
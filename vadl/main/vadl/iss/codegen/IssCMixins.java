@@ -19,6 +19,7 @@ package vadl.iss.codegen;
 import vadl.cppCodeGen.context.CGenContext;
 import vadl.iss.passes.nodes.IssConstExtractNode;
 import vadl.iss.passes.nodes.IssGhostCastNode;
+import vadl.iss.passes.nodes.IssHelperCallNode;
 import vadl.iss.passes.nodes.IssSelectNode;
 import vadl.iss.passes.nodes.IssValExtractNode;
 import vadl.iss.passes.opDecomposition.nodes.IssMul2Node;
@@ -80,6 +81,13 @@ public interface IssCMixins {
       throw new IllegalStateException("The IssSelectNode should never be generated as C code.");
     }
 
+    @Handler
+    @SuppressWarnings("MissingJavadocMethod")
+    default void handle(CGenContext<Node> ctx, IssHelperCallNode toHandle) {
+      // IssHelperCallNodes are always scheduled and turned into TcgHelperCalls.
+      throw new IllegalStateException("The IssHelperCallNode should never be generated as C code.");
+    }
+
     @Handler
     default void handle(CGenContext<Node> ctx, ExprSaveNode toHandle) {
       throw new UnsupportedOperationException("Type ExprSaveNode not yet implemented");
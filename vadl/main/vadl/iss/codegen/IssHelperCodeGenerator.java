@@ -0,0 +1,130 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.codegen;
+
+import static vadl.error.DiagUtils.throwNotAllowed;
+
+import java.util.Map;
+import vadl.cppCodeGen.context.CGenContext;
+import vadl.cppCodeGen.context.CNodeContext;
+import vadl.cppCodeGen.mixins.CDefaultMixins;
+import vadl.cppCodeGen.mixins.CInvalidMixins;
+import vadl.iss.passes.nodes.IssStaticPcRegNode;
+import vadl.iss.passes.nodes.TcgVRefNode;
+import vadl.iss.passes.tcgLowering.nodes.TcgNode;
+import vadl.javaannotations.DispatchFor;
+import vadl.javaannotations.Handler;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.dependency.AsmBuiltInCall;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.FieldAccessRefNode;
+import vadl.viam.graph.dependency.FieldRefNode;
+import vadl.viam.graph.dependency.FoldNode;
+import vadl.viam.graph.dependency.TensorNode;
+
+/**
+ * The code generator for the body of helpers outlined by the
+ * {@link vadl.iss.passes.IssHelperOutliningPass}.
+ * It produces the C expression of an outlined expression tree, where all
+ * leaves of the tree are replaced by the helper's parameter names.
+ * Therefore, only pure expression nodes are allowed within the tree.
+ */
+@DispatchFor(
+    value = Node.class,
+    context = CNodeContext.class,
+    include = {"vadl.viam", "vadl.iss"}
+)
+public class IssHelperCodeGenerator implements
+    // default implementations
+    CDefaultMixins.All, IssCMixins.Default,
+    // invalid nodes
+    CInvalidMixins.SideEffect, CInvalidMixins.ResourceReads,
+    CInvalidMixins.InstrCall, CInvalidMixins.HardwareRelated {
+
+  private final StringBuilder builder;
+  private final CNodeContext ctx;
+
+  private IssHelperCodeGenerator(Map<ExpressionNode, String> params) {
+    this.builder = new StringBuilder();
+    this.ctx = new CNodeContext(
+        builder::append,
+        (ctx, node) -> {
+          var param = node instanceof ExpressionNode expr ? params.get(expr) : null;
+          if (param != null) {
+            ctx.wr(param);
+          } else {
+            IssHelperCodeGeneratorDispatcher.dispatch(this, ctx, node);
+          }
+        }
+    );
+  }
+
+  /**
+   * Generates the C expression of the given outlined expression tree.
+   *
+   * @param root   the root of the outlined expression tree
+   * @param params the leaves of the tree mapped to the helper's parameter names
+   * @return the C expression that computes the root's value
+   */
+  public static String generate(ExpressionNode root, Map<ExpressionNode, String> params) {
+    var generator = new IssHelperCodeGenerator(params);
+    generator.ctx.gen(root);
+    return generator.builder.toString();
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, TcgNode node) {
+    throw new IllegalStateException("TCG nodes cannot be part of an outlined helper.");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, TcgVRefNode node) {
+    throw new IllegalStateException("TCG variables cannot be part of an outlined helper.");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, IssStaticPcRegNode node) {
+    throw new IllegalStateException("The PC must be passed as argument to an outlined helper.");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, FieldRefNode node) {
+    throw new IllegalStateException("Fields must be passed as argument to an outlined helper.");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, FieldAccessRefNode node) {
+    throw new IllegalStateException(
+        "Field accesses must be passed as argument to an outlined helper.");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, AsmBuiltInCall toHandle) {
+    throw new UnsupportedOperationException("Type AsmBuiltInCall not allowed");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, FoldNode toHandle) {
+    throwNotAllowed(toHandle, "forall fold expressions");
+  }
+
+  @Handler
+  void handle(CGenContext<Node> ctx, TensorNode toHandle) {
+    throwNotAllowed(toHandle, "forall tensor expressions");
+  }
+
+}
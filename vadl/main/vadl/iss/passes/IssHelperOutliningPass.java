@@ -0,0 +1,308 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.passes;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.codegen.IssHelperCodeGenerator;
+import vadl.iss.passes.extensions.HelperInfo;
+import vadl.iss.passes.nodes.IssConstExtractNode;
+import vadl.iss.passes.nodes.IssGhostCastNode;
+import vadl.iss.passes.nodes.IssHelperCallNode;
+import vadl.iss.passes.nodes.IssValExtractNode;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.types.BuiltInTable;
+import vadl.types.DataType;
+import vadl.vdt.passes.VdtDecodeProfilePass;
+import vadl.vdt.utils.DecodeProfile;
+import vadl.viam.Instruction;
+import vadl.viam.Specification;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.NodeList;
+import vadl.viam.graph.dependency.BuiltInCall;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.LetNode;
+import vadl.viam.graph.dependency.ReadMemNode;
+import vadl.viam.graph.dependency.ReadResourceNode;
+import vadl.viam.graph.dependency.SelectNode;
+import vadl.viam.graph.dependency.SliceNode;
+
+/**
+ * Estimates the number of TCG operations emitted for each instruction and outlines
+ * expensive runtime expressions into C helper functions.
+ *
+ * <p>Expressions that depend on the CPU state are translated to TCG operations, which are
+ * emitted at translation time and optimized by TCG afterward.
+ * Large expression trees (e.g. slices with many parts, long select chains, or wide
+ * multiplications) result in many TCG operations, which increases the translation time
+ * and the size of the translation blocks.
+ * If the estimated TCG operation count of such a tree reaches the
+ * {@link IssConfiguration#helperOutliningThreshold()}, the tree is replaced by
+ * an {@link IssHelperCallNode} and its C implementation is added to the
+ * {@link HelperInfo} of the ISA.
+ * The leaves of the tree are passed as arguments to the helper.</p>
+ *
+ * <p>As a helper call is more expensive at runtime than inline TCG operations,
+ * instructions that are hot according to the profile loaded by the
+ * {@link VdtDecodeProfilePass} are never outlined.</p>
+ *
+ * <p>The pass must run before the {@link IssTcgSchedulingPass}, so the helper calls
+ * get scheduled like any other runtime expression.
+ * It returns the estimated number of TCG operations per instruction (before outlining).</p>
+ */
+public class IssHelperOutliningPass extends AbstractIssPass {
+
+  // instructions with at least this share of the profiled executions are not outlined
+  static final double HOT_FREQUENCY = 0.01;
+
+  public IssHelperOutliningPass(IssConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("ISS Helper Outlining");
+  }
+
+  @Override
+  public @Nullable Object execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var isa = viam.isa().orElse(null);
+    if (isa == null) {
+      return null;
+    }
+
+    var info = new HelperInfo(configuration());
+    isa.attachExtension(info);
+
+    var skip = configuration().isSkip(IssConfiguration.IssOptsToSkip.OPT_HELPER_OUTLINING);
+    var profile = skip ? null : profile(passResults);
+    var threshold = configuration().helperOutliningThreshold();
+    var targetWidth = configuration().targetSize().width;
+
+    var estimatedCosts = new LinkedHashMap<Instruction, Integer>();
+    for (var insn : isa.ownInstructions()) {
+      var outliner = new IssHelperOutliner(insn, targetWidth);
+      estimatedCosts.put(insn, outliner.estimatedCost());
+
+      var isHot = profile != null && profile.frequency(insn) >= HOT_FREQUENCY;
+      if (!skip && !isHot) {
+        outliner.run(info, threshold);
+      }
+    }
+    return estimatedCosts;
+  }
+
+  private static @Nullable DecodeProfile profile(PassResults passResults) {
+    if (!passResults.hasRunPassOnce(VdtDecodeProfilePass.class)) {
+      return null;
+    }
+    return (DecodeProfile) passResults.lastNullableResultOf(VdtDecodeProfilePass.class);
+  }
+}
+
+
+/**
+ * Outlines expensive runtime expression trees of a single instruction.
+ *
+ * <p>An outlined tree consists of outlinable runtime nodes, where every node except the
+ * root has exactly one user, which is part of the tree.
+ * Therefore, no node is evaluated twice (once in the helper and once inline).</p>
+ */
+class IssHelperOutliner {
+
+  // TCG helpers take at most 7 arguments
+  private static final int MAX_HELPER_ARGS = 7;
+
+  // built-ins that are implemented in the vadl-builtins.h
+  private static final Set<BuiltInTable.BuiltIn> OUTLINABLE_BUILT_INS = Set.of(
+      BuiltInTable.NEG, BuiltInTable.ADD, BuiltInTable.SUB, BuiltInTable.MUL,
+      BuiltInTable.SMULL, BuiltInTable.UMULL, BuiltInTable.SUMULL,
+      BuiltInTable.SSATADD, BuiltInTable.USATADD, BuiltInTable.SSATSUB, BuiltInTable.USATSUB,
+      BuiltInTable.NOT, BuiltInTable.AND, BuiltInTable.XOR, BuiltInTable.OR,
+      BuiltInTable.EQU, BuiltInTable.NEQ,
+      BuiltInTable.SLTH, BuiltInTable.ULTH, BuiltInTable.SLEQ, BuiltInTable.ULEQ,
+      BuiltInTable.SGTH, BuiltInTable.UGTH, BuiltInTable.SGEQ, BuiltInTable.UGEQ,
+      BuiltInTable.LSL, BuiltInTable.LSR, BuiltInTable.ASR, BuiltInTable.ROL, BuiltInTable.ROR,
+      BuiltInTable.COB, BuiltInTable.CZB, BuiltInTable.CLZ, BuiltInTable.CLO, BuiltInTable.CLS,
+      BuiltInTable.CTZ, BuiltInTable.CTO, BuiltInTable.CONCATENATE_BITS
+  );
+
+  private final Instruction insn;
+  private final Graph graph;
+  private final int targetWidth;
+  private final Map<Node, Boolean> runtimeCache = new HashMap<>();
+
+  IssHelperOutliner(Instruction insn, int targetWidth) {
+    this.insn = insn;
+    this.graph = insn.behavior();
+    this.targetWidth = targetWidth;
+  }
+
+  /**
+   * Returns the estimated number of TCG operations emitted for the instruction's behavior.
+   */
+  int estimatedCost() {
+    return graph.getNodes(ExpressionNode.class)
+        .mapToInt(this::cost)
+        .sum();
+  }
+
+  /**
+   * Outlines all trees with an estimated cost of at least {@code threshold} TCG operations
+   * and adds the generated helpers to the given {@link HelperInfo}.
+   */
+  void run(HelperInfo info, int threshold) {
+    var roots = graph.getNodes(ExpressionNode.class)
+        .filter(n -> isOutlinable(n) && !isAbsorbed(n))
+        .toList();
+
+    for (var root : roots) {
+      var tree = new LinkedHashSet<ExpressionNode>();
+      collectTree(root, tree);
+
+      var cost = tree.stream().mapToInt(this::cost).sum();
+      if (cost < threshold) {
+        continue;
+      }
+
+      var leaves = new LinkedHashSet<ExpressionNode>();
+      for (var node : tree) {
+        node.inputs()
+            .filter(i -> !tree.contains(i) && !(i instanceof ConstantNode))
+            .forEach(i -> leaves.add((ExpressionNode) i));
+      }
+      if (leaves.isEmpty() || leaves.size() > MAX_HELPER_ARGS) {
+        continue;
+      }
+
+      var params = new HashMap<ExpressionNode, String>();
+      for (var leaf : leaves) {
+        params.put(leaf, "a" + params.size());
+      }
+
+      var name = insn.simpleName().toLowerCase() + "_n" + root.id;
+      var expression = IssHelperCodeGenerator.generate(root, params);
+      info.addHelper(name, insn, leaves.size(), expression, cost);
+
+      root.replaceAndDelete(
+          new IssHelperCallNode(name, new NodeList<>(leaves), (DataType) root.type()));
+    }
+
+    graph.deleteUnusedDependencies();
+  }
+
+  private void collectTree(ExpressionNode node, Set<ExpressionNode> tree) {
+    tree.add(node);
+    node.inputs()
+        .filter(i -> i instanceof ExpressionNode e && isOutlinable(e) && isAbsorbed(e))
+        .forEach(i -> collectTree((ExpressionNode) i, tree));
+  }
+
+  /**
+   * A node is absorbed by its user if it is the only user and the user is outlinable.
+   * Absorbed nodes are outlined together with their user and never form an own tree.
+   */
+  private boolean isAbsorbed(ExpressionNode node) {
+    var usages = node.usages().toList();
+    return usages.size() == 1
+        && usages.getFirst() instanceof ExpressionNode user
+        && isOutlinable(user);
+  }
+
+  private boolean isOutlinable(ExpressionNode node) {
+    if (!isRuntime(node)
+        || !(node.type() instanceof DataType type)
+        || type.bitWidth() > targetWidth) {
+      return false;
+    }
+    if (node instanceof BuiltInCall call) {
+      return OUTLINABLE_BUILT_INS.contains(call.builtIn());
+    }
+    return node instanceof SliceNode
+        || node instanceof SelectNode
+        || node instanceof LetNode
+        || node instanceof IssConstExtractNode
+        || node instanceof IssValExtractNode
+        || node instanceof IssGhostCastNode;
+  }
+
+  /**
+   * A node is evaluated at runtime (and emitted as TCG operations) if it
+   * depends on a resource read.
+   * PC reads are already converted by the {@link IssPcAccessConversionPass}.
+   */
+  private boolean isRuntime(Node node) {
+    var cached = runtimeCache.get(node);
+    if (cached != null) {
+      return cached;
+    }
+    var result = node instanceof ReadResourceNode
+        || node.inputs().anyMatch(this::isRuntime);
+    runtimeCache.put(node, result);
+    return result;
+  }
+
+  /**
+   * Estimates the number of TCG operations emitted for the given node.
+   * Nodes evaluated at translation time do not emit any TCG operation.
+   */
+  private int cost(ExpressionNode node) {
+    if (!isRuntime(node)) {
+      return 0;
+    }
+    return switch (node) {
+      case BuiltInCall call -> builtInCost(call.builtIn());
+      // an extract per part and a deposit for all but the first part
+      case SliceNode slice -> 2 * slice.bitSlice().partSize() - 1;
+      // sign extension to a width smaller than the target size requires a second extract
+      case IssConstExtractNode extract ->
+          extract.isSigned() && extract.toWidth() != targetWidth ? 2 : 1;
+      case ReadMemNode read -> 1;
+      case ReadResourceNode read -> 0;
+      case LetNode let -> 0;
+      case IssGhostCastNode cast -> 0;
+      default -> 1;
+    };
+  }
+
+  private static int builtInCost(BuiltInTable.BuiltIn builtIn) {
+    if (builtIn == BuiltInTable.SMULL || builtIn == BuiltInTable.UMULL
+        || builtIn == BuiltInTable.SUMULL) {
+      // both arguments must be extended before the multiplication
+      return 3;
+    } else if (builtIn == BuiltInTable.SSATADD || builtIn == BuiltInTable.USATADD
+        || builtIn == BuiltInTable.SSATSUB || builtIn == BuiltInTable.USATSUB) {
+      // the overflow check and the saturation
+      return 4;
+    } else if (builtIn == BuiltInTable.CLO || builtIn == BuiltInTable.CLS
+        || builtIn == BuiltInTable.CTO || builtIn == BuiltInTable.CZB) {
+      // the value must be inverted before counting
+      return 2;
+    }
+    return 1;
+  }
+}
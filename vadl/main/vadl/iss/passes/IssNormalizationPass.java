@@ -30,6 +30,7 @@ import javax.annotation.Nullable;
 import vadl.configuration.IssConfiguration;
 import vadl.iss.passes.nodes.IssConstExtractNode;
 import vadl.iss.passes.nodes.IssGhostCastNode;
+import vadl.iss.passes.nodes.IssHelperCallNode;
 import vadl.iss.passes.nodes.IssSelectNode;
 import vadl.iss.passes.nodes.IssStaticPcRegNode;
 import vadl.iss.passes.nodes.IssValExtractNode;
@@ -764,6 +765,11 @@ class IssNormalizer implements VadlBuiltInNoStatusDispatcher<BuiltInCall> {
     throw graphError(toHandle, "Node should not occur here");
   }
 
+  @Handler
+  void handle(IssHelperCallNode toHandle) {
+    throw graphError(toHandle, "Node should not occur here");
+  }
+
   @Handler
   void handle(FuncCallNode toHandle) {
     throw graphError(toHandle, "Node should not occur here");
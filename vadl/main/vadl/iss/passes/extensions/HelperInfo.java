@@ -0,0 +1,140 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.passes.extensions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.passes.IssHelperOutliningPass;
+import vadl.template.Renderable;
+import vadl.viam.Definition;
+import vadl.viam.DefinitionExtension;
+import vadl.viam.Instruction;
+import vadl.viam.InstructionSetArchitecture;
+
+/**
+ * A {@link InstructionSetArchitecture} extension that holds the C helpers generated
+ * for outlined instruction behavior expressions.
+ * It is added by the {@link IssHelperOutliningPass} and rendered into the
+ * {@code helper.h} and {@code helper.c} of the generated target.
+ *
+ * @see Entry
+ * @see IssHelperOutliningPass
+ * @see vadl.iss.template.IssTemplateRenderingPass
+ */
+public class HelperInfo extends DefinitionExtension<InstructionSetArchitecture>
+    implements Renderable {
+
+  private final IssConfiguration configuration;
+  private final List<Entry> helpers = new ArrayList<>();
+
+  public HelperInfo(IssConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  public List<Entry> entries() {
+    return helpers;
+  }
+
+  public void addHelper(String name, Instruction instruction, int nrArgs, String expression,
+                        int estimatedCost) {
+    helpers.add(new Entry(name, instruction, nrArgs, expression, estimatedCost));
+  }
+
+  @Override
+  public Class<? extends Definition> extendsDefClass() {
+    return InstructionSetArchitecture.class;
+  }
+
+  @Override
+  public Map<String, Object> renderObj() {
+    return Map.of(
+        "helpers", helpers
+    );
+  }
+
+  /**
+   * Holds a single outlined helper.
+   * The helper is pure and takes all arguments as well as the result in target size
+   * containers. Its arguments are named {@code a0} to {@code a<n-1>}, which are used
+   * in the {@code expression}.
+   */
+  public class Entry implements Renderable {
+    public final String name;
+    public final Instruction instruction;
+    public final int nrArgs;
+    public final String expression;
+    public final int estimatedCost;
+
+    Entry(String name, Instruction instruction, int nrArgs, String expression,
+          int estimatedCost) {
+      this.name = name;
+      this.instruction = instruction;
+      this.nrArgs = nrArgs;
+      this.expression = expression;
+      this.estimatedCost = estimatedCost;
+    }
+
+    /**
+     * The helper definition emitted in {@code helper.h}.
+     * E.g. {@code DEF_HELPER_FLAGS_2(mulw_n42, TCG_CALL_NO_RWG_SE, i64, i64, i64)}.
+     * As the helper neither reads nor writes globals and has no side effects,
+     * TCG may remove or reorder its calls.
+     */
+    public String helperDef() {
+      var size = configuration.targetSize().toString();
+      var argTypes = IntStream.range(0, nrArgs)
+          .mapToObj(i -> size)
+          .collect(Collectors.joining(", "));
+      return "DEF_HELPER_FLAGS_" + nrArgs + "(" + name + ", TCG_CALL_NO_RWG_SE, "
+          + size + ", " + argTypes + ")";
+    }
+
+    /**
+     * Provides the implementation of the helper function defined by {@link #helperDef()}
+     * and emitted in {@code helper.c}.
+     *
+     * <pre>{@code
+     * uint64_t helper_mulw_n42(uint64_t a0, uint64_t a1) {
+     *   return VADL_sextract(VADL_mul(a0, 32, a1, 32), 32);
+     * }
+     * }</pre>
+     */
+    public String helperImpl() {
+      var type = "uint" + configuration.targetSize().width + "_t";
+      var params = IntStream.range(0, nrArgs)
+          .mapToObj(i -> type + " a" + i)
+          .collect(Collectors.joining(", "));
+      return "// outlined from " + instruction.simpleName()
+          + " (~" + estimatedCost + " TCG ops)\n"
+          + type + " helper_" + name + "(" + params + ") {\n"
+          + "\treturn " + expression + ";\n}";
+    }
+
+    @Override
+    public Map<String, Object> renderObj() {
+      return Map.of(
+          "name", name,
+          "helper_def", helperDef(),
+          "helper_impl", helperImpl()
+      );
+    }
+  }
+}
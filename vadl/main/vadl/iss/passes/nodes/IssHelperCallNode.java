@@ -0,0 +1,113 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.passes.nodes;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import vadl.iss.passes.opDecomposition.nodes.IssExprNode;
+import vadl.javaannotations.viam.DataValue;
+import vadl.javaannotations.viam.Input;
+import vadl.types.DataType;
+import vadl.viam.graph.GraphNodeVisitor;
+import vadl.viam.graph.GraphVisitor;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.NodeList;
+import vadl.viam.graph.dependency.ExpressionNode;
+
+/**
+ * An ISS expression node that calls a generated C helper function with the given arguments.
+ * It replaces an expression tree that was outlined by the
+ * {@link vadl.iss.passes.IssHelperOutliningPass}, as emitting its TCG operations inline
+ * would be more expensive than calling the helper at runtime.
+ *
+ * <p>The node is lowered to a {@link vadl.iss.passes.tcgLowering.nodes.TcgHelperCall}
+ * by the {@link vadl.iss.passes.tcgLowering.TcgOpLoweringPass}.</p>
+ *
+ * @see vadl.iss.passes.extensions.HelperInfo
+ */
+public class IssHelperCallNode extends IssExprNode {
+
+  @Input
+  private NodeList<ExpressionNode> args;
+
+  @DataValue
+  private final String helperName;
+
+  /**
+   * Constructs the helper call node.
+   *
+   * @param helperName the name of the helper, without the {@code helper_} prefix
+   * @param args       the arguments passed to the helper
+   * @param type       the result type of the outlined expression
+   */
+  public IssHelperCallNode(String helperName, NodeList<ExpressionNode> args, DataType type) {
+    super(type);
+    this.helperName = helperName;
+    this.args = args;
+  }
+
+  public String helperName() {
+    return helperName;
+  }
+
+  public NodeList<ExpressionNode> args() {
+    return args;
+  }
+
+  @Override
+  public DataType type() {
+    return (DataType) super.type();
+  }
+
+  @Override
+  public ExpressionNode copy() {
+    return new IssHelperCallNode(helperName,
+        args.stream().map(ExpressionNode::copy)
+            .collect(Collectors.toCollection(NodeList::new)),
+        type());
+  }
+
+  @Override
+  public Node shallowCopy() {
+    return new IssHelperCallNode(helperName, args, type());
+  }
+
+  @Override
+  public <T extends GraphNodeVisitor> void accept(T visitor) {
+
+  }
+
+  @Override
+  protected void collectData(List<Object> collection) {
+    super.collectData(collection);
+    collection.add(helperName);
+  }
+
+  @Override
+  protected void collectInputs(List<Node> collection) {
+    super.collectInputs(collection);
+    collection.addAll(args);
+  }
+
+  @Override
+  protected void applyOnInputsUnsafe(GraphVisitor.Applier<Node> visitor) {
+    super.applyOnInputsUnsafe(visitor);
+    args = args.stream()
+        .map((e) -> visitor.apply(this, e, ExpressionNode.class))
+        .collect(Collectors.toCollection(NodeList::new));
+  }
+}
@@ -34,6 +34,7 @@ import vadl.iss.passes.AbstractIssPass;
 import vadl.iss.passes.TcgPassUtils;
 import vadl.iss.passes.nodes.IssConstExtractNode;
 import vadl.iss.passes.nodes.IssGhostCastNode;
+import vadl.iss.passes.nodes.IssHelperCallNode;
 import vadl.iss.passes.nodes.IssLoadNode;
 import vadl.iss.passes.nodes.IssSelectNode;
 import vadl.iss.passes.nodes.IssStaticPcRegNode;
@@ -53,6 +54,7 @@ import vadl.iss.passes.tcgLowering.nodes.TcgDivNode;
 import vadl.iss.passes.tcgLowering.nodes.TcgExtractNode;
 import vadl.iss.passes.tcgLowering.nodes.TcgGenException;
 import vadl.iss.passes.tcgLowering.nodes.TcgGottoTb;
+import vadl.iss.passes.tcgLowering.nodes.TcgHelperCall;
 import vadl.iss.passes.tcgLowering.nodes.TcgLoadMemory;
 import vadl.iss.passes.tcgLowering.nodes.TcgLookupAndGotoPtr;
 import vadl.iss.passes.tcgLowering.nodes.TcgMovCondNode;
@@ -826,6 +828,19 @@ class TcgOpLoweringExecutor implements CfgTraverser {
     throw failShouldNotHappen(toHandle);
   }
 
+  /**
+   * Handles the {@link IssHelperCallNode} by generating a call to the outlined helper.
+   * Arguments that are known at translation time are passed as TCG constants.
+   */
+  @Handler
+  void handle(IssHelperCallNode toHandle) {
+    var dest = singleDestOf(toHandle);
+    var args = toHandle.args().stream()
+        .map(a -> (DependencyNode) singleDestOf(a))
+        .collect(Collectors.toCollection(NodeList::new));
+    replaceCurrent(new TcgHelperCall(dest, args, false, toHandle.helperName()));
+  }
+
   @Handler
   void handle(ProcCallNode toHandle) {
     throw failShouldNotHappen(toHandle);
@@ -28,6 +28,7 @@ import vadl.configuration.IssConfiguration;
 import vadl.cppCodeGen.formatting.CodeFormatter;
 import vadl.iss.codegen.QemuClangFormatter;
 import vadl.iss.passes.extensions.ExceptionInfo;
+import vadl.iss.passes.extensions.HelperInfo;
 import vadl.iss.passes.extensions.MemoryRegionInfo;
 import vadl.iss.passes.extensions.RegInfo;
 import vadl.pass.PassName;
@@ -126,6 +127,7 @@ public abstract class IssTemplateRenderingPass extends AbstractTemplateRendering
     vars.put("target_size", configuration().targetSize().width);
     vars.put("mem_regions", memRegions(specification));
     vars.put("exc_info", getExceptionInfo(specification));
+    vars.put("helper_info", getHelperInfo(specification));
     return vars;
   }
 
@@ -138,6 +140,12 @@ public abstract class IssTemplateRenderingPass extends AbstractTemplateRendering
     return viam.processor().get().isa().expectExtension(ExceptionInfo.class);
   }
 
+  private HelperInfo getHelperInfo(Specification viam) {
+    // the info is not available if the IssHelperOutliningPass did not run
+    var info = viam.processor().get().isa().extension(HelperInfo.class);
+    return info != null ? info : new HelperInfo(configuration());
+  }
+
   private RegInfo getPcReg(Specification viam) {
     var pc = viam.processor().get().isa().pc();
     if (pc == null) {
@@ -0,0 +1,75 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.contrib;
+
+import static vadl.vdt.utils.BitVectorUtils.fittingPowerOfTwo;
+
+import java.nio.ByteOrder;
+import java.util.Map;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.template.IssTemplateRenderingPass;
+import vadl.pass.PassResults;
+import vadl.vdt.model.Node;
+import vadl.vdt.passes.VdtLoweringPass;
+import vadl.vdt.target.common.DecisionTreeStatsCalculator;
+import vadl.vdt.target.iss.IssDecisionTreeCodeGenerator;
+import vadl.viam.Specification;
+
+/**
+ * Emits the {@code contrib/plugins/insn-histogram.c} QEMU plugin, which counts the executed
+ * instructions per VADL instruction definition and writes the histogram on exit.
+ * The instructions are classified at translation time by a classifier generated from the
+ * decode tree, so only inline counters are executed at runtime.
+ *
+ * <p>The written histogram can be used as {@code --decode-profile} input.
+ *
+ * @see IssDecisionTreeCodeGenerator#generateClassifier(String)
+ */
+public class EmitIssInsnHistogramPluginPass extends IssTemplateRenderingPass {
+
+  public EmitIssInsnHistogramPluginPass(IssConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  protected String issTemplatePath() {
+    return "contrib/plugins/insn-histogram.c";
+  }
+
+  @Override
+  protected Map<String, Object> createVariables(PassResults passResults,
+                                                Specification specification) {
+    var vars = super.createVariables(passResults, specification);
+
+    final ByteOrder bo = configuration().byteOrder();
+
+    final var vdt = passResults.lastResultOf(VdtLoweringPass.class, Node.class);
+    final var generator = new IssDecisionTreeCodeGenerator(vdt, bo);
+    final var classifier = generator.generateClassifier("classify_insn");
+    final var insnNames = generator.instructions().stream()
+        .map(i -> i.simpleName())
+        .toList();
+
+    final int maxWidth = DecisionTreeStatsCalculator.statistics(vdt).getMaxInstructionWidth();
+
+    vars.put("classifier_code", classifier.toString());
+    vars.put("insn_names", insnNames);
+    vars.put("insn_count", insnNames.size());
+    vars.put("insn_word_bytes", fittingPowerOfTwo(maxWidth) / 8);
+    return vars;
+  }
+}
@@ -0,0 +1,131 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.linux_user;
+
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import vadl.configuration.IssConfiguration;
+import vadl.error.Diagnostic;
+import vadl.pass.PassResults;
+import vadl.utils.SourceLocation;
+import vadl.vdt.model.Node;
+import vadl.vdt.passes.VdtLoweringPass;
+import vadl.vdt.target.iss.IssDecisionTreeCodeGenerator;
+import vadl.viam.Abi;
+import vadl.viam.Instruction;
+import vadl.viam.Specification;
+import vadl.viam.annotations.AbiBreakpointInstructionAnno;
+import vadl.viam.annotations.AbiSystemCallInstructionAnno;
+
+/**
+ * Emits the {@code linux-user/gen-arch/cpu_loop.c}, which runs the guest and handles
+ * the exceptions raised by it.
+ *
+ * <p>Exceptions are not handled by the exception handlers of the specification,
+ * as there is no guest kernel. Instead, the instruction that raised the exception is classified
+ * by a classifier generated from the decode tree. System call instructions are forwarded to
+ * QEMU's {@code do_syscall}, breakpoint instructions raise {@code SIGTRAP} and all other
+ * exceptions raise {@code SIGILL}.
+ * The system call and breakpoint instructions are declared in the ABI with
+ * {@code special system call instruction} and {@code special breakpoint instruction}.
+ * If the ABI declares none, they are detected by their name.</p>
+ */
+public class EmitIssCpuLoopPass extends EmitIssLinuxUserPass {
+
+  // the names used to detect the instructions if the ABI does not declare them
+  private static final Set<String> SYSCALL_INSNS = Set.of("ecall", "syscall", "svc", "scall");
+  private static final Set<String> BREAKPOINT_INSNS = Set.of("ebreak", "brk", "bkpt", "break");
+
+  public EmitIssCpuLoopPass(IssConfiguration configuration) {
+    super("linux-user/gen-arch/cpu_loop.c", configuration);
+  }
+
+  @Override
+  protected Map<String, Object> createVariables(PassResults passResults,
+                                                Specification specification) {
+    var vars = super.createVariables(passResults, specification);
+
+    final ByteOrder bo = configuration().byteOrder();
+
+    final var vdt = passResults.lastResultOf(VdtLoweringPass.class, Node.class);
+    final var generator = new IssDecisionTreeCodeGenerator(vdt, bo);
+    final var classifier = generator.generateClassifier("classify_insn");
+    final var insns = generator.instructions();
+
+    final var abi = specification.processor().get().abiNullable();
+    final var syscallInsn = abi == null ? null : abi.annotation(AbiSystemCallInstructionAnno.class);
+    final var breakpointInsn =
+        abi == null ? null : abi.annotation(AbiBreakpointInstructionAnno.class);
+
+    final var syscallInsns = syscallInsn != null
+        ? indicesOf(insns, syscallInsn.instruction())
+        : indicesByName(insns, SYSCALL_INSNS, "system call", abi);
+    final var breakpointInsns = breakpointInsn != null
+        ? indicesOf(insns, breakpointInsn.instruction())
+        : indicesByName(insns, BREAKPOINT_INSNS, "breakpoint", abi);
+
+    vars.put("classifier_code", classifier.toString());
+    vars.put("insn_sizes", insns.stream()
+        .map(i -> i.format().type().bitWidth() / 8)
+        .toList());
+    vars.put("insn_word_bytes", insns.stream()
+        .mapToInt(i -> i.format().type().bitWidth() / 8)
+        .max()
+        .orElse(0));
+    vars.put("syscall_insns", syscallInsns);
+    vars.put("breakpoint_insns", breakpointInsns);
+    return vars;
+  }
+
+  private static List<Map<String, Object>> indicesOf(List<Instruction> insns,
+                                                      Instruction insn) {
+    return indicesOf(insns, i -> i == insn);
+  }
+
+  private static List<Map<String, Object>> indicesOf(List<Instruction> insns,
+                                                      Predicate<Instruction> filter) {
+    return IntStream.range(0, insns.size())
+        .filter(i -> filter.test(insns.get(i)))
+        .mapToObj(i -> Map.<String, Object>of("index", i, "name", insns.get(i).simpleName()))
+        .toList();
+  }
+
+  /**
+   * Detects the instructions of the given kind by their name, as the ABI does not declare them.
+   * This is only a fallback, so it is reported with a warning.
+   */
+  private List<Map<String, Object>> indicesByName(List<Instruction> insns, Set<String> names,
+                                                  String kind, @Nullable Abi abi) {
+    var indices = indicesOf(insns,
+        i -> names.contains(i.simpleName().toLowerCase(Locale.US)));
+    var location = abi != null ? abi.location() : SourceLocation.INVALID_SOURCE_LOCATION;
+    configuration().diagnostics().add(
+        Diagnostic.warning("No " + kind + " instruction declared in the ABI", location)
+            .description("The %s instructions are detected by their name (one of %s), "
+                    + "which found %s.", kind, names.stream().sorted().toList(),
+                indices.isEmpty() ? "none" : indices.stream().map(i -> i.get("name")).toList())
+            .help("Declare the instruction with `special %s instruction = <name>` in the ABI.",
+                kind));
+    return indices;
+  }
+}
@@ -0,0 +1,62 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.linux_user;
+
+import java.util.Map;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.template.IssTemplateRenderingPass;
+import vadl.lcb.include.llvm.BinaryFormat.EmitElfHeaderFilePass;
+import vadl.pass.PassResults;
+import vadl.viam.Specification;
+
+/**
+ * Renders a template of the Linux user mode emulation ({@code linux-user/gen-arch}).
+ * In addition to the default variables, it provides the system call convention
+ * derived from the ABI as {@code syscall} variable and the ELF machine of the target
+ * as {@code elf_machine} variable.
+ *
+ * @see LinuxUserRenderUtils#syscallAbi(Specification)
+ * @see vadl.configuration.IssConfiguration.IssMode#USER
+ */
+public class EmitIssLinuxUserPass extends IssTemplateRenderingPass {
+
+  private final String issTemplatePath;
+
+  public EmitIssLinuxUserPass(String issTemplatePath, IssConfiguration configuration) {
+    super(configuration);
+    this.issTemplatePath = issTemplatePath;
+  }
+
+  @Override
+  protected String issTemplatePath() {
+    return issTemplatePath;
+  }
+
+  @Override
+  protected Map<String, Object> createVariables(PassResults passResults,
+                                                Specification specification) {
+    var vars = super.createVariables(passResults, specification);
+    vars.put("syscall", LinuxUserRenderUtils.syscallAbi(specification));
+    vars.put("elf_machine", EmitElfHeaderFilePass.ELF_MACHINE);
+    return vars;
+  }
+
+  public static EmitIssLinuxUserPass linuxUser(String issTemplatePath,
+                                               IssConfiguration config) {
+    return new EmitIssLinuxUserPass(issTemplatePath, config);
+  }
+}
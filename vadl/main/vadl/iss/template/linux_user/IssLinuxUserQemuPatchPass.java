@@ -0,0 +1,120 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.linux_user;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+import vadl.configuration.IssConfiguration;
+import vadl.error.Diagnostic;
+import vadl.iss.passes.AbstractIssPass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.utils.SourceLocation;
+import vadl.viam.Specification;
+
+/**
+ * Registers the generated target in the QEMU linux-user sources that have no per-target
+ * extension point.
+ * Unlike the other generated files, these sources are not rendered from a template
+ * but patched in place, as they are large and mostly target independent.
+ *
+ * <ul>
+ *   <li>{@code linux-user/syscall_defs.h} selects structure layouts (e.g.
+ *   {@code struct target_stat}) and constants by target. The generated target is treated like
+ *   RISC-V, which uses the generic Linux ABI.</li>
+ *   <li>{@code linux-user/elfload.c} defines the ELF loader parameters by target.
+ *   The generated target includes them from {@code target_elfload.h}.</li>
+ * </ul>
+ *
+ * <p>The patches are idempotent. If the QEMU sources are not present or do not match
+ * the expected version, a warning is reported instead.</p>
+ */
+public class IssLinuxUserQemuPatchPass extends AbstractIssPass {
+
+  private static final String SYSCALL_DEFS = "linux-user/syscall_defs.h";
+  private static final String ELFLOAD = "linux-user/elfload.c";
+
+  public IssLinuxUserQemuPatchPass(IssConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("ISS Linux User QEMU Patching");
+  }
+
+  @Nullable
+  @Override
+  public Object execute(PassResults passResults, Specification viam) throws IOException {
+    var qemuDir = configuration().outputPath().resolve("iss");
+    var targetMacro = "defined(TARGET_" + configuration().targetName().toUpperCase() + ")";
+
+    patch(qemuDir.resolve(SYSCALL_DEFS), targetMacro, content -> {
+      var anchor = "defined(TARGET_RISCV)";
+      return content.contains(anchor)
+          ? Optional.of(content.replace(anchor, anchor + " || " + targetMacro))
+          : Optional.empty();
+    });
+
+    var include = "#if " + targetMacro + "\n#include \"target_elfload.h\"\n#endif\n\n";
+    patch(qemuDir.resolve(ELFLOAD), include, content -> {
+      var anchor = "#ifndef ELF_PLATFORM";
+      var index = content.indexOf(anchor);
+      return index < 0
+          ? Optional.empty()
+          : Optional.of(content.substring(0, index) + include + content.substring(index));
+    });
+
+    return null;
+  }
+
+  /**
+   * Applies the patch to the given file, unless the file already contains the marker.
+   * The patch function returns an empty optional if the file does not contain the expected
+   * anchor.
+   */
+  private void patch(Path file, String marker, Function<String, Optional<String>> patch)
+      throws IOException {
+    if (!Files.exists(file)) {
+      warn(file, "The file does not exist. Use `--init` to set up QEMU.");
+      return;
+    }
+
+    var content = Files.readString(file);
+    if (content.contains(marker)) {
+      return;
+    }
+
+    var patched = patch.apply(content);
+    if (patched.isEmpty()) {
+      warn(file, "The file does not match the expected QEMU version.");
+      return;
+    }
+    Files.writeString(file, patched.get());
+  }
+
+  private void warn(Path file, String reason) {
+    configuration().diagnostics().add(
+        Diagnostic.warning("Cannot register the Linux user mode target in QEMU",
+                SourceLocation.INVALID_SOURCE_LOCATION)
+            .description("%s could not be patched. %s", file, reason));
+  }
+}
@@ -0,0 +1,101 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.linux_user;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import vadl.error.Diagnostic;
+import vadl.iss.passes.extensions.RegInfo;
+import vadl.utils.SourceLocation;
+import vadl.viam.Abi;
+import vadl.viam.Specification;
+import vadl.viam.annotations.AbiSyscallNumberAnno;
+
+/**
+ * A set of utils to help render the linux-user ISS templates.
+ */
+class LinuxUserRenderUtils {
+
+  // number of system call arguments passed by QEMU's do_syscall
+  static final int SYSCALL_ARGS = 6;
+
+  /**
+   * Maps the ABI of the given {@link Specification} to the CPU state fields used by the
+   * Linux system call convention.
+   * The returned map contains the fields {@code args} (the C expressions of the six system
+   * call arguments, evaluated on {@code env}), {@code nr} (the system call number register),
+   * {@code ret} (the return value register), {@code sp} (the stack pointer) and {@code tp}
+   * (the thread pointer, empty if the ABI does not define one).
+   *
+   * <p>The arguments are passed in the argument registers of the ABI and the system call
+   * number in the register alias annotated with {@code [ syscall number ]}, as it differs
+   * between targets (e.g. {@code a7} on RISC-V and {@code x8} on AArch64).</p>
+   */
+  static Map<String, Object> syscallAbi(Specification specification) {
+    var abi = specification.processor().get().abiNullable();
+    if (abi == null) {
+      throw Diagnostic.error("Linux user mode requires an ABI definition",
+              SourceLocation.INVALID_SOURCE_LOCATION)
+          .description("The system call convention is derived from the ABI's registers.")
+          .build();
+    }
+
+    var argRegs = abi.argumentRegisters();
+    if (argRegs.isEmpty() || abi.returnRegisters().isEmpty()) {
+      throw Diagnostic.error(
+              "Linux user mode requires argument and return registers in the ABI",
+              abi.location())
+          .build();
+    }
+
+    var nr = abi.annotation(AbiSyscallNumberAnno.class);
+    if (nr == null) {
+      throw Diagnostic.error("Linux user mode requires the system call number register",
+              abi.location())
+          .help("Annotate the register alias of the ABI that holds the system call number "
+              + "with `[ syscall number ]`.")
+          .build();
+    }
+
+    // system calls with fewer ABI argument registers receive zero for the missing arguments
+    var args = new ArrayList<String>();
+    argRegs.stream()
+        .limit(SYSCALL_ARGS)
+        .forEach(r -> args.add("env->" + cpuStateField(r)));
+    while (args.size() < SYSCALL_ARGS) {
+      args.add("0");
+    }
+
+    var syscall = new HashMap<String, Object>();
+    syscall.put("args", args);
+    syscall.put("nr", cpuStateField(nr.register()));
+    syscall.put("ret", cpuStateField(abi.returnRegisters().getFirst()));
+    syscall.put("sp", cpuStateField(abi.stackPointer()));
+    syscall.put("tp", abi.threadPointer().map(LinuxUserRenderUtils::cpuStateField).orElse(""));
+    return syscall;
+  }
+
+  /**
+   * Returns the access to the given register in the {@code CPUArchState}, without
+   * the leading {@code env->}.
+   */
+  static String cpuStateField(Abi.RegisterRef ref) {
+    var name = ref.registerFile().expectExtension(RegInfo.class).name().toLowerCase();
+    return ref.registerFile().isSingleRegister() ? name : name + "[" + ref.addr() + "]";
+  }
+}
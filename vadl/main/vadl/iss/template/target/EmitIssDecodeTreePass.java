@@ -58,8 +58,7 @@ public class EmitIssDecodeTreePass extends IssTemplateRenderingPass {
       return variables;
     }
 
-    // TODO: get the byte order from the VADL specification -> Implement memory annotations
-    final ByteOrder bo = ByteOrder.LITTLE_ENDIAN;
+    final ByteOrder bo = configuration().byteOrder();
 
     final var vdt = passResults.lastResultOf(VdtLoweringPass.class, Node.class);
     final var code = new IssDecisionTreeCodeGenerator(vdt, bo).generate();
@@ -0,0 +1,174 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.codegen.assembly;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A trie over the string literals of the first tokens of grammar alternatives.
+ * It generates a C++ function which matches the string of a token against all literals
+ * with nested {@code switch} statements on the token length and its characters.
+ * Therefore, every character of the token is inspected at most once instead of
+ * comparing the token with every literal.
+ *
+ * <pre>{@code
+ * static int matchFirstToken_a(StringRef Tok) {
+ *   switch (Tok.size()) {
+ *   case 3:
+ *     switch (toLower(Tok[0])) {
+ *     case 'a':
+ *       if (Tok.drop_front(1).equals_insensitive("dd")) return 0;
+ *       break;
+ *     case 's':
+ *       if (Tok.drop_front(1).equals_insensitive("ub")) return 1;
+ *       break;
+ *     }
+ *     break;
+ *   }
+ *   return -1;
+ * }
+ * }</pre>
+ */
+class AsmFirstTokenTrie {
+
+  private record Entry(String literal, int index) {
+  }
+
+  private final boolean isCaseSensitive;
+  // normalized literal to the index of the first alternative starting with it
+  private final Map<String, Integer> literals = new LinkedHashMap<>();
+
+  AsmFirstTokenTrie(boolean isCaseSensitive) {
+    this.isCaseSensitive = isCaseSensitive;
+  }
+
+  /**
+   * Adds a literal which selects the alternative with the given index.
+   * If the literal was already added, the alternative added first takes precedence,
+   * as it would be checked first by a chain of comparisons.
+   */
+  void add(String literal, int index) {
+    literals.putIfAbsent(normalize(literal), index);
+  }
+
+  int size() {
+    return literals.size();
+  }
+
+  /**
+   * Generates the C++ function with the given name.
+   * The function takes the string of the token and returns the index of the matched
+   * alternative or {@code -1} if no literal matches.
+   */
+  String genFunction(String name) {
+    var byLength = new TreeMap<Integer, List<Entry>>();
+    literals.forEach((literal, index) ->
+        byLength.computeIfAbsent(literal.length(), k -> new ArrayList<>())
+            .add(new Entry(literal, index)));
+
+    var sb = new StringBuilder();
+    sb.append("static int ").append(name).append("(StringRef Tok) {\n");
+    sb.append("  switch (Tok.size()) {\n");
+    byLength.forEach((length, entries) -> {
+      sb.append("  case ").append(length).append(":\n");
+      genMatcher(sb, entries, 0, "    ");
+      sb.append("    break;\n");
+    });
+    sb.append("  }\n");
+    sb.append("  return -1;\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * Generates the matcher for literals of the same length, which are equal
+   * up to the character at {@code pos}.
+   */
+  private void genMatcher(StringBuilder sb, List<Entry> entries, int pos, String indent) {
+    if (entries.size() == 1) {
+      var entry = entries.get(0);
+      var rest = entry.literal().substring(pos);
+      if (rest.isEmpty()) {
+        sb.append(indent).append("return ").append(entry.index()).append(";\n");
+      } else {
+        var remaining = pos == 0 ? "Tok" : "Tok.drop_front(" + pos + ")";
+        sb.append(indent).append(String.format("if (%s.%s(\"%s\")) return %d;\n",
+            remaining, compareFunction(), escape(rest, '"'), entry.index()));
+      }
+      return;
+    }
+
+    // skip the common prefix, as it does not narrow down the candidates
+    var first = entries.get(0).literal();
+    var differing = pos;
+    while (isCommonAt(entries, differing)) {
+      differing++;
+    }
+    if (differing > pos) {
+      sb.append(indent).append(String.format("if (!Tok.substr(%d, %d).%s(\"%s\")) break;\n",
+          pos, differing - pos, compareFunction(),
+          escape(first.substring(pos, differing), '"')));
+    }
+
+    var byChar = new TreeMap<Character, List<Entry>>();
+    for (var entry : entries) {
+      byChar.computeIfAbsent(entry.literal().charAt(differing), k -> new ArrayList<>())
+          .add(entry);
+    }
+
+    var charExpr = isCaseSensitive
+        ? "Tok[" + differing + "]" : "toLower(Tok[" + differing + "])";
+    sb.append(indent).append("switch (").append(charExpr).append(") {\n");
+    var nextPos = differing + 1;
+    byChar.forEach((c, group) -> {
+      sb.append(indent).append("case '").append(escape(String.valueOf(c), '\'')).append("':\n");
+      genMatcher(sb, group, nextPos, indent + "  ");
+      sb.append(indent).append("  break;\n");
+    });
+    sb.append(indent).append("}\n");
+  }
+
+  private static boolean isCommonAt(List<Entry> entries, int pos) {
+    var c = entries.get(0).literal().charAt(pos);
+    return entries.stream().allMatch(e -> e.literal().charAt(pos) == c);
+  }
+
+  private String compareFunction() {
+    return isCaseSensitive ? "equals" : "equals_insensitive";
+  }
+
+  private String normalize(String literal) {
+    return isCaseSensitive ? literal : literal.toLowerCase(Locale.ROOT);
+  }
+
+  private static String escape(String value, char quote) {
+    var sb = new StringBuilder();
+    for (int i = 0; i < value.length(); i++) {
+      var c = value.charAt(i);
+      if (c == '\\' || c == quote) {
+        sb.append('\\');
+      }
+      sb.append(c);
+    }
+    return sb.toString();
+  }
+}
@@ -20,9 +20,7 @@ import static vadl.viam.ViamError.ensure;
 import static vadl.viam.ViamError.ensurePresent;
 
 import java.io.StringWriter;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import vadl.cppCodeGen.SymbolTable;
@@ -73,13 +71,17 @@ import vadl.viam.graph.dependency.ZeroExtendNode;
 
 /**
  * Visitor for printing instructions for the assembler.
+ * The generated code writes the assembly directly into the {@code raw_ostream O} without
+ * building intermediate strings. Constant parts of the assembly (e.g. the mnemonic and
+ * separators) are merged at generation time and written with a single call.
  */
 public class AssemblyInstructionPrinterCodeGeneratorVisitor
     implements GraphNodeVisitor {
   private final PrintableInstruction instruction;
   private final SymbolTable symbolTable = new SymbolTable();
   private final StringWriter writer;
-  private final Deque<String> operands = new ArrayDeque<>();
+  // constant fragments which were not written yet
+  private final StringBuilder pendingLiteral = new StringBuilder();
   private final TableGenInstruction tableGenInstruction;
 
   /**
@@ -96,11 +98,8 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
 
   @Override
   public void visit(ConstantNode node) {
-    String symbol = symbolTable.getNextVariable();
-    operands.add(symbol);
-
     if (node.constant() instanceof Constant.Str str) {
-      writer.write("std::string " + symbol + " = std::string(\"" + str.value() + "\");\n");
+      pendingLiteral.append(str.value());
     } else {
       throw Diagnostic.error("Not supported constant type", node.location()).build();
     }
@@ -109,26 +108,11 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
   @Override
   public void visit(BuiltInCall node) {
     if (node.builtIn() == BuiltInTable.MNEMONIC) {
-      String symbol = symbolTable.getNextVariable();
-      operands.add(symbol);
-
-      writer.write(String.format("std::string %s = std::string(\"%s\");\n", symbol,
-          instruction.identifier().simpleName()));
+      pendingLiteral.append(instruction.identifier().simpleName());
     } else if (node.builtIn() == BuiltInTable.CONCATENATE_STRINGS) {
       for (var arg : node.arguments()) {
         visit(arg);
       }
-
-      String symbol = symbolTable.getNextVariable();
-      writer.write("std::string " + symbol + " = ");
-      for (int i = 0; i < node.arguments().size(); i++) {
-        writer.write(operands.removeFirst());
-        if (i < node.arguments().size() - 1) {
-          writer.write(" + ");
-        }
-      }
-      writer.write(";\n");
-      operands.add(symbol);
     } else if (node.builtIn() == BuiltInTable.REGISTER) {
       ensure(node.arguments().size() == 1, "Expected only one argument");
 
@@ -223,7 +207,7 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
   @Override
   public void visit(ReturnNode returnNode) {
     visit(returnNode.value());
-    writer.write("return " + operands.pop() + ";\n");
+    flushLiteral();
   }
 
   @Override
@@ -301,6 +285,7 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
     var operandSymbol = symbolTable.getNextVariable();
     var valueSymbol = symbolTable.getNextVariable();
 
+    flushLiteral();
     writer.write(String.format(
         """
             MCOperand %s = MI->getOperand(%d);
@@ -316,16 +301,8 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
     writer.write(String.format("\t%s =  MCOperand::createImm(%s);\n", operandSymbol, valueSymbol));
     writer.write("}\n");
 
-    var symbol = symbolTable.getNextVariable();
-    writer.write(String.format(
-        """
-            std::string %s = AsmUtils::formatImm(MCOperandWrapper(%s), %d, &MAI);
-            """,
-        symbol,
-        operandSymbol,
-        radix
-    ));
-    operands.add(symbol);
+    writer.write(String.format("AsmUtils::printImm(O, MCOperandWrapper(%s), %d, &MAI);\n",
+        operandSymbol, radix));
   }
 
   private void writeImmediateWithRadix(Format.Field field, int radix, DataType argumentType,
@@ -338,6 +315,7 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
     var operandSymbol = symbolTable.getNextVariable();
     var valueSymbol = symbolTable.getNextVariable();
 
+    flushLiteral();
     writer.write(String.format(
         """
             MCOperand %s = MI->getOperand(%d);
@@ -384,16 +362,8 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
     writer.write(String.format("\t%s =  MCOperand::createImm(%s);\n", operandSymbol, valueSymbol));
     writer.write("}\n");
 
-    var symbol = symbolTable.getNextVariable();
-    writer.write(String.format(
-        """
-            std::string %s = AsmUtils::formatImm(MCOperandWrapper(%s), %d, &MAI);
-            """,
-        symbol,
-        operandSymbol,
-        radix
-    ));
-    operands.add(symbol);
+    writer.write(String.format("AsmUtils::printImm(O, MCOperandWrapper(%s), %d, &MAI);\n",
+        operandSymbol, radix));
   }
 
   private Optional<Integer> indexInInputs(FuncParamNode needle) {
@@ -495,19 +465,17 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
         .orElseThrow(() -> Diagnostic.error(
             "Field is not part of an input or output operand in tablegen",
             fieldRefNode.location()).build());
-    var symbol = symbolTable.getNextVariable();
 
     // We need this helper function "getRegisterName..." because
     // we might need to support multiple register files.
     var registerFileName = getRegisterFile(instruction.behavior(), fieldRefNode);
+    flushLiteral();
     writer.write(
         String.format(
-            "std::string %s = "
-                + "getRegisterNameFrom%sByIndex("
+            "O << getRegisterNameFrom%sByIndex("
                 + "MCOperandWrapper(MI->getOperand(%d)).unwrapToIntegral());" + " // "
                 + fieldRefNode.formatField().identifier.simpleName() + "\n",
-            symbol, registerFileName, index));
-    operands.add(symbol);
+            registerFileName, index));
   }
 
 
@@ -596,15 +564,24 @@ public class AssemblyInstructionPrinterCodeGeneratorVisitor
         .orElseThrow(() -> Diagnostic.error(
             "Parameter is not part of an input or output operand in tablegen",
             funcParamNode.location()).build());
-    var symbol = symbolTable.getNextVariable();
 
+    flushLiteral();
     writer.write(
         String.format(
-            "std::string %s = "
-                + "getRegisterNameFrom%sByIndex("
+            "O << getRegisterNameFrom%sByIndex("
                 + "MCOperandWrapper(MI->getOperand(%d)).unwrapToIntegral());" + " // "
                 + funcParamNode.parameter().simpleName() + "\n",
-            symbol, registerFileName, index));
-    operands.add(symbol);
+            registerFileName, index));
+  }
+
+  /**
+   * Writes the constant fragments which were collected since the last operand
+   * with a single call.
+   */
+  private void flushLiteral() {
+    if (!pendingLiteral.isEmpty()) {
+      writer.write("O << \"" + pendingLiteral + "\";\n");
+      pendingLiteral.setLength(0);
+    }
   }
 }
\ No newline at end of file
@@ -18,8 +18,11 @@ package vadl.lcb.codegen.assembly;
 
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -29,8 +32,8 @@ import vadl.cppCodeGen.SymbolTable;
 import vadl.cppCodeGen.common.AsmParserFunctionCodeGenerator;
 import vadl.cppCodeGen.common.PureFunctionCodeGenerator;
 import vadl.cppCodeGen.context.CAsmContext;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.javaannotations.DispatchFor;
 import vadl.javaannotations.Handler;
 import vadl.types.asmTypes.AsmType;
@@ -79,6 +82,9 @@ import vadl.viam.asm.rules.AsmTerminalRule;
 @SuppressWarnings("checkstyle:OverloadMethodsDeclarationOrder")
 public class AssemblyParserCodeGenerator {
 
+  // alternatives with at least this many first token literals are selected by a trie
+  static final int TRIE_DISPATCH_THRESHOLD = 4;
+
   private final CAsmContext ctx;
   private final StringBuilder builder;
 
@@ -86,12 +92,15 @@ public class AssemblyParserCodeGenerator {
   private final SymbolTable symbolTable;
 
   private final Stream<AsmGrammarRule> rules;
+  private final DiagnosticCollector diagnostics;
+  private boolean isParserCaseSensitive = false;
   private String parserCompareFunction = "equals_insensitive";
   private String currentRuleTypeString = "invalid";
 
   private final Map<Integer, String> elementVarName = new HashMap<>();
   private final SymbolTable grammarElementSymbolTable = new SymbolTable("ELEM_");
   private final Set<String> functionDefinitions = new HashSet<>();
+  private final SymbolTable matchFunctionSymbolTable = new SymbolTable("matchFirstToken_");
 
   private boolean attributesValueNeeded = true;
   private String assignToCurValueVar = "";
@@ -101,13 +110,16 @@ public class AssemblyParserCodeGenerator {
    */
   public AssemblyParserCodeGenerator(String namespace,
                                      boolean isParserCaseSensitive,
-                                     Stream<AsmGrammarRule> rules) {
+                                     Stream<AsmGrammarRule> rules,
+                                     DiagnosticCollector diagnostics) {
     this.builder = new StringBuilder();
     this.ctx = new CAsmContext(builder::append, (ctx, element)
         -> AssemblyParserCodeGeneratorDispatcher.dispatch(this, ctx, element));
 
     this.namespace = namespace;
+    this.diagnostics = diagnostics;
     if (isParserCaseSensitive) {
+      this.isParserCaseSensitive = true;
       parserCompareFunction = "equals";
     }
     symbolTable = new SymbolTable("VAR_");
@@ -172,7 +184,7 @@ public class AssemblyParserCodeGenerator {
     ctx.ln("}");
     ctx.ln();
 
-    DeferredDiagnosticStore.add(Diagnostic.warning(
+    diagnostics.add(Diagnostic.warning(
         "There are no instructions defined in the assembly description grammar."
             + "The generated assembler will not be able to parse any instructions.",
         SourceLocation.INVALID_SOURCE_LOCATION));
@@ -282,6 +294,12 @@ public class AssemblyParserCodeGenerator {
       return;
     }
 
+    var trie = firstTokenTrie(alternatives);
+    if (trie.size() >= TRIE_DISPATCH_THRESHOLD) {
+      writeTrieDispatch(ctx, element, trie, alternativesResultVar);
+      return;
+    }
+
     ctx.ln("std::optional<ParsedValue<%s>> %s;",
         type, alternativesResultVar);
     ctx.ln(getAlternativeGuard(alternatives.get(0)));
@@ -462,6 +480,84 @@ public class AssemblyParserCodeGenerator {
     writeToElementVar(ctx, type, varName(element), resultVar);
   }
 
+  /**
+   * Builds a trie over the string literals in the first tokens of all alternatives
+   * without a semantic predicate.
+   */
+  private AsmFirstTokenTrie firstTokenTrie(List<AsmAlternative> alternatives) {
+    var trie = new AsmFirstTokenTrie(isParserCaseSensitive);
+    for (int i = 0; i < alternatives.size(); i++) {
+      var alternative = alternatives.get(i);
+      if (alternative.semanticPredicate() != null) {
+        continue;
+      }
+      for (var token : alternative.firstTokens()) {
+        if (token.getStringLiteral() != null) {
+          trie.add(token.getStringLiteral(), i);
+        }
+      }
+    }
+    return trie;
+  }
+
+  /**
+   * Selects the alternative with a single lookup in the trie instead of a chain of guards.
+   * Only semantic predicates and first tokens that are matched by their kind are
+   * still checked one after another.
+   * As the alternatives are checked in order, a predicate or token kind only applies
+   * if no previous alternative was selected.
+   */
+  private void writeTrieDispatch(CAsmContext ctx, AsmAlternatives element,
+                                 AsmFirstTokenTrie trie, String alternativesResultVar) {
+    var type = element.asmType().toCppTypeString(namespace);
+    var functionName = matchFunctionSymbolTable.getNextVariable();
+    var selectedVar = symbolTable.getNextVariable();
+    functionDefinitions.add(trie.genFunction(functionName));
+
+    ctx.ln("std::optional<ParsedValue<%s>> %s;", type, alternativesResultVar);
+    ctx.ln("int %s = %s(Lexer.getTok().getString());", selectedVar, functionName);
+    var alternatives = element.alternatives();
+    for (int i = 0; i < alternatives.size(); i++) {
+      var alternative = alternatives.get(i);
+      // sorted, so the generated guards don't depend on the iteration order of the set
+      var kindTokens = alternative.firstTokens().stream()
+          .filter(token -> token.getStringLiteral() == null)
+          .sorted(Comparator.comparing(AsmToken::getRuleName))
+          .collect(Collectors.toCollection(LinkedHashSet::new));
+      if (alternative.semanticPredicate() == null && kindTokens.isEmpty()) {
+        continue;
+      }
+      ctx.ln("if ((%s == -1 || %s > %d) && (%s)) {", selectedVar, selectedVar, i,
+          alternative.semanticPredicate() != null
+              ? getGuardCondition(alternative.semanticPredicate(), alternative.firstTokens())
+              : getGuardCondition(null, kindTokens));
+      ctx.spacedIn();
+      ctx.ln("%s = %d;", selectedVar, i);
+      ctx.spaceOut();
+      ctx.ln("}");
+    }
+
+    ctx.ln("switch (%s) {", selectedVar);
+    for (int i = 0; i < alternatives.size(); i++) {
+      ctx.ln("case %d: {", i);
+      ctx.spacedIn();
+      ctx.gen(alternatives.get(i));
+      ctx.ln("%s = %s;", alternativesResultVar, varName(alternatives.get(i)));
+      ctx.ln("break;");
+      ctx.spaceOut();
+      ctx.ln("}");
+    }
+    ctx.ln("default:");
+    ctx.spacedIn();
+    ctx.ln("return RuleParsingResult<%s>(Lexer.getTok().getLoc(), \"%s\");",
+        currentRuleTypeString, alternativesErrorMessage(element));
+    ctx.spaceOut();
+    ctx.ln("}");
+
+    ctx.ln("ParsedValue<%s> %s = %s.value();",
+        type, varName(element), alternativesResultVar);
+  }
+
   private String getAlternativeGuard(AsmAlternative alternative) {
     return "if ("
         + getGuardCondition(alternative.semanticPredicate(), alternative.firstTokens())
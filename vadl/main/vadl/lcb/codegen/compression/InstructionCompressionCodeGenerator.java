@@ -0,0 +1,315 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.lcb.codegen.compression;
+
+import static vadl.viam.ViamError.ensureNonNull;
+
+import com.google.errorprone.annotations.FormatMethod;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+import vadl.lcb.passes.compression.InstructionCompression;
+import vadl.viam.Format;
+import vadl.viam.Parameter;
+import vadl.viam.ViamError;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.FuncParamNode;
+import vadl.viam.graph.dependency.SignExtendNode;
+import vadl.viam.graph.dependency.ZeroExtendNode;
+
+/**
+ * Generates the CPP code which replaces an instruction by its compressed instruction and the
+ * other way round. Both directions work on the values of the format fields. A register
+ * operand is converted to its index and an immediate operand is encoded with the encoding
+ * function of its field. The parameters of the pseudo instruction are the fields of the
+ * compressed instruction.
+ */
+public class InstructionCompressionCodeGenerator {
+  private final String namespace;
+  private final InstructionCompression compression;
+
+  public InstructionCompressionCodeGenerator(String namespace,
+                                             InstructionCompression compression) {
+    this.namespace = namespace;
+    this.compression = compression;
+  }
+
+  /**
+   * Generates the code which sets {@code OutInst} to the compressed instruction and returns
+   * {@code true} when the operands of {@code MI} satisfy the pseudo instruction.
+   */
+  public String compress() {
+    var fieldOperands = fieldOperands(compression.operands());
+    var builder = new StringBuilder();
+    builder.append(String.format("// %s\n", compression.pseudo().simpleName()));
+    builder.append(String.format("if (%s) {\n", operandKinds(compression.operands())));
+    fieldOperands.values()
+        .forEach(operand -> builder.append(String.format("  uint64_t %s = %s;\n",
+            fieldVariable(operand.field()), fieldValue(operand))));
+
+    // A parameter is determined by the first field which uses it.
+    var arguments = arguments();
+    var conditions = new ArrayList<String>();
+    var parameters = new LinkedHashMap<Parameter, Format.Field>();
+    arguments.forEach((field, argument) -> {
+      var parameter = parameter(argument);
+      if (parameter != null && !parameters.containsKey(parameter)) {
+        parameters.put(parameter, field);
+        builder.append(String.format("  uint64_t %s = %s & %s;\n", parameterVariable(parameter),
+            fieldVariable(field), hex(mask(width(parameter)))));
+      }
+    });
+    arguments.forEach((field, argument) -> {
+      if (fieldOperands.containsKey(field)) {
+        conditions.add(String.format("%s == %s", fieldVariable(field), value(field, argument)));
+      }
+    });
+
+    builder.append(String.format("  if (%s) {\n",
+        conditions.isEmpty() ? "true" : String.join(" && ", conditions)));
+    builder.append(String.format("    OutInst = MCInstBuilder(%s::%s)", namespace,
+        compression.compressed().simpleName()));
+    for (var operand : compression.compressedOperands()) {
+      var parameter = compressedParameter(operand.field());
+      if (operand.isRegister()) {
+        var source = registerSource(arguments, operand, parameter);
+        builder.append(String.format(".addOperand(MI.getOperand(%d))", source.index()));
+      } else {
+        builder.append(String.format(".addImm(%s(%s))", decodeFunction(operand),
+            parameterVariable(parameter)));
+      }
+    }
+    builder.append(";\n");
+    builder.append("    return true;\n");
+    builder.append("  }\n");
+    builder.append("}\n");
+    return builder.toString();
+  }
+
+  /**
+   * Generates the code which sets {@code OutInst} to the instruction of the pseudo instruction
+   * when {@code MI} is the compressed instruction.
+   */
+  public String uncompress() {
+    var arguments = arguments();
+    var builder = new StringBuilder();
+    builder.append(String.format("// %s\n", compression.pseudo().simpleName()));
+    builder.append(String.format("if (%s) {\n", operandKinds(compression.compressedOperands())));
+
+    // Registers which are set by a parameter are copied from the compressed instruction.
+    var usedParameters = new ArrayList<Parameter>();
+    for (var operand : compression.operands()) {
+      var argument = argument(arguments, operand.field());
+      var parameter = parameter(argument);
+      if (!operand.isRegister() && parameter != null && !usedParameters.contains(parameter)) {
+        usedParameters.add(parameter);
+      }
+    }
+    for (var operand : fieldOperands(compression.compressedOperands()).values()) {
+      var parameter = compressedParameter(operand.field());
+      if (usedParameters.contains(parameter)) {
+        builder.append(String.format("  uint64_t %s = %s;\n", parameterVariable(parameter),
+            fieldValue(operand)));
+      }
+    }
+
+    builder.append(String.format("  OutInst = MCInstBuilder(%s::%s)", namespace,
+        compression.instruction().simpleName()));
+    for (var operand : compression.operands()) {
+      var argument = argument(arguments, operand.field());
+      if (operand.isRegister() && argument instanceof ConstantNode constant) {
+        builder.append(String.format(".addReg(%s::%s%d)", namespace,
+            ensureNonNull(operand.registerFile(), "register file must exist").simpleName(),
+            constant.constant().asVal().longValue()));
+      } else if (operand.isRegister()) {
+        var source = compressedRegisterSource(operand, directParameter(argument));
+        builder.append(String.format(".addOperand(MI.getOperand(%d))", source.index()));
+      } else {
+        builder.append(String.format(".addImm(%s(%s))", decodeFunction(operand),
+            value(operand.field(), argument)));
+      }
+    }
+    builder.append(";\n");
+    builder.append("  return true;\n");
+    builder.append("}\n");
+    return builder.toString();
+  }
+
+  private Map<Format.Field, ExpressionNode> arguments() {
+    var arguments = new LinkedHashMap<Format.Field, ExpressionNode>();
+    compression.call().getZippedArgumentsWithParameters().forEach(argument -> {
+      compression.pseudo().ensure(argument.left().isLeft(),
+          "The compressed pseudo instruction must only set fields");
+      arguments.put(argument.left().left(), argument.right());
+    });
+    return arguments;
+  }
+
+  private ExpressionNode argument(Map<Format.Field, ExpressionNode> arguments,
+                                  Format.Field field) {
+    var argument = arguments.get(field);
+    if (argument == null) {
+      throw error("The field %s of %s is not set", field.simpleName(),
+          compression.instruction().simpleName());
+    }
+    return argument;
+  }
+
+  /**
+   * Get the first operand of every field. An output and an input operand can set the same
+   * field.
+   */
+  private static Map<Format.Field, InstructionCompression.Operand> fieldOperands(
+      List<InstructionCompression.Operand> operands) {
+    var fieldOperands = new LinkedHashMap<Format.Field, InstructionCompression.Operand>();
+    operands.forEach(operand -> fieldOperands.putIfAbsent(operand.field(), operand));
+    return fieldOperands;
+  }
+
+  /**
+   * Get the register operand of the instruction which is set by the {@code parameter} and
+   * belongs to the same register file as the register operand {@code target}.
+   */
+  private InstructionCompression.Operand registerSource(
+      Map<Format.Field, ExpressionNode> arguments,
+      InstructionCompression.Operand target,
+      Parameter parameter) {
+    for (var source : compression.operands()) {
+      if (source.isRegister() && source.registerFile() == target.registerFile()
+          && parameter.equals(directParameter(argument(arguments, source.field())))) {
+        return source;
+      }
+    }
+    throw error("The register %s must be set by a parameter in the same register file",
+        target.field().simpleName());
+  }
+
+  /**
+   * Get the register operand of the compressed instruction which is set by the
+   * {@code parameter} and belongs to the same register file as the register operand
+   * {@code target}.
+   */
+  private InstructionCompression.Operand compressedRegisterSource(
+      InstructionCompression.Operand target,
+      @Nullable Parameter parameter) {
+    for (var source : compression.compressedOperands()) {
+      if (source.isRegister() && source.registerFile() == target.registerFile()
+          && compressedParameter(source.field()).equals(parameter)) {
+        return source;
+      }
+    }
+    throw error("The register %s must be set by a parameter in the same register file",
+        target.field().simpleName());
+  }
+
+  private Parameter compressedParameter(Format.Field field) {
+    for (var parameter : compression.pseudo().parameters()) {
+      if (parameter.simpleName().equals(field.simpleName())) {
+        return parameter;
+      }
+    }
+    throw error("The field %s of %s is not set by a parameter",
+        field.simpleName(), compression.compressed().simpleName());
+  }
+
+  private String operandKinds(List<InstructionCompression.Operand> operands) {
+    if (operands.isEmpty()) {
+      return "true";
+    }
+    return String.join(" && ", operands.stream()
+        .map(operand -> String.format("MI.getOperand(%d).%s", operand.index(),
+            operand.isRegister() ? "isReg()" : "isImm()"))
+        .toList());
+  }
+
+  private String fieldValue(InstructionCompression.Operand operand) {
+    if (operand.isRegister()) {
+      return String.format("MCOperandWrapper(MI.getOperand(%d)).unwrapToIntegral()",
+          operand.index());
+    }
+    var encodeFunction = ensureNonNull(operand.encodeFunction(), "encoding must exist");
+    return String.format("%s(MI.getOperand(%d).getImm())",
+        encodeFunction.header().functionName().lower(), operand.index());
+  }
+
+  private String decodeFunction(InstructionCompression.Operand operand) {
+    return ensureNonNull(operand.decodeFunction(), "decoding must exist")
+        .header().functionName().lower();
+  }
+
+  /**
+   * Get the value of the {@code field} which is set by the {@code argument}.
+   */
+  private String value(Format.Field field, ExpressionNode argument) {
+    if (argument instanceof ConstantNode constant) {
+      return hex(constant.constant().asVal().longValue() & mask(field.size()));
+    }
+    var parameter = parameter(argument);
+    if (parameter == null) {
+      throw error("The field %s must be set by a constant or a parameter", field.simpleName());
+    }
+    if (argument instanceof SignExtendNode) {
+      return String.format("((uint64_t) SignExtend64(%s, %d) & %s)",
+          parameterVariable(parameter), width(parameter), hex(mask(field.size())));
+    }
+    return parameterVariable(parameter);
+  }
+
+  @Nullable
+  private static Parameter parameter(ExpressionNode argument) {
+    if (argument instanceof ZeroExtendNode extend) {
+      return directParameter(extend.value());
+    } else if (argument instanceof SignExtendNode extend) {
+      return directParameter(extend.value());
+    }
+    return directParameter(argument);
+  }
+
+  @Nullable
+  private static Parameter directParameter(ExpressionNode argument) {
+    return argument instanceof FuncParamNode param ? param.parameter() : null;
+  }
+
+  private static int width(Parameter parameter) {
+    return parameter.type().asDataType().bitWidth();
+  }
+
+  private static String fieldVariable(Format.Field field) {
+    return "field_" + field.simpleName();
+  }
+
+  private static String parameterVariable(Parameter parameter) {
+    return "param_" + parameter.simpleName();
+  }
+
+  @FormatMethod
+  private ViamError error(String format, Object... args) {
+    return new ViamError(format.formatted(args)).addContext(compression.pseudo());
+  }
+
+  private static long mask(int width) {
+    return width >= 64 ? -1L : (1L << width) - 1;
+  }
+
+  private static String hex(long value) {
+    return "0x" + Long.toHexString(value) + "ULL";
+  }
+}
@@ -0,0 +1,149 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.lcb.passes.compression;
+
+import static vadl.viam.ViamError.ensurePresent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.cppCodeGen.model.GcbCppAccessFunction;
+import vadl.cppCodeGen.model.GcbCppEncodeFunction;
+import vadl.error.Diagnostic;
+import vadl.lcb.passes.llvmLowering.CreateFunctionsFromImmediatesPass;
+import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
+import vadl.lcb.passes.llvmLowering.domain.LlvmLoweringRecord;
+import vadl.lcb.passes.llvmLowering.tablegen.model.ReferencesFormatField;
+import vadl.lcb.passes.llvmLowering.tablegen.model.ReferencesImmediateOperand;
+import vadl.lcb.passes.llvmLowering.tablegen.model.tableGenOperand.TableGenInstructionRegisterFileOperand;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Instruction;
+import vadl.viam.PseudoInstruction;
+import vadl.viam.RegisterTensor;
+import vadl.viam.Specification;
+import vadl.viam.annotations.PseudoInstructionCompressAnno;
+import vadl.viam.graph.control.InstrCallNode;
+
+/**
+ * This pass collects the pseudo instructions which have a {@code [ compress : <instruction> ]}
+ * annotation. The equivalence of the pseudo instruction and the annotated instruction is
+ * already checked by the
+ * {@link vadl.viam.passes.InstructionCompressionVerificationPass}. Here, the operands of both
+ * instructions are mapped to their MC operands, so that the assembly printer and parser can
+ * replace the called instruction by the shorter instruction.
+ */
+public class GenerateInstructionCompressionsPass extends Pass {
+  public GenerateInstructionCompressionsPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return new PassName("GenerateInstructionCompressionsPass");
+  }
+
+  @Nullable
+  @Override
+  public List<InstructionCompression> execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var machineRecords = ((LlvmLoweringPass.LlvmLoweringPassResult) passResults.lastResultOf(
+        LlvmLoweringPass.class)).machineInstructionRecords();
+    var functions = (CreateFunctionsFromImmediatesPass.Output) passResults.lastResultOf(
+        CreateFunctionsFromImmediatesPass.class);
+
+    var compressions = new ArrayList<InstructionCompression>();
+    var pseudoInstructions = viam.isa().map(isa -> isa.ownPseudoInstructions()).orElse(List.of());
+    for (var pseudo : pseudoInstructions) {
+      var annotation = pseudo.annotation(PseudoInstructionCompressAnno.class);
+      if (annotation == null) {
+        continue;
+      }
+
+      var call = ensurePresent(pseudo.behavior().getNodes(InstrCallNode.class).findFirst(),
+          "Compressed pseudo instruction must call an instruction");
+      var instruction = call.target();
+      var compressed = annotation.compressed();
+      var record = machineRecords.get(instruction);
+      var compressedRecord = machineRecords.get(compressed);
+      if (record == null || compressedRecord == null) {
+        configuration().diagnostics().add(Diagnostic.warning(
+            "Instruction was not lowered. Therefore, it cannot be compressed",
+            pseudo.location()).build());
+        continue;
+      }
+
+      compressions.add(new InstructionCompression(pseudo, instruction, compressed,
+          operands(pseudo, instruction, record, functions),
+          operands(pseudo, compressed, compressedRecord, functions)));
+    }
+
+    return compressions;
+  }
+
+  private static List<InstructionCompression.Operand> operands(
+      PseudoInstruction pseudo,
+      Instruction instruction,
+      LlvmLoweringRecord.Machine record,
+      CreateFunctionsFromImmediatesPass.Output functions) {
+    var operands = new ArrayList<InstructionCompression.Operand>();
+    var mcOperands = record.info().outputInputOperands();
+    for (int index = 0; index < mcOperands.size(); index++) {
+      var operand = mcOperands.get(index);
+      if (!(operand instanceof ReferencesFormatField referencesField)) {
+        throw Diagnostic.error("Compressed instructions must only have field operands",
+            pseudo.location()).build();
+      }
+
+      var field = referencesField.formatField();
+      RegisterTensor registerFile = null;
+      GcbCppEncodeFunction encodeFunction = null;
+      GcbCppAccessFunction decodeFunction = null;
+      if (operand instanceof TableGenInstructionRegisterFileOperand registerFileOperand) {
+        registerFile = registerFileOperand.registerFile();
+      } else if (operand instanceof ReferencesImmediateOperand immediateOperand) {
+        var fieldAccess = immediateOperand.immediateOperand().fieldAccessRef();
+        encodeFunction = functions.encodings().getOrDefault(instruction, List.of()).stream()
+            .filter(f -> f.field().equals(field))
+            .findFirst()
+            .orElse(null);
+        var immediate = functions.decodings().keySet().stream()
+            .filter(r -> r.instructionRef().equals(instruction)
+                && r.fieldAccessRef().equals(fieldAccess))
+            .findFirst();
+        decodeFunction = immediate.map(i -> functions.decodings().get(i)).orElse(null);
+        // The compression works on the value of the field.
+        pseudo.ensure(encodeFunction != null
+                && decodeFunction != null
+                && encodeFunction.header().parameters().length == 1
+                && decodeFunction.header().parameters().length == 1,
+            "The immediate of %s must be encoded in a single field", instruction.simpleName());
+      } else {
+        throw Diagnostic.error("Compressed instructions must only have register file "
+            + "or immediate operands", pseudo.location()).build();
+      }
+
+      operands.add(new InstructionCompression.Operand(index, field, registerFile,
+          encodeFunction, decodeFunction));
+    }
+    return operands;
+  }
+}
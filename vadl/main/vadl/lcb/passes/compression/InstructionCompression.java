@@ -0,0 +1,73 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.lcb.passes.compression;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import vadl.cppCodeGen.model.GcbCppAccessFunction;
+import vadl.cppCodeGen.model.GcbCppEncodeFunction;
+import vadl.viam.Format;
+import vadl.viam.Instruction;
+import vadl.viam.PseudoInstruction;
+import vadl.viam.RegisterTensor;
+import vadl.viam.graph.control.InstrCallNode;
+
+/**
+ * An {@code instruction} which the MC layer replaces by the shorter {@code compressed}
+ * instruction when its operands match the only instruction call of the {@code pseudo}
+ * instruction.
+ *
+ * @param pseudo             is annotated with {@code [ compress : <compressed> ]}.
+ * @param instruction        is the instruction which is called by {@code pseudo}.
+ * @param compressed         is the shorter instruction.
+ * @param operands           are the MC operands of {@code instruction}.
+ * @param compressedOperands are the MC operands of {@code compressed}.
+ */
+public record InstructionCompression(PseudoInstruction pseudo,
+                                     Instruction instruction,
+                                     Instruction compressed,
+                                     List<Operand> operands,
+                                     List<Operand> compressedOperands) {
+
+  /**
+   * Get the only instruction call of the {@code pseudo} instruction.
+   */
+  public InstrCallNode call() {
+    return pseudo.behavior().getNodes(InstrCallNode.class).findFirst().orElseThrow();
+  }
+
+  /**
+   * An operand of an MC instruction.
+   *
+   * @param index          of the operand in the MC instruction.
+   * @param field          is the format field which is set by the operand.
+   * @param registerFile   is the register file when the operand is a register.
+   * @param encodeFunction encodes an immediate operand into the {@code field}.
+   * @param decodeFunction decodes the {@code field} into an immediate operand.
+   */
+  public record Operand(int index,
+                        Format.Field field,
+                        @Nullable RegisterTensor registerFile,
+                        @Nullable GcbCppEncodeFunction encodeFunction,
+                        @Nullable GcbCppAccessFunction decodeFunction) {
+
+    public boolean isRegister() {
+      return registerFile != null;
+    }
+  }
+}
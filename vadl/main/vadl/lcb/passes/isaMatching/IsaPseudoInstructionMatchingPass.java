@@ -24,6 +24,7 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import vadl.configuration.LcbConfiguration;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
@@ -38,6 +39,8 @@ import vadl.viam.Instruction;
 import vadl.viam.InstructionSetArchitecture;
 import vadl.viam.PseudoInstruction;
 import vadl.viam.Specification;
+import vadl.viam.annotations.PseudoInstructionCompressAnno;
+import vadl.viam.annotations.PseudoInstructionRelaxAnno;
 import vadl.viam.graph.control.InstrCallNode;
 import vadl.viam.passes.functionInliner.FunctionInlinerPass;
 import vadl.viam.passes.functionInliner.UninlinedGraph;
@@ -89,7 +92,19 @@ public class IsaPseudoInstructionMatchingPass extends Pass implements IsaMatchin
       return new Result(Collections.emptyMap(), Collections.emptyMap());
     }
 
+    // The relaxed form of a pseudo instruction is only used by the linker.
+    var relaxed = isa.ownPseudoInstructions().stream()
+        .map(pseudoInstruction -> pseudoInstruction.annotation(PseudoInstructionRelaxAnno.class))
+        .filter(Objects::nonNull)
+        .map(PseudoInstructionRelaxAnno::relaxed)
+        .collect(Collectors.toSet());
+
     isa.ownPseudoInstructions().forEach(pseudoInstruction -> {
+      // The compressed form of an instruction is only used to select shorter encodings.
+      if (relaxed.contains(pseudoInstruction)
+          || pseudoInstruction.annotation(PseudoInstructionCompressAnno.class) != null) {
+        return;
+      }
       if (findUnconditionalJump(supportedMachineInstructions.reverse(), pseudoInstruction)) {
         pseudoInstruction.attachExtension(new PseudoInstructionCtx(PseudoInstructionLabel.J));
       } else if (findLi(supportedMachineInstructions.reverse(), pseudoInstruction)) {
@@ -306,27 +306,35 @@ public class LlvmLoweringPass extends Pass {
     var architectureType =
         ensurePresent(ValueType.from(abi.stackPointer().registerFile().resultType()),
             "Architecture type is required.");
+    var diagnostics = configuration().diagnostics();
     var machineStrategies =
-        List.of(new LlvmInstructionLoweringAddImmediateStrategyImpl(architectureType),
-            new LlvmInstructionLoweringLessThanSignedConditionalsStrategyImpl(architectureType),
-            new LlvmInstructionLoweringLessThanUnsignedConditionalsStrategyImpl(architectureType),
+        List.of(new LlvmInstructionLoweringAddImmediateStrategyImpl(architectureType, diagnostics),
+            new LlvmInstructionLoweringLessThanSignedConditionalsStrategyImpl(architectureType,
+                diagnostics),
+            new LlvmInstructionLoweringLessThanUnsignedConditionalsStrategyImpl(architectureType,
+                diagnostics),
             new LlvmInstructionLoweringLessThanImmediateUnsignedConditionalsStrategyImpl(
-                architectureType),
-            new LlvmInstructionLoweringUnconditionalJumpsStrategyImpl(architectureType),
-            new LlvmInstructionLoweringConditionalBranchesStrategyImpl(architectureType),
-            new LlvmInstructionLoweringIndirectJumpStrategyImpl(architectureType),
-            new LlvmInstructionLoweringMemoryStoreStrategyImpl(architectureType),
-            new LlvmInstructionLoweringMemoryLoadStrategyImpl(architectureType),
-            new LlvmInstructionLoweringXoriAndOriStrategyImpl(architectureType),
-            new LlvmInstructionLoweringLoadUpperImmediateStrategyImpl(architectureType),
-            new LlvmInstructionLoweringDefaultStrategyImpl(architectureType));
+                architectureType, diagnostics),
+            new LlvmInstructionLoweringUnconditionalJumpsStrategyImpl(architectureType,
+                diagnostics),
+            new LlvmInstructionLoweringConditionalBranchesStrategyImpl(architectureType,
+                diagnostics),
+            new LlvmInstructionLoweringIndirectJumpStrategyImpl(architectureType, diagnostics),
+            new LlvmInstructionLoweringMemoryStoreStrategyImpl(architectureType, diagnostics),
+            new LlvmInstructionLoweringMemoryLoadStrategyImpl(architectureType, diagnostics),
+            new LlvmInstructionLoweringXoriAndOriStrategyImpl(architectureType, diagnostics),
+            new LlvmInstructionLoweringLoadUpperImmediateStrategyImpl(architectureType,
+                diagnostics),
+            new LlvmInstructionLoweringDefaultStrategyImpl(architectureType, diagnostics));
     var pseudoStrategies =
-        List.of(new LlvmPseudoInstructionLoweringUnconditionalJumpsStrategyImpl(machineStrategies),
+        List.of(new LlvmPseudoInstructionLoweringUnconditionalJumpsStrategyImpl(machineStrategies,
+                diagnostics),
             new LlvmPseudoInstructionLoweringLoadGlobalAddressStrategyImpl(machineStrategies,
-                viam.abi().orElseThrow()),
-            new LlvmPseudoInstructionLoweringDefaultStrategyImpl(machineStrategies));
+                viam.abi().orElseThrow(), diagnostics),
+            new LlvmPseudoInstructionLoweringDefaultStrategyImpl(machineStrategies, diagnostics));
     var compilerStrategies =
-        List.of(new LlvmCompilerInstructionLoweringDefaultStrategyImpl(machineStrategies));
+        List.of(new LlvmCompilerInstructionLoweringDefaultStrategyImpl(machineStrategies,
+            diagnostics));
 
     var machineRecords = machineInstructions(viam, abi, machineStrategies,
         labelingResult);
@@ -344,39 +352,50 @@ public class LlvmLoweringPass extends Pass {
       List<LlvmInstructionLoweringStrategy> strategies,
       IsaMachineInstructionMatchingPass.Result labelledMachineInstructions) {
     var tableGenRecords = new IdentityHashMap<Instruction, LlvmLoweringRecord.Machine>();
+    var instructions =
+        viam.isa().map(isa -> isa.ownInstructions()).orElseGet(Collections::emptyList);
+
+    // The instructions are lowered in parallel because every strategy only works on a copy
+    // of the behavior. The records are collected in the order of the instructions.
+    var records = instructions.parallelStream()
+        .map(instruction -> machineInstruction(abi, strategies, labelledMachineInstructions,
+            instruction))
+        .toList();
+
+    for (int i = 0; i < instructions.size(); i++) {
+      var instruction = instructions.get(i);
+      records.get(i).ifPresent(record -> {
+        tableGenRecords.put(instruction, record);
+
+        // Also attach it as extension to the instruction.
+        instruction.attachExtension(new TableGenInstructionCtx(record));
+      });
+    }
 
-    viam.isa().map(isa -> isa.ownInstructions().stream()).orElseGet(Stream::empty)
-        .forEach(instruction -> {
-          var instructionLabel = labelledMachineInstructions.reverse().get(instruction);
+    return tableGenRecords;
+  }
 
-          for (var strategy : strategies) {
-            if (!strategy.isApplicable(instructionLabel)) {
-              // Try next strategy
-              continue;
-            }
+  private Optional<LlvmLoweringRecord.Machine> machineInstruction(
+      Abi abi,
+      List<LlvmInstructionLoweringStrategy> strategies,
+      IsaMachineInstructionMatchingPass.Result labelledMachineInstructions,
+      Instruction instruction) {
+    var instructionLabel = labelledMachineInstructions.reverse().get(instruction);
 
-            var record =
-                strategy.lowerInstruction(labelledMachineInstructions, instruction,
-                    instruction.behavior(),
-                    abi);
-
-            // Okay, we have to save record.
-            record.ifPresent(llvmLoweringIntermediateResult -> {
-              tableGenRecords.put(instruction,
-                  llvmLoweringIntermediateResult);
-
-              // Also attach it as extension to the instruction.
-              instruction.attachExtension(
-                  new TableGenInstructionCtx(llvmLoweringIntermediateResult));
-            });
-
-            // Allow only one strategy to apply.
-            // Otherwise, the results from a previous strategy are overwritten.
-            break;
-          }
-        });
+    for (var strategy : strategies) {
+      if (!strategy.isApplicable(instructionLabel)) {
+        // Try next strategy
+        continue;
+      }
 
-    return tableGenRecords;
+      // Allow only one strategy to apply.
+      // Otherwise, the results from a previous strategy are overwritten.
+      return strategy.lowerInstruction(labelledMachineInstructions, instruction,
+          instruction.behavior(),
+          abi);
+    }
+
+    return Optional.empty();
   }
 
   private IdentityHashMap<PseudoInstruction, LlvmLoweringRecord.Pseudo> pseudoInstructions(
@@ -389,9 +408,12 @@ public class LlvmLoweringPass extends Pass {
       IsaPseudoInstructionMatchingPass.Result labelledPseudoInstructions
   ) {
     var tableGenRecords = new IdentityHashMap<PseudoInstruction, LlvmLoweringRecord.Pseudo>();
+    var pseudos =
+        viam.isa().map(isa -> isa.ownPseudoInstructions()).orElseGet(Collections::emptyList);
 
-    viam.isa().map(isa -> isa.ownPseudoInstructions().stream()).orElseGet(Stream::empty)
-        .forEach(pseudo -> {
+    // Like the machine instructions, the pseudo instructions are lowered in parallel.
+    var records = pseudos.parallelStream()
+        .map(pseudo -> {
           for (var strategy : pseudoStrategies) {
             var label = labelledPseudoInstructions.reverse().get(pseudo);
             if (!strategy.isApplicable(label, pseudo)) {
@@ -399,18 +421,20 @@ public class LlvmLoweringPass extends Pass {
             }
 
             var instAliases = instAliases(machineRecords, fieldUsages, pseudo);
-            var record =
-                strategy.lowerInstruction(abi,
-                    instAliases,
-                    pseudo,
-                    labelledMachineInstructions);
+            return strategy.lowerInstruction(abi,
+                instAliases,
+                pseudo,
+                labelledMachineInstructions);
+          }
 
-            record.ifPresent(llvmLoweringIntermediateResult -> tableGenRecords.put(pseudo,
-                llvmLoweringIntermediateResult));
+          return Optional.<LlvmLoweringRecord.Pseudo>empty();
+        })
+        .toList();
 
-            break;
-          }
-        });
+    for (int i = 0; i < pseudos.size(); i++) {
+      var pseudo = pseudos.get(i);
+      records.get(i).ifPresent(record -> tableGenRecords.put(pseudo, record));
+    }
 
     return tableGenRecords;
   }
@@ -0,0 +1,247 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.llvmLowering.priority;
+
+import static vadl.viam.ViamError.ensureNonNull;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.lcb.passes.llvmLowering.GenerateTableGenAbiSequenceInstructionRecordPass;
+import vadl.lcb.passes.llvmLowering.GenerateTableGenMachineInstructionRecordPass;
+import vadl.lcb.passes.llvmLowering.GenerateTableGenPseudoInstructionRecordPass;
+import vadl.lcb.passes.llvmLowering.LlvmNodeLowerable;
+import vadl.lcb.passes.llvmLowering.compensation.CompensationPatternPass;
+import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbMachineInstructionNode;
+import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbPseudoInstructionNode;
+import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmBasicBlockSD;
+import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmConstantSD;
+import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmFrameIndexSD;
+import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmReadRegFileNode;
+import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmTypeCastSD;
+import vadl.lcb.passes.llvmLowering.tablegen.lowering.TableGenInstructionPatternRenderer;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenInstruction;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenPattern;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenSelectionPattern;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenSelectionWithOutputPattern;
+import vadl.lcb.passes.scheduling.GenerateSchedulingModelPass;
+import vadl.lcb.passes.scheduling.SchedulingModel;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Specification;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.control.InstrCallNode;
+
+/**
+ * LLVM's instruction selection prefers the pattern with the highest complexity, which is
+ * derived from the size of the pattern. When several patterns match the same DAG node
+ * (e.g. a fused compare-and-branch and a separate compare followed by a branch), the size alone
+ * does not reflect which one produces the better code. This pass computes an
+ * {@code AddedComplexity} for every pattern from a cost model: a pattern covers a number of
+ * DAG nodes and emits a number of instructions with a latency from the {@link SchedulingModel}.
+ * Every covered DAG node which does not require an own instruction increases the complexity,
+ * while latency above a single cycle per emitted instruction decreases it.
+ * Patterns which emit at least as many instructions as they cover keep the default complexity.
+ */
+public class GeneratePatternPrioritiesPass extends Pass {
+  // The complexity which is added for every instruction that a pattern saves.
+  // TableGen adds a few points per node to the complexity of a pattern. Therefore, the
+  // value must be larger, so a saved instruction outweighs a larger pattern.
+  private static final int SAVED_INSTRUCTION_COMPLEXITY = 10;
+
+  public GeneratePatternPrioritiesPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return new PassName("GeneratePatternPrioritiesPass");
+  }
+
+  @Nullable
+  @Override
+  @SuppressWarnings("unchecked")
+  public PatternPriorities execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var records = new ArrayList<TableGenInstruction>();
+    records.addAll((List<? extends TableGenInstruction>) passResults.lastResultOf(
+        GenerateTableGenMachineInstructionRecordPass.class));
+    records.addAll((List<? extends TableGenInstruction>) passResults.lastResultOf(
+        GenerateTableGenPseudoInstructionRecordPass.class));
+    records.addAll((List<? extends TableGenInstruction>) passResults.lastResultOf(
+        GenerateTableGenAbiSequenceInstructionRecordPass.class));
+    var compensationPatterns =
+        (List<TableGenSelectionWithOutputPattern>) passResults.lastResultOf(
+            CompensationPatternPass.class);
+
+    var schedulingModel = ensureNonNull(
+        (SchedulingModel) passResults.lastResultOf(GenerateSchedulingModelPass.class),
+        "scheduling model must exist");
+
+    // Patterns are compared by identity because equal patterns may be defined twice.
+    var patternComplexities = new IdentityHashMap<TableGenPattern, Integer>();
+    var recordComplexities = new HashMap<String, Integer>();
+    var candidates = new TreeMap<String, List<PatternPriorities.Candidate>>();
+
+    for (var record : records) {
+      for (var pattern : record.getAnonymousPatterns()) {
+        if (!pattern.isPatternLowerable()) {
+          continue;
+        }
+
+        PatternPriorities.Candidate candidate;
+        if (pattern instanceof TableGenSelectionWithOutputPattern withOutput) {
+          candidate = candidate(record.getName(), withOutput, schedulingModel);
+        } else if (pattern instanceof TableGenSelectionPattern) {
+          // The record itself is the output of an embedded pattern.
+          var latency = schedulingModel.latencyOf(record.getName()).orElse(1);
+          candidate =
+              candidate(record.getName(), pattern.selector(), record.getName(), 1, latency);
+          recordComplexities.merge(record.getName(), candidate.complexity(), Math::max);
+        } else {
+          continue;
+        }
+
+        patternComplexities.put(pattern, candidate.complexity());
+        candidates.computeIfAbsent(dagNode(pattern.selector()), k -> new ArrayList<>())
+            .add(candidate);
+      }
+    }
+
+    for (var pattern : compensationPatterns) {
+      if (!pattern.isPatternLowerable()) {
+        continue;
+      }
+      var candidate = candidate("compensation", pattern, schedulingModel);
+      patternComplexities.put(pattern, candidate.complexity());
+      candidates.computeIfAbsent(dagNode(pattern.selector()), k -> new ArrayList<>())
+          .add(candidate);
+    }
+
+    candidates.values().forEach(list -> list.sort(
+        Comparator.comparingInt(PatternPriorities.Candidate::complexity).reversed()
+            .thenComparing(PatternPriorities.Candidate::record)));
+
+    return new PatternPriorities(patternComplexities, recordComplexities, candidates);
+  }
+
+  private static PatternPriorities.Candidate candidate(String record,
+                                                       TableGenSelectionWithOutputPattern pattern,
+                                                       SchedulingModel schedulingModel) {
+    var instructions = 0;
+    var latency = 0;
+    for (var node : reachableNodes(pattern.machine())) {
+      if (node instanceof LcbMachineInstructionNode machineNode) {
+        instructions++;
+        latency += latencyOf(machineNode.outputInstructionName().value(), schedulingModel);
+      } else if (node instanceof LcbPseudoInstructionNode pseudoNode) {
+        // A pseudo instruction emits all the instructions which it calls.
+        var calls = pseudoNode.instruction().behavior().getNodes(InstrCallNode.class).toList();
+        instructions += Math.max(1, calls.size());
+        latency += Math.max(1, calls.stream()
+            .mapToInt(call -> latencyOf(call.target().simpleName(), schedulingModel))
+            .sum());
+      }
+    }
+    return candidate(record, pattern.selector(),
+        TableGenInstructionPatternRenderer.lowerMachine(pattern.machine()), instructions,
+        latency);
+  }
+
+  private static PatternPriorities.Candidate candidate(String record,
+                                                       Graph selector,
+                                                       String output,
+                                                       int instructions,
+                                                       int latency) {
+    var covered = (int) reachableNodes(selector).stream()
+        .filter(GeneratePatternPrioritiesPass::isOperation)
+        .count();
+    var saved = covered - instructions;
+    var complexity = saved > 0
+        ? Math.max(0, saved * SAVED_INSTRUCTION_COMPLEXITY - (latency - instructions))
+        : 0;
+    return new PatternPriorities.Candidate(record,
+        TableGenInstructionPatternRenderer.lowerSelector(selector), output, covered,
+        instructions, latency, complexity);
+  }
+
+  private static int latencyOf(String instruction, SchedulingModel schedulingModel) {
+    return schedulingModel.latencyOf(instruction).orElse(1);
+  }
+
+  /**
+   * Returns {@code true} if the node is an operation in LLVM's selection DAG.
+   * Registers, constants, basic blocks and frame indexes are only the operands of an operation
+   * and type casts only annotate the type of an operation.
+   */
+  private static boolean isOperation(Node node) {
+    return node instanceof LlvmNodeLowerable
+        && !(node instanceof LlvmReadRegFileNode
+        || node instanceof LlvmConstantSD
+        || node instanceof LlvmBasicBlockSD
+        || node instanceof LlvmFrameIndexSD
+        || node instanceof LlvmTypeCastSD);
+  }
+
+  /**
+   * Returns the nodes which are reachable from the dataflow roots of the graph.
+   * The lowering strategies nest nodes into patterns without adding them to the graph.
+   * Therefore, the nodes of the graph itself are not sufficient.
+   */
+  private static List<Node> reachableNodes(Graph graph) {
+    var visited = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+    var worklist = new ArrayDeque<Node>(graph.getDataflowRoots());
+    var result = new ArrayList<Node>();
+    while (!worklist.isEmpty()) {
+      var node = worklist.pop();
+      if (visited.add(node)) {
+        result.add(node);
+        node.inputs().forEach(worklist::push);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the name of the DAG node which is the root of the selector.
+   * Type casts are skipped because they only annotate the type of the root.
+   */
+  private static String dagNode(Graph selector) {
+    return selector.getDataflowRoots().stream()
+        .map(root -> {
+          Node node = root;
+          while (node instanceof LlvmTypeCastSD cast) {
+            node = cast.value();
+          }
+          return node instanceof LlvmNodeLowerable lowerable
+              ? lowerable.lower() : node.getClass().getSimpleName();
+        })
+        .findFirst()
+        .orElse("unknown");
+  }
+}
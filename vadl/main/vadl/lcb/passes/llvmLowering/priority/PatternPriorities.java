@@ -0,0 +1,92 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.llvmLowering.priority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenInstruction;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenPattern;
+
+/**
+ * The {@code AddedComplexity} of the TableGen patterns and records which is computed by the
+ * {@link GeneratePatternPrioritiesPass}.
+ *
+ * @param patternComplexities the complexity of every lowerable pattern.
+ * @param recordComplexities  the complexity of the patterns embedded in a machine instruction
+ *                            record, indexed by the name of the record.
+ * @param candidates          all patterns grouped by the DAG node which they match.
+ */
+public record PatternPriorities(Map<TableGenPattern, Integer> patternComplexities,
+                                Map<String, Integer> recordComplexities,
+                                Map<String, List<Candidate>> candidates) {
+
+  /**
+   * Returns the {@code AddedComplexity} of the given pattern.
+   */
+  public int complexityOf(TableGenPattern pattern) {
+    return patternComplexities.getOrDefault(pattern, 0);
+  }
+
+  /**
+   * Returns the {@code AddedComplexity} of the given record. It only applies to the patterns
+   * which are embedded in the record.
+   */
+  public int complexityOf(TableGenInstruction record) {
+    return recordComplexities.getOrDefault(record.getName(), 0);
+  }
+
+  /**
+   * Returns the DAG nodes which are matched by more than one pattern with their candidates.
+   */
+  public Map<String, List<Candidate>> competingPatterns() {
+    return candidates.entrySet().stream()
+        .filter(entry -> entry.getValue().size() > 1)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
+            (a, b) -> a, TreeMap::new));
+  }
+
+  /**
+   * A pattern which competes with other patterns for the same DAG node during
+   * instruction selection.
+   *
+   * @param record       the name of the record which defines the pattern.
+   * @param selector     the rendered selector of the pattern.
+   * @param output       the rendered output of the pattern.
+   * @param covered      the number of DAG nodes which are covered by the pattern.
+   * @param instructions the number of emitted instructions.
+   * @param latency      the summed latency of the emitted instructions.
+   * @param complexity   the {@code AddedComplexity} of the pattern.
+   */
+  public record Candidate(String record,
+                          String selector,
+                          String output,
+                          int covered,
+                          int instructions,
+                          int latency,
+                          int complexity) {
+
+    /**
+     * Renders the candidate into a single line of the report.
+     */
+    public String render() {
+      return String.format("%4d  %s -> %s (covers %d, emits %d, latency %d)", complexity,
+          selector, output, covered, instructions, latency);
+    }
+  }
+}
@@ -23,8 +23,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.pseudo.PseudoFuncParamNode;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
@@ -49,10 +49,13 @@ import vadl.viam.graph.dependency.WriteRegTensorNode;
  */
 public abstract class LlvmCompilerInstructionLowerStrategy {
   protected final List<LlvmInstructionLoweringStrategy> strategies;
+  protected final DiagnosticCollector diagnostics;
 
   protected LlvmCompilerInstructionLowerStrategy(
-      List<LlvmInstructionLoweringStrategy> strategies) {
+      List<LlvmInstructionLoweringStrategy> strategies,
+      DiagnosticCollector diagnostics) {
     this.strategies = strategies;
+    this.diagnostics = diagnostics;
   }
 
   /**
@@ -74,7 +77,7 @@ public abstract class LlvmCompilerInstructionLowerStrategy {
     var isBranch = false;
 
     if (compilerInstruction.behavior().getNodes(InstrCallNode.class).toList().size() > 1) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning(
               "Cannot generate instruction selectors for pseudo instruction with multiple "
                   + "machine instructions",
@@ -234,7 +237,7 @@ public abstract class LlvmCompilerInstructionLowerStrategy {
                                     == constantNode.constant().asVal().intValue()).findFirst();
 
                         if (constraintValue.isEmpty()) {
-                          DeferredDiagnosticStore.add(Diagnostic.warning(
+                          diagnostics.add(Diagnostic.warning(
                               "There is no constraint value for this register. "
                                   +
                                   "Therefore, we cannot generate instruction selectors for it.",
@@ -21,16 +21,18 @@ import static vadl.viam.ViamError.ensurePresent;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.gcb.passes.pseudo.PseudoFuncParamNode;
@@ -127,8 +129,24 @@ import vadl.viam.passes.canonicalization.Canonicalizer;
 public abstract class LlvmInstructionLoweringStrategy {
   protected final ValueType architectureType;
 
-  public LlvmInstructionLoweringStrategy(ValueType architectureType) {
+  /**
+   * The collector of the compilation to which the instructions that cannot be lowered
+   * are reported.
+   */
+  protected final DiagnosticCollector diagnostics;
+
+  /**
+   * The optimised behaviors by the structure of the unoptimised behavior. Instruction families
+   * which only differ in their encoding have structurally identical behaviors, so they are only
+   * optimised once. The instructions are lowered in parallel, so the cache must be thread-safe.
+   */
+  private final ConcurrentHashMap<List<Object>, DerivedGraphOptimisationResult>
+      optimisationCache = new ConcurrentHashMap<>();
+
+  public LlvmInstructionLoweringStrategy(ValueType architectureType,
+                                         DiagnosticCollector diagnostics) {
     this.architectureType = architectureType;
+    this.diagnostics = diagnostics;
   }
 
   /**
@@ -179,14 +197,14 @@ public abstract class LlvmInstructionLoweringStrategy {
     var mulhs = new LcbMulhsNodeReplacement(hooks);
     var mulhu = new LcbMulhuNodeReplacement(hooks);
     var v2 = new LcbBuiltInCallNodeReplacement(hooks);
-    var v3 = new LcbConstantNodeReplacement(hooks);
+    var v3 = new LcbConstantNodeReplacement(hooks, diagnostics);
     var v5 = new LcbFuncCallReplacement();
     var v6 = new LcbIfNodeReplacement();
     var v7 = new LcbInstrCallNodeReplacement(hooks);
     var v8 = new LcbInstrEndNodeReplacement(hooks);
     var v9 = new LcbLetNodeReplacement(hooks);
     var v10 = new LcbReadMemNodeReplacement(hooks);
-    var v11 = new LcbReadRegFileNodeReplacement(hooks);
+    var v11 = new LcbReadRegFileNodeReplacement(hooks, diagnostics);
     var v12 = new LcbReadRegNodeReplacement(hooks);
     var v13 = new LcbReturnNodeReplacement(hooks);
     var v14 = new LcbSelectNodeReplacement(hooks);
@@ -304,7 +322,7 @@ public abstract class LlvmInstructionLoweringStrategy {
     var copy = unmodifiedBehavior.copy();
 
     if (!checkIfNoControlFlow(copy) && !checkIfNotAllowedDataflowNodes(copy)) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning("Instruction is not lowerable and will be skipped",
               instruction.location()).build());
       return Optional.empty();
@@ -335,7 +353,7 @@ public abstract class LlvmInstructionLoweringStrategy {
 
       // Iterate over all the constructed behaviors.
       for (var pair : additionalBehaviors) {
-        var optimisationResult = optimise(pair.left());
+        var optimisationResult = optimiseCached(instruction, pair.left());
         var behavior = optimisationResult.optimised;
         var inputOperands = pair.right();
 
@@ -383,6 +401,60 @@ public abstract class LlvmInstructionLoweringStrategy {
   ) {
   }
 
+  /**
+   * Optimises the given graph like {@link #optimise(Graph)}, but reuses the result of a
+   * structurally identical graph which was already optimised. The returned optimised graph is
+   * always a copy which is owned by the caller.
+   */
+  private DerivedGraphOptimisationResult optimiseCached(Instruction instruction, Graph behavior) {
+    var key = structuralKey(behavior);
+    var cached = optimisationCache.get(key);
+    if (cached == null) {
+      var result = optimise(behavior);
+      optimisationCache.putIfAbsent(key, new DerivedGraphOptimisationResult(
+          result.optimised().copy(), result.before(), result.canonicalized(),
+          result.algebraicSimplified()));
+      return result;
+    }
+
+    var optimised = cached.optimised().copy();
+    optimised.setParentDefinition(instruction);
+    return new DerivedGraphOptimisationResult(optimised, cached.before(), cached.canonicalized(),
+        cached.algebraicSimplified());
+  }
+
+  /**
+   * Computes a key which is equal for two graphs when they have the same nodes with the same
+   * data and edges. Nodes which reference the lowered instruction are only equal for the same
+   * instruction.
+   */
+  private static List<Object> structuralKey(Graph graph) {
+    var nodes = graph.getNodes().toList();
+    var indices = new IdentityHashMap<Node, Integer>();
+    for (var node : nodes) {
+      indices.put(node, indices.size());
+    }
+
+    var key = new ArrayList<Object>(nodes.size());
+    for (var node : nodes) {
+      var nodeKey = new ArrayList<Object>();
+      nodeKey.add(node.getClass());
+      nodeKey.add(node.dataList());
+      if (node instanceof ExpressionNode expressionNode) {
+        nodeKey.add(expressionNode.type());
+      }
+      if (node instanceof LlvmFieldAccessRefNode fieldAccessRefNode) {
+        nodeKey.add(fieldAccessRefNode.immediateOperand().instructionRef());
+      } else if (node instanceof LlvmBasicBlockSD basicBlock) {
+        nodeKey.add(basicBlock.immediateOperand().instructionRef());
+      }
+      nodeKey.add(node.inputs().map(indices::get).toList());
+      nodeKey.add(node.successors().map(indices::get).toList());
+      key.add(nodeKey);
+    }
+    return key;
+  }
+
   /**
    * Optimises the given graph by running {@link Canonicalizer}, {@link AlgebraicSimplifier} and
    * {@link BehaviorRewriteSimplifier}. This method modifies the given parameter and returns it.
@@ -429,7 +501,7 @@ public abstract class LlvmInstructionLoweringStrategy {
       Instruction instruction,
       Graph graph) {
     if (!graph.getNodes(LlvmUnlowerableSD.class).toList().isEmpty()) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning("Instruction is not lowerable and will be skipped",
               instruction.location()).build());
       return true;
@@ -439,7 +511,7 @@ public abstract class LlvmInstructionLoweringStrategy {
     // has no concept of register in the IR.
     if (graph.getNodes(ReadRegTensorNode.class)
         .anyMatch(n -> n.regTensor().isSingleRegister())) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning(
               "Instruction is not lowerable because it tries to match fixed registers.",
               instruction.location()).build());
@@ -452,7 +524,7 @@ public abstract class LlvmInstructionLoweringStrategy {
         .filter(n -> n.regTensor().isRegisterFile())
         .flatMap(Node::usages)
         .anyMatch(x -> x instanceof SignExtendNode)) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning(
               "Instruction is not lowerable because it tries to sign extend "
                   + "before writing a register file.",
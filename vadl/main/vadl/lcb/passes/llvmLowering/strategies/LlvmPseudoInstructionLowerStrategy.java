@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nullable;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.PseudoInstructionLabel;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
@@ -39,8 +40,9 @@ public abstract class LlvmPseudoInstructionLowerStrategy
   /**
    * Constructor.
    */
-  protected LlvmPseudoInstructionLowerStrategy(List<LlvmInstructionLoweringStrategy> strategies) {
-    super(strategies);
+  protected LlvmPseudoInstructionLowerStrategy(List<LlvmInstructionLoweringStrategy> strategies,
+                                               DiagnosticCollector diagnostics) {
+    super(strategies, diagnostics);
   }
 
   /**
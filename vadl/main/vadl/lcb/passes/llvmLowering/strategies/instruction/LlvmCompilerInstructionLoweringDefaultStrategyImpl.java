@@ -17,6 +17,7 @@
 package vadl.lcb.passes.llvmLowering.strategies.instruction;
 
 import java.util.List;
+import vadl.error.DiagnosticCollector;
 import vadl.lcb.passes.llvmLowering.strategies.LlvmCompilerInstructionLowerStrategy;
 import vadl.lcb.passes.llvmLowering.strategies.LlvmInstructionLoweringStrategy;
 import vadl.viam.CompilerInstruction;
@@ -30,7 +31,7 @@ import vadl.viam.Instruction;
 public class LlvmCompilerInstructionLoweringDefaultStrategyImpl
     extends LlvmCompilerInstructionLowerStrategy {
   public LlvmCompilerInstructionLoweringDefaultStrategyImpl(
-      List<LlvmInstructionLoweringStrategy> strategies) {
-    super(strategies);
+      List<LlvmInstructionLoweringStrategy> strategies, DiagnosticCollector diagnostics) {
+    super(strategies, diagnostics);
   }
 }
@@ -21,6 +21,7 @@ import static vadl.gcb.passes.MachineInstructionLabel.ADDI_64;
 
 import java.util.List;
 import java.util.Set;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -45,8 +46,8 @@ public class LlvmInstructionLoweringAddImmediateStrategyImpl
   private final Set<MachineInstructionLabel> supported = Set.of(ADDI_32, ADDI_64);
 
   public LlvmInstructionLoweringAddImmediateStrategyImpl(
-      ValueType architectureType) {
-    super(architectureType);
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
@@ -36,6 +36,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Stream;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -71,8 +72,9 @@ import vadl.viam.graph.dependency.WriteResourceNode;
  */
 public class LlvmInstructionLoweringConditionalBranchesStrategyImpl
     extends LlvmInstructionLoweringStrategy {
-  public LlvmInstructionLoweringConditionalBranchesStrategyImpl(ValueType architectureType) {
-    super(architectureType);
+  public LlvmInstructionLoweringConditionalBranchesStrategyImpl(
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -40,8 +41,8 @@ import vadl.viam.graph.Node;
 public class LlvmInstructionLoweringDefaultStrategyImpl
     extends LlvmInstructionLoweringStrategy {
   public LlvmInstructionLoweringDefaultStrategyImpl(
-      ValueType architectureType) {
-    super(architectureType);
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
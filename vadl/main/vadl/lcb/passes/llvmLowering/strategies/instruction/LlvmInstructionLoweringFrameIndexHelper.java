@@ -19,6 +19,7 @@ package vadl.lcb.passes.llvmLowering.strategies.instruction;
 import java.util.ArrayList;
 import java.util.List;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.lcb.codegen.model.llvm.ValueType;
 import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmFrameIndexSD;
 import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmReadRegFileNode;
@@ -37,8 +38,8 @@ import vadl.viam.graph.Graph;
 public abstract class LlvmInstructionLoweringFrameIndexHelper
     extends LlvmInstructionLoweringStrategy {
   public LlvmInstructionLoweringFrameIndexHelper(
-      ValueType architectureType) {
-    super(architectureType);
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
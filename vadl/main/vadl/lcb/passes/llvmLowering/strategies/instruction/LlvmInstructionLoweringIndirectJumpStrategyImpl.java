@@ -26,6 +26,7 @@ import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nonnull;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -71,8 +72,8 @@ import vadl.viam.graph.dependency.SideEffectNode;
 public class LlvmInstructionLoweringIndirectJumpStrategyImpl
     extends LlvmInstructionLoweringStrategy {
   public LlvmInstructionLoweringIndirectJumpStrategyImpl(
-      ValueType architectureType) {
-    super(architectureType);
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
@@ -19,6 +19,7 @@ package vadl.lcb.passes.llvmLowering.strategies.instruction;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -41,8 +42,8 @@ import vadl.viam.graph.Node;
 public class LlvmInstructionLoweringLoadUpperImmediateStrategyImpl
     extends LlvmInstructionLoweringStrategy {
   public LlvmInstructionLoweringLoadUpperImmediateStrategyImpl(
-      ValueType architectureType) {
-    super(architectureType);
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Stream;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -60,8 +61,9 @@ import vadl.viam.graph.dependency.ReadRegTensorNode;
  */
 public class LlvmInstructionLoweringMemoryLoadStrategyImpl
     extends LlvmInstructionLoweringFrameIndexHelper {
-  public LlvmInstructionLoweringMemoryLoadStrategyImpl(ValueType architectureType) {
-    super(architectureType);
+  public LlvmInstructionLoweringMemoryLoadStrategyImpl(
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
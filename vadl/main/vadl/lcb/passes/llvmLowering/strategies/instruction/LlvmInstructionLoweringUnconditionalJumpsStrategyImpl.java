@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.MachineInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -44,8 +45,9 @@ import vadl.viam.graph.dependency.WriteResourceNode;
  */
 public class LlvmInstructionLoweringUnconditionalJumpsStrategyImpl
     extends LlvmInstructionLoweringStrategy {
-  public LlvmInstructionLoweringUnconditionalJumpsStrategyImpl(ValueType architectureType) {
-    super(architectureType);
+  public LlvmInstructionLoweringUnconditionalJumpsStrategyImpl(
+      ValueType architectureType, DiagnosticCollector diagnostics) {
+    super(architectureType, diagnostics);
   }
 
   @Override
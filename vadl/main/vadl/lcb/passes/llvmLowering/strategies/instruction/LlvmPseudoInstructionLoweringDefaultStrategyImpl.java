@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.PseudoInstructionLabel;
 import vadl.lcb.passes.llvmLowering.domain.LlvmLoweringRecord;
 import vadl.lcb.passes.llvmLowering.strategies.LlvmInstructionLoweringStrategy;
@@ -36,8 +37,8 @@ import vadl.viam.PseudoInstruction;
 public class LlvmPseudoInstructionLoweringDefaultStrategyImpl
     extends LlvmPseudoInstructionLowerStrategy {
   public LlvmPseudoInstructionLoweringDefaultStrategyImpl(
-      List<LlvmInstructionLoweringStrategy> strategies) {
-    super(strategies);
+      List<LlvmInstructionLoweringStrategy> strategies, DiagnosticCollector diagnostics) {
+    super(strategies, diagnostics);
   }
 
   @Override
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import javax.annotation.Nullable;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.PseudoInstructionLabel;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
@@ -46,8 +47,9 @@ public class LlvmPseudoInstructionLoweringLoadGlobalAddressStrategyImpl
 
   public LlvmPseudoInstructionLoweringLoadGlobalAddressStrategyImpl(
       List<LlvmInstructionLoweringStrategy> strategies,
-      Abi abi) {
-    super(strategies);
+      Abi abi,
+      DiagnosticCollector diagnostics) {
+    super(strategies, diagnostics);
     this.abi = abi;
   }
 
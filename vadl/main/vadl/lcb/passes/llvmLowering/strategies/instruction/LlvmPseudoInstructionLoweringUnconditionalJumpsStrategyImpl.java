@@ -27,6 +27,7 @@ import java.util.Set;
 import javax.annotation.Nonnull;
 import vadl.cppCodeGen.CppTypeMap;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
 import vadl.gcb.passes.PseudoInstructionLabel;
 import vadl.lcb.codegen.model.llvm.ValueType;
@@ -59,8 +60,8 @@ public class LlvmPseudoInstructionLoweringUnconditionalJumpsStrategyImpl extends
    * Constructor.
    */
   public LlvmPseudoInstructionLoweringUnconditionalJumpsStrategyImpl(
-      List<LlvmInstructionLoweringStrategy> strategies) {
-    super(strategies);
+      List<LlvmInstructionLoweringStrategy> strategies, DiagnosticCollector diagnostics) {
+    super(strategies, diagnostics);
   }
 
   @Override
@@ -20,8 +20,8 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import javax.annotation.Nullable;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.types.DataType;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
@@ -34,17 +34,20 @@ import vadl.viam.graph.dependency.ExpressionNode;
 public class LcbConstantNodeReplacement
     implements GraphVisitor.NodeApplier<ConstantNode, ConstantNode> {
   private final List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer;
+  private final DiagnosticCollector diagnostics;
 
   public LcbConstantNodeReplacement(
-      List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer) {
+      List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer,
+      DiagnosticCollector diagnostics) {
     this.replacer = replacer;
+    this.diagnostics = diagnostics;
   }
 
   /**
    * This method looks at the usages of the given {@code node} and updates the type
    * based on the type of the usage. This is necessary because TableGen cannot cast implicitly.
    */
-  public static ConstantNode updateConstant(ConstantNode node) {
+  public ConstantNode updateConstant(ConstantNode node) {
     var types = node.usages()
         .filter(x -> x instanceof ExpressionNode)
         .map(x -> {
@@ -60,12 +63,12 @@ public class LcbConstantNodeReplacement
     var distinctTypes = new HashSet<>(types);
 
     if (distinctTypes.size() > 1) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning("Constant must be upcasted but it has multiple candidates. "
                   + "The compiler generator considered only the first type as upcast.",
               node.location()).build());
     } else if (distinctTypes.isEmpty()) {
-      DeferredDiagnosticStore.add(
+      diagnostics.add(
           Diagnostic.warning("Constant must be upcasted but it has no candidates.",
               node.location()).build());
       return node;
@@ -19,8 +19,8 @@ package vadl.lcb.passes.llvmLowering.strategies.nodeLowering;
 import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nullable;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.lcb.passes.llvmLowering.domain.selectionDag.LlvmReadRegFileNode;
 import vadl.viam.graph.GraphVisitor;
 import vadl.viam.graph.Node;
@@ -33,10 +33,13 @@ import vadl.viam.graph.dependency.ReadRegTensorNode;
 public class LcbReadRegFileNodeReplacement
     implements GraphVisitor.NodeApplier<ReadRegTensorNode, Node> {
   private final List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer;
+  private final DiagnosticCollector diagnostics;
 
   public LcbReadRegFileNodeReplacement(
-      List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer) {
+      List<GraphVisitor.NodeApplier<? extends Node, ? extends Node>> replacer,
+      DiagnosticCollector diagnostics) {
     this.replacer = replacer;
+    this.diagnostics = diagnostics;
   }
 
   @Nullable
@@ -57,7 +60,7 @@ public class LcbReadRegFileNodeReplacement
       if (constraint.isPresent()) {
         return new ConstantNode(constraint.get().value());
       } else {
-        DeferredDiagnosticStore.add(Diagnostic.warning(
+        diagnostics.add(Diagnostic.warning(
             "Reading from a register file with constant index but the register has no "
                 + "constraint value.",
             address.location()).build());
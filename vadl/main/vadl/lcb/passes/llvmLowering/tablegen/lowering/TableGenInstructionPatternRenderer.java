@@ -21,6 +21,7 @@ import static vadl.viam.ViamError.ensure;
 import java.util.stream.Collectors;
 import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbMachineInstructionNode;
 import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbPseudoInstructionNode;
+import vadl.lcb.passes.llvmLowering.priority.PatternPriorities;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenMachineInstruction;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenPattern;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenPseudoInstruction;
@@ -41,7 +42,8 @@ public final class TableGenInstructionPatternRenderer {
    * Transforms the given {@link Instruction} into a string which can be used by LLVM's TableGen.
    * It will *ONLY* print the anonymous pattern if the pattern is actually lowerable.
    */
-  public static String lower(TableGenMachineInstruction instruction) {
+  public static String lower(TableGenMachineInstruction instruction,
+                             PatternPriorities priorities) {
     var anonymousPatterns = instruction.getAnonymousPatterns().stream()
         .filter(TableGenPattern::isPatternLowerable)
         .filter(x -> x instanceof TableGenSelectionWithOutputPattern)
@@ -52,7 +54,7 @@ public final class TableGenInstructionPatternRenderer {
             """,
         anonymousPatterns
             .stream()
-            .map(TableGenInstructionPatternRenderer::lower)
+            .map(pattern -> lower(pattern, priorities))
             .collect(Collectors.joining("\n"))
     );
   }
@@ -61,7 +63,8 @@ public final class TableGenInstructionPatternRenderer {
    * Transforms the given {@link PseudoInstruction} into a string which can be used by LLVM's
    * TableGen.
    */
-  public static String lower(TableGenPseudoInstruction instruction) {
+  public static String lower(TableGenPseudoInstruction instruction,
+                             PatternPriorities priorities) {
     var anonymousPatterns = instruction.getAnonymousPatterns().stream()
         .filter(TableGenPattern::isPatternLowerable)
         .filter(x -> x instanceof TableGenSelectionWithOutputPattern)
@@ -71,7 +74,7 @@ public final class TableGenInstructionPatternRenderer {
             %s
             """,
         anonymousPatterns.stream()
-            .map(TableGenInstructionPatternRenderer::lower)
+            .map(pattern -> lower(pattern, priorities))
             .collect(Collectors.joining("\n"))
     );
 
@@ -79,12 +82,17 @@ public final class TableGenInstructionPatternRenderer {
   }
 
   /**
-   * Lowering patterns.
+   * Lowering patterns. The {@code AddedComplexity} is only emitted when the pattern
+   * has a higher priority than the default.
    */
-  public static String lower(TableGenSelectionWithOutputPattern tableGenPattern) {
+  public static String lower(TableGenSelectionWithOutputPattern tableGenPattern,
+                             PatternPriorities priorities) {
     ensure(tableGenPattern.isPatternLowerable(), "TableGen pattern must be lowerable");
 
-    return String.format("""
+    var complexity = priorities.complexityOf(tableGenPattern);
+    var prefix = complexity > 0 ? "let AddedComplexity = " + complexity + " in\n" : "";
+
+    return prefix + String.format("""
         def : Pat<%s,
                 %s>;
         """, lowerSelector(tableGenPattern.selector()), lowerMachine(tableGenPattern.machine()));
@@ -23,8 +23,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nullable;
 import vadl.lcb.passes.llvmLowering.domain.RegisterRef;
-import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbMachineInstructionNode;
-import vadl.lcb.passes.llvmLowering.domain.machineDag.LcbPseudoInstructionNode;
+import vadl.lcb.passes.llvmLowering.priority.PatternPriorities;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenCompilerInstruction;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenMachineInstruction;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenPattern;
@@ -46,7 +45,8 @@ public final class TableGenInstructionRenderer {
    * Transforms the given {@link Instruction} into a string which can be used by LLVM's TableGen.
    * It will *ONLY* print the anonymous pattern if the pattern is actually lowerable.
    */
-  public static String lower(TableGenMachineInstruction instruction) {
+  public static String lower(TableGenMachineInstruction instruction,
+                             PatternPriorities priorities) {
     return String.format("""
             def %s : Instruction
             {
@@ -83,7 +83,7 @@ public final class TableGenInstructionRenderer {
             let isAsCheapAsAMove   = %d;
             
             let Constraints = "";
-            let AddedComplexity = 0;
+            let AddedComplexity = %d;
             
             let Pattern = [%s];
             
@@ -116,6 +116,7 @@ public final class TableGenInstructionRenderer {
         toInt(instruction.getFlags().isBarrier()),
         toInt(instruction.getFlags().isRematerialisable()),
         toInt(instruction.getFlags().isAsCheapAsAMove()),
+        priorities.complexityOf(instruction),
         instruction.getAnonymousPatterns()
             .stream()
             .filter(x -> x instanceof TableGenSelectionPattern)
@@ -132,7 +133,8 @@ public final class TableGenInstructionRenderer {
    * Transforms the given {@link PseudoInstruction} into a string which can be used by LLVM's
    * TableGen.
    */
-  public static String lower(TableGenPseudoInstruction instruction) {
+  public static String lower(TableGenPseudoInstruction instruction,
+                             PatternPriorities priorities) {
     var anonymousPatterns = instruction.getAnonymousPatterns().stream()
         .filter(TableGenPattern::isPatternLowerable)
         .filter(x -> x instanceof TableGenSelectionWithOutputPattern)
@@ -187,7 +189,7 @@ public final class TableGenInstructionRenderer {
         instruction.getUses().stream().map(RegisterRef::lowerName).collect(Collectors.joining(",")),
         instruction.getDefs().stream().map(RegisterRef::lowerName).collect(Collectors.joining(",")),
         anonymousPatterns.stream()
-            .map(TableGenInstructionRenderer::lower)
+            .map(pattern -> TableGenInstructionPatternRenderer.lower(pattern, priorities))
             .collect(Collectors.joining("\n"))
     );
 
@@ -198,7 +200,8 @@ public final class TableGenInstructionRenderer {
    * Transforms the given {@link CompilerInstruction} into a string which can be used by LLVM's
    * TableGen.
    */
-  public static String lower(TableGenCompilerInstruction instruction) {
+  public static String lower(TableGenCompilerInstruction instruction,
+                             PatternPriorities priorities) {
     var anonymousPatterns = instruction.getAnonymousPatterns().stream()
         .filter(TableGenPattern::isPatternLowerable)
         .filter(x -> x instanceof TableGenSelectionWithOutputPattern)
@@ -253,7 +256,7 @@ public final class TableGenInstructionRenderer {
         instruction.getUses().stream().map(RegisterRef::lowerName).collect(Collectors.joining(",")),
         instruction.getDefs().stream().map(RegisterRef::lowerName).collect(Collectors.joining(",")),
         anonymousPatterns.stream()
-            .map(TableGenInstructionRenderer::lower)
+            .map(pattern -> TableGenInstructionPatternRenderer.lower(pattern, priorities))
             .collect(Collectors.joining("\n"))
     );
 
@@ -271,33 +274,6 @@ public final class TableGenInstructionRenderer {
     return "(" + visitor.getResult() + ")";
   }
 
-  private static String lower(TableGenSelectionWithOutputPattern tableGenPattern) {
-    ensure(tableGenPattern.isPatternLowerable(), "TableGen pattern must be lowerable");
-    var visitor = new TableGenPatternPrinterVisitor();
-    var machineVisitor = new TableGenMachineInstructionPrinterVisitor();
-
-    for (var root : tableGenPattern.selector().getDataflowRoots()) {
-      visitor.visit(root);
-    }
-
-    for (var root : tableGenPattern.machine().getDataflowRoots()) {
-      ensure(root instanceof LcbPseudoInstructionNode
-              || root instanceof LcbMachineInstructionNode,
-          "root node must be pseudo or machine node");
-      if (root instanceof LcbMachineInstructionNode machineInstructionNode) {
-        machineVisitor.visit(machineInstructionNode);
-      } else if (root instanceof LcbPseudoInstructionNode pseudoInstructionNode) {
-        machineVisitor.visit(pseudoInstructionNode);
-      }
-    }
-
-    return String.format("""
-        def : Pat<%s,
-                %s>;
-        """, visitor.getResult(), machineVisitor.getResult());
-
-  }
-
   /**
    * Renders an operand into a string.
    */
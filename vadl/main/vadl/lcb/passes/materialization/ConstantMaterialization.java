@@ -0,0 +1,83 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.materialization;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import vadl.gcb.passes.ValueRange;
+import vadl.lcb.template.utils.AbiSequencesUtil.ConstantSequence;
+import vadl.template.Renderable;
+
+/**
+ * The building blocks from which the generated {@code ConstMatInt} synthesizes the
+ * instruction sequence for an immediate.
+ * The {@code sequences} materialize an immediate directly. Larger immediates are split into
+ * an upper part, which is materialized recursively and shifted by the {@code shift}
+ * instruction, and a lower part, which is added by the {@code lower} instruction.
+ * The {@code invert} instruction flips all bits of a materialized immediate, which is
+ * cheaper for immediates with many leading ones.
+ *
+ * @param sequences the ABI constant sequences sorted by their range.
+ * @param lower     the instruction which adds (or ors) an immediate to a register.
+ * @param shift     the instruction which shifts a register left by an immediate.
+ * @param invert    the instruction which xors a register with an immediate.
+ */
+public record ConstantMaterialization(List<ConstantSequence> sequences,
+                                      Optional<Step> lower,
+                                      Optional<Step> shift,
+                                      Optional<Step> invert) {
+
+  /**
+   * Returns {@code true} when immediates outside the ranges of the {@code sequences}
+   * can be synthesized.
+   */
+  public boolean canSplit() {
+    return lower.isPresent() && shift.isPresent();
+  }
+
+  /**
+   * A machine instruction with a register and an immediate operand.
+   *
+   * @param instruction the name of the machine instruction.
+   * @param range       the value range of the immediate operand.
+   */
+  public record Step(String instruction, ValueRange range) implements Renderable {
+
+    public boolean isSigned() {
+      return range.lowest() < 0;
+    }
+
+    /**
+     * Returns the number of bits of the immediate operand.
+     */
+    public int bitWidth() {
+      return 64 - Long.numberOfLeadingZeros(range.highest() - range.lowest());
+    }
+
+    @Override
+    public Map<String, Object> renderObj() {
+      return Map.of(
+          "instruction", instruction,
+          "isSigned", isSigned(),
+          "bitWidth", bitWidth(),
+          "lowestValue", range.lowest(),
+          "highestValue", range.highest()
+      );
+    }
+  }
+}
@@ -0,0 +1,109 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.materialization;
+
+import static vadl.lcb.template.utils.AbiSequencesUtil.createConstantSequences;
+import static vadl.viam.ViamError.ensureNonNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
+import vadl.gcb.passes.MachineInstructionLabel;
+import vadl.gcb.passes.ValueRange;
+import vadl.gcb.passes.ValueRangeCtx;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Instruction;
+import vadl.viam.Specification;
+
+/**
+ * This pass collects the instructions which are used to synthesize the materialization
+ * of immediates that do not fit into a single ABI constant sequence.
+ * The lower part of an immediate is added with the {@link MachineInstructionLabel#ADDI_64}
+ * (or {@link MachineInstructionLabel#ADDI_32}) instruction, or if there is none, with
+ * the {@link MachineInstructionLabel#ORI} instruction when its immediate is unsigned.
+ * The upper part is shifted with the
+ * {@link MachineInstructionLabel#SLLI} instruction. The {@link MachineInstructionLabel#LUI}
+ * is used through the constant sequences of the ABI.
+ */
+public class GenerateConstantMaterializationPass extends Pass {
+
+  public GenerateConstantMaterializationPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return new PassName("GenerateConstantMaterializationPass");
+  }
+
+  @Nullable
+  @Override
+  public ConstantMaterialization execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var labels = ensureNonNull(
+        (IsaMachineInstructionMatchingPass.Result) passResults.lastResultOf(
+            IsaMachineInstructionMatchingPass.class),
+        "labelling of the machine instructions must exist").labels();
+
+    var lower = step(labels, MachineInstructionLabel.ADDI_64,
+        range -> isUsableLower(MachineInstructionLabel.ADDI_64, range))
+        .or(() -> step(labels, MachineInstructionLabel.ADDI_32,
+            range -> isUsableLower(MachineInstructionLabel.ADDI_32, range)))
+        .or(() -> step(labels, MachineInstructionLabel.ORI,
+            range -> isUsableLower(MachineInstructionLabel.ORI, range)));
+    var shift = step(labels, MachineInstructionLabel.SLLI, range -> range.lowest() == 0);
+    // inverting requires to xor with -1
+    var invert = step(labels, MachineInstructionLabel.XORI, range -> range.lowest() <= -1);
+
+    return new ConstantMaterialization(createConstantSequences(viam), lower, shift, invert);
+  }
+
+  /**
+   * Checks whether the instruction with the given label and immediate range can add the
+   * lower part of a split immediate.
+   * The upper part is computed as {@code Val - Lo}, which is only the same as or-ing
+   * {@code Lo} when {@code Lo} is not negative.
+   */
+  static boolean isUsableLower(MachineInstructionLabel label, ValueRange range) {
+    return label != MachineInstructionLabel.ORI || range.lowest() >= 0;
+  }
+
+  private static Optional<ConstantMaterialization.Step> step(
+      Map<MachineInstructionLabel, List<Instruction>> labels,
+      MachineInstructionLabel label,
+      Predicate<ValueRange> isUsable) {
+    for (var instruction : labels.getOrDefault(label, List.of())) {
+      var ctx = instruction.extension(ValueRangeCtx.class);
+      // the instruction must have exactly one immediate
+      if (ctx == null || ctx.ranges().size() != 1) {
+        continue;
+      }
+      var range = ctx.getFirst().orElseThrow();
+      if (isUsable.test(range)) {
+        return Optional.of(new ConstantMaterialization.Step(instruction.simpleName(), range));
+      }
+    }
+    return Optional.empty();
+  }
+}
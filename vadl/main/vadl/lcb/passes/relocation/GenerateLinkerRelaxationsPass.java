@@ -0,0 +1,189 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.relocation;
+
+import static vadl.viam.ViamError.ensureNonNull;
+import static vadl.viam.ViamError.ensurePresent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.gcb.passes.RelocationKindCtx;
+import vadl.lcb.passes.llvmLowering.CreateFunctionsFromImmediatesPass;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.viam.Constant;
+import vadl.viam.Format;
+import vadl.viam.Instruction;
+import vadl.viam.PseudoInstruction;
+import vadl.viam.Specification;
+import vadl.viam.ViamError;
+import vadl.viam.annotations.PseudoInstructionRelaxAnno;
+import vadl.viam.graph.control.InstrCallNode;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.FuncParamNode;
+
+/**
+ * This pass collects the pseudo instructions which have a {@code [ relax : <pseudo> ]}
+ * annotation. The linker can replace such a pseudo instruction with the annotated pseudo
+ * instruction when the relocated operand is in range of its only instruction.
+ * The relocated operand is the field access which is set by a parameter of the shorter
+ * pseudo instruction. The same parameter must be used by the first instruction of the longer
+ * pseudo instruction because the linker takes the symbol from the relocation of the first
+ * instruction. The operand is in range when the predicate holds and decoding the encoded
+ * operand results in the operand again.
+ */
+public class GenerateLinkerRelaxationsPass extends Pass {
+  public GenerateLinkerRelaxationsPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return new PassName("GenerateLinkerRelaxationsPass");
+  }
+
+  @Nullable
+  @Override
+  public List<LinkerRelaxation> execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var linkerComponents = (GenerateLinkerComponentsPass.Output) passResults.lastResultOf(
+        GenerateLinkerComponentsPass.class);
+    var functions = (CreateFunctionsFromImmediatesPass.Output) passResults.lastResultOf(
+        CreateFunctionsFromImmediatesPass.class);
+
+    var relaxations = new ArrayList<LinkerRelaxation>();
+    var pseudoInstructions = viam.isa().map(isa -> isa.ownPseudoInstructions()).orElse(List.of());
+    for (var sequence : pseudoInstructions) {
+      var annotation = sequence.annotation(PseudoInstructionRelaxAnno.class);
+      if (annotation != null) {
+        relaxations.add(
+            relaxation(relaxations.size(), sequence, annotation.relaxed(), linkerComponents,
+                functions));
+      }
+    }
+
+    return relaxations;
+  }
+
+  private static LinkerRelaxation relaxation(int index,
+                                             PseudoInstruction sequence,
+                                             PseudoInstruction relaxed,
+                                             GenerateLinkerComponentsPass.Output linkerComponents,
+                                             CreateFunctionsFromImmediatesPass.Output functions) {
+    var relaxedCall = ensurePresent(relaxed.behavior().getNodes(InstrCallNode.class).findFirst(),
+        "Relaxed pseudo instruction must call an instruction");
+    var instruction = relaxedCall.target();
+
+    var encoding = 0L;
+    for (var fieldEncoding : instruction.encoding().fieldEncodings()) {
+      encoding = insert(encoding, fieldEncoding.formatField(), fieldEncoding.constant());
+    }
+
+    Format.FieldAccess fieldAccess = null;
+    FuncParamNode symbol = null;
+    for (var argument : relaxedCall.getZippedArgumentsWithParameters().toList()) {
+      var fieldOrAccess = argument.left();
+      if (argument.right() instanceof ConstantNode constant && fieldOrAccess.isLeft()) {
+        encoding = insert(encoding, fieldOrAccess.left(), constant.constant().asVal());
+      } else if (argument.right() instanceof FuncParamNode param && fieldOrAccess.isRight()) {
+        sequence.ensure(symbol == null,
+            "The relaxed pseudo instruction %s must have only one relocated operand",
+            relaxed.simpleName());
+        fieldAccess = fieldOrAccess.right();
+        symbol = param;
+      } else {
+        throw new ViamError(
+            "The relaxed pseudo instruction %s must only set constants or a field access",
+            relaxed.simpleName()).addContext(sequence);
+      }
+    }
+    if (symbol == null || fieldAccess == null) {
+      throw new ViamError(
+          "The relaxed pseudo instruction %s must set a field access with a parameter",
+          relaxed.simpleName()).addContext(sequence);
+    }
+
+    // The linker finds the symbol on the relocation of the first instruction.
+    var symbolIndex = List.of(relaxed.parameters()).indexOf(symbol.parameter());
+    var calls = sequence.behavior().getNodes(InstrCallNode.class).toList();
+    var usedParams = new ArrayList<FuncParamNode>();
+    calls.getFirst().collectInputsWithChildren(usedParams, FuncParamNode.class);
+    sequence.ensure(usedParams.stream()
+            .anyMatch(p -> p.parameter().equals(sequence.parameters()[symbolIndex])),
+        "The first instruction must use the parameter %s",
+        sequence.parameters()[symbolIndex].simpleName());
+
+    var sequenceSize = calls.stream()
+        .mapToInt(call -> call.target().format().type().bitWidth() / 8)
+        .sum();
+    var relaxedSize = instruction.format().type().bitWidth() / 8;
+    sequence.ensure(relaxedSize < sequenceSize,
+        "The relaxed pseudo instruction %s must be shorter than the pseudo instruction",
+        relaxed.simpleName());
+
+    var field = fieldAccess.fieldRef();
+    var kind = ensureNonNull(ensureNonNull(instruction.extension(RelocationKindCtx.class),
+            "relocation kinds must exist").getFieldToKind().get(field),
+        "relocation kind of the field must exist");
+    var relocation = ensurePresent(linkerComponents.automaticallyGeneratedRelocations().stream()
+            .filter(r -> r.format().equals(instruction.format()) && r.field().equals(field)
+                && r.kind() == kind)
+            .findFirst(),
+        "relocation for the relaxed instruction must exist");
+    var encodeFunction = ensurePresent(
+        functions.encodings().getOrDefault(instruction, List.of()).stream()
+            .filter(f -> f.field().equals(field))
+            .findFirst(),
+        "encoding function for the relaxed instruction must exist");
+    var finalFieldAccess = fieldAccess;
+    var immediate = ensurePresent(functions.predicates().keySet().stream()
+            .filter(record -> record.instructionRef().equals(instruction)
+                && record.fieldAccessRef().equals(finalFieldAccess))
+            .findFirst(),
+        "immediate of the relaxed instruction must exist");
+    var decodeFunction = ensureNonNull(functions.decodings().get(immediate),
+        "decoding function for the relaxed instruction must exist");
+    var predicate = ensureNonNull(functions.predicates().get(immediate),
+        "predicate for the relaxed instruction must exist");
+    // The linker checks the range by encoding and decoding the operand.
+    sequence.ensure(encodeFunction.header().parameters().length == 1
+            && decodeFunction.header().parameters().length == 1,
+        "The relocated operand of %s must be encoded in a single field",
+        relaxed.simpleName());
+
+    return new LinkerRelaxation(index, sequence, relaxed, instruction, sequenceSize, relaxedSize,
+        encoding, relocation, encodeFunction, decodeFunction, predicate);
+  }
+
+  /**
+   * Inserts the {@code value} into the bits of the {@code field} in the {@code encoding}.
+   */
+  private static long insert(long encoding, Format.Field field, Constant.Value value) {
+    var bits = field.bitSlice().stream().toArray();
+    var raw = value.longValue();
+    for (int i = 0; i < bits.length; i++) {
+      // the slice starts with the most significant bit of the field
+      var bit = (raw >>> (bits.length - 1 - i)) & 1;
+      encoding |= bit << bits[i];
+    }
+    return encoding;
+  }
+}
@@ -0,0 +1,54 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.relocation;
+
+import vadl.cppCodeGen.model.GcbCppAccessFunction;
+import vadl.cppCodeGen.model.GcbCppEncodeFunction;
+import vadl.cppCodeGen.model.GcbCppFunctionWithBody;
+import vadl.gcb.passes.relocation.model.AutomaticallyGeneratedRelocation;
+import vadl.viam.Instruction;
+import vadl.viam.PseudoInstruction;
+
+/**
+ * A pseudo instruction which the linker can replace by a shorter pseudo instruction
+ * with a single {@code instruction} when the relocated operand is in range.
+ *
+ * @param index          of the relaxation. It is the addend of the relaxation relocation.
+ * @param sequence       is the pseudo instruction which is emitted by the compiler.
+ * @param relaxed        is the shorter pseudo instruction.
+ * @param instruction    is the only instruction of {@code relaxed}.
+ * @param sequenceSize   is the size of {@code sequence} in bytes.
+ * @param relaxedSize    is the size of {@code relaxed} in bytes.
+ * @param encoding       is the encoding of {@code instruction} without the relocated operand.
+ * @param relocation     is the relocation which updates the relocated operand of
+ *                       {@code instruction}.
+ * @param encodeFunction encodes the relocated operand into its field.
+ * @param decodeFunction decodes the field of the relocated operand.
+ * @param predicate      checks whether the relocated operand is in range.
+ */
+public record LinkerRelaxation(int index,
+                               PseudoInstruction sequence,
+                               PseudoInstruction relaxed,
+                               Instruction instruction,
+                               int sequenceSize,
+                               int relaxedSize,
+                               long encoding,
+                               AutomaticallyGeneratedRelocation relocation,
+                               GcbCppEncodeFunction encodeFunction,
+                               GcbCppAccessFunction decodeFunction,
+                               GcbCppFunctionWithBody predicate) {
+}
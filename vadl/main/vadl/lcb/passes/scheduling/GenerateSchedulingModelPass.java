@@ -0,0 +1,189 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.scheduling;
+
+import static vadl.viam.ViamError.ensureNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.lcb.passes.llvmLowering.GenerateTableGenMachineInstructionRecordPass;
+import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenMachineInstruction;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.types.BuiltInTable;
+import vadl.utils.Pair;
+import vadl.viam.Counter;
+import vadl.viam.Memory;
+import vadl.viam.MicroArchitecture;
+import vadl.viam.RegisterTensor;
+import vadl.viam.Resource;
+import vadl.viam.Specification;
+import vadl.viam.annotations.InstructionLatencyAnno;
+import vadl.viam.graph.dependency.MiaBuiltInCall;
+
+/**
+ * This pass derives the {@link SchedulingModel} of the generated compiler.
+ *
+ * <p>The latencies are computed from the distance between the pipeline stages of the
+ * {@link MicroArchitecture}. An ALU result is available after
+ * {@code resultStage - readStage} cycles, where the read stage is the stage reading the
+ * register file and the result stage is the first stage that forwards the result
+ * ({@code instruction.results}) or otherwise writes it to the register file.
+ * A load result is additionally delayed until the stage reading the memory.
+ * The mispredict penalty is the number of stages before the stage writing the PC.
+ * If there is no micro architecture, the latencies of a classic five stage in-order
+ * pipeline with forwarding are used.
+ * The latency of single instructions can be overridden by the {@link InstructionLatencyAnno}.
+ * </p>
+ */
+public class GenerateSchedulingModelPass extends Pass {
+
+  // defaults of a classic five stage in-order pipeline with forwarding
+  static final int DEFAULT_ALU_LATENCY = 1;
+  static final int DEFAULT_LOAD_LATENCY = 2;
+  static final int DEFAULT_MISPREDICT_PENALTY = 2;
+
+  public GenerateSchedulingModelPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return new PassName("GenerateSchedulingModelPass");
+  }
+
+  @Nullable
+  @Override
+  public SchedulingModel execute(PassResults passResults, Specification viam)
+      throws IOException {
+    @SuppressWarnings("unchecked")
+    var records = (List<TableGenMachineInstruction>) ensureNonNull(
+        passResults.lastResultOf(GenerateTableGenMachineInstructionRecordPass.class),
+        "machine instruction records must exist");
+
+    var pc = viam.isa()
+        .flatMap(isa -> Optional.ofNullable(isa.pc()))
+        .map(Counter::registerTensor);
+    var latencies = viam.mia()
+        .map(mia -> PipelineLatencies.from(mia, pc))
+        .orElse(PipelineLatencies.DEFAULT);
+
+    var groups = new LinkedHashMap<Pair<SchedulingModel.Unit, Integer>, List<String>>();
+    for (var record : records) {
+      var unit = unitOf(record);
+      var annotation = record.instruction().annotation(InstructionLatencyAnno.class);
+      var latency = annotation != null
+          ? annotation.latency()
+          : latencies.latencyOf(unit, record.getFlags().mayLoad());
+      groups.computeIfAbsent(Pair.of(unit, latency), k -> new ArrayList<>())
+          .add(record.getName());
+    }
+
+    var writes = groups.entrySet().stream()
+        .map(e -> new SchedulingModel.Write(e.getKey().left(), e.getKey().right(),
+            e.getValue()))
+        .sorted(Comparator.comparing(SchedulingModel.Write::unit)
+            .thenComparing(SchedulingModel.Write::latency))
+        .toList();
+
+    // the micro architecture does not describe superscalar issue
+    return new SchedulingModel(1, latencies.load, latencies.mispredictPenalty, writes);
+  }
+
+  private static SchedulingModel.Unit unitOf(TableGenMachineInstruction record) {
+    var flags = record.getFlags();
+    if (flags.mayLoad() || flags.mayStore()) {
+      return SchedulingModel.Unit.LSU;
+    } else if (flags.isBranch() || flags.isCall() || flags.isReturn() || flags.isTerminator()) {
+      return SchedulingModel.Unit.BRANCH;
+    }
+    return SchedulingModel.Unit.ALU;
+  }
+
+  /**
+   * The latencies derived from the pipeline stages of a micro architecture.
+   */
+  private record PipelineLatencies(int alu, int load, int mispredictPenalty) {
+
+    static final PipelineLatencies DEFAULT = new PipelineLatencies(
+        DEFAULT_ALU_LATENCY, DEFAULT_LOAD_LATENCY, DEFAULT_MISPREDICT_PENALTY);
+
+    int latencyOf(SchedulingModel.Unit unit, boolean isLoad) {
+      return switch (unit) {
+        case ALU -> alu;
+        case LSU -> isLoad ? load : 1;
+        case BRANCH -> 1;
+      };
+    }
+
+    static PipelineLatencies from(MicroArchitecture mia, Optional<RegisterTensor> pc) {
+      Predicate<Resource> isRegisterFile =
+          r -> r instanceof RegisterTensor reg && reg.isRegisterFile();
+      Predicate<Resource> isMemory = r -> r instanceof Memory;
+      Predicate<Resource> isPc = r -> pc.isPresent() && r == pc.get();
+
+      var readStage = firstStage(mia, isRegisterFile,
+          BuiltInTable.INSTRUCTION_READ, BuiltInTable.INSTRUCTION_READ_OR_FORWARD);
+      var forwardStage = firstStage(mia, isRegisterFile, BuiltInTable.INSTRUCTION_RESULTS);
+      var writeStage = firstStage(mia, isRegisterFile, BuiltInTable.INSTRUCTION_WRITE);
+      var memReadStage = firstStage(mia, isMemory, BuiltInTable.INSTRUCTION_READ);
+      var pcWriteStage = firstStage(mia, isPc, BuiltInTable.INSTRUCTION_WRITE);
+
+      var resultStage = forwardStage.or(() -> writeStage);
+      var mispredictPenalty = pcWriteStage.orElse(DEFAULT_MISPREDICT_PENALTY);
+      if (readStage.isEmpty() || resultStage.isEmpty()) {
+        return new PipelineLatencies(DEFAULT_ALU_LATENCY, DEFAULT_LOAD_LATENCY,
+            mispredictPenalty);
+      }
+
+      var read = readStage.get();
+      var result = resultStage.get();
+      var alu = Math.max(1, result - read);
+      var load = memReadStage
+          .map(mem -> Math.max(alu, Math.max(mem, result) - read))
+          .orElse(alu);
+      return new PipelineLatencies(alu, load, mispredictPenalty);
+    }
+
+    /**
+     * Returns the index of the first stage that uses one of the {@code builtIns} on
+     * a resource matching the {@code resource} predicate.
+     */
+    private static Optional<Integer> firstStage(MicroArchitecture mia,
+                                                Predicate<Resource> resource,
+                                                BuiltInTable.BuiltIn... builtIns) {
+      var stages = mia.stages();
+      for (int i = 0; i < stages.size(); i++) {
+        var found = stages.get(i).behavior().getNodes(MiaBuiltInCall.class)
+            .anyMatch(call -> List.of(builtIns).contains(call.builtIn())
+                && call.resources().stream().anyMatch(resource));
+        if (found) {
+          return Optional.of(i);
+        }
+      }
+      return Optional.empty();
+    }
+  }
+}
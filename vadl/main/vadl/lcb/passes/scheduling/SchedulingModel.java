@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.scheduling;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The scheduling model of the generated compiler. It is rendered into LLVM's
+ * {@code SchedMachineModel} by the
+ * {@link vadl.lcb.template.lib.Target.EmitSchedModelTableGenFilePass}.
+ *
+ * @param issueWidth        the number of instructions issued per cycle.
+ * @param loadLatency       the cycles until the result of a load is available.
+ * @param mispredictPenalty the cycles lost on a mispredicted branch.
+ * @param writes            the instructions grouped by their unit and latency.
+ */
+public record SchedulingModel(int issueWidth,
+                              int loadLatency,
+                              int mispredictPenalty,
+                              List<Write> writes) {
+
+  /**
+   * Returns the latency of the instruction with the given TableGen record name.
+   */
+  public Optional<Integer> latencyOf(String instruction) {
+    return writes.stream()
+        .filter(write -> write.instructions().contains(instruction))
+        .map(Write::latency)
+        .findFirst();
+  }
+
+  /**
+   * The processor resource occupied by an instruction.
+   */
+  public enum Unit {
+    ALU,
+    LSU,
+    BRANCH;
+
+    /**
+     * Returns the suffix of the {@code ProcResource} in TableGen.
+     */
+    public String resourceName() {
+      return switch (this) {
+        case ALU -> "Alu";
+        case LSU -> "Lsu";
+        case BRANCH -> "Branch";
+      };
+    }
+  }
+
+  /**
+   * A {@code SchedWriteRes} for all {@code instructions} which occupy the {@code unit} and
+   * produce their result after {@code latency} cycles.
+   */
+  public record Write(Unit unit, int latency, List<String> instructions) {
+
+    /**
+     * Returns the name of the {@code SchedWriteRes} in TableGen.
+     */
+    public String name() {
+      return "Write" + unit.resourceName() + latency;
+    }
+  }
+}
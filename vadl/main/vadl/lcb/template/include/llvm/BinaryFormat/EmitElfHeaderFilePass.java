@@ -30,6 +30,13 @@ import vadl.viam.Specification;
  */
 public class EmitElfHeaderFilePass extends LcbTemplateRenderingPass {
 
+  /**
+   * The ELF machine ({@code e_machine}) of the generated target. It is not registered,
+   * so it is the first number after the machines known to LLVM.
+   * The Linux user mode of the ISS only loads ELF files of this machine.
+   */
+  public static final int ELF_MACHINE = 259;
+
   public EmitElfHeaderFilePass(LcbConfiguration lcbConfiguration)
       throws IOException {
     super(lcbConfiguration);
@@ -49,6 +56,7 @@ public class EmitElfHeaderFilePass extends LcbTemplateRenderingPass {
   protected Map<String, Object> createVariables(final PassResults passResults,
                                                 Specification specification) {
     return Map.of(CommonVarNames.NAMESPACE,
-        lcbConfiguration().targetName().value().toLowerCase());
+        lcbConfiguration().targetName().value().toLowerCase(),
+        "elfMachine", ELF_MACHINE);
   }
 }
@@ -79,7 +79,8 @@ public class EmitAsmRecursiveDescentParserCppFilePass extends LcbTemplateRenderi
         .orElse(Stream.empty());
 
     var codeGenerator = new AssemblyParserCodeGenerator(
-        lcbConfiguration().targetName().value().toLowerCase(), parserCaseSensitive, rules
+        lcbConfiguration().targetName().value().toLowerCase(), parserCaseSensitive, rules,
+        configuration().diagnostics()
     );
 
     return codeGenerator.generateRules();
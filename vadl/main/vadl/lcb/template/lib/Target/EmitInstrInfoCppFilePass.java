@@ -16,7 +16,6 @@
 
 package vadl.lcb.template.lib.Target;
 
-import static vadl.lcb.template.utils.AbiSequencesUtil.createConstantSequences;
 import static vadl.lcb.template.utils.AbiSequencesUtil.createRegisterAdjustment;
 import static vadl.viam.ViamError.ensure;
 import static vadl.viam.ViamError.ensureNonNull;
@@ -47,8 +46,10 @@ import vadl.lcb.template.CommonVarNames;
 import vadl.lcb.template.LcbTemplateRenderingPass;
 import vadl.pass.PassResults;
 import vadl.template.Renderable;
+import vadl.viam.Abi;
 import vadl.viam.Definition;
 import vadl.viam.Instruction;
+import vadl.viam.PrintableInstruction;
 import vadl.viam.PseudoInstruction;
 import vadl.viam.RegisterTensor;
 import vadl.viam.Specification;
@@ -306,6 +307,8 @@ public class EmitInstrInfoCppFilePass extends LcbTemplateRenderingPass {
     var additionRegisterFile = getRegisterClassFromInstruction(additionRR);
     // Integer of the index of the zero register in the register file.
     var jump = getJump(specification, pseudoMatches);
+    var abi =
+        (Abi) specification.definitions().filter(x -> x instanceof Abi).findFirst().get();
 
     var map = new HashMap<String, Object>();
     map.put(CommonVarNames.NAMESPACE, lcbConfiguration().targetName().value().toLowerCase());
@@ -337,8 +340,12 @@ public class EmitInstrInfoCppFilePass extends LcbTemplateRenderingPass {
             MachineInstructionLabel.BUGEQ));
     map.put("isAsCheapAsMove",
         areAsCheapAsMove(fieldUsages, new Database(passResults, specification)));
-    map.put("constantSequences", createConstantSequences(specification));
     map.put("registerAdjustmentSequences", createRegisterAdjustment(specification));
+    map.put("returnAddress", abi.returnAddress().render());
+    map.put("callInstruction", abi.callSequence().identifier().simpleName());
+    map.put("callSize", byteSize(abi.callSequence()));
+    map.put("returnInstruction", abi.returnSequence().identifier().simpleName());
+    map.put("returnSize", byteSize(abi.returnSequence()));
 
     return map;
   }
@@ -363,6 +370,19 @@ public class EmitInstrInfoCppFilePass extends LcbTemplateRenderingPass {
         .toList();
   }
 
+  /**
+   * Returns the size in bytes of the given instruction. A pseudo instruction has the size of
+   * the machine instructions it expands to.
+   */
+  private static int byteSize(PrintableInstruction instruction) {
+    if (instruction instanceof PseudoInstruction pseudoInstruction) {
+      return pseudoInstruction.behavior().getNodes(InstrCallNode.class)
+          .mapToInt(callNode -> callNode.target().format().type().bitWidth() / 8)
+          .sum();
+    }
+    return ((Instruction) instruction).format().type().bitWidth() / 8;
+  }
+
   private List<BranchInstruction> getBranchInstructions(
       Specification specification,
       PassResults passResults,
@@ -35,6 +35,8 @@ import vadl.lcb.passes.llvmLowering.GenerateTableGenPseudoInstructionRecordPass;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
 import vadl.lcb.passes.llvmLowering.compensation.CompensationPatternPass;
 import vadl.lcb.passes.llvmLowering.immediates.GenerateTableGenImmediateRecordPass;
+import vadl.lcb.passes.llvmLowering.priority.GeneratePatternPrioritiesPass;
+import vadl.lcb.passes.llvmLowering.priority.PatternPriorities;
 import vadl.lcb.passes.llvmLowering.tablegen.lowering.TableGenImmediateOperandRenderer;
 import vadl.lcb.passes.llvmLowering.tablegen.lowering.TableGenInstAliasRenderer;
 import vadl.lcb.passes.llvmLowering.tablegen.lowering.TableGenInstructionPatternRenderer;
@@ -105,6 +107,9 @@ public class EmitInstrInfoTableGenFilePass extends LcbTemplateRenderingPass {
         () -> Diagnostic.error("Instruction set requires an addition with immediate",
             specification.location()));
 
+    var priorities = (PatternPriorities) passResults.lastResultOf(
+        GeneratePatternPrioritiesPass.class);
+
     var renderedImmediates = ((List<TableGenImmediateRecord>) passResults.lastResultOf(
         GenerateTableGenImmediateRecordPass.class))
         .stream()
@@ -119,7 +124,7 @@ public class EmitInstrInfoTableGenFilePass extends LcbTemplateRenderingPass {
           return !(record.instruction() == abi.callSequence()
               || record.instruction() == abi.returnSequence());
         })
-        .map(TableGenInstructionRenderer::lower)
+        .map(record -> TableGenInstructionRenderer.lower(record, priorities))
         .toList();
 
     var renderedTableGenPseudoRecords = tableGenPseudoRecords
@@ -128,12 +133,12 @@ public class EmitInstrInfoTableGenFilePass extends LcbTemplateRenderingPass {
         // that's why we skip it.
         .filter(record -> !(abi.returnSequence() == record.pseudoInstruction()
             || abi.callSequence() == record.pseudoInstruction()))
-        .map(TableGenInstructionRenderer::lower)
+        .map(record -> TableGenInstructionRenderer.lower(record, priorities))
         .toList();
 
     var renderedTableGenCompilerInstructionsRecords = tableGenConstMatRecords
         .stream()
-        .map(TableGenInstructionRenderer::lower)
+        .map(record -> TableGenInstructionRenderer.lower(record, priorities))
         .toList();
 
     var renderedTableGenInstAliases = llvmLoweringPassResults
@@ -159,12 +164,16 @@ public class EmitInstrInfoTableGenFilePass extends LcbTemplateRenderingPass {
         Stream.concat(
                 pseudoExpansionPatterns.stream().map(TableGenPseudoInstExpansionRenderer::lower),
                 Stream.concat(
-                    tableGenMachineRecords.stream().map(TableGenInstructionPatternRenderer::lower),
+                    tableGenMachineRecords.stream()
+                        .map(record -> TableGenInstructionPatternRenderer.lower(record,
+                            priorities)),
                     Stream.concat(
                         tableGenPseudoRecords.stream()
-                            .map(TableGenInstructionPatternRenderer::lower),
+                            .map(record -> TableGenInstructionPatternRenderer.lower(record,
+                                priorities)),
                         compensationPatterns.stream()
-                            .map(TableGenInstructionPatternRenderer::lower))
+                            .map(pattern -> TableGenInstructionPatternRenderer.lower(pattern,
+                                priorities)))
                 ))
             .toList();
 
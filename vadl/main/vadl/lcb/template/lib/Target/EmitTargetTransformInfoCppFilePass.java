@@ -0,0 +1,178 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.template.lib.Target;
+
+import static vadl.viam.ViamError.ensureNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import vadl.configuration.LcbConfiguration;
+import vadl.error.Diagnostic;
+import vadl.gcb.passes.IsaMachineInstructionMatchingPass;
+import vadl.gcb.passes.MachineInstructionLabel;
+import vadl.gcb.passes.ValueRange;
+import vadl.gcb.passes.ValueRangeCtx;
+import vadl.lcb.passes.scheduling.GenerateSchedulingModelPass;
+import vadl.lcb.passes.scheduling.SchedulingModel;
+import vadl.lcb.template.CommonVarNames;
+import vadl.lcb.template.LcbTemplateRenderingPass;
+import vadl.pass.PassResults;
+import vadl.template.Renderable;
+import vadl.utils.Pair;
+import vadl.viam.Instruction;
+import vadl.viam.Specification;
+
+/**
+ * This file contains the target transform info which provides the costs of
+ * instructions and immediates to LLVM's IR passes (e.g. loop unrolling, inlining or
+ * loop strength reduction).
+ */
+public class EmitTargetTransformInfoCppFilePass extends LcbTemplateRenderingPass {
+
+  public EmitTargetTransformInfoCppFilePass(LcbConfiguration lcbConfiguration)
+      throws IOException {
+    super(lcbConfiguration);
+  }
+
+  @Override
+  protected String getTemplatePath() {
+    return "lcb/llvm/lib/Target/TargetTransformInfo.cpp";
+  }
+
+  @Override
+  protected String getOutputPath() {
+    var processorName = lcbConfiguration().targetName().value();
+    return "llvm/lib/Target/" + processorName + "/" + processorName
+        + "TargetTransformInfo.cpp";
+  }
+
+  /**
+   * An LLVM IR instruction which has an immediate variant in the instruction set.
+   */
+  record ImmediateOperation(String opcode, String instructionName, ValueRange valueRange)
+      implements Renderable {
+    @Override
+    public Map<String, Object> renderObj() {
+      return Map.of(
+          "opcode", opcode,
+          "instructionName", instructionName,
+          "minValue", valueRange.lowest(),
+          "maxValue", valueRange.highest()
+      );
+    }
+  }
+
+  /**
+   * An ISD node which is selected to a single machine instruction with the given latency.
+   */
+  record ArithmeticOperation(String isdOpcode, String instructionName, int latency)
+      implements Renderable {
+    @Override
+    public Map<String, Object> renderObj() {
+      return Map.of(
+          "isdOpcode", isdOpcode,
+          "instructionName", instructionName,
+          "latency", latency
+      );
+    }
+  }
+
+  @Override
+  protected Map<String, Object> createVariables(final PassResults passResults,
+                                                Specification specification) {
+    var labels = ensureNonNull(
+        (IsaMachineInstructionMatchingPass.Result) passResults.lastResultOf(
+            IsaMachineInstructionMatchingPass.class),
+        () -> Diagnostic.error("Cannot find semantics of the instructions",
+            specification.location()))
+        .labels();
+    var schedulingModel =
+        (SchedulingModel) passResults.lastResultOf(GenerateSchedulingModelPass.class);
+
+    var map = new HashMap<String, Object>();
+    map.put(CommonVarNames.NAMESPACE, lcbConfiguration().targetName().value().toLowerCase());
+    map.put("immediateOperations", immediateOperations(labels));
+    map.put("arithmeticOperations", arithmeticOperations(labels, schedulingModel));
+    map.put("loadLatency", schedulingModel.loadLatency());
+    map.put("mispredictPenalty", schedulingModel.mispredictPenalty());
+    return map;
+  }
+
+  private List<ImmediateOperation> immediateOperations(
+      Map<MachineInstructionLabel, List<Instruction>> labels) {
+    var result = new ArrayList<ImmediateOperation>();
+    var add = first(labels, MachineInstructionLabel.ADDI_64)
+        .or(() -> first(labels, MachineInstructionLabel.ADDI_32));
+    add.ifPresent(instruction -> immediateOperation("Add", instruction).ifPresent(result::add));
+    first(labels, MachineInstructionLabel.ORI)
+        .flatMap(instruction -> immediateOperation("Or", instruction))
+        .ifPresent(result::add);
+    first(labels, MachineInstructionLabel.XORI)
+        .flatMap(instruction -> immediateOperation("Xor", instruction))
+        .ifPresent(result::add);
+    first(labels, MachineInstructionLabel.SLLI)
+        .flatMap(instruction -> immediateOperation("Shl", instruction))
+        .ifPresent(result::add);
+    return result;
+  }
+
+  private Optional<ImmediateOperation> immediateOperation(String opcode,
+                                                          Instruction instruction) {
+    return valueRange(instruction)
+        .map(range -> new ImmediateOperation(opcode, instruction.simpleName(), range));
+  }
+
+  /**
+   * The latencies of the operations which have a dedicated machine instruction.
+   * Operations without an instruction are expanded by the instruction selection, which
+   * is already considered by LLVM's generic cost model.
+   */
+  private List<ArithmeticOperation> arithmeticOperations(
+      Map<MachineInstructionLabel, List<Instruction>> labels,
+      SchedulingModel schedulingModel) {
+    var operations = List.of(
+        Pair.of("MUL", MachineInstructionLabel.MUL),
+        Pair.of("SDIV", MachineInstructionLabel.SDIV),
+        Pair.of("UDIV", MachineInstructionLabel.UDIV),
+        Pair.of("SREM", MachineInstructionLabel.SMOD),
+        Pair.of("UREM", MachineInstructionLabel.UMOD)
+    );
+
+    var result = new ArrayList<ArithmeticOperation>();
+    for (var operation : operations) {
+      first(labels, operation.right()).ifPresent(instruction -> {
+        var latency = schedulingModel.latencyOf(instruction.simpleName()).orElse(1);
+        result.add(new ArithmeticOperation(operation.left(), instruction.simpleName(), latency));
+      });
+    }
+    return result;
+  }
+
+  private static Optional<Instruction> first(
+      Map<MachineInstructionLabel, List<Instruction>> labels, MachineInstructionLabel label) {
+    return labels.getOrDefault(label, List.of()).stream().findFirst();
+  }
+
+  private static Optional<ValueRange> valueRange(Instruction instruction) {
+    var ctx = instruction.extension(ValueRangeCtx.class);
+    return ctx == null ? Optional.empty() : ctx.getFirst();
+  }
+}
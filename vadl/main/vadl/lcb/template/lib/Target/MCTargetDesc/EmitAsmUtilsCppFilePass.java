@@ -20,12 +20,16 @@ import static vadl.viam.ViamError.ensurePresent;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import vadl.configuration.LcbConfiguration;
 import vadl.error.Diagnostic;
 import vadl.gcb.passes.relocation.model.ImplementedUserSpecifiedRelocation;
+import vadl.lcb.codegen.compression.InstructionCompressionCodeGenerator;
+import vadl.lcb.passes.compression.GenerateInstructionCompressionsPass;
+import vadl.lcb.passes.compression.InstructionCompression;
 import vadl.lcb.passes.relocation.GenerateLinkerComponentsPass;
 import vadl.lcb.template.CommonVarNames;
 import vadl.lcb.template.LcbTemplateRenderingPass;
@@ -119,6 +123,29 @@ public class EmitAsmUtilsCppFilePass extends LcbTemplateRenderingPass {
     ).toList();
   }
 
+  /**
+   * Get the compression code grouped by the opcode of the instruction which is replaced.
+   * Every compressed instruction is only uncompressed by its first compression.
+   */
+  private List<Map<String, String>> compressions(PassResults passResults, String namespace,
+                                                 boolean uncompress) {
+    var compressions = (List<InstructionCompression>) passResults.lastResultOf(
+        GenerateInstructionCompressionsPass.class);
+    var code = new LinkedHashMap<String, String>();
+    for (var compression : compressions) {
+      var generator = new InstructionCompressionCodeGenerator(namespace, compression);
+      if (uncompress) {
+        code.putIfAbsent(compression.compressed().simpleName(), generator.uncompress());
+      } else {
+        code.merge(compression.instruction().simpleName(), generator.compress(), String::concat);
+      }
+    }
+    return code.entrySet().stream()
+        .map(entry -> Map.of("opcode", entry.getKey(),
+            "code", entry.getValue().indent(8).strip()))
+        .toList();
+  }
+
   record ModifierAggregate(String variantKind, String relocationName) implements Renderable {
     @Override
     public Map<String, Object> renderObj() {
@@ -135,9 +162,9 @@ public class EmitAsmUtilsCppFilePass extends LcbTemplateRenderingPass {
     var linkerInformation = (GenerateLinkerComponentsPass.Output) passResults.lastResultOf(
         GenerateLinkerComponentsPass.class);
     var modifiers = formatModifier(passResults);
+    var namespace = lcbConfiguration().targetName().value().toLowerCase();
 
-    return Map.of(CommonVarNames.NAMESPACE,
-        lcbConfiguration().targetName().value().toLowerCase(),
+    return Map.of(CommonVarNames.NAMESPACE, namespace,
         "registers",
         specification.registerTensors().filter(RegisterTensor::isRegisterFile)
             .map(x -> RegisterUtils.getRegisterClass(x, abi.aliases()))
@@ -149,7 +176,9 @@ public class EmitAsmUtilsCppFilePass extends LcbTemplateRenderingPass {
         "asmCompareFunction", stringCompareFunction(specification),
         "instructionNames", instructionsNames(specification),
         "modifierMappings", modifierMappings(specification, linkerInformation),
-        "formatModifiers", modifiers
+        "formatModifiers", modifiers,
+        "compressions", compressions(passResults, namespace, false),
+        "uncompressions", compressions(passResults, namespace, true)
     );
   }
 }
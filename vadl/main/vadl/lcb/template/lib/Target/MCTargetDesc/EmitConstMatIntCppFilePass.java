@@ -16,12 +16,14 @@
 
 package vadl.lcb.template.lib.Target.MCTargetDesc;
 
-import static vadl.lcb.template.utils.AbiSequencesUtil.createConstantSequences;
+import static vadl.viam.ViamError.ensureNonNull;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import vadl.configuration.LcbConfiguration;
+import vadl.lcb.passes.materialization.ConstantMaterialization;
+import vadl.lcb.passes.materialization.GenerateConstantMaterializationPass;
 import vadl.lcb.template.CommonVarNames;
 import vadl.lcb.template.LcbTemplateRenderingPass;
 import vadl.pass.PassResults;
@@ -49,16 +51,21 @@ public class EmitConstMatIntCppFilePass extends LcbTemplateRenderingPass {
         + "ConstMatInt.cpp";
   }
 
-
-
   @Override
   protected Map<String, Object> createVariables(final PassResults passResults,
                                                 Specification specification) {
-    var constantSequences = createConstantSequences(specification);
+    var materialization = ensureNonNull(
+        (ConstantMaterialization) passResults.lastResultOf(
+            GenerateConstantMaterializationPass.class),
+        "constant materialization must exist");
 
     var map = new HashMap<String, Object>();
     map.put(CommonVarNames.NAMESPACE, lcbConfiguration().targetName().value().toLowerCase());
-    map.put("constantSequences", constantSequences);
+    map.put("constantSequences", materialization.sequences());
+    map.put("canSplit", materialization.canSplit());
+    map.put("lower", materialization.lower().orElse(null));
+    map.put("shift", materialization.shift().orElse(null));
+    map.put("invert", materialization.invert().orElse(null));
     return map;
   }
 }
@@ -34,6 +34,8 @@ import vadl.lcb.passes.llvmLowering.GenerateTableGenMachineInstructionRecordPass
 import vadl.lcb.passes.llvmLowering.tablegen.model.ReferencesImmediateOperand;
 import vadl.lcb.passes.llvmLowering.tablegen.model.TableGenMachineInstruction;
 import vadl.lcb.passes.relocation.GenerateLinkerComponentsPass;
+import vadl.lcb.passes.relocation.GenerateLinkerRelaxationsPass;
+import vadl.lcb.passes.relocation.LinkerRelaxation;
 import vadl.lcb.template.CommonVarNames;
 import vadl.lcb.template.LcbTemplateRenderingPass;
 import vadl.lcb.template.utils.ImmediateEncodingFunctionProvider;
@@ -136,12 +138,19 @@ public class EmitMCCodeEmitterCppFilePass extends LcbTemplateRenderingPass {
 
     var symbolRefFixups = generateSymbolRefFixupMappings(passResults);
     var targetFixups = generateTargetFixupMappings(tableGenMachineInstructions, passResults);
+    var relaxations = (List<LinkerRelaxation>) passResults.lastResultOf(
+        GenerateLinkerRelaxationsPass.class);
 
     return Map.of(CommonVarNames.NAMESPACE,
         lcbConfiguration().targetName().value().toLowerCase(),
         "encodings", encodingWrappers,
         "symbolRefFixups", symbolRefFixups,
-        "targetFixups", targetFixups
+        "targetFixups", targetFixups,
+        "relaxations", relaxations.stream()
+            .map(relaxation -> Map.of(
+                "sequence", relaxation.sequence().simpleName(),
+                "index", relaxation.index()))
+            .toList()
     );
   }
 
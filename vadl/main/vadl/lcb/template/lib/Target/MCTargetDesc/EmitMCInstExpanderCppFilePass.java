@@ -96,7 +96,8 @@ public class EmitMCInstExpanderCppFilePass extends LcbTemplateRenderingPass {
       PassResults passResults,
       GenerateLinkerComponentsPass.VariantKindStore variantKindStore,
       IdentityHashMap<Instruction, LlvmLoweringRecord.Machine> machineInstructionRecords) {
-    return PseudoInstructionProvider.getSupportedPseudoInstructions(specification, passResults)
+    return PseudoInstructionProvider.getSupportedPseudoInstructions(specification, passResults,
+            configuration().diagnostics())
         .map(pseudoInstruction -> renderPseudoInstruction(cppFunctions, fieldUsages,
             relocations,
             passResults,
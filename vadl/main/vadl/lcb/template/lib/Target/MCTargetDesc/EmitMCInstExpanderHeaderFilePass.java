@@ -69,7 +69,8 @@ public class EmitMCInstExpanderHeaderFilePass extends LcbTemplateRenderingPass {
       PassResults passResults,
       Map<PseudoInstruction, GcbExpandPseudoInstructionCppFunction> cppFunctions
   ) {
-    return PseudoInstructionProvider.getSupportedPseudoInstructions(specification, passResults)
+    return PseudoInstructionProvider.getSupportedPseudoInstructions(specification, passResults,
+            configuration().diagnostics())
         .map(x -> new RenderedCompilerInstruction(
             ensureNonNull(cppFunctions.get(x), "cppFunction must exist")
                 .functionName().lower(),
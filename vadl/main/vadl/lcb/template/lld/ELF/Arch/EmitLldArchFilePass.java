@@ -17,16 +17,22 @@
 package vadl.lcb.template.lld.ELF.Arch;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import vadl.configuration.LcbConfiguration;
+import vadl.cppCodeGen.model.GcbCppFunctionWithBody;
 import vadl.lcb.passes.relocation.GenerateLinkerComponentsPass;
+import vadl.lcb.passes.relocation.GenerateLinkerRelaxationsPass;
+import vadl.lcb.passes.relocation.LinkerRelaxation;
 import vadl.lcb.template.CommonVarNames;
 import vadl.lcb.template.LcbTemplateRenderingPass;
 import vadl.pass.PassResults;
 import vadl.viam.Specification;
 
 /**
- * This files defines the relocations for the linker.
+ * This files defines the relocations and the relaxations for the linker.
  */
 public class EmitLldArchFilePass extends LcbTemplateRenderingPass {
 
@@ -60,11 +66,52 @@ public class EmitLldArchFilePass extends LcbTemplateRenderingPass {
         (GenerateLinkerComponentsPass.Output) passResults.lastResultOf(
             GenerateLinkerComponentsPass.class);
     var relocations = output.elfRelocations();
+    var relaxations = (List<LinkerRelaxation>) passResults.lastResultOf(
+        GenerateLinkerRelaxationsPass.class);
     var elfInfo = createElfInfo();
     return Map.of(CommonVarNames.NAMESPACE,
         lcbConfiguration().targetName().value().toLowerCase(),
         CommonVarNames.MAX_INSTRUCTION_WORDSIZE, elfInfo.maxInstructionWordSize(),
         CommonVarNames.IS_BIG_ENDIAN, elfInfo.isBigEndian(),
-        CommonVarNames.RELOCATIONS, relocations);
+        CommonVarNames.RELOCATIONS, relocations,
+        "relaxations", relaxations.stream().map(EmitLldArchFilePass::relaxation).toList(),
+        "relaxedRelocations", relaxedRelocations(relaxations),
+        "relaxationFunctions", relaxations.stream()
+            .flatMap(relaxation -> Stream.of(relaxation.encodeFunction(),
+                relaxation.decodeFunction(), relaxation.predicate()))
+            .map(GcbCppFunctionWithBody::code)
+            .distinct()
+            .toList());
+  }
+
+  private static Map<String, Object> relaxation(LinkerRelaxation relaxation) {
+    return Map.of(
+        "index", relaxation.index(),
+        "sequenceSize", relaxation.sequenceSize(),
+        "relaxedSize", relaxation.relaxedSize(),
+        "encoding", "0x" + Long.toHexString(relaxation.encoding()),
+        "relocation", relaxation.relocation().elfRelocationName().value(),
+        "expr", relaxation.relocation().kind().llvmKind(),
+        "predicate", relaxation.predicate().header().functionName().lower(),
+        "encode", relaxation.encodeFunction().header().functionName().lower(),
+        "decode", relaxation.decodeFunction().header().functionName().lower());
+  }
+
+  /**
+   * The relocations of the relaxed instructions are applied by the linker itself.
+   * Every relocation is only listed once, even when it is used by multiple relaxations.
+   */
+  private static List<Map<String, Object>> relaxedRelocations(
+      List<LinkerRelaxation> relaxations) {
+    var relocations = new LinkedHashMap<String, Map<String, Object>>();
+    for (var relaxation : relaxations) {
+      var relocation = relaxation.relocation();
+      relocations.putIfAbsent(relocation.elfRelocationName().value(), Map.of(
+          "relocation", relocation.elfRelocationName().value(),
+          "bits", relaxation.relaxedSize() * 8,
+          "update", relocation.fieldUpdateFunction().functionName().lower(),
+          "encode", relaxation.encodeFunction().header().functionName().lower()));
+    }
+    return List.copyOf(relocations.values());
   }
 }
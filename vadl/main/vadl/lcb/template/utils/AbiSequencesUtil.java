@@ -27,6 +27,7 @@ import vadl.template.Renderable;
 import vadl.types.BitsType;
 import vadl.viam.CompilerInstruction;
 import vadl.viam.Specification;
+import vadl.viam.graph.control.InstrCallNode;
 
 /**
  * Utility class.
@@ -35,11 +36,14 @@ public class AbiSequencesUtil {
 
   /**
    * Helper record to construct constant sequences.
+   * The {@code instructionCount} is the number of machine instructions emitted by
+   * the sequence.
    */
   public record ConstantSequence(CompilerInstruction instruction,
                                  boolean isSigned,
                                  long highestValue,
-                                 long lowestValue) implements Renderable {
+                                 long lowestValue,
+                                 int instructionCount) implements Renderable {
 
     @Override
     public Map<String, Object> renderObj() {
@@ -47,7 +51,8 @@ public class AbiSequencesUtil {
           "instruction", instruction.identifier.simpleName(),
           "isSigned", isSigned,
           "highestValue", highestValue,
-          "lowestValue", lowestValue
+          "lowestValue", lowestValue,
+          "instructionCount", instructionCount
       );
     }
   }
@@ -107,7 +112,8 @@ public class AbiSequencesUtil {
     return new ConstantSequence(x,
         Arrays.stream(x.parameters()).anyMatch(y -> y.type().asDataType().isSigned()),
         highest,
-        lowest
+        lowest,
+        (int) x.behavior().getNodes(InstrCallNode.class).count()
     );
   }
 }
@@ -19,13 +19,14 @@ package vadl.lcb.template.utils;
 import static vadl.viam.ViamError.ensureNonNull;
 
 import java.util.stream.Stream;
-import vadl.error.DeferredDiagnosticStore;
 import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
 import vadl.pass.PassResults;
 import vadl.viam.Instruction;
 import vadl.viam.PseudoInstruction;
 import vadl.viam.Specification;
+import vadl.viam.annotations.PseudoInstructionCompressAnno;
 import vadl.viam.graph.control.InstrCallNode;
 
 /**
@@ -34,22 +35,28 @@ import vadl.viam.graph.control.InstrCallNode;
 public class PseudoInstructionProvider {
   /**
    * Get the list of {@link PseudoInstruction} which only contain {@link Instruction} which
-   * are lowered to LLVM.
+   * are lowered to LLVM. Pseudo instructions which only describe an instruction compression
+   * are never expanded and therefore omitted.
+   * The pseudo instructions which call an instruction that was not lowered are reported
+   * to the {@code diagnostics}.
    */
   public static Stream<PseudoInstruction> getSupportedPseudoInstructions(
       Specification specification,
-      PassResults passResults) {
+      PassResults passResults,
+      DiagnosticCollector diagnostics) {
     var supportedInstructions = ensureNonNull(
         (LlvmLoweringPass.LlvmLoweringPassResult) passResults.lastResultOf(LlvmLoweringPass.class),
         "llvmLoweringPass result must exist").machineInstructionRecords()
         .keySet();
     return specification.isa()
         .map(x -> x.ownPseudoInstructions().stream()).orElseGet(Stream::empty)
+        .filter(pseudoInstruction ->
+            pseudoInstruction.annotation(PseudoInstructionCompressAnno.class) == null)
         .filter(pseudoInstruction -> pseudoInstruction.behavior().getNodes(InstrCallNode.class)
             .allMatch(i -> {
               var isSupported = supportedInstructions.contains(i.target());
               if (!isSupported) {
-                DeferredDiagnosticStore.add(Diagnostic.warning(
+                diagnostics.add(Diagnostic.warning(
                     "Instruction was not lowered. "
                         + "Therefore, it cannot be used in the pseudo instruction",
                     i.location()).build());
@@ -0,0 +1,263 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lsp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+/**
+ * A minimal JSON reader and writer for the messages of the language server protocol.
+ *
+ * <p>Objects are read as {@link Map}, arrays as {@link List}, integral numbers as {@link Long},
+ * all other numbers as {@link Double} and {@code null} as Java {@code null}.
+ */
+final class Json {
+
+  private final String text;
+  private int pos;
+
+  private Json(String text) {
+    this.text = text;
+  }
+
+  /**
+   * Reads a single JSON value.
+   *
+   * @throws IllegalArgumentException if the text isn't valid JSON.
+   */
+  @Nullable
+  static Object parse(String text) {
+    var json = new Json(text);
+    var value = json.value();
+    json.skipWhitespace();
+    if (json.pos != text.length()) {
+      throw json.error("Unexpected trailing characters");
+    }
+    return value;
+  }
+
+  /**
+   * Writes the value, which must consist of maps, lists, strings, numbers, booleans and nulls.
+   */
+  static String write(@Nullable Object value) {
+    var builder = new StringBuilder();
+    write(value, builder);
+    return builder.toString();
+  }
+
+  private static void write(@Nullable Object value, StringBuilder builder) {
+    if (value == null) {
+      builder.append("null");
+    } else if (value instanceof String string) {
+      writeString(string, builder);
+    } else if (value instanceof Number || value instanceof Boolean) {
+      builder.append(value);
+    } else if (value instanceof Map<?, ?> map) {
+      builder.append('{');
+      var first = true;
+      for (var entry : map.entrySet()) {
+        if (!first) {
+          builder.append(',');
+        }
+        first = false;
+        writeString(String.valueOf(entry.getKey()), builder);
+        builder.append(':');
+        write(entry.getValue(), builder);
+      }
+      builder.append('}');
+    } else if (value instanceof List<?> list) {
+      builder.append('[');
+      for (int i = 0; i < list.size(); i++) {
+        if (i > 0) {
+          builder.append(',');
+        }
+        write(list.get(i), builder);
+      }
+      builder.append(']');
+    } else {
+      throw new IllegalArgumentException("Cannot write " + value.getClass().getSimpleName());
+    }
+  }
+
+  private static void writeString(String string, StringBuilder builder) {
+    builder.append('"');
+    for (int i = 0; i < string.length(); i++) {
+      var c = string.charAt(i);
+      switch (c) {
+        case '"' -> builder.append("\\\"");
+        case '\\' -> builder.append("\\\\");
+        case '\n' -> builder.append("\\n");
+        case '\r' -> builder.append("\\r");
+        case '\t' -> builder.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            builder.append("\\u%04x".formatted((int) c));
+          } else {
+            builder.append(c);
+          }
+        }
+      }
+    }
+    builder.append('"');
+  }
+
+  @Nullable
+  private Object value() {
+    skipWhitespace();
+    if (pos >= text.length()) {
+      throw error("Unexpected end of input");
+    }
+
+    var c = text.charAt(pos);
+    return switch (c) {
+      case '{' -> object();
+      case '[' -> array();
+      case '"' -> string();
+      case 't' -> literal("true", true);
+      case 'f' -> literal("false", false);
+      case 'n' -> literal("null", null);
+      default -> number();
+    };
+  }
+
+  private Map<String, Object> object() {
+    var map = new LinkedHashMap<String, Object>();
+    expect('{');
+    skipWhitespace();
+    if (peek('}')) {
+      pos++;
+      return map;
+    }
+    do {
+      skipWhitespace();
+      var key = string();
+      skipWhitespace();
+      expect(':');
+      map.put(key, value());
+      skipWhitespace();
+    } while (consume(','));
+    expect('}');
+    return map;
+  }
+
+  private List<Object> array() {
+    var list = new ArrayList<Object>();
+    expect('[');
+    skipWhitespace();
+    if (peek(']')) {
+      pos++;
+      return list;
+    }
+    do {
+      list.add(value());
+      skipWhitespace();
+    } while (consume(','));
+    expect(']');
+    return list;
+  }
+
+  private String string() {
+    expect('"');
+    var builder = new StringBuilder();
+    while (pos < text.length()) {
+      var c = text.charAt(pos++);
+      if (c == '"') {
+        return builder.toString();
+      }
+      if (c != '\\') {
+        builder.append(c);
+        continue;
+      }
+      if (pos >= text.length()) {
+        break;
+      }
+      var escaped = text.charAt(pos++);
+      switch (escaped) {
+        case 'b' -> builder.append('\b');
+        case 'f' -> builder.append('\f');
+        case 'n' -> builder.append('\n');
+        case 'r' -> builder.append('\r');
+        case 't' -> builder.append('\t');
+        case 'u' -> {
+          if (pos + 4 > text.length()) {
+            throw error("Invalid unicode escape");
+          }
+          builder.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+          pos += 4;
+        }
+        default -> builder.append(escaped);
+      }
+    }
+    throw error("Unterminated string");
+  }
+
+  private Number number() {
+    var start = pos;
+    while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+      pos++;
+    }
+    var number = text.substring(start, pos);
+    try {
+      if (number.contains(".") || number.contains("e") || number.contains("E")) {
+        return Double.parseDouble(number);
+      }
+      return Long.parseLong(number);
+    } catch (NumberFormatException e) {
+      throw error("Invalid value");
+    }
+  }
+
+  @Nullable
+  private Object literal(String literal, @Nullable Object value) {
+    if (!text.startsWith(literal, pos)) {
+      throw error("Invalid value");
+    }
+    pos += literal.length();
+    return value;
+  }
+
+  private void skipWhitespace() {
+    while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+      pos++;
+    }
+  }
+
+  private boolean peek(char c) {
+    return pos < text.length() && text.charAt(pos) == c;
+  }
+
+  private boolean consume(char c) {
+    if (peek(c)) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  private void expect(char c) {
+    if (!consume(c)) {
+      throw error("Expected '" + c + "'");
+    }
+  }
+
+  private IllegalArgumentException error(String message) {
+    return new IllegalArgumentException(message + " at offset " + pos);
+  }
+}
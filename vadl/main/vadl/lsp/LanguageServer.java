@@ -0,0 +1,438 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lsp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import vadl.error.Diagnostic;
+import vadl.utils.SourceLocation;
+
+/**
+ * A language server for VADL specifications, which communicates with the editor over
+ * the language server protocol.
+ *
+ * <p>The server keeps every open document parsed and checked in memory and reports its
+ * diagnostics, resolves go-to-definition requests and describes the symbols on hover.
+ * Changes are checked incrementally by the {@link vadl.ast.IncrementalChecker}. While the
+ * client sends further messages, the check is postponed, so fast typing only checks the
+ * latest version of a document.
+ */
+public class LanguageServer {
+
+  private static final Logger log = LoggerFactory.getLogger(LanguageServer.class);
+
+  private static final int METHOD_NOT_FOUND = -32601;
+  private static final int INVALID_PARAMS = -32602;
+  private static final int INTERNAL_ERROR = -32603;
+
+  /**
+   * Returned by {@link #dispatch} for methods the server doesn't implement. A sentinel is used
+   * instead of an exception, so exceptions of the handlers are never mistaken for it.
+   */
+  private static final Object UNKNOWN_METHOD = new Object();
+
+  /**
+   * Matches the length header. It isn't anchored at the start of the line, as the content of
+   * a message with an invalid header may precede the header of the next message.
+   */
+  private static final Pattern CONTENT_LENGTH =
+      Pattern.compile("content-length\\s*:(.*)$", Pattern.CASE_INSENSITIVE);
+
+  private final BufferedInputStream input;
+  private final OutputStream output;
+  private final Map<URI, TextDocument> documents = new LinkedHashMap<>();
+  private boolean shutdown = false;
+  private boolean exit = false;
+
+  /**
+   * Creates a server that reads the messages of the client from the input and writes its
+   * responses to the output.
+   */
+  public LanguageServer(InputStream input, OutputStream output) {
+    this.input = new BufferedInputStream(input);
+    this.output = output;
+  }
+
+  /**
+   * Serves the client until it sends the exit notification or closes the input.
+   *
+   * @return the exit code, which is only 0 if the client shut the server down before.
+   */
+  public int run() throws IOException {
+    while (!exit) {
+      var message = readMessage();
+      if (message == null) {
+        return 1;
+      }
+      handle(message);
+
+      if (input.available() == 0) {
+        checkOutdated();
+      }
+    }
+    return shutdown ? 0 : 1;
+  }
+
+  private void handle(String message) throws IOException {
+    Map<?, ?> request;
+    try {
+      request = Json.parse(message) instanceof Map<?, ?> map ? map : Map.of();
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring invalid message: {}", e.getMessage());
+      return;
+    }
+
+    var id = request.get("id");
+    var method = String.valueOf(request.get("method"));
+    var params = request.get("params") instanceof Map<?, ?> map ? map : Map.of();
+    try {
+      var result = dispatch(method, params);
+      if (id == null) {
+        return;
+      }
+      if (result == UNKNOWN_METHOD) {
+        send(error(id, METHOD_NOT_FOUND, "Unsupported method " + method));
+      } else {
+        send(response(id, result));
+      }
+    } catch (IllegalArgumentException e) {
+      if (id != null) {
+        send(error(id, INVALID_PARAMS, "%s: %s".formatted(method, e.getMessage())));
+      }
+    } catch (RuntimeException e) {
+      log.error("Failed to handle {}", method, e);
+      if (id != null) {
+        send(error(id, INTERNAL_ERROR, String.valueOf(e.getMessage())));
+      }
+    }
+  }
+
+  @Nullable
+  private Object dispatch(String method, Map<?, ?> params) throws IOException {
+    switch (method) {
+      case "initialize":
+        return Map.of(
+            "capabilities", Map.of(
+                "textDocumentSync", Map.of("openClose", true, "change", 2),
+                "definitionProvider", true,
+                "hoverProvider", true),
+            "serverInfo", Map.of("name", "OpenVADL"));
+      case "shutdown":
+        shutdown = true;
+        return null;
+      case "exit":
+        exit = true;
+        return null;
+      case "textDocument/didOpen":
+        didOpen(map(params, "textDocument"));
+        return null;
+      case "textDocument/didChange":
+        didChange(map(params, "textDocument"), list(params, "contentChanges"));
+        return null;
+      case "textDocument/didClose":
+        didClose(map(params, "textDocument"));
+        return null;
+      case "textDocument/definition":
+        return definition(map(params, "textDocument"), map(params, "position"));
+      case "textDocument/hover":
+        return hover(map(params, "textDocument"), map(params, "position"));
+      default:
+        if (method.equals("initialized") || method.startsWith("$/")) {
+          return null;
+        }
+        return UNKNOWN_METHOD;
+    }
+  }
+
+  private void didOpen(Map<?, ?> textDocument) {
+    var uri = uri(textDocument);
+    documents.put(uri, new TextDocument(uri, integer(textDocument, "version"),
+        string(textDocument, "text")));
+  }
+
+  private void didChange(Map<?, ?> textDocument, List<?> changes) {
+    var document = document(textDocument);
+    document.version = integer(textDocument, "version");
+    for (var change : changes) {
+      if (!(change instanceof Map<?, ?> changeMap)) {
+        throw new IllegalArgumentException("Invalid content change");
+      }
+      var text = string(changeMap, "text");
+      if (changeMap.get("range") instanceof Map<?, ?> range) {
+        var start = map(range, "start");
+        var end = map(range, "end");
+        document.replace(integer(start, "line"), integer(start, "character"),
+            integer(end, "line"), integer(end, "character"), text);
+      } else {
+        document.replace(text);
+      }
+    }
+  }
+
+  private void didClose(Map<?, ?> textDocument) throws IOException {
+    var document = documents.remove(uri(textDocument));
+    if (document != null) {
+      publishDiagnostics(document, List.of());
+    }
+  }
+
+  @Nullable
+  private Object definition(Map<?, ?> textDocument, Map<?, ?> position) throws IOException {
+    var document = document(textDocument);
+    check(document);
+    var location = document.checker.definitionAt(integer(position, "line") + 1,
+        integer(position, "character") + 1);
+    if (location == null || !location.isValid()) {
+      return null;
+    }
+    return Map.of("uri", location.uri().toString(), "range", range(location));
+  }
+
+  @Nullable
+  private Object hover(Map<?, ?> textDocument, Map<?, ?> position) throws IOException {
+    var document = document(textDocument);
+    check(document);
+    var description = document.checker.describeAt(integer(position, "line") + 1,
+        integer(position, "character") + 1);
+    if (description == null) {
+      return null;
+    }
+    return Map.of("contents", Map.of("kind", "plaintext", "value", description));
+  }
+
+  private void checkOutdated() throws IOException {
+    for (var document : documents.values()) {
+      check(document);
+    }
+  }
+
+  private void check(TextDocument document) throws IOException {
+    if (!document.outdated) {
+      return;
+    }
+
+    var startTime = System.nanoTime();
+    var diagnostics = document.checker.update(document.text());
+    document.outdated = false;
+    log.debug("Checked {} of {} definitions of {} in {}ms",
+        document.checker.checkedDefinitions(), document.checker.definitions(), document.uri,
+        (System.nanoTime() - startTime) / 1_000_000);
+    publishDiagnostics(document, diagnostics);
+  }
+
+  private void publishDiagnostics(TextDocument document, List<Diagnostic> diagnostics)
+      throws IOException {
+    var converted = new ArrayList<Object>();
+    for (var diagnostic : diagnostics) {
+      converted.add(diagnostic(document, diagnostic));
+    }
+
+    var params = new LinkedHashMap<String, Object>();
+    params.put("uri", document.uri.toString());
+    params.put("version", document.version);
+    params.put("diagnostics", converted);
+    send(notification("textDocument/publishDiagnostics", params));
+  }
+
+  private static Map<String, Object> diagnostic(TextDocument document, Diagnostic diagnostic) {
+    var primary = diagnostic.multiLocation.primaryLocation();
+    var message = new StringBuilder(diagnostic.reason);
+    var location = primary.location();
+    if (!location.uri().equals(document.uri)) {
+      // Diagnostics of other files, e.g. imported ones, are shown at the start of the document.
+      if (location.isValid()) {
+        message.append(" (").append(location.toConciseString()).append(")");
+      }
+      location = new SourceLocation(document.uri, new SourceLocation.Position(1, 1));
+    }
+    primary.labels().forEach(label -> message.append("\n").append(label.content()));
+    diagnostic.messages.forEach(m -> message.append("\n")
+        .append(m.type().toString().toLowerCase(Locale.ROOT))
+        .append(": ").append(m.content()));
+
+    var converted = new LinkedHashMap<String, Object>();
+    converted.put("range", range(location));
+    converted.put("severity", diagnostic.level == Diagnostic.Level.ERROR ? 1 : 2);
+    converted.put("source", "openvadl");
+    converted.put("message", message.toString());
+    return converted;
+  }
+
+  /**
+   * Converts the location to a range of the protocol, with zero based lines and characters and
+   * an exclusive end.
+   */
+  private static Map<String, Object> range(SourceLocation location) {
+    var begin = location.begin();
+    var end = location.end();
+    if (begin.column() < 0) {
+      return Map.of("start", position(begin.line() - 1, 0),
+          "end", position(end.line(), 0));
+    }
+    return Map.of("start", position(begin.line() - 1, begin.column() - 1),
+        "end", position(end.line() - 1, Math.max(end.column(), 0)));
+  }
+
+  private static Map<String, Object> position(int line, int character) {
+    return Map.of("line", Math.max(line, 0), "character", Math.max(character, 0));
+  }
+
+  private TextDocument document(Map<?, ?> textDocument) {
+    var uri = uri(textDocument);
+    var document = documents.get(uri);
+    if (document == null) {
+      throw new IllegalArgumentException("Document " + uri + " isn't open");
+    }
+    return document;
+  }
+
+  private static URI uri(Map<?, ?> textDocument) {
+    return URI.create(string(textDocument, "uri"));
+  }
+
+  private static Map<?, ?> map(Map<?, ?> map, String key) {
+    return get(map, key, Map.class);
+  }
+
+  private static List<?> list(Map<?, ?> map, String key) {
+    return get(map, key, List.class);
+  }
+
+  private static String string(Map<?, ?> map, String key) {
+    return get(map, key, String.class);
+  }
+
+  private static int integer(Map<?, ?> map, String key) {
+    return get(map, key, Number.class).intValue();
+  }
+
+  private static <T> T get(Map<?, ?> map, String key, Class<T> type) {
+    var value = map.get(key);
+    if (!type.isInstance(value)) {
+      throw new IllegalArgumentException("Missing or invalid `%s`".formatted(key));
+    }
+    return type.cast(value);
+  }
+
+  private static Map<String, Object> response(Object id, @Nullable Object result) {
+    var response = new LinkedHashMap<String, Object>();
+    response.put("jsonrpc", "2.0");
+    response.put("id", id);
+    response.put("result", result);
+    return response;
+  }
+
+  private static Map<String, Object> error(Object id, int code, String message) {
+    var response = new LinkedHashMap<String, Object>();
+    response.put("jsonrpc", "2.0");
+    response.put("id", id);
+    response.put("error", Map.of("code", code, "message", message));
+    return response;
+  }
+
+  private static Map<String, Object> notification(String method, Object params) {
+    var notification = new LinkedHashMap<String, Object>();
+    notification.put("jsonrpc", "2.0");
+    notification.put("method", method);
+    notification.put("params", params);
+    return notification;
+  }
+
+  /**
+   * Reads the next message, which consists of a header with its length and the JSON content.
+   * Messages with an invalid length are skipped, as their content can't be read.
+   *
+   * @return the content or null if the input was closed.
+   */
+  @Nullable
+  private String readMessage() throws IOException {
+    var contentLength = -1;
+    while (true) {
+      var line = readHeaderLine();
+      if (line == null) {
+        return null;
+      }
+      if (line.isEmpty()) {
+        if (contentLength >= 0) {
+          break;
+        }
+        continue;
+      }
+
+      var matcher = CONTENT_LENGTH.matcher(line);
+      if (matcher.find()) {
+        contentLength = contentLength(matcher.group(1).trim());
+      }
+    }
+
+    var content = input.readNBytes(contentLength);
+    if (content.length < contentLength) {
+      return null;
+    }
+    return new String(content, StandardCharsets.UTF_8);
+  }
+
+  private static int contentLength(String value) {
+    try {
+      var length = Integer.parseInt(value);
+      if (length >= 0) {
+        return length;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    log.warn("Ignoring message with invalid Content-Length `{}`", value);
+    return -1;
+  }
+
+  @Nullable
+  private String readHeaderLine() throws IOException {
+    var line = new ByteArrayOutputStream();
+    while (true) {
+      var c = input.read();
+      if (c < 0) {
+        return null;
+      }
+      if (c == '\n') {
+        return line.toString(StandardCharsets.US_ASCII).trim();
+      }
+      line.write(c);
+    }
+  }
+
+  private void send(Map<String, Object> message) throws IOException {
+    var content = Json.write(message).getBytes(StandardCharsets.UTF_8);
+    output.write(("Content-Length: " + content.length + "\r\n\r\n")
+        .getBytes(StandardCharsets.US_ASCII));
+    output.write(content);
+    output.flush();
+  }
+}
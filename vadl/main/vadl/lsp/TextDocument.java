@@ -0,0 +1,88 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lsp;
+
+import java.net.URI;
+import vadl.ast.IncrementalChecker;
+
+/**
+ * A document that is opened in the editor of the client.
+ *
+ * <p>Positions are zero based lines and characters, as in the language server protocol.
+ */
+final class TextDocument {
+
+  final URI uri;
+  final IncrementalChecker checker;
+  int version;
+
+  /**
+   * Whether the text changed since the last check.
+   */
+  boolean outdated = true;
+
+  private String text;
+
+  TextDocument(URI uri, int version, String text) {
+    this.uri = uri;
+    this.version = version;
+    this.text = text;
+    this.checker = new IncrementalChecker(uri);
+  }
+
+  String text() {
+    return text;
+  }
+
+  /**
+   * Replaces the whole text.
+   */
+  void replace(String newText) {
+    text = newText;
+    outdated = true;
+  }
+
+  /**
+   * Replaces the text between the two positions.
+   */
+  void replace(int startLine, int startCharacter, int endLine, int endCharacter,
+               String newText) {
+    var start = offset(startLine, startCharacter);
+    var end = Math.max(start, offset(endLine, endCharacter));
+    text = text.substring(0, start) + newText + text.substring(end);
+    outdated = true;
+  }
+
+  /**
+   * Returns the offset of the position in the text. Positions after the end of a line or the
+   * text are moved to its end.
+   */
+  int offset(int line, int character) {
+    var offset = 0;
+    for (int i = 0; i < line; i++) {
+      var next = text.indexOf('\n', offset);
+      if (next < 0) {
+        return text.length();
+      }
+      offset = next + 1;
+    }
+
+    var lineEnd = text.indexOf('\n', offset);
+    lineEnd = lineEnd < 0 ? text.length() : lineEnd;
+    return Math.min(offset + Math.max(character, 0), lineEnd);
+  }
+}
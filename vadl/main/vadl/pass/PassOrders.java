@@ -17,6 +17,7 @@
 package vadl.pass;
 
 import static vadl.iss.template.IssDefaultRenderingPass.issDefault;
+import static vadl.iss.template.linux_user.EmitIssLinuxUserPass.linuxUser;
 
 import com.google.common.collect.Streams;
 import java.io.IOException;
@@ -45,6 +46,7 @@ import vadl.iss.passes.IssConfigurationPass;
 import vadl.iss.passes.IssExtractOptimizationPass;
 import vadl.iss.passes.IssGdbInfoExtractionPass;
 import vadl.iss.passes.IssHardcodedTcgAddOnPass;
+import vadl.iss.passes.IssHelperOutliningPass;
 import vadl.iss.passes.IssInfoRetrievalPass;
 import vadl.iss.passes.IssMemoryAccessTransformationPass;
 import vadl.iss.passes.IssMemoryDetectionPass;
@@ -58,8 +60,11 @@ import vadl.iss.passes.safeResourceRead.IssSafeResourceReadPass;
 import vadl.iss.passes.tcgLowering.IssTcgContextPass;
 import vadl.iss.passes.tcgLowering.TcgBranchLoweringPass;
 import vadl.iss.passes.tcgLowering.TcgOpLoweringPass;
+import vadl.iss.template.contrib.EmitIssInsnHistogramPluginPass;
 import vadl.iss.template.gdb_xml.EmitIssGdbXmlPass;
 import vadl.iss.template.hw.EmitIssHwMachineCPass;
+import vadl.iss.template.linux_user.EmitIssCpuLoopPass;
+import vadl.iss.template.linux_user.IssLinuxUserQemuPatchPass;
 import vadl.iss.template.target.EmitIssCpuHeaderPass;
 import vadl.iss.template.target.EmitIssCpuParamHeaderPass;
 import vadl.iss.template.target.EmitIssCpuQomHeaderPass;
@@ -70,6 +75,7 @@ import vadl.iss.template.target.EmitIssGdbStubPass;
 import vadl.iss.template.target.EmitIssInsnTransCIncPass;
 import vadl.iss.template.target.EmitIssMachinePass;
 import vadl.iss.template.target.EmitIssTranslateCPass;
+import vadl.lcb.passes.compression.GenerateInstructionCompressionsPass;
 import vadl.lcb.passes.isaMatching.IsaPseudoInstructionMatchingPass;
 import vadl.lcb.passes.isaMatching.IsaRelocationMatchingPass;
 import vadl.lcb.passes.llvmLowering.CreateFunctionsFromImmediatesPass;
@@ -81,9 +87,13 @@ import vadl.lcb.passes.llvmLowering.ISelLoweringOperationActionPass;
 import vadl.lcb.passes.llvmLowering.LlvmLoweringPass;
 import vadl.lcb.passes.llvmLowering.compensation.CompensationPatternPass;
 import vadl.lcb.passes.llvmLowering.immediates.GenerateTableGenImmediateRecordPass;
+import vadl.lcb.passes.llvmLowering.priority.GeneratePatternPrioritiesPass;
+import vadl.lcb.passes.materialization.GenerateConstantMaterializationPass;
 import vadl.lcb.passes.pseudo.AbiSequencesCompilerInstructionExpansionFunctionGeneratorPass;
 import vadl.lcb.passes.pseudo.PseudoExpansionFunctionGeneratorPass;
 import vadl.lcb.passes.relocation.GenerateLinkerComponentsPass;
+import vadl.lcb.passes.relocation.GenerateLinkerRelaxationsPass;
+import vadl.lcb.passes.scheduling.GenerateSchedulingModelPass;
 import vadl.lcb.template.clang.lib.Basic.Targets.EmitClangTargetHeaderFilePass;
 import vadl.lcb.template.include.llvm.BinaryFormat.ELFRelocs.EmitTargetElfRelocsDefFilePass;
 import vadl.lcb.template.lib.Target.EmitMCInstLowerCppFilePass;
@@ -104,6 +114,7 @@ import vadl.rtl.passes.MiaMappingOptimizePass;
 import vadl.rtl.passes.StageOrderingPass;
 import vadl.template.AbstractTemplateRenderingPass;
 import vadl.vdt.passes.VdtConstraintSynthesisPass;
+import vadl.vdt.passes.VdtDecodeProfilePass;
 import vadl.vdt.passes.VdtEncodingConstraintValidationPass;
 import vadl.vdt.passes.VdtInputPreparationPass;
 import vadl.vdt.passes.VdtLoweringPass;
@@ -111,6 +122,7 @@ import vadl.viam.Specification;
 import vadl.viam.passes.ControlFlowOptimizationPass;
 import vadl.viam.passes.DuplicateWriteDetectionPass;
 import vadl.viam.passes.HardcodeLGALabelPass;
+import vadl.viam.passes.InstructionCompressionVerificationPass;
 import vadl.viam.passes.InstructionResourceAccessAnalysisPass;
 import vadl.viam.passes.algebraic_simplication.AlgebraicSimplificationPass;
 import vadl.viam.passes.behaviorRewrite.BehaviorRewritePass;
@@ -183,6 +195,7 @@ public class PassOrders {
     order.add(new SideEffectConditionResolvingPass(configuration));
     // requires SideEffectConditionResolvingPass to work
     order.add(new DuplicateWriteDetectionPass(configuration));
+    order.add(new InstructionCompressionVerificationPass(configuration));
 
     order.add(new CanonicalizationPass(configuration));
     order.add(new AlgebraicSimplificationPass(configuration));
@@ -254,6 +267,11 @@ public class PassOrders {
     order.add(new CompensationPatternPass(configuration));
     order.add(new ISelLoweringOperationActionPass(configuration));
     order.add(new GenerateLinkerComponentsPass(configuration));
+    order.add(new GenerateLinkerRelaxationsPass(configuration));
+    order.add(new GenerateInstructionCompressionsPass(configuration));
+    order.add(new GenerateSchedulingModelPass(configuration));
+    order.add(new GenerateConstantMaterializationPass(configuration));
+    order.add(new GeneratePatternPrioritiesPass(configuration));
 
     addHtmlDump(order, configuration,
         "lcbLlvmLowering",
@@ -283,6 +301,8 @@ public class PassOrders {
     order.add(
         new vadl.lcb.template.lld.ELF.Arch.EmitLldManualEncodingHeaderFilePass(configuration));
     order.add(new vadl.lcb.template.lld.ELF.Arch.EmitImmediateUtilsHeaderFilePass(configuration));
+    order.add(
+        new vadl.lcb.template.lld.ELF.Arch.EmitLldVadlBuiltinHeaderFilePass(configuration));
     order.add(new vadl.lcb.template.lld.ELF.Arch.EmitLldArchFilePass(configuration));
     order.add(new vadl.lcb.template.lld.ELF.EmitLldTargetCppFilePass(configuration));
     order.add(new vadl.lcb.template.EmitLcbMakeFilePass(configuration));
@@ -318,6 +338,7 @@ public class PassOrders {
     order.add(new vadl.lcb.template.lib.Target.Utils.EmitBaseInfoFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.Utils.EmitImmediateFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitTargetTableGenFilePass(configuration));
+    order.add(new vadl.lcb.template.lib.Target.EmitSchedModelTableGenFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitTargetHeaderFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitAsmPrinterCppFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitSubTargetHeaderFilePass(configuration));
@@ -330,6 +351,10 @@ public class PassOrders {
         new vadl.lcb.template.lib.Target.TargetInfo.EmitTargetInfoCMakeFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.TargetInfo.EmitTargetInfoCppFile(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitPassConfigCppFilePass(configuration));
+    order.add(
+        new vadl.lcb.template.lib.Target.EmitTargetTransformInfoHeaderFilePass(configuration));
+    order.add(
+        new vadl.lcb.template.lib.Target.EmitTargetTransformInfoCppFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitSubTargetCppFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.EmitTargetCMakeFilePass(configuration));
     order.add(new vadl.lcb.template.lib.Target.MCTargetDesc.EmitMCCodeEmitterHeaderFilePass(
@@ -413,6 +438,9 @@ public class PassOrders {
     // skip inlining of field access
     order.skip(FieldAccessInlinerPass.class);
 
+    // the decode profile is also used by the IssHelperOutliningPass
+    order.add(new VdtDecodeProfilePass(config));
+
     // iss function passes
     order
         .add(new IssVerificationPass(config))
@@ -427,6 +455,7 @@ public class PassOrders {
         .add(new SideEffectSchedulingPass(config))
         .add(new IssSafeResourceReadPass(config))
         .add(new IssPcAccessConversionPass(config))
+        .add(new IssHelperOutliningPass(config))
         .add(new IssTcgSchedulingPass(config))
         .add(new IssTcgContextPass(config))
         .add(new TcgBranchLoweringPass(config))
@@ -438,7 +467,7 @@ public class PassOrders {
         .add(new IssGdbInfoExtractionPass(config))
     ;
 
-    addDecodePasses(order, config);
+    addDecodePasses(order, config, false);
 
     addHtmlDump(order, config, "ISS Lowering Dump",
         "This dump is executed after the iss transformation passes were executed.",
@@ -523,6 +552,41 @@ public class PassOrders {
         .add(issDefault("/contrib/plugins/meson.build", config))
         // cosimulation plugin
         .add(issDefault("/contrib/plugins/cosimulation.c", config))
+        // instruction histogram plugin
+        .add(new EmitIssInsnHistogramPluginPass(config))
+    ;
+
+    if (config.mode() == IssConfiguration.IssMode.USER) {
+      addIssLinuxUserEmitPasses(order, config);
+    }
+  }
+
+  private static void addIssLinuxUserEmitPasses(PassOrder order, IssConfiguration config) {
+    order
+        // config rendering
+        .add(issDefault("/configs/targets/gen-arch-linux-user.mak", config))
+
+        // linux-user rendering
+        .add(linuxUser("/linux-user/gen-arch/target_cpu.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_elf.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_elfload.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_errno_defs.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_fcntl.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_mman.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_prctl.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_proc.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_resource.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_signal.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_structs.h", config))
+        .add(linuxUser("/linux-user/gen-arch/target_syscall.h", config))
+        .add(linuxUser("/linux-user/gen-arch/syscall_nr.h", config))
+        .add(linuxUser("/linux-user/gen-arch/sockbits.h", config))
+        .add(linuxUser("/linux-user/gen-arch/termbits.h", config))
+        .add(linuxUser("/linux-user/gen-arch/signal.c", config))
+        // linux-user/gen-arch/cpu_loop.c
+        .add(new EmitIssCpuLoopPass(config))
+        // linux-user/syscall_defs.h and linux-user/elfload.c
+        .add(new IssLinuxUserQemuPatchPass(config))
     ;
   }
 
@@ -533,13 +597,29 @@ public class PassOrders {
    * @param config from which to decide if a dump is wanted.
    */
   private static void addDecodePasses(PassOrder order, GeneralConfiguration config) {
+    addDecodePasses(order, config, true);
+  }
+
+  /**
+   * Adds all necessary passes for generating the VDT.
+   *
+   * @param order       into which the passes will be inserted.
+   * @param config      from which to decide if a dump is wanted.
+   * @param loadProfile whether to add the {@link VdtDecodeProfilePass}, which can be omitted
+   *                    if it was already added to the order.
+   */
+  private static void addDecodePasses(PassOrder order, GeneralConfiguration config,
+                                      boolean loadProfile) {
 
     // VDT Decode Passes
     order
         .add(new VdtEncodingConstraintValidationPass(config))
         .add(new VdtInputPreparationPass(config))
-        .add(new VdtConstraintSynthesisPass(config))
-        .add(new VdtLoweringPass(config));
+        .add(new VdtConstraintSynthesisPass(config));
+    if (loadProfile) {
+      order.add(new VdtDecodeProfilePass(config));
+    }
+    order.add(new VdtLoweringPass(config));
   }
 
   /**
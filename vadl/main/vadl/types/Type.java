@@ -17,10 +17,10 @@
 package vadl.types;
 
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 import vadl.viam.ViamError;
 
@@ -65,7 +65,7 @@ public abstract class Type {
     return name();
   }
 
-  private static final HashMap<Integer, BitsType> bitsTypes = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, BitsType> bitsTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the BitsType instance with the specified bit width.
@@ -85,7 +85,7 @@ public abstract class Type {
    *
    * @return an instance of BoolType
    */
-  public static BoolType bool() {
+  public static synchronized BoolType bool() {
     if (bool == null) {
       bool = new BoolType();
     }
@@ -93,7 +93,8 @@ public abstract class Type {
   }
 
 
-  private static final HashMap<Integer, SIntType> signedIntTypes = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, SIntType> signedIntTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the instance of SIntType with the specified bit width.
@@ -106,7 +107,8 @@ public abstract class Type {
         .computeIfAbsent(bitWidth, k -> new SIntType(bitWidth));
   }
 
-  private static final HashMap<Integer, UIntType> unsignedIntTyps = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, UIntType> unsignedIntTyps =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the instance of UIntType with the specified bit width.
@@ -136,14 +138,14 @@ public abstract class Type {
    *
    * @return the instance of BitSliceType
    */
-  public static BitSliceType bitSlice() {
+  public static synchronized BitSliceType bitSlice() {
     if (bitSliceType == null) {
       bitSliceType = new BitSliceType();
     }
     return bitSliceType;
   }
 
-  private static final HashMap<Integer, TupleType> tupleTypes = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, TupleType> tupleTypes = new ConcurrentHashMap<>();
 
   /**
    * Retrieves the tuple type with the specified subtypes.
@@ -164,7 +166,7 @@ public abstract class Type {
    *
    * @return the status type instance
    */
-  public static StatusType status() {
+  public static synchronized StatusType status() {
     if (statusType == null) {
       statusType = new StatusType();
     }
@@ -177,7 +179,7 @@ public abstract class Type {
   /**
    * Retrieves the instance of VoidType.
    */
-  public static VoidType void_() {
+  public static synchronized VoidType void_() {
     if (voidType == null) {
       voidType = new VoidType();
     }
@@ -189,7 +191,7 @@ public abstract class Type {
   /**
    * Retrieves the instance of StringType.
    */
-  public static StringType string() {
+  public static synchronized StringType string() {
     if (stringType == null) {
       stringType = new StringType();
     }
@@ -197,7 +199,8 @@ public abstract class Type {
   }
 
 
-  private static final HashMap<Integer, RelationType> relationTypes = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, RelationType> relationTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the generic relation type.
@@ -263,8 +266,8 @@ public abstract class Type {
     return relation(List.of(firstArg, secondArg), false, returnType);
   }
 
-  private static final HashMap<Integer, ConcreteRelationType> concreteRelationTypes =
-      new HashMap<>();
+  private static final ConcurrentHashMap<Integer, ConcreteRelationType> concreteRelationTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the ConcreteRelationType based on the given argument types and return type.
@@ -316,7 +319,8 @@ public abstract class Type {
     return concreteRelation(List.of(firstType, secondType), returnType);
   }
 
-  private static final HashMap<Integer, AlternativeType> alternativeTypes = new HashMap<>();
+  private static final ConcurrentHashMap<Integer, AlternativeType> alternativeTypes =
+      new ConcurrentHashMap<>();
 
   /**
    * Retrieves the {@link AlternativeType} with the given types.
@@ -34,25 +34,47 @@ import javax.annotation.Nullable;
 /**
  * References a location span in source.
  *
- * @param uri          uri to concrete source file
- * @param begin        the span begin with line and column
- * @param end          the span end with line and column (this is inclusive)
- * @param expandedFrom pointing to the location of a macro instantiation from which the current ast
- *                     got expanded. This is useful to both print the code in the macro as well as
- *                     the invocation. Is null for location that weren't expanded.
+ * <p>A spec produces a location for every token and every node, and the macro expansion copies
+ * them, so the begin and end are not stored as {@link Position} objects but packed into a
+ * single {@code long} each (the line in the upper and the column in the lower half).
+ * The {@link Position}s are only materialized by {@link #begin()} and {@link #end()},
+ * which are mostly used to report diagnostics.</p>
  */
-public record SourceLocation(
-    URI uri,
-    Position begin,
-    Position end,
-    @Nullable SourceLocation expandedFrom
-) implements WithLocation {
+public final class SourceLocation implements WithLocation {
 
   private static final URI INVALID_MEMORY = URI.create("memory://unknown");
 
   public static final SourceLocation INVALID_SOURCE_LOCATION =
       new SourceLocation(INVALID_MEMORY, 0);
 
+  private final URI uri;
+  private final long begin;
+  private final long end;
+  @Nullable
+  private final SourceLocation expandedFrom;
+
+  private SourceLocation(URI uri, long begin, long end, @Nullable SourceLocation expandedFrom) {
+    this.uri = uri;
+    this.begin = begin;
+    this.end = end;
+    this.expandedFrom = expandedFrom;
+  }
+
+  /**
+   * Constructs a source location.
+   *
+   * @param uri          uri to concrete source file
+   * @param begin        the span begin with line and column
+   * @param end          the span end with line and column (this is inclusive)
+   * @param expandedFrom pointing to the location of a macro instantiation from which the current
+   *                     ast got expanded. This is useful to both print the code in the macro as
+   *                     well as the invocation. Is null for location that weren't expanded.
+   */
+  public SourceLocation(URI uri, Position begin, Position end,
+                        @Nullable SourceLocation expandedFrom) {
+    this(uri, pack(begin.line, begin.column), pack(end.line, end.column), expandedFrom);
+  }
+
   public SourceLocation(URI uri, Position begin, Position end) {
     this(uri, begin, end, null);
   }
@@ -62,13 +84,74 @@ public record SourceLocation(
   }
 
   public SourceLocation(URI uri, int lineBegin, int lineEnd) {
-    this(uri, new Position(lineBegin), new Position(lineEnd));
+    this(uri, pack(lineBegin, -1), pack(lineEnd, -1), null);
   }
 
   public SourceLocation(URI uri, int line) {
     this(uri, line, line);
   }
 
+  /**
+   * Constructs a source location of a span within a single line, without allocating the
+   * {@link Position}s.
+   */
+  public static SourceLocation inLine(URI uri, int line, int beginColumn, int endColumn) {
+    return new SourceLocation(uri, pack(line, beginColumn), pack(line, endColumn), null);
+  }
+
+  /**
+   * Packs a line and column into a long that orders the same way as the {@link Position}.
+   * The column is stored with an offset of one, so that the unknown column {@code -1} is the
+   * smallest one of a line.
+   */
+  private static long pack(int line, int column) {
+    return ((long) line << 32) | Integer.toUnsignedLong(column + 1);
+  }
+
+  private static int lineOf(long packed) {
+    return (int) (packed >> 32);
+  }
+
+  private static int columnOf(long packed) {
+    return (int) packed - 1;
+  }
+
+  public URI uri() {
+    return uri;
+  }
+
+  public Position begin() {
+    return new Position(lineOf(begin), columnOf(begin));
+  }
+
+  public Position end() {
+    return new Position(lineOf(end), columnOf(end));
+  }
+
+  @Nullable
+  public SourceLocation expandedFrom() {
+    return expandedFrom;
+  }
+
+  /**
+   * Returns this location with another location it got expanded from.
+   */
+  public SourceLocation withExpandedFrom(@Nullable SourceLocation expandedFrom) {
+    if (Objects.equals(this.expandedFrom, expandedFrom)) {
+      return this;
+    }
+    return new SourceLocation(uri, begin, end, expandedFrom);
+  }
+
+  /**
+   * Returns this location moved by a number of lines, e.g. after lines got inserted
+   * before it.
+   */
+  public SourceLocation shiftLines(int delta, @Nullable SourceLocation expandedFrom) {
+    var offset = (long) delta << 32;
+    return new SourceLocation(uri, begin + offset, end + offset, expandedFrom);
+  }
+
   public boolean isValid() {
     return !this.uri.equals(INVALID_MEMORY);
   }
@@ -115,8 +198,8 @@ public record SourceLocation(
           "Cannot join source locations that point to different files.");
     }
 
-    Position begin = this.begin.compareTo(other.begin) < 0 ? this.begin : other.begin;
-    Position end = this.end.compareTo(other.end) > 0 ? this.end : other.end;
+    long begin = Math.min(this.begin, other.begin);
+    long end = Math.max(this.end, other.end);
     SourceLocation expanedFrom =
         Objects.equals(this.expandedFrom, other.expandedFrom)
             ? this.expandedFrom : null;
@@ -148,12 +231,12 @@ public record SourceLocation(
           "Cannot intersect source locations that point to different files.");
     }
 
-    if (this.end.compareTo(other.begin) < 0 || other.end.compareTo(this.begin) < 0) {
+    if (this.end < other.begin || other.end < this.begin) {
       throw new IllegalArgumentException("The source locations do not intersect.");
     }
 
-    Position begin = (this.begin.compareTo(other.begin) > 0) ? this.begin : other.begin;
-    Position end = (this.end.compareTo(other.end) < 0) ? this.end : other.end;
+    long begin = Math.max(this.begin, other.begin);
+    long end = Math.min(this.end, other.end);
     SourceLocation expanedFrom =
         Objects.equals(this.expandedFrom, other.expandedFrom)
             ? this.expandedFrom : null;
@@ -186,7 +269,7 @@ public record SourceLocation(
 
     return printablePath
         + ":"
-        + this.begin;
+        + this.begin();
   }
 
   /**
@@ -201,9 +284,9 @@ public record SourceLocation(
     var indexOfLastSlash = uriAsString.lastIndexOf('/');
     return uriAsString.substring(indexOfLastSlash + 1)
         + ":"
-        + this.begin
+        + this.begin()
         + " .. "
-        + this.end;
+        + this.end();
   }
 
   /**
@@ -215,6 +298,8 @@ public record SourceLocation(
       return "Invalid source location: " + this;
     }
 
+    var begin = begin();
+    var end = end();
     try (Stream<String> lines = Files.lines(Paths.get(uri))) {
       if (begin.line <= 0) {
         return "Invalid source location: " + this;
@@ -252,13 +337,13 @@ public record SourceLocation(
    * becomes "file:///path/file.vadl:1:3 .. 2:4"
    */
   public String toUriString() {
-    return uri.toString() + ":" + begin + " .. " + end;
+    return uri.toString() + ":" + begin() + " .. " + end();
   }
 
   @Override
   public String toString() {
     var printPath = !uri.getPath().isEmpty() ? uri.getPath() : "unknown";
-    printPath += ":" + begin + ".." + end;
+    printPath += ":" + begin() + ".." + end();
     return printPath;
   }
 
@@ -271,15 +356,18 @@ public record SourceLocation(
       return false;
     }
     SourceLocation that = (SourceLocation) o;
-    return Objects.equals(uri, that.uri)
-        && Objects.equals(begin, that.begin)
-        && Objects.equals(end, that.end)
+    return begin == that.begin
+        && end == that.end
+        && Objects.equals(uri, that.uri)
         && Objects.equals(expandedFrom, that.expandedFrom);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(uri, begin, end, expandedFrom);
+    int result = uri.hashCode();
+    result = 31 * result + Long.hashCode(begin);
+    result = 31 * result + Long.hashCode(end);
+    return 31 * result + Objects.hashCode(expandedFrom);
   }
 
   @Override
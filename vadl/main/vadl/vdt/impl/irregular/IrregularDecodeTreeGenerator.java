@@ -20,6 +20,7 @@ import static vadl.error.Diagnostic.error;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +29,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import vadl.error.Diagnostic;
 import vadl.vdt.impl.irregular.model.DecodeEntry;
 import vadl.vdt.impl.irregular.model.ExclusionCondition;
@@ -36,8 +38,10 @@ import vadl.vdt.impl.irregular.tree.SingleDecisionNode;
 import vadl.vdt.model.DecodeTreeGenerator;
 import vadl.vdt.model.Node;
 import vadl.vdt.model.impl.LeafNodeImpl;
+import vadl.vdt.target.common.DecisionTreeStatsCalculator;
 import vadl.vdt.utils.BitPattern;
 import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.DecodeProfile;
 import vadl.vdt.utils.PBit;
 import vadl.viam.Definition;
 
@@ -52,9 +56,34 @@ import vadl.viam.Definition;
  * <p>This algorithm supports exclusion conditions with matching and unmatching constraints in
  * the instruction entry set. As a result this generator is able to handle irregular instruction
  * sets, albeit the constraint conditions are quite limited.
+ *
+ * <p>If an instruction frequency profile is given, the hottest instructions are greedily hoisted
+ * into a chain of single decision nodes in front of the structural tree, as long as this reduces
+ * the expected decode depth for the profiled workload.
  */
 public class IrregularDecodeTreeGenerator implements DecodeTreeGenerator<DecodeEntry> {
 
+  /**
+   * The maximum number of hot instructions that are considered for a dedicated decode path.
+   */
+  private static final int MAX_HOT_PATH_CANDIDATES = 8;
+
+  @Nullable
+  private final DecodeProfile profile;
+
+  public IrregularDecodeTreeGenerator() {
+    this(null);
+  }
+
+  /**
+   * Creates a generator that optimizes the tree for the given instruction frequency profile.
+   *
+   * @param profile the profile, or {@code null} to generate a purely structural tree
+   */
+  public IrregularDecodeTreeGenerator(@Nullable DecodeProfile profile) {
+    this.profile = profile;
+  }
+
   /**
    * Entry point for the decode tree generator. This method will prepare the input entries and
    * generate the decode tree.
@@ -70,9 +99,110 @@ public class IrregularDecodeTreeGenerator implements DecodeTreeGenerator<DecodeE
     }
 
     final DecodeEntries entries = toRelevantBits(decodeEntries);
+
+    if (profile != null && !profile.isEmpty()) {
+      return generateWithHotPaths(decodeEntries, entries, profile);
+    }
+
     return generateInternal(entries);
   }
 
+  /**
+   * Generates the decode tree with dedicated decode paths for the hottest instructions of the
+   * profile. Starting with the structural tree, the most frequent instructions are greedily
+   * hoisted into single decision nodes in front of the tree for the remaining instructions, as
+   * long as this reduces the expected decode depth.
+   *
+   * <p>Only instructions without exclusion conditions whose pattern does not overlap with any
+   * other instruction are considered, as they can be decided with a single pattern test.
+   *
+   * @param decodeEntries The (unsliced) entry set
+   * @param entries       The entry set truncated to the relevant region
+   * @param profile       The instruction frequency profile
+   * @return The generated decode tree
+   */
+  private Node generateWithHotPaths(Collection<DecodeEntry> decodeEntries, DecodeEntries entries,
+                                    DecodeProfile profile) {
+
+    final double totalWeight = entries.entries().stream()
+        .mapToDouble(e -> profile.count(e.source()))
+        .sum();
+
+    Node restTree = generateInternal(entries);
+    if (totalWeight == 0) {
+      return restTree;
+    }
+
+    final List<DecodeEntry> candidates = entries.entries().stream()
+        .filter(e -> profile.count(e.source()) > 0)
+        .sorted(Comparator.comparingLong((DecodeEntry e) -> profile.count(e.source())).reversed())
+        .limit(MAX_HOT_PATH_CANDIDATES)
+        .toList();
+
+    final List<DecodeEntry> hotEntries = new ArrayList<>();
+    final List<DecodeEntry> remaining = new ArrayList<>(decodeEntries);
+
+    // Cost of the hot path chain, i.e. the sum of weighted depths of the hoisted instructions
+    double hotCost = 0;
+    double restWeight = totalWeight;
+    double bestCost = expectedDepth(restTree, profile);
+
+    for (DecodeEntry candidate : candidates) {
+      if (!isIsolated(candidate, entries.entries())) {
+        continue;
+      }
+
+      final List<DecodeEntry> others = remaining.stream()
+          .filter(e -> e.source() != candidate.source())
+          .toList();
+      if (others.isEmpty()) {
+        break;
+      }
+
+      final Node candidateRest = generateInternal(toRelevantBits(others));
+
+      final int depth = hotEntries.size() + 1;
+      final double weight = profile.count(candidate.source());
+      final double candidateHotCost = hotCost + weight * depth;
+      final double candidateRestWeight = restWeight - weight;
+      final double cost = (candidateHotCost
+          + candidateRestWeight * (depth + expectedDepth(candidateRest, profile))) / totalWeight;
+
+      if (cost >= bestCost) {
+        continue;
+      }
+
+      bestCost = cost;
+      hotCost = candidateHotCost;
+      restWeight = candidateRestWeight;
+      restTree = candidateRest;
+      hotEntries.add(candidate);
+      remaining.removeIf(e -> e.source() == candidate.source());
+    }
+
+    Node result = restTree;
+    for (DecodeEntry hot : hotEntries.reversed()) {
+      result = new SingleDecisionNode(entries.offset(), entries.length(), hot.pattern(),
+          new LeafNodeImpl(hot), result);
+    }
+    return result;
+  }
+
+  private static double expectedDepth(Node tree, DecodeProfile profile) {
+    return DecisionTreeStatsCalculator.statistics(tree, profile).getExpectedDepth();
+  }
+
+  /**
+   * Checks whether the entry can be decided by a single pattern test, i.e. it has no exclusion
+   * conditions and its pattern does not overlap with any other entry.
+   */
+  private boolean isIsolated(DecodeEntry entry, List<DecodeEntry> decodeEntries) {
+    return entry.exclusionConditions().isEmpty()
+        && decodeEntries.stream()
+        .filter(e -> e != entry)
+        .noneMatch(e -> match(entry.pattern(), e.pattern()));
+  }
+
   /**
    * Top level method to generate the decode tree. This method will recursively build the tree
    * based on the input entries.
@@ -72,8 +72,7 @@ public class VdtConstraintSynthesisPass extends Pass {
       return null;
     }
 
-    // TODO: get the byte order from the VADL specification -> Implement memory annotations
-    final ByteOrder bo = ByteOrder.LITTLE_ENDIAN;
+    final ByteOrder bo = configuration().byteOrder();
 
     // Prepare a lookup map for possible constraint synthesis
     final var grouped = groupedInstructions(entries);
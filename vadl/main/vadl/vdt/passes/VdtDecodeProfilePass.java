@@ -0,0 +1,82 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.passes;
+
+import java.io.IOException;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.error.Diagnostic;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.utils.SourceLocation;
+import vadl.vdt.utils.DecodeProfile;
+import vadl.viam.Specification;
+
+/**
+ * Loads the optional instruction frequency profile given by
+ * {@link GeneralConfiguration#decodeProfile()}, which is used by the {@link VdtLoweringPass}
+ * to minimize the expected decode cost for the profiled workload.
+ *
+ * <p>The pass returns {@code null} if no profile was configured.
+ * Profile entries that do not refer to any instruction of the ISA are reported as warning.</p>
+ */
+public class VdtDecodeProfilePass extends Pass {
+
+  public VdtDecodeProfilePass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("VDT Decode Profile Loading");
+  }
+
+  @Nullable
+  @Override
+  public DecodeProfile execute(PassResults passResults, Specification viam) throws IOException {
+
+    var path = configuration().decodeProfile();
+    var isa = viam.isa().orElse(null);
+    if (path == null || isa == null) {
+      return null;
+    }
+
+    final DecodeProfile profile;
+    try {
+      profile = DecodeProfile.load(path);
+    } catch (IOException | IllegalArgumentException e) {
+      throw Diagnostic.error("Cannot load decode profile %s".formatted(path),
+              SourceLocation.INVALID_SOURCE_LOCATION)
+          .description("%s", String.valueOf(e.getMessage()))
+          .build();
+    }
+
+    var unknown = profile.names().stream()
+        .filter(n -> isa.ownInstructions().stream().noneMatch(i -> DecodeProfile.refersTo(n, i)))
+        .toList();
+
+    if (!unknown.isEmpty()) {
+      configuration().diagnostics().add(
+          Diagnostic.warning("Decode profile contains unknown instructions",
+                  SourceLocation.INVALID_SOURCE_LOCATION)
+              .description("The following profile entries are ignored: %s", unknown));
+    }
+
+    return profile;
+  }
+}
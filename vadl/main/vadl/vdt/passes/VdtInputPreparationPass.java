@@ -87,8 +87,7 @@ public class VdtInputPreparationPass extends Pass {
       return null;
     }
 
-    // TODO: get the byte order from the VADL specification -> Implement memory annotations
-    final ByteOrder bo = ByteOrder.LITTLE_ENDIAN;
+    final ByteOrder bo = configuration().byteOrder();
 
     return isa.ownInstructions()
         .stream()
@@ -26,10 +26,13 @@ import vadl.pass.PassResults;
 import vadl.vdt.impl.irregular.IrregularDecodeTreeGenerator;
 import vadl.vdt.impl.irregular.model.DecodeEntry;
 import vadl.vdt.model.Node;
+import vadl.vdt.utils.DecodeProfile;
 import vadl.viam.Specification;
 
 /**
  * Lowering pass that creates the VDT (VADL Decode Tree) from the VIAM definition.
+ * If the {@link VdtDecodeProfilePass} provided an instruction frequency profile, the tree is
+ * optimized for the expected decode cost of the profiled workload.
  */
 public class VdtLoweringPass extends Pass {
 
@@ -66,6 +69,11 @@ public class VdtLoweringPass extends Pass {
       return null;
     }
 
-    return new IrregularDecodeTreeGenerator().generate(entries);
+    DecodeProfile profile = null;
+    if (passResults.hasRunPassOnce(VdtDecodeProfilePass.class)) {
+      profile = (DecodeProfile) passResults.lastNullableResultOf(VdtDecodeProfilePass.class);
+    }
+
+    return new IrregularDecodeTreeGenerator(profile).generate(entries);
   }
 }
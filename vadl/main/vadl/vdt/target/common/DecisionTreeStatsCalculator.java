@@ -16,25 +16,72 @@
 
 package vadl.vdt.target.common;
 
+import java.util.IdentityHashMap;
 import java.util.Objects;
+import javax.annotation.Nullable;
 import vadl.vdt.model.InnerNode;
 import vadl.vdt.model.LeafNode;
 import vadl.vdt.model.Node;
 import vadl.vdt.model.Visitor;
 import vadl.vdt.target.common.dto.DecisionTreeStatistics;
+import vadl.vdt.utils.DecodeProfile;
 
 /**
  * Calculate general statistics about the structure of a decision tree, such as the number of nodes,
  * the number of leaf nodes, the maximum depth, the minimum depth, and the average depth.
+ *
+ * <p>If an instruction frequency profile is given, the expected depth (i.e. the average number of
+ * decisions per decoded instruction of the profiled workload) is calculated as well. Otherwise,
+ * the expected depth equals the average depth.
  */
 public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatistics> {
 
+  @Nullable
+  private final DecodeProfile profile;
+
+  // the number of leaves per instruction, as instructions may be split up into multiple leaves
+  private final IdentityHashMap<vadl.viam.Instruction, Integer> leavesPerInstruction =
+      new IdentityHashMap<>();
+
+  public DecisionTreeStatsCalculator() {
+    this(null);
+  }
+
+  public DecisionTreeStatsCalculator(@Nullable DecodeProfile profile) {
+    this.profile = profile;
+  }
+
   public static DecisionTreeStatistics statistics(Node node) {
     return new DecisionTreeStatsCalculator().calculate(node);
   }
 
+  public static DecisionTreeStatistics statistics(Node node, @Nullable DecodeProfile profile) {
+    return new DecisionTreeStatsCalculator(profile).calculate(node);
+  }
+
+  /**
+   * Calculates the statistics of the given decision tree.
+   *
+   * @param node the root of the tree
+   * @return the statistics
+   */
   public DecisionTreeStatistics calculate(Node node) {
-    return Objects.requireNonNull(node.accept(this));
+    leavesPerInstruction.clear();
+    countLeaves(node);
+
+    var stats = Objects.requireNonNull(node.accept(this));
+    if (profile == null || stats.getProfileWeight() == 0) {
+      stats.setExpectedDepth(stats.getAvgDepth());
+    }
+    return stats;
+  }
+
+  private void countLeaves(Node node) {
+    if (node instanceof InnerNode inner) {
+      inner.children().forEach(this::countLeaves);
+    } else if (node instanceof LeafNode leaf) {
+      leavesPerInstruction.merge(leaf.instruction().source(), 1, Integer::sum);
+    }
   }
 
   @Override
@@ -48,6 +95,8 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
     stats.setMaxDepth(0);
     stats.setMinDepth(Integer.MAX_VALUE);
     stats.setAvgDepth(0);
+    stats.setExpectedDepth(0);
+    stats.setProfileWeight(0);
 
     for (Node child : node.children()) {
       DecisionTreeStatistics childStats = Objects.requireNonNull(child.accept(this));
@@ -61,11 +110,18 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
 
       double avgDepth = (childStats.getAvgDepth() + 1) * childStats.getNumberOfLeafNodes();
       stats.setAvgDepth(stats.getAvgDepth() + avgDepth);
+
+      double expectedDepth = (childStats.getExpectedDepth() + 1) * childStats.getProfileWeight();
+      stats.setExpectedDepth(stats.getExpectedDepth() + expectedDepth);
+      stats.setProfileWeight(stats.getProfileWeight() + childStats.getProfileWeight());
     }
 
     stats.setMinDepth(stats.getMinDepth() + 1);
     stats.setMaxDepth(stats.getMaxDepth() + 1);
     stats.setAvgDepth(stats.getAvgDepth() / stats.getNumberOfLeafNodes());
+    if (stats.getProfileWeight() > 0) {
+      stats.setExpectedDepth(stats.getExpectedDepth() / stats.getProfileWeight());
+    }
 
     return stats;
   }
@@ -78,7 +134,17 @@ public class DecisionTreeStatsCalculator implements Visitor<DecisionTreeStatisti
     stats.setMaxDepth(0);
     stats.setMinDepth(0);
     stats.setAvgDepth(0);
+    stats.setExpectedDepth(0);
+    stats.setProfileWeight(profileWeight(node));
     stats.setMaxInstructionWidth(node.instruction().source().format().type().bitWidth());
     return stats;
   }
+
+  private double profileWeight(LeafNode node) {
+    if (profile == null) {
+      return 0;
+    }
+    var source = node.instruction().source();
+    return (double) profile.count(source) / leavesPerInstruction.getOrDefault(source, 1);
+  }
 }
@@ -27,6 +27,8 @@ public class DecisionTreeStatistics {
   private int maxDepth;
   private int minDepth;
   private double avgDepth;
+  private double expectedDepth;
+  private double profileWeight;
 
   private int maxInstructionWidth;
 
@@ -70,6 +72,29 @@ public class DecisionTreeStatistics {
     this.avgDepth = avgDepth;
   }
 
+  /**
+   * Returns the expected depth (number of decisions) to decode an instruction, weighted by the
+   * instruction frequency profile. Without a profile, this is equal to the average depth.
+   */
+  public double getExpectedDepth() {
+    return expectedDepth;
+  }
+
+  public void setExpectedDepth(double expectedDepth) {
+    this.expectedDepth = expectedDepth;
+  }
+
+  /**
+   * Returns the accumulated profile weight (execution count) of all instructions in the tree.
+   */
+  public double getProfileWeight() {
+    return profileWeight;
+  }
+
+  public void setProfileWeight(double profileWeight) {
+    this.profileWeight = profileWeight;
+  }
+
   public int getMaxInstructionWidth() {
     return maxInstructionWidth;
   }
@@ -85,7 +110,8 @@ public class DecisionTreeStatistics {
         + "  numberOfLeafNodes: " + numberOfLeafNodes + ",\n"
         + "  maxDepth: " + maxDepth + ",\n"
         + "  minDepth: " + minDepth + ",\n"
-        + "  avgDepth: " + avgDepth + "\n"
+        + "  avgDepth: " + avgDepth + ",\n"
+        + "  expectedDepth: " + expectedDepth + ",\n"
         + "  maxInsnWidth: " + maxInstructionWidth + "\n"
         + "}";
   }
@@ -26,11 +26,14 @@ import java.math.BigInteger;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import vadl.cppCodeGen.CppTypeMap;
 import vadl.cppCodeGen.common.AccessFunctionCodeGenerator;
 import vadl.cppCodeGen.common.PureFunctionCodeGenerator;
@@ -76,6 +79,10 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
   private final DecisionTreeStatistics stats;
   private final ByteOrder byteOrder;
 
+  // if set, leaves return the index of the instruction instead of translating it
+  @Nullable
+  private IdentityHashMap<vadl.viam.Instruction, Integer> classifierIndices;
+
   /**
    * Construct the decode tree generator.
    *
@@ -144,6 +151,57 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
     return appendable.toCharSequence();
   }
 
+  /**
+   * Generate a classification function {@code int <functionName>(insn)} for the decision tree.
+   * It returns the index of the decoded instruction within {@link #instructions()}, or {@code -1}
+   * if the instruction word cannot be decoded.
+   *
+   * <p>In contrast to {@link #generate()}, no format fields are extracted and no translation
+   * functions are called, so the classifier can be used outside of the translator, e.g.
+   * in QEMU plugins. As a consequence, {@code [ undefined when ]} annotations are not checked.
+   *
+   * @param functionName The name of the generated C function
+   */
+  public CharSequence generateClassifier(String functionName) {
+
+    final List<vadl.viam.Instruction> insns = instructions();
+    classifierIndices = new IdentityHashMap<>();
+    for (int i = 0; i < insns.size(); i++) {
+      classifierIndices.put(insns.get(i), i);
+    }
+
+    final String insnWordCType = CppTypeMap.getCppTypeNameByVadlType(getInsnWordType());
+    appendable.append("static int ").append(functionName)
+        .append("(").append(insnWordCType).append(" insn) {\n\n");
+    appendable.indent();
+
+    tree.accept(this);
+
+    appendable.append(noMatch());
+    appendable.unindent();
+    appendable.append("}\n");
+
+    return appendable.toCharSequence();
+  }
+
+  // the statement returned if no instruction matches.
+  // as index 0 is a valid instruction in the classifier, it returns -1 instead.
+  private String noMatch() {
+    return classifierIndices != null ? "return -1;\n" : "return 0;\n";
+  }
+
+  /**
+   * Returns the distinct instructions of the decision tree, ordered by their name.
+   * The order determines the instruction indices returned by the classifier generated by
+   * {@link #generateClassifier(String)}.
+   */
+  public List<vadl.viam.Instruction> instructions() {
+    return getInstructions(tree).stream()
+        .distinct()
+        .sorted(Comparator.comparing(i -> i.identifier.name()))
+        .toList();
+  }
+
   /**
    * An inner node represents a decision point in the decision tree. We generate a switch statement
    * to select the correct child node based on relevant bits in the instruction word.
@@ -178,7 +236,7 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
       node.getFallback().accept(this);
       appendable.unindent();
     } else {
-      appendable.append("default:\n").indent().append("return 0;\n").unindent();
+      appendable.append("default:\n").indent().append(noMatch()).unindent();
     }
 
     appendable.unindent();
@@ -230,7 +288,7 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
 
     appendable.append("default:\n")
         .indent()
-        .append("return 0;\n")
+        .append(noMatch())
         .unindent();
 
     appendable.unindent();
@@ -258,10 +316,10 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
 
     int shift = insnWidth - (node.getOffset() + length);
     if (offset > 0 && shift > 0) {
-      appendable.append("if ((insn >> %d) & 0x%x == 0x%x) {\n"
+      appendable.append("if (((insn >> %d) & 0x%x) == 0x%x) {\n"
           .formatted(shift, mask, value));
     } else {
-      appendable.append("if (insn & 0x%x ==  0x%x) {\n"
+      appendable.append("if ((insn & 0x%x) == 0x%x) {\n"
           .formatted(mask, value));
     }
 
@@ -305,6 +363,14 @@ public class IssDecisionTreeCodeGenerator implements Visitor<Void> {
       throw new IllegalArgumentException("Leaf node type not supported: " + node.getClass());
     }
 
+    if (classifierIndices != null) {
+      appendable.append("return ")
+          .append(String.valueOf(classifierIndices.get(insn.source())))
+          .append("; // ")
+          .appendLn(insn.source().simpleName());
+      return null;
+    }
+
     var argsStr = "insn_args." + insn.source().format().simpleName().toLowerCase(Locale.US);
 
     // Extract the fields from the instruction word
@@ -0,0 +1,225 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.utils;
+
+import com.google.common.base.Splitter;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An instruction frequency profile (execution histogram) used to guide the decode tree
+ * generation towards a minimal expected decode cost for a given workload.
+ *
+ * <p>Two file formats are supported:
+ * <ul>
+ *   <li>A text format with one {@code <instruction>,<count>} (or whitespace separated) entry per
+ *   line. Empty lines and lines starting with {@code #} are ignored, as is a non-numeric header
+ *   line.</li>
+ *   <li>A binary format starting with the magic {@code VDTH}, followed by a {@code u32} version
+ *   ({@value #BINARY_VERSION}) and a {@code u32} number of entries. Each entry is a {@code u16}
+ *   name length, the UTF-8 encoded instruction name and a {@code u64} execution count.
+ *   All integers are little endian.</li>
+ * </ul>
+ *
+ * <p>Instruction names are matched against the fully qualified and the simple name of the
+ * instruction definition, where the simple name is matched case-insensitively.
+ */
+public class DecodeProfile {
+
+  private static final byte[] BINARY_MAGIC = "VDTH".getBytes(StandardCharsets.US_ASCII);
+  private static final int BINARY_VERSION = 1;
+  private static final Splitter FIELD_SPLITTER = Splitter.onPattern("\\s*[,;]\\s*|\\s+");
+
+  private final Map<String, Long> counts;
+  private final Map<String, Long> lowerCaseCounts;
+  private final long totalCount;
+
+  /**
+   * Creates a profile from the given instruction execution counts.
+   *
+   * @param counts the execution count by instruction name
+   */
+  public DecodeProfile(Map<String, Long> counts) {
+    this.counts = Collections.unmodifiableMap(new LinkedHashMap<>(counts));
+    this.lowerCaseCounts = new HashMap<>();
+    counts.forEach((name, count) ->
+        lowerCaseCounts.merge(name.toLowerCase(Locale.US), count, Long::sum));
+    this.totalCount = counts.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  /**
+   * Loads a profile from the given file. The format (text or binary) is detected by the
+   * file's magic.
+   *
+   * @param path the profile file
+   * @return the parsed profile
+   * @throws IOException              if the file cannot be read
+   * @throws IllegalArgumentException if the file is malformed
+   */
+  public static DecodeProfile load(Path path) throws IOException {
+    final byte[] content = Files.readAllBytes(path);
+    if (content.length >= BINARY_MAGIC.length
+        && Arrays.equals(content, 0, BINARY_MAGIC.length, BINARY_MAGIC, 0, BINARY_MAGIC.length)) {
+      return parseBinary(ByteBuffer.wrap(content));
+    }
+    return parseText(new String(content, StandardCharsets.UTF_8).lines().toList());
+  }
+
+  /**
+   * Parses the text format of a profile.
+   *
+   * @param lines the lines of the profile
+   * @return the parsed profile
+   */
+  public static DecodeProfile parseText(List<String> lines) {
+    final Map<String, Long> counts = new LinkedHashMap<>();
+    boolean first = true;
+
+    for (int i = 0; i < lines.size(); i++) {
+      final String line = lines.get(i).strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      final List<String> parts = FIELD_SPLITTER.splitToList(line);
+      if (parts.size() != 2) {
+        throw new IllegalArgumentException(
+            "Line %d: expected `<instruction>,<count>` but got `%s`".formatted(i + 1, line));
+      }
+
+      final long count;
+      try {
+        count = Long.parseLong(parts.get(1));
+      } catch (NumberFormatException e) {
+        if (first) {
+          // a header line such as `instruction,count`
+          first = false;
+          continue;
+        }
+        throw new IllegalArgumentException(
+            "Line %d: invalid count `%s`".formatted(i + 1, parts.get(1)), e);
+      }
+
+      if (count < 0) {
+        throw new IllegalArgumentException(
+            "Line %d: count must not be negative but was %d".formatted(i + 1, count));
+      }
+
+      first = false;
+      counts.merge(parts.get(0), count, Long::sum);
+    }
+
+    return new DecodeProfile(counts);
+  }
+
+  /**
+   * Parses the binary format of a profile.
+   *
+   * @param buffer the buffer holding the binary profile, starting with the magic
+   * @return the parsed profile
+   */
+  public static DecodeProfile parseBinary(ByteBuffer buffer) {
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    final Map<String, Long> counts = new LinkedHashMap<>();
+
+    try {
+      final byte[] magic = new byte[BINARY_MAGIC.length];
+      buffer.get(magic);
+      if (!Arrays.equals(magic, BINARY_MAGIC)) {
+        throw new IllegalArgumentException("Invalid binary profile magic");
+      }
+
+      final int version = buffer.getInt();
+      if (version != BINARY_VERSION) {
+        throw new IllegalArgumentException(
+            "Unsupported binary profile version %d".formatted(version));
+      }
+
+      final long entries = Integer.toUnsignedLong(buffer.getInt());
+      for (long i = 0; i < entries; i++) {
+        final byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(name);
+        final long count = buffer.getLong();
+        if (count < 0) {
+          throw new IllegalArgumentException("Entry %d: count overflows".formatted(i));
+        }
+        counts.merge(new String(name, StandardCharsets.UTF_8), count, Long::sum);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("Binary profile is truncated", e);
+    }
+
+    return new DecodeProfile(counts);
+  }
+
+  /**
+   * Returns the execution count of the given instruction, or zero if the instruction is not part
+   * of the profile.
+   */
+  public long count(vadl.viam.Instruction insn) {
+    var count = counts.get(insn.identifier.name());
+    if (count == null) {
+      count = counts.get(insn.simpleName());
+    }
+    if (count == null) {
+      count = lowerCaseCounts.get(insn.simpleName().toLowerCase(Locale.US));
+    }
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * Returns the relative execution frequency of the given instruction within the profile.
+   */
+  public double frequency(vadl.viam.Instruction insn) {
+    return totalCount == 0 ? 0 : (double) count(insn) / totalCount;
+  }
+
+  /**
+   * Returns the instruction names present in the profile.
+   */
+  public Set<String> names() {
+    return counts.keySet();
+  }
+
+  /**
+   * Checks whether the given profile name refers to the given instruction.
+   */
+  public static boolean refersTo(String name, vadl.viam.Instruction insn) {
+    return name.equals(insn.identifier.name()) || name.equalsIgnoreCase(insn.simpleName());
+  }
+
+  public long totalCount() {
+    return totalCount;
+  }
+
+  public boolean isEmpty() {
+    return totalCount == 0;
+  }
+}
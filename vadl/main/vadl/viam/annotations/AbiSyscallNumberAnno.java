@@ -0,0 +1,43 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.annotations;
+
+import vadl.viam.Abi;
+import vadl.viam.Annotation;
+
+/**
+ * The {@code [ syscall number ]} annotation that can be set on a register alias of an
+ * {@link Abi} to mark the register that holds the Linux system call number.
+ * The ISS uses it to generate the system call convention of the Linux user mode emulator.
+ */
+public class AbiSyscallNumberAnno extends Annotation<Abi> {
+
+  private final Abi.RegisterRef register;
+
+  public AbiSyscallNumberAnno(Abi.RegisterRef register) {
+    this.register = register;
+  }
+
+  public Abi.RegisterRef register() {
+    return register;
+  }
+
+  @Override
+  public Class<Abi> parentDefinitionClass() {
+    return Abi.class;
+  }
+}
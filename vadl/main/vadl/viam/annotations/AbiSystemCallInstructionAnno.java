@@ -0,0 +1,45 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.annotations;
+
+import vadl.viam.Abi;
+import vadl.viam.Annotation;
+import vadl.viam.Instruction;
+
+/**
+ * Holds the instruction that performs a Linux system call of an {@link Abi}, declared with
+ * {@code special system call instruction} in the ABI.
+ * The Linux user mode of the ISS forwards the system call to the host when this instruction
+ * raises an exception.
+ */
+public class AbiSystemCallInstructionAnno extends Annotation<Abi> {
+
+  private final Instruction instruction;
+
+  public AbiSystemCallInstructionAnno(Instruction instruction) {
+    this.instruction = instruction;
+  }
+
+  public Instruction instruction() {
+    return instruction;
+  }
+
+  @Override
+  public Class<Abi> parentDefinitionClass() {
+    return Abi.class;
+  }
+}
@@ -0,0 +1,44 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.annotations;
+
+import vadl.viam.Annotation;
+import vadl.viam.Instruction;
+
+/**
+ * The {@code [ latency : <cycles> ]} annotation that can be set on an instruction
+ * to specify the number of cycles until its result is available to dependent instructions.
+ * The compiler generator uses it to override the latency derived from the
+ * micro architecture in the generated scheduling model.
+ */
+public class InstructionLatencyAnno extends Annotation<Instruction> {
+
+  private final int latency;
+
+  public InstructionLatencyAnno(int latency) {
+    this.latency = latency;
+  }
+
+  public int latency() {
+    return latency;
+  }
+
+  @Override
+  public Class<Instruction> parentDefinitionClass() {
+    return Instruction.class;
+  }
+}
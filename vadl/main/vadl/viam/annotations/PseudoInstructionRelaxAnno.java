@@ -0,0 +1,43 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.annotations;
+
+import vadl.viam.Annotation;
+import vadl.viam.PseudoInstruction;
+
+/**
+ * The {@code [ relax : <pseudo instruction> ]} annotation that can be set on a pseudo instruction
+ * to declare a shorter pseudo instruction with a single instruction which the linker may use
+ * instead, if the target of the relocated operand is in the range of the shorter form.
+ */
+public class PseudoInstructionRelaxAnno extends Annotation<PseudoInstruction> {
+
+  private final PseudoInstruction relaxed;
+
+  public PseudoInstructionRelaxAnno(PseudoInstruction relaxed) {
+    this.relaxed = relaxed;
+  }
+
+  public PseudoInstruction relaxed() {
+    return relaxed;
+  }
+
+  @Override
+  public Class<PseudoInstruction> parentDefinitionClass() {
+    return PseudoInstruction.class;
+  }
+}
@@ -0,0 +1,329 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.passes;
+
+import static vadl.error.Diagnostic.error;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import vadl.configuration.GeneralConfiguration;
+import vadl.error.DiagnosticBuilder;
+import vadl.error.DiagnosticList;
+import vadl.pass.Pass;
+import vadl.pass.PassName;
+import vadl.pass.PassResults;
+import vadl.types.DataType;
+import vadl.types.Type;
+import vadl.viam.Constant;
+import vadl.viam.Encoding;
+import vadl.viam.Format;
+import vadl.viam.Instruction;
+import vadl.viam.Parameter;
+import vadl.viam.PseudoInstruction;
+import vadl.viam.Specification;
+import vadl.viam.annotations.PseudoInstructionCompressAnno;
+import vadl.viam.graph.Graph;
+import vadl.viam.graph.Node;
+import vadl.viam.graph.control.InstrCallNode;
+import vadl.viam.graph.dependency.ConstantNode;
+import vadl.viam.graph.dependency.ExpressionNode;
+import vadl.viam.graph.dependency.FieldRefNode;
+import vadl.viam.graph.dependency.FuncParamNode;
+import vadl.viam.graph.dependency.LetNode;
+import vadl.viam.graph.dependency.SideEffectNode;
+import vadl.viam.graph.dependency.SignExtendNode;
+import vadl.viam.graph.dependency.ZeroExtendNode;
+import vadl.viam.passes.canonicalization.Canonicalizer;
+import vadl.viam.passes.functionInliner.Inliner;
+
+/**
+ * This pass verifies the pseudo instructions with a {@code [ compress : <instruction> ]}
+ * annotation. Such a pseudo instruction calls an instruction with constraints on its fields
+ * and declares that the call is equivalent to the shorter compressed instruction.
+ * The parameters of the pseudo instruction are the fields of the compressed instruction,
+ * and the arguments of the call must be constants, parameters or extended parameters.
+ *
+ * <p>The equivalence is checked on the behaviors of both instructions. For a set of bit
+ * patterns of every field of the compressed instruction, both behaviors are specialized to
+ * the constant field values and canonicalized. The resulting side effects must be the same,
+ * where the operands of commutative operations may be swapped.
+ * The patterns cover every single bit, zero and all ones of every field.</p>
+ *
+ * <p>Depends on {@link vadl.viam.passes.sideeffect_condition.SideEffectConditionResolvingPass}.
+ */
+public class InstructionCompressionVerificationPass extends Pass {
+
+  public InstructionCompressionVerificationPass(GeneralConfiguration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  public PassName getName() {
+    return PassName.of("Instruction Compression Verification Pass");
+  }
+
+  @Override
+  public @Nullable Object execute(PassResults passResults, Specification viam)
+      throws IOException {
+    var diagnostics = new ArrayList<DiagnosticBuilder>();
+    viam.isa().ifPresent(isa -> isa.ownPseudoInstructions().forEach(pseudo -> {
+      var annotation = pseudo.annotation(PseudoInstructionCompressAnno.class);
+      if (annotation != null) {
+        new InstructionCompressionVerifier(pseudo, annotation.compressed(), diagnostics).run();
+      }
+    }));
+
+    if (!diagnostics.isEmpty()) {
+      throw new DiagnosticList(
+          diagnostics.stream().map(DiagnosticBuilder::build)
+              .collect(Collectors.toList()));
+    }
+    return null;
+  }
+}
+
+/**
+ * Verifies that the only instruction call of a pseudo instruction is equivalent to
+ * the compressed instruction.
+ */
+class InstructionCompressionVerifier {
+  private final PseudoInstruction pseudo;
+  private final Instruction compressed;
+  private final List<DiagnosticBuilder> diagnostics;
+
+  InstructionCompressionVerifier(PseudoInstruction pseudo, Instruction compressed,
+                                 List<DiagnosticBuilder> diagnostics) {
+    this.pseudo = pseudo;
+    this.compressed = compressed;
+    this.diagnostics = diagnostics;
+  }
+
+  void run() {
+    var call = pseudo.behavior().getNodes(InstrCallNode.class).findFirst().orElse(null);
+    if (call == null) {
+      diagnostics.add(error("Invalid compressed instruction", pseudo)
+          .locationDescription(pseudo, "Expected a call of an instruction."));
+      return;
+    }
+    var instruction = call.target();
+    if (compressed.format().type().bitWidth() >= instruction.format().type().bitWidth()) {
+      diagnostics.add(error("Invalid compressed instruction", pseudo)
+          .locationDescription(pseudo, "%s is not shorter than %s.",
+              compressed.simpleName(), instruction.simpleName()));
+      return;
+    }
+
+    var fields = fieldsOfParameters();
+    if (fields == null || !verifyArguments(call)) {
+      return;
+    }
+
+    for (var values : patterns(fields)) {
+      var expected = sideEffects(compressed, fieldValues -> fieldValues.putAll(values(fields,
+          values)));
+      var actual = sideEffects(instruction, fieldValues ->
+          call.getZippedArgumentsWithParameters().forEach(argument ->
+              fieldValues.put(argument.left().left(), evaluate(argument.right(), values))));
+      if (!expected.equals(actual)) {
+        var assignment = values.entrySet().stream()
+            .map(e -> e.getKey().simpleName() + " = " + e.getValue().integer())
+            .collect(Collectors.joining(", "));
+        diagnostics.add(error("Compressed instruction is not equivalent", pseudo)
+            .locationDescription(pseudo, "%s differs from %s.", instruction.simpleName(),
+                compressed.simpleName())
+            .locationNote(compressed, "The behavior differs for %s.", assignment));
+        return;
+      }
+    }
+  }
+
+  /**
+   * Every parameter must be named after a field of the compressed instruction with the same
+   * width, and every field which is not set by the encoding must have a parameter.
+   */
+  private @Nullable Map<Parameter, Format.Field> fieldsOfParameters() {
+    var encoded = Arrays.stream(compressed.encoding().fieldEncodings())
+        .map(Encoding.Field::formatField)
+        .toList();
+    var operandFields = Arrays.stream(compressed.format().fields())
+        .filter(field -> !encoded.contains(field))
+        .toList();
+    var result = new LinkedHashMap<Parameter, Format.Field>();
+    for (var parameter : pseudo.parameters()) {
+      var field = operandFields.stream()
+          .filter(f -> f.simpleName().equals(parameter.simpleName()))
+          .findFirst()
+          .orElse(null);
+      if (field == null) {
+        diagnostics.add(error("Invalid compressed instruction", parameter)
+            .locationDescription(parameter, "%s has no field %s which is not encoded.",
+                compressed.simpleName(), parameter.simpleName()));
+        return null;
+      }
+      if (field.size() != parameter.type().asDataType().bitWidth()) {
+        diagnostics.add(error("Invalid compressed instruction", parameter)
+            .locationDescription(parameter, "Expected the width %d of the field %s.",
+                field.size(), field.simpleName()));
+        return null;
+      }
+      result.put(parameter, field);
+    }
+    for (var field : operandFields) {
+      if (!result.containsValue(field)) {
+        diagnostics.add(error("Invalid compressed instruction", pseudo)
+            .locationDescription(pseudo, "Expected a parameter for the field %s of %s.",
+                field.simpleName(), compressed.simpleName()));
+        return null;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The arguments must set fields with constants, parameters or extended parameters, so the
+   * generated compression can compute the fields of one instruction from the other.
+   */
+  private boolean verifyArguments(InstrCallNode call) {
+    for (var argument : call.getZippedArgumentsWithParameters().toList()) {
+      var value = argument.right();
+      if (argument.left().isRight()) {
+        diagnostics.add(error("Invalid compressed instruction", value)
+            .locationDescription(value, "Expected a field but got the field access %s.",
+                argument.left().right().simpleName()));
+        return false;
+      }
+      var parameter = value instanceof ZeroExtendNode || value instanceof SignExtendNode
+          ? value.inputs().findFirst().orElse(value)
+          : value;
+      if (!(parameter instanceof ConstantNode) && !(parameter instanceof FuncParamNode)) {
+        diagnostics.add(error("Invalid compressed instruction", value)
+            .locationDescription(value,
+                "Expected a constant, a parameter or an extended parameter."));
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The bit patterns which are checked. Every pattern sets one field to zero, all ones or a
+   * single bit, while the other fields keep distinct values.
+   */
+  private static List<Map<Parameter, Constant.Value>> patterns(
+      Map<Parameter, Format.Field> fields) {
+    var base = new LinkedHashMap<Parameter, Constant.Value>();
+    var index = 1;
+    for (var entry : fields.entrySet()) {
+      base.put(entry.getKey(), value(BigInteger.valueOf(index++), entry.getValue().type()));
+    }
+
+    var patterns = new ArrayList<Map<Parameter, Constant.Value>>();
+    patterns.add(base);
+    for (var entry : fields.entrySet()) {
+      var width = entry.getValue().size();
+      var values = new ArrayList<BigInteger>();
+      values.add(BigInteger.ZERO);
+      values.add(BigInteger.ONE.shiftLeft(width).subtract(BigInteger.ONE));
+      for (int i = 0; i < width; i++) {
+        values.add(BigInteger.ONE.shiftLeft(i));
+      }
+      for (var value : values) {
+        var pattern = new LinkedHashMap<>(base);
+        pattern.put(entry.getKey(), value(value, entry.getValue().type()));
+        patterns.add(pattern);
+      }
+    }
+    return patterns;
+  }
+
+  private static Constant.Value value(BigInteger value, DataType type) {
+    var width = type.bitWidth();
+    return Constant.Value.fromInteger(value.mod(BigInteger.ONE.shiftLeft(width)),
+        Type.bits(width));
+  }
+
+  private static Map<Format.Field, Constant.Value> values(Map<Parameter, Format.Field> fields,
+                                                          Map<Parameter, Constant.Value> values) {
+    var result = new HashMap<Format.Field, Constant.Value>();
+    fields.forEach((parameter, field) -> result.put(field, values.get(parameter)));
+    return result;
+  }
+
+  private static Constant.Value evaluate(ExpressionNode argument,
+                                         Map<Parameter, Constant.Value> values) {
+    if (argument instanceof ConstantNode constant) {
+      return constant.constant().asVal();
+    } else if (argument instanceof FuncParamNode param) {
+      return Objects.requireNonNull(values.get(param.parameter()));
+    } else if (argument instanceof ZeroExtendNode extend) {
+      return evaluate(extend.value(), values).zeroExtend(extend.type().asDataType());
+    } else if (argument instanceof SignExtendNode extend) {
+      return evaluate(extend.value(), values).signExtend(extend.type().asDataType());
+    }
+    throw argument.error("Unexpected argument of a compressed instruction");
+  }
+
+  /**
+   * Specializes the behavior of the instruction to the given field values and returns
+   * a textual representation of its side effects.
+   */
+  private static List<String> sideEffects(
+      Instruction instruction,
+      Consumer<Map<Format.Field, Constant.Value>> fieldValues) {
+    var values = new HashMap<Format.Field, Constant.Value>();
+    fieldValues.accept(values);
+
+    Graph behavior = instruction.behavior().copy();
+    Inliner.inlineFieldAccess(behavior);
+    Inliner.inlineFuncs(behavior);
+    behavior.getNodes(FieldRefNode.class).toList().forEach(fieldRef -> {
+      var value = values.get(fieldRef.formatField());
+      if (value != null) {
+        fieldRef.replaceAndDelete(new ConstantNode(value.trivialCastTo(fieldRef.type())));
+      }
+    });
+    Canonicalizer.canonicalize(behavior);
+
+    return behavior.getNodes(SideEffectNode.class)
+        .map(InstructionCompressionVerifier::key)
+        .sorted()
+        .toList();
+  }
+
+  private static String key(Node node) {
+    if (node instanceof LetNode let) {
+      return key(let.expression());
+    }
+    var type = node instanceof ExpressionNode expression ? expression.type().toString() : "";
+    var inputs = node.inputs().map(InstructionCompressionVerifier::key);
+    if (node.isCommutative()) {
+      inputs = inputs.sorted();
+    }
+    return node.getClass().getSimpleName() + node.dataList() + type
+        + inputs.collect(Collectors.joining(", ", "(", ")"));
+  }
+}
@@ -133,4 +133,126 @@ public class AnnotationTest {
     assertThat(diag)
         .hasMessageContaining("Index must be a constant expression.");
   }
+
+  @Test
+  void latencyAnnoMustBePositive() {
+    var prog = """
+        instruction set architecture TEST =
+        {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> =
+          { rd  : Bits<5>
+          , opc : Bits<27>
+          }
+          [ latency : 0 ]
+          instruction NOP : F = X(rd) := 0
+          encoding NOP = { opc = 0 }
+          assembly NOP = "nop"
+        }
+        """;
+    var ast = VadlParser.parse(prog);
+    var typechecker = new TypeChecker();
+    var diag = Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+    assertThat(diag)
+        .hasMessageContaining("Invalid annotation expression");
+  }
+
+  @Test
+  void relaxAnnoAcceptsPseudoInstructionWithOneInstruction() {
+    var prog = """
+        instruction set architecture TEST =
+        {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> =
+          { rd  : Bits<5>
+          , opc : Bits<27>
+          }
+          instruction NOP : F = X(rd) := 0
+          encoding NOP = { opc = 0 }
+          assembly NOP = "nop"
+          [ relax : SHORT ]
+          pseudo instruction LONG( r : Bits<5> ) =
+          {
+            NOP{ rd = r }
+            NOP{ rd = r }
+          }
+          pseudo instruction SHORT( r : Bits<5> ) =
+          {
+            NOP{ rd = r }
+          }
+          assembly LONG, SHORT = mnemonic
+        }
+        """;
+    var ast = VadlParser.parse(prog);
+    var typechecker = new TypeChecker();
+    Assertions.assertDoesNotThrow(() -> typechecker.verify(ast));
+  }
+
+  @Test
+  void relaxAnnoMustReferenceSingleInstruction() {
+    var prog = """
+        instruction set architecture TEST =
+        {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> =
+          { rd  : Bits<5>
+          , opc : Bits<27>
+          }
+          instruction NOP : F = X(rd) := 0
+          encoding NOP = { opc = 0 }
+          assembly NOP = "nop"
+          [ relax : OTHER ]
+          pseudo instruction LONG( r : Bits<5> ) =
+          {
+            NOP{ rd = r }
+          }
+          pseudo instruction OTHER( r : Bits<5> ) =
+          {
+            NOP{ rd = r }
+            NOP{ rd = r }
+          }
+          assembly LONG, OTHER = mnemonic
+        }
+        """;
+    var ast = VadlParser.parse(prog);
+    var typechecker = new TypeChecker();
+    var diag = Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+    assertThat(diag)
+        .hasMessageContaining("Invalid relax annotation");
+  }
+
+  @Test
+  void compressAnnoMustCallSingleInstruction() {
+    var prog = """
+        instruction set architecture TEST =
+        {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> =
+          { rd  : Bits<5>
+          , opc : Bits<27>
+          }
+          format S : Bits<16> =
+          { rd  : Bits<5>
+          , opc : Bits<11>
+          }
+          instruction NOP : F = X(rd) := 0
+          encoding NOP = { opc = 0 }
+          instruction NOP_S : S = X(rd) := 0
+          encoding NOP_S = { opc = 0 }
+          assembly NOP, NOP_S = "nop"
+          [ compress : NOP_S ]
+          pseudo instruction TWICE( rd : Bits<5> ) =
+          {
+            NOP{ rd = rd }
+            NOP{ rd = rd }
+          }
+          assembly TWICE = mnemonic
+        }
+        """;
+    var ast = VadlParser.parse(prog);
+    var typechecker = new TypeChecker();
+    var diag = Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+    assertThat(diag)
+        .hasMessageContaining("Invalid compress annotation");
+  }
 }
@@ -123,6 +123,20 @@ public class AsmLL1CheckerTest {
     Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
   }
 
+  @Test
+  void identifierAndStringAreStartOfMultipleAlternatives() {
+    hasToWork();
+    var prog = """
+          grammar = {
+            RuleA : "B" | Identifier ;
+          }
+        """;
+    var ast = Assertions.assertDoesNotThrow(
+        () -> VadlParser.parse(inputWrappedByValidAsmDescription(prog)), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+  }
+
   @Test
   void optionWithDeletableContent() {
     hasToWork();
@@ -165,6 +179,38 @@ public class AsmLL1CheckerTest {
     Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
   }
 
+  @Test
+  void startAndFollowOfNestedRuleInvocation() {
+    hasToWork();
+    var prog = """
+          grammar = {
+            RuleA : RuleB "Z" ;
+            RuleB : "Y" RuleC ;
+            RuleC : ["Z"] ;
+          }
+        """;
+    var ast = Assertions.assertDoesNotThrow(
+        () -> VadlParser.parse(inputWrappedByValidAsmDescription(prog)), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+  }
+
+  @Test
+  void distinctStartAndFollowOfNestedRuleInvocation() {
+    hasToWork();
+    var prog = """
+          grammar = {
+            RuleA : RuleB "X" ;
+            RuleB : "Y" RuleC ;
+            RuleC : ["Z"] ;
+          }
+        """;
+    var ast = Assertions.assertDoesNotThrow(
+        () -> VadlParser.parse(inputWrappedByValidAsmDescription(prog)), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    Assertions.assertDoesNotThrow(() -> typechecker.verify(ast));
+  }
+
   @Test
   void firstParsableElementInParamsConflict() {
     hasToWork();
@@ -20,6 +20,7 @@ import static vadl.ast.AstTestUtils.getResourcePath;
 import static vadl.ast.AstTestUtils.loadVadlFiles;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -83,6 +84,16 @@ public class AstDumpTests {
 
     Assertions.assertEquals(expectedDump, actualDump,
         "Expected dump does not match actual dump.");
+
+    var streamedDump = new StringWriter();
+    new AstDumper().dump(ast, streamedDump);
+    Assertions.assertEquals(actualDump, streamedDump.toString(),
+        "Streamed dump does not match dump.");
+
+    var streamedSource = new StringWriter();
+    ast.prettyPrint(streamedSource);
+    Assertions.assertEquals(ast.prettyPrintToString(), streamedSource.toString(),
+        "Streamed source does not match source.");
   }
 
   private void writeDump(Path dumpPath, String dump) throws IOException {
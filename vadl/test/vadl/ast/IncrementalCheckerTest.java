@@ -0,0 +1,117 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.ast;
+
+import java.net.URI;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import vadl.error.Diagnostic;
+
+public class IncrementalCheckerTest {
+
+  private static final URI URI = java.net.URI.create("memory://incremental.vadl");
+
+  private static final String PROGRAM = """
+      instruction set architecture ISA = {
+        register X : Bits<5> -> Bits<32>
+        format F : Bits<32> = { rd : Bits<5>, opc : Bits<27> }
+        function inc(a: Bits<32>) -> Bits<32> = a + 1
+        function twice(a: Bits<32>) -> Bits<32> = inc(inc(a))
+        function other(a: Bits<32>) -> Bits<32> = a - 1
+
+        instruction I : F = X(rd) := twice(X(rd))
+        encoding I = { opc = 1 }
+        assembly I = (mnemonic)
+      }
+      """;
+
+  @Test
+  void shouldOnlyCheckChangedDefinitionsAndTheirDependents() {
+    var checker = new IncrementalChecker(URI);
+
+    Assertions.assertEquals(List.of(), checker.update(PROGRAM));
+    Assertions.assertEquals(checker.definitions(), checker.checkedDefinitions());
+
+    var edited = PROGRAM.replace("a - 1", "a - 2");
+    Assertions.assertEquals(List.of(), checker.update(edited));
+    Assertions.assertEquals(1, checker.checkedDefinitions());
+
+    // twice, I and its encoding and assembly depend on inc
+    Assertions.assertEquals(List.of(), checker.update(edited.replace("a + 1", "a + 2")));
+    Assertions.assertEquals(5, checker.checkedDefinitions());
+  }
+
+  @Test
+  void shouldMoveDiagnosticsOfUncheckedDefinitions() {
+    var checker = new IncrementalChecker(URI);
+    var invalid = PROGRAM.replace("a - 1", "false");
+
+    var diagnostics = checker.update(invalid);
+    Assertions.assertEquals(1, diagnostics.size());
+    Assertions.assertEquals(6, line(diagnostics.getFirst()));
+
+    diagnostics = checker.update("\n\n" + invalid);
+    Assertions.assertEquals(0, checker.checkedDefinitions());
+    Assertions.assertEquals(1, diagnostics.size());
+    Assertions.assertEquals(8, line(diagnostics.getFirst()));
+
+    diagnostics = checker.update("\n\n" + PROGRAM);
+    Assertions.assertEquals(1, checker.checkedDefinitions());
+    Assertions.assertEquals(List.of(), diagnostics);
+  }
+
+  @Test
+  void shouldKeepLastParsedVersion_whenParsingFails() {
+    var checker = new IncrementalChecker(URI);
+    checker.update(PROGRAM);
+
+    var diagnostics = checker.update(PROGRAM.replace("a - 1", "a -"));
+    Assertions.assertFalse(diagnostics.isEmpty());
+    Assertions.assertEquals("Parsing Error", diagnostics.getFirst().reason);
+
+    var definition = checker.definitionAt(8, 32);
+    Assertions.assertNotNull(definition);
+    Assertions.assertEquals(5, definition.begin().line());
+  }
+
+  @Test
+  void shouldFindAndDescribeSymbols() {
+    var checker = new IncrementalChecker(URI);
+    checker.update(PROGRAM);
+    // Only other is checked, so the instruction is checked when it's described
+    checker.update(PROGRAM.replace("a - 1", "a - 2"));
+
+    // twice in the instruction I
+    var definition = checker.definitionAt(8, 32);
+    Assertions.assertNotNull(definition);
+    Assertions.assertEquals(5, definition.begin().line());
+    Assertions.assertEquals(12, definition.begin().column());
+    Assertions.assertEquals("function twice", checker.describeAt(8, 32));
+    // a in the function inc
+    Assertions.assertEquals("parameter a: Bits<32>", checker.describeAt(4, 43));
+
+    // The name of the format
+    Assertions.assertEquals("format F", checker.describeAt(3, 10));
+    Assertions.assertNull(checker.definitionAt(3, 10));
+    Assertions.assertNull(checker.describeAt(7, 1));
+  }
+
+  private static int line(Diagnostic diagnostic) {
+    return diagnostic.multiLocation.primaryLocation().location().begin().line();
+  }
+}
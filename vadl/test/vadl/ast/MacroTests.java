@@ -19,9 +19,15 @@ package vadl.ast;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static vadl.ast.AstTestUtils.assertAstEquality;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import vadl.error.Diagnostic;
@@ -533,6 +539,67 @@ public class MacroTests {
         """;
     Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog));
   }
-}
 
+  @Test
+  void reusedExpansionsAttachLocationsOfTheirInstance() {
+    // The second instance of outer is copied from the first one, so the locations must still
+    // point to the second instance and its argument.
+    var prog = """
+        model inner(e: Ex): Ex = {
+            doesnotExist + $e
+        }
+        
+        model outer(e: Ex): Ex = {
+            1 + $inner($e)
+        }
+        
+        constant a = $outer(xyz)
+        constant b = $outer(xyz)
+        """;
+
+    var exception = Assertions.assertThrows(DiagnosticList.class, () -> VadlParser.parse(prog));
+    var locations = exception.items.stream()
+        .map(item -> item.multiLocation.primaryLocation().location())
+        .map(location -> {
+          var lines = new ArrayList<Integer>();
+          for (var l = location; l != null; l = l.expandedFrom()) {
+            lines.add(l.begin().line());
+          }
+          return lines;
+        })
+        .toList();
+    assertThat(locations).isEqualTo(List.of(
+        List.of(2, 6, 9), List.of(9, 9), List.of(2, 6, 10), List.of(10, 10)));
+  }
 
+  @Test
+  void reusesExpansionsOfEqualInstances(@TempDir Path tempDir) throws IOException {
+    var prog1 = """
+        model inner(e: Ex): Ex = {
+            2 * $e
+        }
+        
+        model outer(e: Ex): Ex = {
+            1 + $inner($e)
+        }
+        
+        constant x = 3
+        constant a = $outer(x)
+        constant b = $outer(x)
+        constant c = $outer(x + 1)
+        """;
+    var prog2 = """
+        constant x = 3
+        constant a = (1 + (2 * x))
+        constant b = (1 + (2 * x))
+        constant c = (1 + (2 * (x + 1)))
+        """;
+    var path = tempDir.resolve("reuse.vadl");
+    Files.writeString(path, prog1);
+
+    var ast = VadlParser.parse(path);
+    assertAstEquality(ast, VadlParser.parse(prog2));
+    Assertions.assertTrue(ast.passTimings.stream().map(Ast.PassTimings::description)
+        .anyMatch("Parsing (reused macro expansions: 1)"::equals));
+  }
+}
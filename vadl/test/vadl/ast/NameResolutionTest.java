@@ -17,6 +17,7 @@
 package vadl.ast;
 
 
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import vadl.error.DiagnosticList;
@@ -267,4 +268,58 @@ public class NameResolutionTest {
     Assertions.assertThrows(DiagnosticList.class, () -> VadlParser.parse(prog),
         "Should reject typos");
   }
+
+  @Test
+  void resolveManyConstants() {
+    var prog = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      prog.append("constant c%d = %d\n".formatted(i, i));
+    }
+    for (int i = 0; i < 200; i++) {
+      prog.append("constant d%d = c%d\n".formatted(i, 199 - i));
+    }
+    Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog.toString()), "Cannot parse input");
+  }
+
+  @Test
+  void resolveQualifiedPathDefinedLater() {
+    var prog = """
+          constant a = ISA::b
+          constant c = ISA::b
+
+          instruction set architecture ISA = {
+            constant b = 13
+          }
+        """;
+    var ast = Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog), "Cannot parse input");
+    var finder = new AstFinder();
+    var constant = finder.findDefinition(ast, "c", ConstantDefinition.class);
+    Assertions.assertInstanceOf(ConstantDefinition.class, ((IsId) constant.value).target());
+  }
+
+  @Test
+  void internQualifiedNames() {
+    var names = new SymbolNames();
+    var isa = names.intern("ISA");
+    var member = names.intern("X");
+    var qualified = names.qualify(isa, member);
+    Assertions.assertEquals("ISA::X", names.name(qualified));
+    Assertions.assertEquals(qualified, names.intern("ISA::X"));
+    Assertions.assertEquals(qualified, names.intern(List.of("ISA", "X")));
+    Assertions.assertEquals(SymbolNames.UNKNOWN, names.find("Y"));
+  }
+
+  @Test
+  void symbolMapGrows() {
+    var map = new SymbolMap<String>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, "v" + i);
+    }
+    map.put(7, "seven");
+    Assertions.assertEquals(1000, map.size());
+    Assertions.assertEquals("seven", map.get(7));
+    Assertions.assertEquals("v999", map.get(999));
+    Assertions.assertNull(map.get(1000));
+    Assertions.assertNull(map.get(SymbolNames.UNKNOWN));
+  }
 }
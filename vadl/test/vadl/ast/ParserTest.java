@@ -17,11 +17,14 @@
 package vadl.ast;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static vadl.ast.AstTestUtils.assertAstEquality;
 import static vadl.ast.AstTestUtils.verifyPrettifiedAst;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +32,7 @@ import org.apache.commons.io.FileUtils;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.testcontainers.shaded.com.google.common.collect.Streams;
 import org.testcontainers.shaded.org.checkerframework.checker.nullness.qual.Nullable;
 import vadl.error.DiagnosticList;
@@ -345,4 +349,24 @@ public class ParserTest {
 
     Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog));
   }
+
+  @Test
+  void parseFileWithByteOrderMark(@TempDir Path tempDir) throws IOException {
+    var prog = """
+        // Größe in Bytes
+        constant size = 13
+        """;
+    var path = tempDir.resolve("bom.vadl");
+    var bom = new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    var source = prog.getBytes(StandardCharsets.UTF_8);
+    var bytes = Arrays.copyOf(bom, bom.length + source.length);
+    System.arraycopy(source, 0, bytes, bom.length, source.length);
+    Files.write(path, bytes);
+
+    var ast = VadlParser.parse(path);
+    assertAstEquality(ast, VadlParser.parse(prog));
+    var location = ast.definitions.get(0).location();
+    Assertions.assertEquals(2, location.begin().line());
+    Assertions.assertEquals(1, location.begin().column());
+  }
 }
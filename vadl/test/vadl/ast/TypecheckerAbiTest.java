@@ -536,4 +536,33 @@ public class TypecheckerAbiTest {
         throwable.reason);
   }
 
+  @Test
+  void shouldThrow_whenMultipleSystemCallInstructionsDefined() {
+    var prog = """
+          special return instruction = NOP
+          special call instruction = NOP
+          special absolute address load instruction = NOP
+          special system call instruction = NOP
+          special system call instruction = NOP
+          alias register zero = X(0)
+          stack pointer = zero
+          return address = zero
+          global pointer = zero
+          frame pointer = zero
+          thread pointer = zero
+          return value = zero
+          function argument = zero
+          caller saved = zero
+          callee saved = zero
+        """;
+    var ast = Assertions.assertDoesNotThrow(
+        () -> VadlParser.parse(inputWrappedByValidAbi(prog)), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    var throwable = Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast));
+    Assertions.assertEquals(Diagnostic.Level.ERROR, throwable.level);
+    Assertions.assertEquals(
+        "Multiple SYSTEM_CALL were declared but one was expected",
+        throwable.reason);
+  }
+
 }
\ No newline at end of file
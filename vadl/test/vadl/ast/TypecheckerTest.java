@@ -1097,5 +1097,65 @@ public class TypecheckerTest {
     Assertions.assertDoesNotThrow(() -> typechecker.verify(ast), "Program isn't typesafe");
   }
 
+  @Test
+  public void concurrentTypeCheck() {
+    var prog = """
+        instruction set architecture Mini = {
+          using Inst     = Bits<32>
+          using Regs     = Bits<32>
+
+          register    X : Bits<5>   -> Regs
+
+          format Rtype : Inst =
+            { funct7 : Bits<7>
+            , rs2    : Bits<5>
+            , rs1    : Bits<5>
+            , funct3 : Bits<3>
+            , rd     : Bits<5>
+            , opcode : Bits<7>
+            }
+
+          function inc(a: Regs) -> Regs = add(a, 1)
+          function add(a: Regs, b: Regs) -> Regs = a + b
+
+          instruction ADD : Rtype = X(rd) := add(X(rs1), X(rs2))
+          encoding ADD = {opcode = 0b011'0011, funct3 = 0b000, funct7 = 0b000'0000}
+          assembly ADD = (mnemonic, " ", register(rd), ",", register(rs1), ",", register(rs2))
 
+          instruction INC : Rtype = X(rd) := inc(X(rs1))
+          encoding INC = {opcode = 0b011'0011, funct3 = 0b001, funct7 = 0b000'0000}
+          assembly INC = (mnemonic, " ", register(rd), ",", register(rs1))
+        }
+        """;
+    var ast = Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    typechecker.setConcurrent(true);
+    Assertions.assertDoesNotThrow(() -> typechecker.verify(ast), "Program isn't typesafe");
+    var finder = new AstFinder();
+    Assertions.assertEquals(
+        Type.concreteRelation(Type.bits(32), Type.bits(32)),
+        finder.getFunctionType(ast, "inc"));
+    Assertions.assertEquals(
+        Type.concreteRelation(Type.bits(32), Type.bits(32), Type.bits(32)),
+        finder.getFunctionType(ast, "add"));
+  }
+
+  @Test
+  public void invalidConcurrentTypeCheck() {
+    var prog = """
+        instruction set architecture Mini = {
+          function first(a: Bits<8>) -> Bits<8> = a
+          function second(a: Bits<8>) -> Bits<8> = false
+          function third(a: Bits<8>) -> Bool = first(a)
+        }
+        """;
+    var ast = Assertions.assertDoesNotThrow(() -> VadlParser.parse(prog), "Cannot parse input");
+    var typechecker = new TypeChecker();
+    typechecker.setConcurrent(true);
+    var diagnostic = Assertions.assertThrows(Diagnostic.class, () -> typechecker.verify(ast),
+        "Program isn't typesafe");
+    // The error of the first definition is reported, no matter which check fails first.
+    var location = diagnostic.multiLocation.primaryLocation().location();
+    Assertions.assertEquals(3, location.begin().line());
+  }
 }
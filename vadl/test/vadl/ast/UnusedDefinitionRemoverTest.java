@@ -0,0 +1,98 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.ast;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import vadl.viam.Format;
+import vadl.viam.Function;
+import vadl.viam.passes.verification.ViamVerifier;
+
+public class UnusedDefinitionRemoverTest {
+
+  private static final String LIBRARY = """
+      instruction set architecture EXT = {
+        function unusedExtension(a: Bits<8>) -> Bits<8> = a
+      }
+
+      instruction set architecture ISA = {
+        register X : Bits<5> -> Bits<32>
+        constant Size = 32
+        constant UnusedSize = 64
+        format F : Bits<Size> = { rd : Bits<5>, opc : Bits<27> }
+        format UnusedF : Bits<32> = { a : Bits<32> }
+        function inc(a: Bits<32>) -> Bits<32> = a + 1
+        function twice(a: Bits<32>) -> Bits<32> = inc(inc(a))
+        function unused(a: Bits<32>) -> Bits<32> = twice(a)
+
+        instruction I : F = X(rd) := twice(X(rd))
+        encoding I = { opc = 1 }
+        assembly I = (mnemonic)
+      }
+      """;
+
+  @Test
+  void shouldRemoveUnreachableDefinitions() {
+    var ast = Assertions.assertDoesNotThrow(
+        () -> VadlParser.parse(LIBRARY + "processor CPU implements ISA = {}"),
+        "Cannot parse input");
+
+    var removed = new UnusedDefinitionRemover().removeUnused(ast);
+
+    Assertions.assertEquals(
+        List.of("EXT", "ISA::UnusedSize", "ISA::UnusedF", "ISA::unused"),
+        removed.stream().map(UnusedDefinitionRemover.RemovedDefinition::name).toList());
+    Assertions.assertEquals("instruction set architecture", removed.getFirst().kind());
+
+    new TypeChecker().verify(ast);
+    var spec = new ViamLowering().generate(ast);
+    ViamVerifier.verifyAllIn(spec);
+    var isa = spec.isa().orElseThrow();
+    Assertions.assertEquals(List.of("inc", "twice"),
+        isa.ownFunctions().stream().map(Function::simpleName).toList());
+    Assertions.assertEquals(List.of("F"),
+        isa.ownFormats().stream().map(Format::simpleName).toList());
+  }
+
+  @Test
+  void shouldKeepInstructionSets_whenThereIsNoEntryDefinition() {
+    var ast = Assertions.assertDoesNotThrow(() -> VadlParser.parse(LIBRARY),
+        "Cannot parse input");
+
+    var removed = new UnusedDefinitionRemover().removeUnused(ast);
+
+    Assertions.assertEquals(
+        List.of("EXT::unusedExtension", "ISA::UnusedSize", "ISA::UnusedF", "ISA::unused"),
+        removed.stream().map(UnusedDefinitionRemover.RemovedDefinition::name).toList());
+  }
+
+  @Test
+  void shouldNotTypeCheckRemovedDefinitions() {
+    var ast = Assertions.assertDoesNotThrow(() -> VadlParser.parse("""
+        instruction set architecture ISA = {
+          function invalid(a: Bits<8>) -> Bits<8> = false
+        }
+        processor CPU implements ISA = {}
+        """), "Cannot parse input");
+
+    new UnusedDefinitionRemover().removeUnused(ast);
+
+    Assertions.assertDoesNotThrow(() -> new TypeChecker().verify(ast));
+  }
+}
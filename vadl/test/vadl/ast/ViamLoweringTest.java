@@ -16,10 +16,13 @@
 
 package vadl.ast;
 
+import java.util.ArrayList;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import vadl.TestUtils;
+import vadl.error.Diagnostic;
 import vadl.error.DiagnosticList;
+import vadl.viam.Instruction;
 
 public class ViamLoweringTest {
 
@@ -89,4 +92,105 @@ public class ViamLoweringTest {
         () -> VadlParser.parse(inputWrappedByValidAbi(prog)));
     TestUtils.assertErrors(throwable, "Unknown Symbol: \"DOESNOTEXIST\"");
   }
+
+  @Test
+  void shouldThrow_whenSystemCallInstructionIsPseudoInstruction() {
+    var prog = """
+          special return instruction = NOP
+          special call instruction = NOP
+          special absolute address load instruction = NOP
+          special system call instruction = NOP
+          alias register zero = X(0)
+          stack pointer = zero
+          return address = zero
+          global pointer = zero
+          frame pointer = zero
+          thread pointer = zero
+          return value = zero
+          function argument = zero
+          caller saved = zero
+          callee saved = zero
+        """;
+    var ast = VadlParser.parse(inputWrappedByValidAbi(prog));
+    new TypeChecker().verify(ast);
+    var throwable = Assertions.assertThrows(Diagnostic.class,
+        () -> new ViamLowering().generate(ast));
+    Assertions.assertEquals("Invalid system call instruction", throwable.reason);
+  }
+
+  @Test
+  void shouldReportErrorsByLocation_whenBehaviorsAreLoweredInParallel() {
+    var instructions = new StringBuilder();
+    for (int i = 0; i < 64; i++) {
+      // reading a register in the constraint is rejected while lowering the instruction
+      instructions.append("""
+            [ undefined when : X(rd) = %1$d ]
+            instruction I%1$d : F = X(rd) := X(rd) + %1$d
+            encoding I%1$d = { opc = %1$d }
+            assembly I%1$d = (mnemonic)
+          """.formatted(i));
+    }
+    var prog = """
+        instruction set architecture ISA = {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> = { rd : Bits<5>, opc : Bits<27> }
+        %s
+        }
+        """.formatted(instructions);
+
+    for (int run = 0; run < 4; run++) {
+      var ast = VadlParser.parse(prog);
+      new TypeChecker().verify(ast);
+      var errors = Assertions.assertThrows(DiagnosticList.class,
+          () -> new ViamLowering().generate(ast));
+      var lines = errors.items.stream()
+          .map(d -> d.multiLocation.primaryLocation().location().begin().line())
+          .toList();
+      Assertions.assertEquals(64, lines.size());
+      Assertions.assertEquals(lines.stream().sorted().toList(), lines);
+    }
+  }
+
+  @Test
+  void shouldKeepDefinitionOrder_whenBehaviorsAreLoweredInParallel() {
+    var instructions = new StringBuilder();
+    var names = new ArrayList<String>();
+    for (int i = 0; i < 64; i++) {
+      names.add("I" + i);
+      instructions.append("""
+            instruction I%1$d : F = X(rd) := X(rd) + %1$d
+            encoding I%1$d = { opc = %1$d }
+            assembly I%1$d = (mnemonic)
+          """.formatted(i));
+    }
+    var spec = TestUtils.compileToViam("""
+        instruction set architecture ISA = {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> = { rd : Bits<5>, opc : Bits<27> }
+        %s
+        }
+        """.formatted(instructions));
+
+    var lowered = spec.isa().orElseThrow().ownInstructions();
+    Assertions.assertEquals(names, lowered.stream().map(Instruction::simpleName).toList());
+  }
+
+  @Test
+  void shouldLowerSharedAssembly_forEveryInstruction() {
+    var spec = TestUtils.compileToViam("""
+        instruction set architecture ISA = {
+          register X : Bits<5> -> Bits<32>
+          format F : Bits<32> = { rd : Bits<5>, opc : Bits<27> }
+          instruction FIRST : F = X(rd) := 1
+          encoding FIRST = { opc = 1 }
+          instruction SECOND : F = X(rd) := 2
+          encoding SECOND = { opc = 2 }
+          assembly FIRST, SECOND = "dummy"
+        }
+        """);
+
+    var instructions = spec.isa().orElseThrow().ownInstructions();
+    Assertions.assertEquals("ISA::FIRST::assembly", instructions.get(0).assembly().simpleName());
+    Assertions.assertEquals("ISA::SECOND::assembly", instructions.get(1).assembly().simpleName());
+  }
 }
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+
+package vadl.error;
+
+import java.net.URI;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import vadl.utils.SourceLocation;
+
+public class DiagnosticCollectorTest {
+
+  private static final URI FILE = URI.create("file:///test.vadl");
+
+  private static Diagnostic warningAt(String reason, int line) {
+    return Diagnostic.warning(reason, new SourceLocation(FILE, line)).build();
+  }
+
+  @Test
+  void getAllSortsByLocation() {
+    var collector = new DiagnosticCollector();
+    var unknown = Diagnostic.warning("unknown", SourceLocation.INVALID_SOURCE_LOCATION).build();
+    collector.add(unknown);
+    collector.add(warningAt("third", 3));
+    collector.add(warningAt("first", 1));
+    collector.add(warningAt("second", 1));
+
+    Assertions.assertEquals(List.of("first", "second", "third", "unknown"),
+        collector.getAll().stream().map(d -> d.reason).toList());
+  }
+
+  @Test
+  void addSkipsDuplicates() {
+    var collector = new DiagnosticCollector();
+    collector.add(warningAt("twice", 1));
+    collector.add(warningAt("twice", 1));
+
+    Assertions.assertEquals(1, collector.getAll().size());
+    Assertions.assertFalse(collector.hasErrors());
+  }
+
+  @Test
+  void addFromManyThreads() {
+    var collector = new DiagnosticCollector();
+    IntStream.range(0, 1000).parallel()
+        .forEach(i -> collector.add(warningAt("line " + i, i)));
+    collector.add(Diagnostic.error("error", new SourceLocation(FILE, 5)));
+
+    var lines = collector.getAll().stream()
+        .map(d -> d.multiLocation.primaryLocation().location().begin().line())
+        .toList();
+    Assertions.assertEquals(1001, lines.size());
+    Assertions.assertEquals(lines.stream().sorted().toList(), lines);
+    Assertions.assertTrue(collector.hasErrors());
+  }
+}
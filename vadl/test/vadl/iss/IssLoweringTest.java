@@ -50,6 +50,17 @@ public class IssLoweringTest extends AbstractTest {
     );
   }
 
+  @Test
+  void issRiscvLinuxUserLoweringTest() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setMode(IssConfiguration.IssMode.USER);
+
+    setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+    );
+  }
+
   @Test
   void issAarch64LoweringTest() throws IOException, DuplicatedPassKeyException {
     var config =
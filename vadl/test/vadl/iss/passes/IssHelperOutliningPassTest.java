@@ -0,0 +1,131 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.passes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+import vadl.AbstractTest;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.iss.passes.extensions.HelperInfo;
+import vadl.iss.passes.nodes.IssHelperCallNode;
+import vadl.iss.passes.tcgLowering.TcgOpLoweringPass;
+import vadl.iss.passes.tcgLowering.nodes.TcgHelperCall;
+import vadl.pass.PassOrders;
+import vadl.pass.exception.DuplicatedPassKeyException;
+
+public class IssHelperOutliningPassTest extends AbstractTest {
+
+  @Test
+  void outlinesExpensiveExpressions() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setHelperOutliningThreshold(3);
+
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(IssHelperOutliningPass.class)
+    );
+    var isa = setup.specification().isa().orElseThrow();
+    var helpers = isa.expectExtension(HelperInfo.class).entries();
+
+    assertFalse(helpers.isEmpty());
+    for (var helper : helpers) {
+      var calls = helper.instruction.behavior().getNodes(IssHelperCallNode.class)
+          .filter(c -> c.helperName().equals(helper.name))
+          .toList();
+      assertEquals(1, calls.size());
+      assertEquals(helper.nrArgs, calls.getFirst().args().size());
+      assertTrue(helper.estimatedCost >= 3);
+      assertTrue(helper.helperImpl().contains("a0"), helper.helperImpl());
+      assertTrue(helper.helperDef().startsWith("DEF_HELPER_FLAGS_" + helper.nrArgs + "("),
+          helper.helperDef());
+    }
+  }
+
+  @Test
+  void helperCallsAreLoweredToTcg() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setHelperOutliningThreshold(3);
+
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(TcgOpLoweringPass.class)
+    );
+    var isa = setup.specification().isa().orElseThrow();
+
+    assertTrue(isa.ownInstructions().stream()
+        .anyMatch(i -> i.behavior().getNodes(TcgHelperCall.class).findAny().isPresent()));
+    assertTrue(isa.ownInstructions().stream()
+        .allMatch(i -> i.behavior().getNodes(IssHelperCallNode.class).findAny().isEmpty()));
+  }
+
+  @Test
+  void skipsOutliningIfDisabled() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setHelperOutliningThreshold(3);
+    config.setOptsToSkip(EnumSet.of(IssConfiguration.IssOptsToSkip.OPT_HELPER_OUTLINING));
+
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(IssHelperOutliningPass.class)
+    );
+    var isa = setup.specification().isa().orElseThrow();
+
+    assertTrue(isa.expectExtension(HelperInfo.class).entries().isEmpty());
+  }
+
+  @Test
+  void keepsHotInstructionsInline() throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setHelperOutliningThreshold(3);
+
+    var outlined = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(IssHelperOutliningPass.class)
+    ).specification().isa().orElseThrow().expectExtension(HelperInfo.class).entries();
+    assertFalse(outlined.isEmpty());
+    var hot = outlined.getFirst().instruction.simpleName();
+
+    var profile = Files.createTempFile("decode-profile", ".csv");
+    Files.writeString(profile, hot + ",100\n");
+    config.setDecodeProfile(profile);
+
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config)
+            .untilFirst(IssHelperOutliningPass.class)
+    );
+    var helpers = setup.specification().isa().orElseThrow()
+        .expectExtension(HelperInfo.class).entries();
+
+    var hotHelpers = outlined.stream()
+        .filter(h -> h.instruction.simpleName().equals(hot))
+        .count();
+    assertEquals(outlined.size() - hotHelpers, helpers.size());
+    assertTrue(helpers.stream().noneMatch(h -> h.instruction.simpleName().equals(hot)));
+  }
+}
@@ -0,0 +1,187 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.iss.template.linux_user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import vadl.AbstractTest;
+import vadl.configuration.GeneralConfiguration;
+import vadl.configuration.IssConfiguration;
+import vadl.error.Diagnostic;
+import vadl.error.DiagnosticCollector;
+import vadl.iss.passes.IssInfoRetrievalPass;
+import vadl.lcb.include.llvm.BinaryFormat.EmitElfHeaderFilePass;
+import vadl.pass.PassOrders;
+import vadl.pass.PassResults;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+import vadl.viam.Identifier;
+import vadl.viam.Specification;
+import vadl.viam.annotations.AbiBreakpointInstructionAnno;
+import vadl.viam.annotations.AbiSystemCallInstructionAnno;
+
+/**
+ * Tests the system call convention and the QEMU patches of the Linux user mode emulator.
+ */
+public class LinuxUserTemplateTest extends AbstractTest {
+
+  private static final String SYSCALL_DEFS = """
+      #if defined(TARGET_ARM) || defined(TARGET_RISCV)
+      struct target_stat {
+      };
+      #endif
+      """;
+
+  private static final String ELFLOAD = """
+      #include "elf.h"
+
+      #ifndef ELF_PLATFORM
+      #define ELF_PLATFORM (NULL)
+      #endif
+      """;
+
+  private Specification issSpecification(String specPath)
+      throws IOException, DuplicatedPassKeyException {
+    var config =
+        new IssConfiguration(new GeneralConfiguration(Path.of("build/test-output"), false));
+    config.setMode(IssConfiguration.IssMode.USER);
+    return setupPassManagerAndRunSpec(specPath,
+        PassOrders.iss(config)
+            .untilFirst(IssInfoRetrievalPass.class)
+    ).specification();
+  }
+
+  @Test
+  void syscallAbiOfRiscv() throws IOException, DuplicatedPassKeyException {
+    var syscall = LinuxUserRenderUtils.syscallAbi(issSpecification("sys/risc-v/rv64im.vadl"));
+
+    assertEquals(List.of("env->x[10]", "env->x[11]", "env->x[12]", "env->x[13]", "env->x[14]",
+        "env->x[15]"), syscall.get("args"));
+    assertEquals("x[17]", syscall.get("nr"));
+    assertEquals("x[10]", syscall.get("ret"));
+    assertEquals("x[2]", syscall.get("sp"));
+    assertEquals("x[4]", syscall.get("tp"));
+  }
+
+  @Test
+  void abiDeclaresSystemCallAndBreakpointInstructions()
+      throws IOException, DuplicatedPassKeyException {
+    var abi = issSpecification("sys/risc-v/rv64im.vadl").processor().get().abi();
+
+    assertEquals("ECALL",
+        abi.expectAnnotation(AbiSystemCallInstructionAnno.class).instruction().simpleName());
+    assertEquals("EBREAK",
+        abi.expectAnnotation(AbiBreakpointInstructionAnno.class).instruction().simpleName());
+  }
+
+  @Test
+  void syscallAbiRequiresSyscallNumberRegister() {
+    // the ABI of this specification has no alias annotated with [ syscall number ]
+    var specification = runAndGetViamSpecification("ast/riscv/rv64im.vadl");
+
+    var diagnostic = assertThrows(Diagnostic.class,
+        () -> LinuxUserRenderUtils.syscallAbi(specification));
+    assertEquals("Linux user mode requires the system call number register",
+        diagnostic.reason);
+  }
+
+  @Test
+  void elfLoaderAcceptsOnlyTheTargetMachine(@TempDir Path tempDir)
+      throws IOException, DuplicatedPassKeyException {
+    var config = new IssConfiguration(new GeneralConfiguration(tempDir, false));
+    config.setMode(IssConfiguration.IssMode.USER);
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.iss(config).untilFirst(IssInfoRetrievalPass.class));
+
+    var result = (AbstractTemplateRenderingPass.Result) EmitIssLinuxUserPass
+        .linuxUser("/linux-user/gen-arch/target_elfload.h", config)
+        .execute(setup.passManager().getPassResults(), setup.specification());
+
+    var elfload = Files.readString(result.emittedFile());
+    assertTrue(elfload.contains("#define ELF_ARCH " + EmitElfHeaderFilePass.ELF_MACHINE + "\n"));
+    assertTrue(elfload.contains("#define elf_check_arch(x) ((x) == ELF_ARCH)"));
+  }
+
+  @Test
+  void patchesQemuSources(@TempDir Path tempDir) throws IOException {
+    var linuxUser = Files.createDirectories(tempDir.resolve("iss/linux-user"));
+    Files.writeString(linuxUser.resolve("syscall_defs.h"), SYSCALL_DEFS);
+    Files.writeString(linuxUser.resolve("elfload.c"), ELFLOAD);
+
+    assertTrue(runPatchPass(tempDir).isEmpty());
+    var syscallDefs = Files.readString(linuxUser.resolve("syscall_defs.h"));
+    var elfload = Files.readString(linuxUser.resolve("elfload.c"));
+    assertEquals("""
+        #if defined(TARGET_ARM) || defined(TARGET_RISCV) || defined(TARGET_MYTARGET)
+        struct target_stat {
+        };
+        #endif
+        """, syscallDefs);
+    assertEquals("""
+        #include "elf.h"
+
+        #if defined(TARGET_MYTARGET)
+        #include "target_elfload.h"
+        #endif
+
+        #ifndef ELF_PLATFORM
+        #define ELF_PLATFORM (NULL)
+        #endif
+        """, elfload);
+
+    // the marker is already present, so the files are left as they are
+    runPatchPass(tempDir);
+    assertEquals(syscallDefs, Files.readString(linuxUser.resolve("syscall_defs.h")));
+    assertEquals(elfload, Files.readString(linuxUser.resolve("elfload.c")));
+  }
+
+  @Test
+  void reportsQemuSourcesWithoutAnchor(@TempDir Path tempDir) throws IOException {
+    var linuxUser = Files.createDirectories(tempDir.resolve("iss/linux-user"));
+    var syscallDefs = linuxUser.resolve("syscall_defs.h");
+    Files.writeString(syscallDefs, "struct target_stat {\n};\n");
+
+    var diagnostics = runPatchPass(tempDir);
+
+    assertEquals("struct target_stat {\n};\n", Files.readString(syscallDefs));
+    assertTrue(hasWarning(diagnostics, syscallDefs, "does not match the expected QEMU version"));
+    assertTrue(hasWarning(diagnostics, linuxUser.resolve("elfload.c"), "does not exist"));
+  }
+
+  private static DiagnosticCollector runPatchPass(Path outputPath) throws IOException {
+    var config = new IssConfiguration(new GeneralConfiguration(outputPath, false));
+    config.setTargetName("mytarget");
+    new IssLinuxUserQemuPatchPass(config)
+        .execute(new PassResults(), new Specification(Identifier.noLocation("test")));
+    return config.diagnostics();
+  }
+
+  private static boolean hasWarning(DiagnosticCollector diagnostics, Path file, String reason) {
+    return diagnostics.getAll().stream()
+        .anyMatch(d -> d.level == Diagnostic.Level.WARNING
+            && d.messages.stream().anyMatch(m -> m.content().contains(file.toString())
+            && m.content().contains(reason)));
+  }
+}
@@ -0,0 +1,76 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.codegen.assembly;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class AsmFirstTokenTrieTest {
+
+  @Test
+  void shouldSwitchOnLengthAndCharacters() {
+    var trie = new AsmFirstTokenTrie(false);
+    trie.add("ADD", 0);
+    trie.add("AND", 1);
+    trie.add("SUB", 2);
+    trie.add("OR", 3);
+
+    var code = trie.genFunction("match");
+
+    assertThat(code).contains("switch (Tok.size()) {");
+    assertThat(code).contains("if (Tok.equals_insensitive(\"or\")) return 3;");
+    assertThat(code).contains("switch (toLower(Tok[1])) {");
+    assertThat(code).contains("if (Tok.drop_front(2).equals_insensitive(\"d\")) return 0;");
+    assertThat(code).contains("if (Tok.drop_front(1).equals_insensitive(\"ub\")) return 2;");
+  }
+
+  @Test
+  void shouldSkipCommonPrefix() {
+    var trie = new AsmFirstTokenTrie(true);
+    trie.add("beq", 0);
+    trie.add("bne", 1);
+
+    var code = trie.genFunction("match");
+
+    assertThat(code).contains("if (!Tok.substr(0, 1).equals(\"b\")) break;");
+    assertThat(code).contains("switch (Tok[1]) {");
+  }
+
+  @Test
+  void shouldPreferFirstAlternativeForLiteralsDifferingInCase() {
+    var trie = new AsmFirstTokenTrie(false);
+    trie.add("add", 0);
+    trie.add("ADD", 1);
+
+    assertThat(trie.size()).isEqualTo(1);
+    assertThat(trie.genFunction("match"))
+        .contains("if (Tok.equals_insensitive(\"add\")) return 0;");
+  }
+
+  @Test
+  void shouldEscapeQuotes() {
+    var trie = new AsmFirstTokenTrie(true);
+    trie.add("'", 0);
+    trie.add("\"", 1);
+
+    var code = trie.genFunction("match");
+
+    assertThat(code).contains("case '\\'':");
+    assertThat(code).contains("case '\"':");
+  }
+}
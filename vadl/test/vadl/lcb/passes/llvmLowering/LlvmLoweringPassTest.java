@@ -0,0 +1,67 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.llvmLowering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import vadl.AbstractTest;
+import vadl.configuration.LcbConfiguration;
+import vadl.gcb.valuetypes.TargetName;
+import vadl.lcb.passes.TableGenInstructionCtx;
+import vadl.pass.PassOrders;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.viam.graph.Graph;
+
+public class LlvmLoweringPassTest extends AbstractTest {
+
+  @Test
+  void optimisedBehaviorsAreOwnedByTheirInstruction()
+      throws IOException, DuplicatedPassKeyException {
+    var configuration =
+        new LcbConfiguration(getConfiguration(false), new TargetName("processorNameValue"));
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.lcb(configuration).untilFirst(LlvmLoweringPass.class));
+    var result = (LlvmLoweringPass.LlvmLoweringPassResult) setup.passManager().getPassResults()
+        .lastResultOf(LlvmLoweringPass.class);
+
+    var records = result.machineInstructionRecords();
+    assertFalse(records.isEmpty());
+
+    // Structurally identical behaviors are optimised once, but every record gets its own copy.
+    Set<Graph> optimised = Collections.newSetFromMap(new IdentityHashMap<>());
+    var count = 0;
+    for (var entry : records.entrySet()) {
+      var instruction = entry.getKey();
+      assertSame(instruction, entry.getValue().instruction());
+      assertSame(entry.getValue(),
+          instruction.expectExtension(TableGenInstructionCtx.class).record());
+      for (var optResult : entry.getValue().optResults()) {
+        assertSame(instruction, optResult.optimised().parentDefinition());
+        optimised.add(optResult.optimised());
+        count++;
+      }
+    }
+    assertEquals(count, optimised.size());
+  }
+}
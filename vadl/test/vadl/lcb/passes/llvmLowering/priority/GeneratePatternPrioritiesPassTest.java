@@ -0,0 +1,60 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.llvmLowering.priority;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import vadl.AbstractTest;
+import vadl.configuration.LcbConfiguration;
+import vadl.gcb.valuetypes.TargetName;
+import vadl.pass.PassOrders;
+import vadl.pass.exception.DuplicatedPassKeyException;
+
+public class GeneratePatternPrioritiesPassTest extends AbstractTest {
+
+  @Test
+  void fusedPatternsHaveHigherPriority() throws IOException, DuplicatedPassKeyException {
+    var configuration =
+        new LcbConfiguration(getConfiguration(false), new TargetName("processorNameValue"));
+    var setup = setupPassManagerAndRunSpec("sys/risc-v/rv64im.vadl",
+        PassOrders.lcb(configuration).untilFirst(GeneratePatternPrioritiesPass.class));
+    var priorities = (PatternPriorities) setup.passManager().getPassResults()
+        .lastResultOf(GeneratePatternPrioritiesPass.class);
+
+    var brcond = priorities.competingPatterns().get("brcond");
+    // the compare-and-branch is fused into a single instruction
+    var fused = brcond.stream()
+        .filter(c -> c.selector().equals("(brcond (i64 (setlt X:$rs1, X:$rs2)), bb:$imm)"))
+        .findFirst()
+        .orElseThrow();
+    var separate = brcond.stream()
+        .filter(c -> c.selector().equals("(brcond X:$rs1, bb:$imm)"))
+        .findFirst()
+        .orElseThrow();
+    assertEquals("BLT", fused.record());
+    assertTrue(fused.complexity() > separate.complexity());
+    assertEquals(0, separate.complexity());
+
+    // patterns which emit more instructions than they cover keep the default priority
+    assertTrue(priorities.competingPatterns().get("setcc").stream()
+        .filter(c -> c.instructions() > c.covered())
+        .allMatch(c -> c.complexity() == 0));
+  }
+}
@@ -0,0 +1,43 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.passes.materialization;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import vadl.gcb.passes.MachineInstructionLabel;
+import vadl.gcb.passes.ValueRange;
+
+class GenerateConstantMaterializationPassTest {
+
+  @Test
+  void addsSignedAndUnsignedLowerParts() {
+    assertTrue(GenerateConstantMaterializationPass.isUsableLower(
+        MachineInstructionLabel.ADDI_64, new ValueRange(-2048, 2047)));
+    assertTrue(GenerateConstantMaterializationPass.isUsableLower(
+        MachineInstructionLabel.ADDI_32, new ValueRange(0, 4095)));
+  }
+
+  @Test
+  void orsOnlyUnsignedLowerParts() {
+    assertTrue(GenerateConstantMaterializationPass.isUsableLower(
+        MachineInstructionLabel.ORI, new ValueRange(0, 4095)));
+    assertFalse(GenerateConstantMaterializationPass.isUsableLower(
+        MachineInstructionLabel.ORI, new ValueRange(-2048, 2047)));
+  }
+}
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.riscv.riscv64.template;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.io.Files;
+import vadl.lcb.AbstractLcbTest;
+import vadl.lcb.template.lib.Target.EmitInstrInfoCppFilePass;
+import vadl.pass.PassKey;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+
+public class EmitInstrInfoCppFilePassTest extends AbstractLcbTest {
+  @Test
+  void testOutlinerHooks() throws IOException, DuplicatedPassKeyException {
+    // Given
+    var configuration = getConfiguration(false);
+    var testSetup = runLcb(configuration, "sys/risc-v/rv64im.vadl",
+        new PassKey(EmitInstrInfoCppFilePass.class.getName()));
+
+    // When
+    var passResult =
+        (AbstractTemplateRenderingPass.Result) testSetup.passManager().getPassResults()
+            .lastResultOf(EmitInstrInfoCppFilePass.class);
+
+    // Then
+    var resultFile = passResult.emittedFile().toFile();
+    var output = Files.asCharSource(resultFile, Charset.defaultCharset()).read().lines()
+        .map(String::trim)
+        .toList();
+
+    // The hooks match the signatures of the TargetInstrInfo of LLVM 19.
+    Assertions.assertTrue(output.contains(
+        "std::optional<outliner::OutlinedFunction> "
+            + "processornamevalueInstrInfo::getOutliningCandidateInfo("));
+    Assertions.assertTrue(output.contains("const MachineModuleInfo &MMI,"));
+    Assertions.assertTrue(output.contains(
+        "std::vector<outliner::Candidate> &RepeatedSequenceLocs) const {"));
+    Assertions.assertTrue(output.contains(
+        "outliner::InstrType processornamevalueInstrInfo::getOutliningTypeImpl("
+            + "const MachineModuleInfo &MMI,"));
+    Assertions.assertTrue(output.contains("MachineBasicBlock::iterator &MBBI,"));
+    Assertions.assertTrue(output.contains("unsigned Flags) const {"));
+
+    // The outlined functions are called with CALL and return with RET over the return address.
+    Assertions.assertTrue(output.contains(
+        "return !C.isAvailableAcrossAndOutOfSeq(processornamevalue::X1, *TRI);"));
+    Assertions.assertTrue(output.contains("unsigned CallOverhead = 8;"));
+    Assertions.assertTrue(output.contains("unsigned FrameOverhead = 4;"));
+    Assertions.assertTrue(output.contains(
+        "MBB.insert(MBB.end(), BuildMI(MF, DebugLoc(), get(processornamevalue::RET)));"));
+    Assertions.assertTrue(output.contains(
+        "It = MBB.insert(It, BuildMI(MF, DebugLoc(), get(processornamevalue::CALL))"));
+  }
+}
@@ -0,0 +1,69 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.riscv.riscv64.template;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.io.Files;
+import vadl.lcb.AbstractLcbTest;
+import vadl.lcb.passes.scheduling.GenerateSchedulingModelPass;
+import vadl.lcb.passes.scheduling.SchedulingModel;
+import vadl.lcb.template.lib.Target.EmitSchedModelTableGenFilePass;
+import vadl.pass.PassKey;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+
+public class EmitSchedModelTableGenFilePassTest extends AbstractLcbTest {
+  @Test
+  void testLowering() throws IOException, DuplicatedPassKeyException {
+    // Given
+    var configuration = getConfiguration(false);
+    var testSetup = runLcb(configuration, "sys/risc-v/rv64im.vadl",
+        new PassKey(EmitSchedModelTableGenFilePass.class.getName()));
+
+    // When
+    var passResults = testSetup.passManager().getPassResults();
+    var model =
+        (SchedulingModel) passResults.lastResultOf(GenerateSchedulingModelPass.class);
+    var passResult =
+        (AbstractTemplateRenderingPass.Result) passResults
+            .lastResultOf(EmitSchedModelTableGenFilePass.class);
+
+    // Then
+    Assertions.assertEquals(1, model.issueWidth());
+    Assertions.assertTrue(model.writes().stream()
+        .anyMatch(w -> w.unit() == SchedulingModel.Unit.LSU
+            && w.latency() == model.loadLatency()
+            && w.instructions().contains("LD")));
+    Assertions.assertTrue(model.writes().stream()
+        .anyMatch(w -> w.unit() == SchedulingModel.Unit.BRANCH
+            && w.instructions().contains("BEQ")));
+
+    var resultFile = passResult.emittedFile().toFile();
+    var output = Files.asCharSource(resultFile, Charset.defaultCharset()).read();
+    Assertions.assertTrue(output.contains(
+        "def processornamevalueSchedModel : SchedMachineModel"), output);
+    Assertions.assertTrue(output.contains("let LoadLatency = 2;"), output);
+    Assertions.assertTrue(output.contains(
+        "def processornamevalueWriteAlu1 : SchedWriteRes<[ processornamevalueAlu ]>"
+            + " { let Latency = 1; }"), output);
+    Assertions.assertTrue(output.contains(
+        "def : InstRW<[ processornamevalueWriteAlu1 ], (instrs ADD, ADDI"), output);
+  }
+}
@@ -0,0 +1,80 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.riscv.riscv64.template;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.io.Files;
+import vadl.lcb.AbstractLcbTest;
+import vadl.lcb.template.lib.Target.EmitTargetTransformInfoCppFilePass;
+import vadl.pass.PassKey;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+
+public class EmitTargetTransformInfoCppFilePassTest extends AbstractLcbTest {
+  @Test
+  void testLowering() throws IOException, DuplicatedPassKeyException {
+    // Given
+    var configuration = getConfiguration(false);
+    var testSetup = runLcb(configuration, "sys/risc-v/rv64im.vadl",
+        new PassKey(EmitTargetTransformInfoCppFilePass.class.getName()));
+
+    // When
+    var passResult =
+        (AbstractTemplateRenderingPass.Result) testSetup.passManager().getPassResults()
+            .lastResultOf(EmitTargetTransformInfoCppFilePass.class);
+
+    // Then
+    var resultFile = passResult.emittedFile().toFile();
+    var output = Files.asCharSource(resultFile, Charset.defaultCharset()).read();
+
+    // immediates are materialized by the synthesized instruction sequence
+    Assertions.assertTrue(output.contains(
+        "unsigned Cost = processornamevalueMatInt::getIntMatCost(Imm.getSExtValue());"));
+    // immediates are folded into the immediate variants
+    Assertions.assertLinesMatch("""
+        case Instruction::Add:
+        // selected to ADDI
+        if (Idx == 1 && Val >= -2048 && Val <= 2047)
+        """.lines(), section(output, "case Instruction::Add:", "if (Idx == 1 && Val >= -2048"));
+    // arithmetic instructions with their latency
+    Assertions.assertLinesMatch("""
+        case ISD::SDIV:
+        // selected to DIV
+        """.lines(), section(output, "case ISD::SDIV:", "// selected to DIV"));
+  }
+
+  /**
+   * Returns the trimmed, non-empty lines from the first line containing {@code from}
+   * up to the next line containing {@code to}.
+   */
+  private static Stream<String> section(String output, String from, String to) {
+    var lines = output.lines().map(String::trim).filter(l -> !l.isEmpty()).toList();
+    var start = 0;
+    while (!lines.get(start).contains(from)) {
+      start++;
+    }
+    var end = start;
+    while (!lines.get(end).contains(to)) {
+      end++;
+    }
+    return lines.subList(start, end + 1).stream();
+  }
+}
@@ -0,0 +1,66 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.riscv.riscv64.template.MCTargetDesc;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.io.Files;
+import vadl.lcb.AbstractLcbTest;
+import vadl.lcb.template.lib.Target.MCTargetDesc.EmitConstMatIntCppFilePass;
+import vadl.pass.PassKey;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+
+public class EmitConstMatIntCppFilePassTest extends AbstractLcbTest {
+  @Test
+  void testLowering() throws IOException, DuplicatedPassKeyException {
+    var configuration = getConfiguration(false);
+    var testSetup = runLcb(configuration, "sys/risc-v/rv64im.vadl",
+        new PassKey(EmitConstMatIntCppFilePass.class.getName()));
+
+    // When
+    var passResult =
+        (AbstractTemplateRenderingPass.Result) testSetup.passManager().getPassResults()
+            .lastResultOf(EmitConstMatIntCppFilePass.class);
+
+    // Then
+    var resultFile = passResult.emittedFile().toFile();
+    var output = Files.asCharSource(resultFile, Charset.defaultCharset()).read().lines()
+        .map(String::trim)
+        .filter(line -> !line.isEmpty())
+        .toList();
+
+    // the lower part fits into the immediate of ADDI
+    Assertions.assertTrue(output.contains("int64_t Lo = SignExtend64<12>(Val);"));
+    // the upper part is shifted with SLLI and the lower part added with ADDI
+    Assertions.assertTrue(output.contains(
+        "Candidate.emplace_back(processornamevalue::SLLI, ShiftAmount, OpndKind::RegImm);"));
+    Assertions.assertTrue(output.contains(
+        "Candidate.emplace_back(processornamevalue::ADDI, Lo, OpndKind::RegImm);"));
+    // values with leading ones are inverted with XORI
+    Assertions.assertTrue(output.contains(
+        "Candidate.emplace_back(processornamevalue::XORI, -1, OpndKind::RegImm);"));
+    // every value is searched only once per materialisation
+    Assertions.assertTrue(output.contains("auto It = Seen.Done.find(K);"));
+    Assertions.assertTrue(output.contains(
+        "if (generate(~Val, Candidate, false, Seen, DependsOn)) {"));
+    // results that depend on a value still in progress are not memoised
+    Assertions.assertTrue(output.contains("if (BestDependsOn < Depth) {"));
+  }
+}
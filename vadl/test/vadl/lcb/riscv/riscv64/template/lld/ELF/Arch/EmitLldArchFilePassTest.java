@@ -0,0 +1,58 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lcb.riscv.riscv64.template.lld.ELF.Arch;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.shaded.com.google.common.io.Files;
+import vadl.lcb.AbstractLcbTest;
+import vadl.lcb.template.lld.ELF.Arch.EmitLldArchFilePass;
+import vadl.pass.PassKey;
+import vadl.pass.exception.DuplicatedPassKeyException;
+import vadl.template.AbstractTemplateRenderingPass;
+
+public class EmitLldArchFilePassTest extends AbstractLcbTest {
+  @Test
+  void testLowering() throws IOException, DuplicatedPassKeyException {
+    // Given
+    var configuration = getConfiguration(false);
+    var testSetup = runLcb(configuration, "sys/risc-v/rv64im.vadl",
+        new PassKey(EmitLldArchFilePass.class.getName()));
+
+    // When
+    var passResult =
+        (AbstractTemplateRenderingPass.Result) testSetup.passManager().getPassResults()
+            .lastResultOf(EmitLldArchFilePass.class);
+
+    // Then
+    var resultFile = passResult.emittedFile().toFile();
+    var output = Files.asCharSource(resultFile, Charset.defaultCharset()).read().lines()
+        .map(String::trim)
+        .filter(line -> !line.isEmpty())
+        .toList();
+
+    // CALL (LUI + JALR) is relaxed to CALL_NEAR (JAL with rd = 1)
+    Assertions.assertTrue(
+        output.contains("{ 8, 4, 0xefULL, R_RV3264Base_Jtype_RELATIVE_imm, R_PC },"));
+    Assertions.assertTrue(output.contains("return RV3264Base_JAL_immS_predicate(value) && "
+        + "RV3264Base_JAL_immS_decode(RV3264Base_JAL_imm(value)) == value;"));
+    Assertions.assertTrue(output.contains(
+        "write32(loc, RV3264Base_Jtype_imm(read32(loc), RV3264Base_JAL_imm(val)));"));
+  }
+}
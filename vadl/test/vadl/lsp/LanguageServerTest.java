@@ -0,0 +1,169 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.lsp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LanguageServerTest {
+
+  private static final String URI = "file:///tmp/test.vadl";
+
+  private static final String PROGRAM = """
+      instruction set architecture ISA = {
+        register X : Bits<5> -> Bits<32>
+        format F : Bits<32> = { rd : Bits<5>, opc : Bits<27> }
+        function inc(a: Bits<32>) -> Bits<32> = a + 1
+
+        instruction I : F = X(rd) := inc(X(rd))
+        encoding I = { opc = 1 }
+        assembly I = (mnemonic)
+      }
+      """;
+
+  @Test
+  void shouldServeDiagnosticsDefinitionsAndHover() throws IOException {
+    var input = new StringBuilder();
+    input.append(message(1, "initialize", Map.of()));
+    input.append(message(null, "textDocument/didOpen", Map.of("textDocument",
+        Map.of("uri", URI, "languageId", "vadl", "version", 1, "text", PROGRAM))));
+    input.append(message(2, "textDocument/definition", Map.of(
+        "textDocument", Map.of("uri", URI),
+        "position", Map.of("line", 5, "character", 32))));
+    // Replace `a + 1` by `false`
+    input.append(message(null, "textDocument/didChange", Map.of(
+        "textDocument", Map.of("uri", URI, "version", 2),
+        "contentChanges", List.of(Map.of(
+            "range", Map.of(
+                "start", Map.of("line", 3, "character", 42),
+                "end", Map.of("line", 3, "character", 47)),
+            "text", "false")))));
+    input.append(message(3, "textDocument/hover", Map.of(
+        "textDocument", Map.of("uri", URI),
+        "position", Map.of("line", 3, "character", 12))));
+    input.append(message(4, "unknown/method", Map.of()));
+    input.append(message(5, "shutdown", null));
+    input.append(message(null, "exit", null));
+
+    var output = new ByteArrayOutputStream();
+    var server = new LanguageServer(
+        new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output);
+    Assertions.assertEquals(0, server.run());
+
+    var messages = messages(output.toString(StandardCharsets.UTF_8));
+    Assertions.assertEquals(7, messages.size());
+
+    var capabilities = get(messages.get(0), "result", "capabilities");
+    Assertions.assertEquals(true, get(capabilities, "definitionProvider"));
+
+    Assertions.assertEquals(List.of(), get(messages.get(1), "params", "diagnostics"));
+    var definition = get(messages.get(2), "result", "range", "start");
+    Assertions.assertEquals(Map.of("line", 3L, "character", 11L), definition);
+
+    Assertions.assertEquals("function inc",
+        get(messages.get(4), "result", "contents", "value"));
+    var diagnostics = (List<?>) get(messages.get(3), "params", "diagnostics");
+    Assertions.assertEquals(1, diagnostics.size());
+    Assertions.assertEquals(3L, get(diagnostics.getFirst(), "range", "start", "line"));
+    Assertions.assertEquals(2L, get(messages.get(3), "params", "version"));
+
+    Assertions.assertEquals(-32601L, get(messages.get(5), "error", "code"));
+    Assertions.assertTrue(messages.get(6).containsKey("result"));
+  }
+
+  @Test
+  void shouldFail_whenExitedWithoutShutdown() throws IOException {
+    var input = message(null, "exit", null);
+    var server = new LanguageServer(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+        new ByteArrayOutputStream());
+    Assertions.assertEquals(1, server.run());
+  }
+
+  @Test
+  void shouldSkipMessagesWithInvalidContentLength() throws IOException {
+    var input = "Content-Length: abc\r\n\r\n{}"
+        + message(1, "initialize", Map.of())
+        + "Content-Length: -3\r\n\r\n{}"
+        + message(2, "shutdown", null)
+        + message(null, "exit", null);
+
+    var output = new ByteArrayOutputStream();
+    var server = new LanguageServer(
+        new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+    Assertions.assertEquals(0, server.run());
+
+    var messages = messages(output.toString(StandardCharsets.UTF_8));
+    Assertions.assertEquals(2, messages.size());
+    Assertions.assertEquals(1L, messages.get(0).get("id"));
+    Assertions.assertEquals(2L, messages.get(1).get("id"));
+  }
+
+  @Test
+  void shouldReadAndWriteJson() {
+    var json = "{\"a\":[1,2.5,true,null,\"x\\n\\u0041\"],\"b\":{}}";
+    var value = Json.parse(json);
+    Assertions.assertEquals(
+        Map.of("a", java.util.Arrays.asList(1L, 2.5, true, null, "x\nA"), "b", Map.of()),
+        value);
+    Assertions.assertEquals("{\"a\":[1,2.5,true,null,\"x\\nA\"],\"b\":{}}", Json.write(value));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> Json.parse("{\"a\":}"));
+  }
+
+  private static String message(Integer id, String method, Object params) {
+    var message = new java.util.LinkedHashMap<String, Object>();
+    message.put("jsonrpc", "2.0");
+    if (id != null) {
+      message.put("id", id);
+    }
+    message.put("method", method);
+    if (params != null) {
+      message.put("params", params);
+    }
+    var content = Json.write(message);
+    return "Content-Length: " + content.getBytes(StandardCharsets.UTF_8).length + "\r\n\r\n"
+        + content;
+  }
+
+  private static List<Map<?, ?>> messages(String output) {
+    var messages = new ArrayList<Map<?, ?>>();
+    var rest = output;
+    while (!rest.isEmpty()) {
+      var headerEnd = rest.indexOf("\r\n\r\n");
+      var length = Integer.parseInt(rest.substring("Content-Length: ".length(), headerEnd));
+      var content = rest.substring(headerEnd + 4, headerEnd + 4 + length);
+      messages.add((Map<?, ?>) Json.parse(content));
+      rest = rest.substring(headerEnd + 4 + length);
+    }
+    return messages;
+  }
+
+  private static Object get(Object value, String... keys) {
+    var current = value;
+    for (var key : keys) {
+      current = ((Map<?, ?>) current).get(key);
+    }
+    return current;
+  }
+}
@@ -91,4 +91,29 @@ public class SourceLocationTest {
     assertThat(location.toUriString(), startsWith("file:/"));
     assertThat(location.toUriString(), endsWith("mini.vadl:1:5 .. 1:5"));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testJoinAndMeet_orderLinesBeforeColumns() {
+    var first = new SourceLocation(miniVadlUri, new SourceLocation.Position(3, 20),
+        new SourceLocation.Position(5, 2));
+    var second = new SourceLocation(miniVadlUri, new SourceLocation.Position(4, 1),
+        new SourceLocation.Position(4, 30));
+    var lineOnly = new SourceLocation(miniVadlUri, 3, 4);
+
+    assertEquals(first, first.join(second));
+    assertEquals(second, first.meet(second));
+    assertEquals(new SourceLocation(miniVadlUri, new SourceLocation.Position(3),
+        new SourceLocation.Position(5, 2)), first.join(lineOnly));
+    assertEquals(new SourceLocation.Position(4, 30), second.end());
+    assertEquals(new SourceLocation.Position(3), lineOnly.begin());
+  }
+
+  @Test
+  public void testInLine_equalsLocationOfPositions() {
+    var location = SourceLocation.inLine(miniVadlUri, 23, 10, 15);
+    assertEquals(new SourceLocation(miniVadlUri, new SourceLocation.Position(23, 10),
+        new SourceLocation.Position(23, 15)), location);
+    assertEquals("Rtype", location.toSourceString());
+    assertEquals(new SourceLocation.Position(25, 15), location.shiftLines(2, null).end());
+  }
+}
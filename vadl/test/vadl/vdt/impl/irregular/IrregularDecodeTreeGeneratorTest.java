@@ -21,6 +21,7 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Assertions;
@@ -33,13 +34,16 @@ import vadl.pass.exception.DuplicatedPassKeyException;
 import vadl.vdt.AbstractDecisionTreeTest;
 import vadl.vdt.impl.irregular.model.DecodeEntry;
 import vadl.vdt.impl.irregular.model.ExclusionCondition;
+import vadl.vdt.impl.irregular.tree.SingleDecisionNode;
 import vadl.vdt.model.Node;
 import vadl.vdt.passes.VdtConstraintSynthesisPass;
 import vadl.vdt.passes.VdtInputPreparationPass;
 import vadl.vdt.passes.VdtLoweringPass;
 import vadl.vdt.target.common.DecisionTreeDecoder;
+import vadl.vdt.target.common.DecisionTreeStatsCalculator;
 import vadl.vdt.utils.BitPattern;
 import vadl.vdt.utils.BitVector;
+import vadl.vdt.utils.DecodeProfile;
 import vadl.vdt.utils.Instruction;
 
 class IrregularDecodeTreeGeneratorTest extends AbstractDecisionTreeTest {
@@ -119,6 +123,84 @@ class IrregularDecodeTreeGeneratorTest extends AbstractDecisionTreeTest {
     assertDecision(decoder, "00110000", "insn_6");
   }
 
+  @Test
+  void testGenerate_withProfile_hoistsHotInstruction() {
+
+    /* GIVEN */
+    final List<Instruction> instructions = createInsns(List.of(
+        "00------",
+        "01------",
+        "10----00",
+        "10----01",
+        "11------"
+    ));
+
+    final List<DecodeEntry> decodeEntries = instructions.stream()
+        .map(this::toDecodeEntry)
+        .toList();
+
+    final DecodeProfile profile = new DecodeProfile(Map.of(
+        "insn_0", 10L,
+        "insn_1", 10L,
+        "insn_2", 1000L,
+        "insn_3", 10L,
+        "insn_4", 10L
+    ));
+
+    /* WHEN */
+    final Node structural = new IrregularDecodeTreeGenerator().generate(decodeEntries);
+    final Node guided = new IrregularDecodeTreeGenerator(profile).generate(decodeEntries);
+
+    /* THEN */
+    Assertions.assertInstanceOf(SingleDecisionNode.class, guided);
+
+    final var structuralStats = DecisionTreeStatsCalculator.statistics(structural, profile);
+    final var guidedStats = DecisionTreeStatsCalculator.statistics(guided, profile);
+    Assertions.assertTrue(guidedStats.getExpectedDepth() < structuralStats.getExpectedDepth());
+
+    final DecisionTreeDecoder decoder = new DecisionTreeDecoder(guided);
+
+    assertDecision(decoder, "00000000", "insn_0");
+    assertDecision(decoder, "01000000", "insn_1");
+    assertDecision(decoder, "10000000", "insn_2");
+    assertDecision(decoder, "10000001", "insn_3");
+    assertDecision(decoder, "11000000", "insn_4");
+  }
+
+  @Test
+  void testGenerate_withProfile_keepsOverlappingInstructionsInTree() {
+
+    /* GIVEN */
+    final List<Instruction> insns = createInsns(List.of(
+        "00------",
+        "01------",
+        "0000--01"
+    ));
+
+    final List<DecodeEntry> decodeEntries = List.of(
+        toDecodeEntry(insns.get(0), "--00--01"),
+        toDecodeEntry(insns.get(1)),
+        toDecodeEntry(insns.get(2))
+    );
+
+    // insn_0 has exclusion conditions and insn_2 overlaps with insn_0
+    final DecodeProfile profile = new DecodeProfile(Map.of(
+        "insn_0", 1000L,
+        "insn_2", 1000L
+    ));
+
+    /* WHEN */
+    final Node dt = new IrregularDecodeTreeGenerator(profile).generate(decodeEntries);
+
+    /* THEN */
+    final DecisionTreeDecoder decoder = new DecisionTreeDecoder(dt);
+
+    assertDecision(decoder, "00000000", "insn_0");
+    assertDecision(decoder, "00000001", "insn_2");
+    assertDecision(decoder, "00100001", "insn_0");
+    assertDecision(decoder, "01000000", "insn_1");
+  }
+
   @Test
   void testGenerate_handleVariableLength_succeeds() {
 
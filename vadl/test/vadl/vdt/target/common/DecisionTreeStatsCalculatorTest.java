@@ -17,12 +17,14 @@
 package vadl.vdt.target.common;
 
 import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import vadl.vdt.AbstractDecisionTreeTest;
 import vadl.vdt.impl.regular.RegularDecodeTreeGenerator;
 import vadl.vdt.model.Node;
 import vadl.vdt.target.common.dto.DecisionTreeStatistics;
+import vadl.vdt.utils.DecodeProfile;
 
 class DecisionTreeStatsCalculatorTest extends AbstractDecisionTreeTest {
 
@@ -87,4 +89,40 @@ class DecisionTreeStatsCalculatorTest extends AbstractDecisionTreeTest {
     Assertions.assertEquals(1, stats.getAvgDepth());
   }
 
-}
\ No newline at end of file
+  @Test
+  void testGenerate_statistics_expectedDepth() {
+
+    /* GIVEN */
+    final var instructions = createInsns(List.of("1--", "01-", "00-"));
+    final var profile = new DecodeProfile(Map.of(
+        "insn_0", 3L,
+        "insn_1", 1L
+    ));
+
+    /* WHEN */
+    final Node dt = new RegularDecodeTreeGenerator().generate(instructions);
+
+    /* THEN */
+    final DecisionTreeStatistics stats = DecisionTreeStatsCalculator.statistics(dt, profile);
+
+    // insn_0 is decided after one step, insn_1 after two steps and insn_2 is never executed
+    Assertions.assertEquals(1.25, stats.getExpectedDepth());
+    Assertions.assertEquals(4, stats.getProfileWeight());
+    Assertions.assertEquals(1.67, Math.round(stats.getAvgDepth() * 100) / 100.0);
+  }
+
+  @Test
+  void testGenerate_statistics_expectedDepthWithoutProfile() {
+
+    /* GIVEN */
+    final var instructions = createInsns(List.of("1--", "01-", "000", "001"));
+
+    /* WHEN */
+    final Node dt = new RegularDecodeTreeGenerator().generate(instructions);
+
+    /* THEN */
+    final DecisionTreeStatistics stats = DecisionTreeStatsCalculator.statistics(dt);
+
+    Assertions.assertEquals(stats.getAvgDepth(), stats.getExpectedDepth());
+  }
+}
@@ -0,0 +1,67 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.target.iss;
+
+import java.nio.ByteOrder;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import vadl.vdt.AbstractDecisionTreeTest;
+import vadl.vdt.impl.regular.RegularDecodeTreeGenerator;
+import vadl.vdt.model.Node;
+
+class IssDecisionTreeCodeGeneratorTest extends AbstractDecisionTreeTest {
+
+  @Test
+  void testGenerateClassifier() {
+
+    /* GIVEN */
+    final var instructions = createInsns(Map.of("SUB", "1--", "ADD", "01-", "MUL", "00-"));
+    final Node dt = new RegularDecodeTreeGenerator().generate(instructions);
+
+    /* WHEN */
+    final var generator = new IssDecisionTreeCodeGenerator(dt, ByteOrder.LITTLE_ENDIAN);
+    final String code = generator.generateClassifier("classify_insn").toString();
+
+    /* THEN */
+    Assertions.assertEquals(List.of("ADD", "MUL", "SUB"),
+        generator.instructions().stream().map(i -> i.simpleName()).toList());
+    Assertions.assertTrue(code.startsWith("static int classify_insn(uint8_t insn) {"), code);
+    Assertions.assertTrue(code.contains("return 0; // ADD"), code);
+    Assertions.assertTrue(code.contains("return 1; // MUL"), code);
+    Assertions.assertTrue(code.contains("return 2; // SUB"), code);
+    Assertions.assertTrue(code.strip().endsWith("return -1;\n}"), code);
+    Assertions.assertFalse(code.contains("extract_"), code);
+  }
+
+  @Test
+  void testGenerateClassifier_noMatch_returnsMinusOne() {
+
+    /* GIVEN */
+    final var instructions = createInsns(Map.of("SUB", "1--", "ADD", "01-"));
+    final Node dt = new RegularDecodeTreeGenerator().generate(instructions);
+
+    /* WHEN */
+    final String code = new IssDecisionTreeCodeGenerator(dt, ByteOrder.LITTLE_ENDIAN)
+        .generateClassifier("classify_insn").toString();
+
+    /* THEN */
+    Assertions.assertTrue(code.contains("default:\n          return -1;"), code);
+    Assertions.assertFalse(code.contains("return 0;\n"), code);
+  }
+}
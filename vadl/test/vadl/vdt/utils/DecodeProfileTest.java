@@ -0,0 +1,96 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.vdt.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import vadl.vdt.AbstractDecisionTreeTest;
+
+class DecodeProfileTest extends AbstractDecisionTreeTest {
+
+  @Test
+  void testParseText() {
+
+    /* GIVEN */
+    final List<String> lines = List.of(
+        "instruction,count",
+        "# comment",
+        "",
+        "ADD,120",
+        "SUB 30",
+        "ADD,5"
+    );
+
+    /* WHEN */
+    final DecodeProfile profile = DecodeProfile.parseText(lines);
+
+    /* THEN */
+    final var insns = createInsns(Map.of("add", "0-", "SUB", "1-", "MUL", "--"));
+    final var add = insns.stream().filter(i -> i.source().simpleName().equals("add"))
+        .findFirst().orElseThrow();
+    final var mul = insns.stream().filter(i -> i.source().simpleName().equals("MUL"))
+        .findFirst().orElseThrow();
+
+    Assertions.assertEquals(155, profile.totalCount());
+    Assertions.assertEquals(125, profile.count(add.source()));
+    Assertions.assertEquals(0, profile.count(mul.source()));
+    Assertions.assertEquals(125 / 155.0, profile.frequency(add.source()));
+  }
+
+  @Test
+  void testParseText_invalidCount_throws() {
+    final List<String> lines = List.of("ADD,1", "SUB,many");
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DecodeProfile.parseText(lines));
+  }
+
+  @Test
+  void testParseBinary() {
+
+    /* GIVEN */
+    final byte[] name = "ADD".getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + 2 + name.length + 8)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    buffer.put("VDTH".getBytes(StandardCharsets.US_ASCII))
+        .putInt(1)
+        .putInt(1)
+        .putShort((short) name.length)
+        .put(name)
+        .putLong(42);
+    buffer.flip();
+
+    /* WHEN */
+    final DecodeProfile profile = DecodeProfile.parseBinary(buffer);
+
+    /* THEN */
+    Assertions.assertEquals(42, profile.totalCount());
+    Assertions.assertEquals(List.of("ADD"), List.copyOf(profile.names()));
+  }
+
+  @Test
+  void testParseBinary_truncated_throws() {
+    final ByteBuffer buffer = ByteBuffer.wrap("VDTH\1\0\0\0\1\0\0\0".getBytes(
+        StandardCharsets.US_ASCII));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> DecodeProfile.parseBinary(buffer));
+  }
+}
@@ -0,0 +1,68 @@
+// SPDX-FileCopyrightText : © 2025 TU Wien <vadl@tuwien.ac.at>
+// SPDX-License-Identifier: GPL-3.0-or-later
+//
+// This program is free software: you can redistribute it and/or modify
+// it under the terms of the GNU General Public License as published by
+// the Free Software Foundation, either version 3 of the License, or
+// (at your option) any later version.
+//
+// This program is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+// GNU General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program.  If not, see <https://www.gnu.org/licenses/>.
+
+package vadl.viam.passes;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.params.provider.Arguments.of;
+
+import java.io.IOException;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import vadl.AbstractTest;
+import vadl.error.DiagnosticList;
+import vadl.pass.PassOrders;
+import vadl.pass.exception.DuplicatedPassKeyException;
+
+public class InstructionCompressionVerificationPassTest extends AbstractTest {
+
+  static Stream<Arguments> invalidTestArgs() {
+    return Stream.of(
+        of("swapped_operands", "Compressed instruction is not equivalent"),
+        of("zero_extension", "Compressed instruction is not equivalent"),
+        of("missing_field", "Invalid compressed instruction"),
+        of("not_shorter", "Invalid compressed instruction")
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("invalidTestArgs")
+  void testInvalid(String name, String errmsg) {
+    var err = assertThrows(DiagnosticList.class, () -> setupPassManagerAndRunSpec(
+        "passes/instructionCompression/invalid_" + name + ".vadl",
+        PassOrders.viam(getConfiguration(false))
+            .untilFirst(InstructionCompressionVerificationPass.class)
+    ));
+
+    assertEquals(1, err.items.size());
+    assertThat(err.items.getFirst().getMessage(), containsString(errmsg));
+  }
+
+  @Test
+  void validTest() throws IOException, DuplicatedPassKeyException {
+    setupPassManagerAndRunSpec(
+        "passes/instructionCompression/valid_compression.vadl",
+        PassOrders.viam(getConfiguration(false))
+            .untilFirst(InstructionCompressionVerificationPass.class)
+    );
+  }
+}